@@ -67,6 +67,10 @@ android {
 dependencies {
     implementation("com.github.bumptech.glide:glide:4.16.0")
     annotationProcessor("com.github.bumptech.glide:compiler:4.16.0")
+    implementation("com.github.bumptech.glide:recyclerview-integration:4.16.0") {
+        // Uses the app's own RecyclerView and Glide versions
+        isTransitive = false
+    }
     implementation(libs.appcompat)
     implementation(libs.material)
     implementation(libs.activity)
@@ -25,6 +25,7 @@ import androidx.navigation.fragment.NavHostFragment;
 import com.google.firebase.FirebaseApp;
 import com.example.eventease.R;
 import com.example.eventease.auth.UserRoleChecker;
+import com.example.eventease.data.firebase.ProfilePropagator;
 import com.example.eventease.notifications.FCMTokenManager;
 import com.example.eventease.notifications.InvitationNotificationListener;
 import com.example.eventease.ui.organizer.AutomaticEntrantSelectionService;
@@ -241,6 +242,12 @@ public class MainActivity extends AppCompatActivity {
                         // Initialize FCM token manager
                         FCMTokenManager.getInstance().initialize();
 
+                        // Finish copying a profile edit to entrant records if the app was killed mid-way
+                        String uid = authCheck.getUid();
+                        if (uid != null && !uid.isEmpty()) {
+                            ProfilePropagator.getInstance(MainActivity.this).resumePending(uid);
+                        }
+
                         // DISABLED: InvitationNotificationListener
                         // Cloud Functions already send personalized FCM notifications when invitations are created.
                         // Local notifications from InvitationNotificationListener were causing duplicates.
@@ -263,6 +270,10 @@ public class MainActivity extends AppCompatActivity {
                         // Setup automatic sorry notification service (only once)
                         com.example.eventease.ui.organizer.SorryNotificationService.setupSorryNotificationListener();
 
+                        // Fire deadlines and sorry notifications when they fall due, even if the
+                        // event document does not change (selection stays with the Cloud Function)
+                        com.example.eventease.ui.organizer.DeadlineSchedulerService.start(false);
+
                         listenersInitialized = true;
                         Log.d("MainActivity", "Listeners initialized once");
                     }
@@ -2,9 +2,7 @@ package com.example.eventease.admin.event.ui;
 
 import android.app.DatePickerDialog;
 import android.app.Dialog;
-import android.graphics.Bitmap;
 import android.graphics.Color;
-import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.ColorDrawable;
 import android.os.Bundle;
 import android.text.Editable;
@@ -33,6 +31,7 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.eventease.R;
+import com.example.eventease.image.BlurEngine;
 import com.example.eventease.admin.event.data.AdminEventDatabaseController;
 import com.example.eventease.model.Event;
 
@@ -265,16 +264,7 @@ public class AdminEventsFragment extends Fragment {
             dialog.getWindow().clearFlags(WindowManager.LayoutParams.FLAG_DIM_BEHIND);
         }
 
-        Bitmap screenshot = captureScreenshot();
-        if (screenshot != null) {
-            Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-            if (blurredBitmap != null) {
-                View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
-                if (blurBackground != null) {
-                    blurBackground.setBackground(new BitmapDrawable(getResources(), blurredBitmap));
-                }
-            }
-        }
+        BlurEngine.getInstance().blurBehind(getActivity(), dialog.findViewById(R.id.dialogBlurBackground));
 
         View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
         ImageButton closeButton = dialog.findViewById(R.id.btnFilterClose);
@@ -398,37 +388,5 @@ public class AdminEventsFragment extends Fragment {
         picker.show();
     }
 
-    private Bitmap captureScreenshot() {
-        try {
-            if (getActivity() == null || getActivity().getWindow() == null) return null;
-            View rootView = getActivity().getWindow().getDecorView().getRootView();
-            rootView.setDrawingCacheEnabled(true);
-            Bitmap bitmap = Bitmap.createBitmap(rootView.getDrawingCache());
-            rootView.setDrawingCacheEnabled(false);
-            return bitmap;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
-    }
-
-    private Bitmap blurBitmap(Bitmap bitmap, float radius) {
-        try {
-            android.renderscript.RenderScript rs = android.renderscript.RenderScript.create(requireContext());
-            android.renderscript.Allocation input = android.renderscript.Allocation.createFromBitmap(rs, bitmap);
-            android.renderscript.Allocation output = android.renderscript.Allocation.createTyped(rs, input.getType());
-            android.renderscript.ScriptIntrinsicBlur script = android.renderscript.ScriptIntrinsicBlur.create(rs, android.renderscript.Element.U8_4(rs));
-            script.setRadius(radius);
-            script.setInput(input);
-            script.forEach(output);
-            output.copyTo(bitmap);
-            rs.destroy();
-            return bitmap;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return bitmap;
-        }
-    }
-
 }
 
@@ -141,7 +141,7 @@ public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHol
             tvMeta.setText(meta);
 
             // Load poster image
-            String url = event.getPosterUrl();
+            String url = event.getListPosterUrl();
             if (TextUtils.isEmpty(url)) {
                 Glide.with(ivPoster.getContext())
                         .load(R.drawable.entrant_image_placeholder_event)
@@ -24,12 +24,9 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.bumptech.glide.Glide;
 import com.bumptech.glide.load.resource.drawable.DrawableTransitionOptions;
 import com.example.eventease.R;
+import com.example.eventease.image.QrPreview;
 import com.example.eventease.model.Event;
 import com.google.android.material.button.MaterialButton;
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.WriterException;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
 
 import java.util.function.Consumer;
 
@@ -213,19 +210,12 @@ public class EventDetailActivity extends AppCompatActivity {
             titleView.setText(eventTitleText);
         }
 
-        final Bitmap qrBitmap = generateQrBitmap(qrPayload);
-        if (imgQr != null) {
-            if (qrBitmap != null) {
-                imgQr.setImageBitmap(qrBitmap);
-            } else {
-                imgQr.setImageResource(R.drawable.ic_event_poster_placeholder);
-            }
-        }
+        QrPreview qr = QrPreview.show(this, qrPayload, imgQr);
 
         if (btnShare != null) {
             btnShare.setOnClickListener(v -> {
-                if (qrBitmap != null) {
-                    shareQrBitmap(qrBitmap, qrPayload);
+                if (qr.bitmap() != null) {
+                    shareQrBitmap(qr.bitmap(), qrPayload);
                 } else {
                     shareQrText(qrPayload);
                 }
@@ -234,8 +224,8 @@ public class EventDetailActivity extends AppCompatActivity {
 
         if (btnSave != null) {
             btnSave.setOnClickListener(v -> {
-                if (qrBitmap != null) {
-                    boolean saved = saveQrToGallery(qrBitmap, eventTitleText);
+                if (qr.bitmap() != null) {
+                    boolean saved = saveQrToGallery(qr.bitmap(), eventTitleText);
                     if (saved) {
                         Toast.makeText(this, "Saved to gallery", Toast.LENGTH_SHORT).show();
                     }
@@ -276,28 +266,6 @@ public class EventDetailActivity extends AppCompatActivity {
         return dialog;
     }
 
-    /**
-     * Generates a QR code bitmap from the given payload
-     */
-    private Bitmap generateQrBitmap(String payload) {
-        try {
-            QRCodeWriter writer = new QRCodeWriter();
-            BitMatrix matrix = writer.encode(payload, BarcodeFormat.QR_CODE, 512, 512);
-            int width = matrix.getWidth();
-            int height = matrix.getHeight();
-            Bitmap bmp = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
-            for (int x = 0; x < width; x++) {
-                for (int y = 0; y < height; y++) {
-                    bmp.setPixel(x, y, matrix.get(x, y) ? Color.BLACK : Color.WHITE);
-                }
-            }
-            return bmp;
-        } catch (WriterException e) {
-            android.util.Log.e("AdminEventDetail", "QR code generation failed", e);
-            return null;
-        }
-    }
-
     /**
      * Shares the QR code bitmap
      */
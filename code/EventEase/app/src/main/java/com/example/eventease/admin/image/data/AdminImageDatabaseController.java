@@ -1,6 +1,11 @@
 package com.example.eventease.admin.image.data;
 
+import android.content.Context;
 import android.net.Uri;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.Tasks;
@@ -8,36 +13,176 @@ import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.ListResult;
 import com.google.firebase.storage.StorageReference;
 
+import java.io.File;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
+/**
+ * Lists poster and profile images for the admin image grid, a page at a time.
+ *
+ * <p>Each folder is listed with {@code list(PAGE_SIZE, pageToken)} and the page's download URLs
+ * are resolved at most {@link #MAX_CONCURRENT_URLS} at a time. URLs already known from the
+ * {@link StorageUrlCache} are delivered first without a request. Every batch is handed to the
+ * listener as soon as it resolves, and a folder or URL that fails is skipped and counted instead
+ * of failing the whole page.
+ *
+ * <p>All methods block and must be called off the main thread; calls must not overlap.
+ */
 public class AdminImageDatabaseController {
 
+    private static final String TAG = "AdminImageDB";
+
+    /** Objects listed per folder per page. */
+    public static final int PAGE_SIZE = 30;
+    /** Download URL requests in flight at the same time. */
+    static final int MAX_CONCURRENT_URLS = 8;
+    private static final int MAX_CACHED_URLS = 20_000;
+    private static final String CACHE_FILE = "admin_image_urls.tsv";
+
     private final StorageReference postersRef =
             FirebaseStorage.getInstance().getReference().child("posters/");
     private final StorageReference profilePicturesRef =
             FirebaseStorage.getInstance().getReference().child("profile_pictures");
 
-    public List<String> getImageLinks() {
-        try {
-            ListResult res = Tasks.await(postersRef.listAll());
-            ListResult profiles = Tasks.await(profilePicturesRef.listAll());
+    @Nullable private final StorageUrlCache urlCache;
+    private final List<Folder> folders = new ArrayList<>();
+
+    /** Receives image URLs as they resolve. Called on the calling (background) thread. */
+    public interface ImagesListener {
+        void onImages(@NonNull List<String> urls);
+    }
 
-            List<Task<Uri>> urlTasks = new ArrayList<>();
+    /** Outcome of one {@link #loadNextPage} call. */
+    public static final class PageResult {
+        public final int loaded;
+        public final int failed;
+        public final boolean hasMore;
 
-            for (StorageReference item : res.getItems()) urlTasks.add(item.getDownloadUrl());
-            for (StorageReference r : profiles.getItems()) urlTasks.add(r.getDownloadUrl());
+        PageResult(int loaded, int failed, boolean hasMore) {
+            this.loaded = loaded;
+            this.failed = failed;
+            this.hasMore = hasMore;
+        }
+    }
 
-            List<?> uris = Tasks.await(Tasks.whenAllSuccess(urlTasks));
-            List<String> urls = new ArrayList<>(uris.size());
-            for (Object o : uris) urls.add(((Uri) o).toString());
-            return urls;
-        } catch (Exception e) {
-            return Collections.emptyList();
+    /** Listing position within one Storage folder. */
+    private static final class Folder {
+        final StorageReference ref;
+        String pageToken;
+        boolean exhausted;
+
+        Folder(StorageReference ref) {
+            this.ref = ref;
         }
     }
 
+    public AdminImageDatabaseController(@Nullable Context context) {
+        this.urlCache = context != null
+                ? new StorageUrlCache(new File(context.getCacheDir(), CACHE_FILE), MAX_CACHED_URLS)
+                : null;
+        reset();
+    }
+
+    /**
+     * Starts listing again from the first page.
+     */
+    public synchronized void reset() {
+        folders.clear();
+        folders.add(new Folder(postersRef));
+        folders.add(new Folder(profilePicturesRef));
+    }
+
+    public synchronized boolean hasMore() {
+        for (Folder folder : folders) {
+            if (!folder.exhausted) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lists the next page of every folder that has more and streams the resolved URLs to
+     * {@code listener}. Blocks until the page is done.
+     */
+    public synchronized PageResult loadNextPage(@NonNull ImagesListener listener) {
+        int failed = 0;
+        List<StorageReference> items = new ArrayList<>();
+        for (Folder folder : folders) {
+            if (folder.exhausted) {
+                continue;
+            }
+            try {
+                Task<ListResult> listing = folder.pageToken != null
+                        ? folder.ref.list(PAGE_SIZE, folder.pageToken)
+                        : folder.ref.list(PAGE_SIZE);
+                ListResult result = Tasks.await(listing);
+                items.addAll(result.getItems());
+                folder.pageToken = result.getPageToken();
+                folder.exhausted = folder.pageToken == null;
+            } catch (Exception e) {
+                // Keep the token so the same page is retried next time
+                Log.w(TAG, "Failed to list " + folder.ref.getPath(), e);
+                failed++;
+            }
+        }
+
+        int loaded = 0;
+        List<String> cached = new ArrayList<>();
+        List<StorageReference> missing = new ArrayList<>();
+        for (StorageReference item : items) {
+            String url = urlCache != null ? urlCache.get(item.getPath()) : null;
+            if (url != null) {
+                cached.add(url);
+            } else {
+                missing.add(item);
+            }
+        }
+        if (!cached.isEmpty()) {
+            listener.onImages(cached);
+            loaded += cached.size();
+        }
+
+        for (int start = 0; start < missing.size(); start += MAX_CONCURRENT_URLS) {
+            List<StorageReference> batch = missing.subList(start, Math.min(start + MAX_CONCURRENT_URLS, missing.size()));
+            List<Task<Uri>> urlTasks = new ArrayList<>(batch.size());
+            for (StorageReference item : batch) {
+                urlTasks.add(item.getDownloadUrl());
+            }
+            try {
+                Tasks.await(Tasks.whenAllComplete(urlTasks));
+            } catch (Exception e) {
+                Log.w(TAG, "Interrupted while resolving download URLs", e);
+                failed += batch.size();
+                continue;
+            }
+            List<String> resolved = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                Task<Uri> task = urlTasks.get(i);
+                if (task.isSuccessful() && task.getResult() != null) {
+                    String url = task.getResult().toString();
+                    resolved.add(url);
+                    if (urlCache != null) {
+                        urlCache.put(batch.get(i).getPath(), url);
+                    }
+                } else {
+                    Log.w(TAG, "Failed to resolve " + batch.get(i).getPath(), task.getException());
+                    failed++;
+                }
+            }
+            if (!resolved.isEmpty()) {
+                listener.onImages(resolved);
+                loaded += resolved.size();
+            }
+        }
+
+        if (urlCache != null) {
+            urlCache.flush();
+        }
+        Log.d(TAG, "Loaded " + loaded + " images (" + cached.size() + " cached, " + failed + " failed)");
+        return new PageResult(loaded, failed, hasMore());
+    }
+
     public boolean deleteImage(String urlOrPath) {
         try {
             StorageReference ref;
@@ -47,6 +192,10 @@ public class AdminImageDatabaseController {
                 ref = postersRef.child(urlOrPath);
             }
             Tasks.await(ref.delete());
+            if (urlCache != null) {
+                urlCache.remove(ref.getPath());
+                urlCache.flush();
+            }
             return true;
         } catch (Exception e) {
             return false;
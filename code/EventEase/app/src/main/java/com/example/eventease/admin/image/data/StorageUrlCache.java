@@ -0,0 +1,143 @@
+package com.example.eventease.admin.image.data;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Download URLs of Storage objects, keyed by storage path and kept in a file between sessions.
+ *
+ * <p>A download URL stays valid until its object is deleted or its token is revoked, so once a
+ * path has been resolved the admin image grid can show it without another
+ * {@code getDownloadUrl()} round trip. At most {@code maxEntries} paths are kept; the least
+ * recently used are dropped first. Changes are written back by {@link #flush()}.
+ */
+public final class StorageUrlCache {
+
+    private static final String TAG = "StorageUrlCache";
+    private static final String SEPARATOR = "\t";
+
+    private final File file;
+    private final int maxEntries;
+    private final LinkedHashMap<String, String> urls;
+    private boolean loaded;
+    private boolean dirty;
+
+    public StorageUrlCache(@NonNull File file, int maxEntries) {
+        this.file = file;
+        this.maxEntries = maxEntries;
+        this.urls = new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > StorageUrlCache.this.maxEntries;
+            }
+        };
+    }
+
+    @Nullable
+    public synchronized String get(@NonNull String path) {
+        ensureLoaded();
+        return urls.get(path);
+    }
+
+    public synchronized void put(@NonNull String path, @NonNull String url) {
+        ensureLoaded();
+        if (path.contains(SEPARATOR) || path.contains("\n") || url.contains(SEPARATOR) || url.contains("\n")) {
+            return;
+        }
+        if (!url.equals(urls.put(path, url))) {
+            dirty = true;
+        }
+    }
+
+    public synchronized void remove(@NonNull String path) {
+        ensureLoaded();
+        if (urls.remove(path) != null) {
+            dirty = true;
+        }
+    }
+
+    public synchronized int size() {
+        ensureLoaded();
+        return urls.size();
+    }
+
+    /**
+     * Writes the cache to its file if anything changed since the last flush.
+     */
+    public synchronized void flush() {
+        if (!dirty) {
+            return;
+        }
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            Log.w(TAG, "Cannot create cache directory " + parent);
+            return;
+        }
+        File tmp = new File(file.getPath() + ".tmp");
+        try (BufferedWriter out = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(tmp), StandardCharsets.UTF_8))) {
+            // Least recently used first, so reloading restores the same order
+            for (Map.Entry<String, String> entry : new ArrayList<>(urls.entrySet())) {
+                out.write(entry.getKey());
+                out.write(SEPARATOR);
+                out.write(entry.getValue());
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to write URL cache", e);
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            file.delete();
+            if (!tmp.renameTo(file)) {
+                tmp.delete();
+                return;
+            }
+        }
+        dirty = false;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!file.exists()) {
+            return;
+        }
+        List<String[]> entries = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                int split = line.indexOf(SEPARATOR);
+                if (split > 0 && split < line.length() - 1) {
+                    entries.add(new String[] {line.substring(0, split), line.substring(split + 1)});
+                }
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to read URL cache, starting empty", e);
+            return;
+        }
+        for (String[] entry : entries) {
+            urls.put(entry[0], entry[1]);
+        }
+    }
+}
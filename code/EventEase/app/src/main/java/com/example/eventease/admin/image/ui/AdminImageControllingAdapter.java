@@ -8,10 +8,12 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
 
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.example.eventease.R;
+import com.example.eventease.image.PosterPreloader;
 
 import java.util.List;
 
@@ -24,6 +26,7 @@ public class AdminImageControllingAdapter extends RecyclerView.Adapter<AdminImag
     }
 
     private final OnDelete onDelete;
+    @Nullable private PosterPreloader preloader;
 
     // Constructor
     public AdminImageControllingAdapter(Context ctx, List<String> urls, OnDelete onDelete) {
@@ -42,6 +45,16 @@ public class AdminImageControllingAdapter extends RecyclerView.Adapter<AdminImag
         itemH = (int) (screenH * 0.25f) - margin * 2;
     }
 
+    public void setPreloader(@Nullable PosterPreloader preloader) {
+        this.preloader = preloader;
+    }
+
+    // URL of the tile at a position, for the preloader
+    @Nullable
+    public String urlAt(int position) {
+        return position >= 0 && position < urls.size() ? urls.get(position) : null;
+    }
+
     //
     static class VH extends RecyclerView.ViewHolder {
         ImageView image;
@@ -59,16 +72,18 @@ public class AdminImageControllingAdapter extends RecyclerView.Adapter<AdminImag
         RecyclerView.LayoutParams lp = new RecyclerView.LayoutParams(itemW, itemH);
         lp.setMargins(margin, margin, margin, margin);
         v.setLayoutParams(lp);
-        return new VH(v);
+        VH holder = new VH(v);
+        if (preloader != null) {
+            preloader.trackView(holder.image);
+        }
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(VH h, int i) {
 
         String url = urls.get(i);
-        Glide.with(h.image.getContext())
-                .load(url)
-                .centerCrop()
+        PosterPreloader.request(Glide.with(h.image), url)
                 .placeholder(android.R.color.darker_gray)
                 .error(android.R.color.holo_red_dark)
                 .into(h.image);
@@ -18,7 +18,7 @@ import java.util.concurrent.Executors;
 public class AdminImageManagementActivity extends AppCompatActivity {
 
     private final ExecutorService io = Executors.newSingleThreadExecutor();
-    private final AdminImageDatabaseController AIDC = new AdminImageDatabaseController();
+    private AdminImageDatabaseController AIDC;
     private List<String> ImageData;
     private AdminImageControllingAdapter adapter;
 
@@ -29,6 +29,8 @@ public class AdminImageManagementActivity extends AppCompatActivity {
 
         ImageData = new ArrayList<>();
 
+        AIDC = new AdminImageDatabaseController(getApplicationContext());
+
         RecyclerView rv = findViewById(R.id.grid);
         rv.setLayoutManager(new GridLayoutManager(this, 2));
 
@@ -36,14 +38,12 @@ public class AdminImageManagementActivity extends AppCompatActivity {
                 (url, pos) -> deleteImage(url, pos));
         rv.setAdapter(adapter);
 
-        io.execute(() -> {
-            List<String> urls = AIDC.getImageLinks();
-            runOnUiThread(() -> {
-                ImageData.clear();
-                ImageData.addAll(urls);
-                adapter.notifyDataSetChanged();
-            });
-        });
+        // Only the first page here; AdminImagesFragment pages on scroll
+        io.execute(() -> AIDC.loadNextPage(urls -> runOnUiThread(() -> {
+            int start = ImageData.size();
+            ImageData.addAll(urls);
+            adapter.notifyItemRangeInserted(start, urls.size());
+        })));
     }
 
     private void deleteImage(String url, int pos) {
@@ -14,8 +14,10 @@ import androidx.fragment.app.Fragment;
 import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.bumptech.glide.Glide;
 import com.example.eventease.R;
 import com.example.eventease.admin.image.data.AdminImageDatabaseController;
+import com.example.eventease.image.PosterPreloader;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -30,9 +32,13 @@ import com.example.eventease.MainActivity;
 public class AdminImagesFragment extends Fragment {
 
     private final ExecutorService io = Executors.newSingleThreadExecutor();
-    private final AdminImageDatabaseController AIDC = new AdminImageDatabaseController();
+    /** The next page is requested when the grid is scrolled this close to its end. */
+    private static final int LOAD_MORE_THRESHOLD = 6;
+
+    private AdminImageDatabaseController AIDC;
     private List<String> ImageData;
     private AdminImageControllingAdapter adapter;
+    private boolean loading;
 
     @Nullable
     @Override
@@ -57,20 +63,54 @@ public class AdminImagesFragment extends Fragment {
 
         ImageData = new ArrayList<>();
 
+        AIDC = new AdminImageDatabaseController(requireContext().getApplicationContext());
+
         RecyclerView rv = view.findViewById(R.id.grid);
-        rv.setLayoutManager(new GridLayoutManager(requireContext(), 2));
+        GridLayoutManager layoutManager = new GridLayoutManager(requireContext(), 2);
+        rv.setLayoutManager(layoutManager);
 
         adapter = new AdminImageControllingAdapter(requireContext(), ImageData,
                 (url, pos) -> deleteImage(url, pos));
         rv.setAdapter(adapter);
+        PosterPreloader preloader = new PosterPreloader(Glide.with(this), adapter::urlAt);
+        adapter.setPreloader(preloader);
+        preloader.attachTo(rv);
+        rv.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0 && layoutManager.findLastVisibleItemPosition() >= adapter.getItemCount() - LOAD_MORE_THRESHOLD) {
+                    loadNextPage();
+                }
+            }
+        });
 
+        loadNextPage();
+    }
+
+    /**
+     * Loads the next page in the background, adding images to the grid as their URLs resolve.
+     */
+    private void loadNextPage() {
+        if (loading || !AIDC.hasMore() || io.isShutdown()) {
+            return;
+        }
+        loading = true;
         io.execute(() -> {
-            List<String> urls = AIDC.getImageLinks();
+            AdminImageDatabaseController.PageResult result = AIDC.loadNextPage(urls -> {
+                if (getActivity() != null) {
+                    getActivity().runOnUiThread(() -> {
+                        int start = ImageData.size();
+                        ImageData.addAll(urls);
+                        adapter.notifyItemRangeInserted(start, urls.size());
+                    });
+                }
+            });
             if (getActivity() != null) {
                 getActivity().runOnUiThread(() -> {
-                    ImageData.clear();
-                    ImageData.addAll(urls);
-                    adapter.notifyDataSetChanged();
+                    loading = false;
+                    if (result.failed > 0 && isAdded()) {
+                        Toast.makeText(requireContext(), "Some images could not be loaded", Toast.LENGTH_SHORT).show();
+                    }
                 });
             }
         });
@@ -0,0 +1,249 @@
+package com.example.eventease.admin.logs.data;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Pages through {@code notificationRequests} for the admin log, newest first.
+ *
+ * <p>Pages are read {@code pageSize} at a time with a {@code (createdAt, documentId)} cursor, and
+ * the page after the last one shown is prefetched so scrolling rarely waits on the network.
+ *
+ * <p>With a {@link Context}, pages are also kept in a {@link NotificationLogPageCache}: the first
+ * page is shown from disk while it is refreshed, and older pages are served from disk for up to
+ * ten minutes.
+ */
+public class AdminNotificationLogDatabaseController {
+
+    private static final String TAG = "AdminNotificationLogDB";
+    private static final String COLLECTION_NOTIFICATION_REQUESTS = "notificationRequests";
+
+    public static final int DEFAULT_PAGE_SIZE = 25;
+    private static final String CACHE_DIR = "admin_notification_log";
+    private static final int MAX_CACHED_PAGES = 200;
+    /** Short, since requests are deleted from the log and cached pages are never invalidated. */
+    private static final long CACHE_TTL_MS = 10 * 60 * 1000L;
+
+    private final FirebaseFirestore db = FirebaseFirestore.getInstance();
+    private final List<Notification> notifications = new ArrayList<>();
+    private final int pageSize;
+    @Nullable private final NotificationLogPageCache pageCache;
+    /** Shared by every controller, so reopening the log does not start another thread. */
+    private static final Executor DISK = Executors.newSingleThreadExecutor();
+
+    private Long cursorCreatedAt;
+    private String cursorId;
+    private boolean hasMore;
+    private boolean loading;
+    /** Bumped on every reload so results of an earlier load are dropped. */
+    private int generation;
+
+    private Task<NotificationLogPage> prefetch;
+    private String prefetchCursorId;
+
+    public interface NotificationsCallback {
+        void onLoaded(@NonNull List<Notification> notifications);
+        void onError(@NonNull Exception e);
+    }
+
+    public AdminNotificationLogDatabaseController() {
+        this(null, DEFAULT_PAGE_SIZE);
+    }
+
+    public AdminNotificationLogDatabaseController(@Nullable Context context, int pageSize) {
+        this.pageSize = pageSize;
+        this.pageCache = context != null
+                ? new NotificationLogPageCache(new File(context.getCacheDir(), CACHE_DIR),
+                        MAX_CACHED_PAGES, CACHE_TTL_MS, System::currentTimeMillis)
+                : null;
+    }
+
+    /**
+     * Reloads the log from its first page. {@code cb} receives every loaded notification each time
+     * the list changes: possibly once from the disk cache, then again from the server.
+     */
+    public void fetchNotifications(@NonNull final NotificationsCallback cb) {
+        final int gen = ++generation;
+        notifications.clear();
+        cursorCreatedAt = null;
+        cursorId = null;
+        hasMore = false;
+        prefetch = null;
+        loading = true;
+
+        final boolean[] shownFromCache = {false};
+        readCached(null, null).addOnSuccessListener(cached -> {
+            if (gen != generation || !loading || cached == null) return;
+            shownFromCache[0] = true;
+            cb.onLoaded(new ArrayList<>(cached.notifications));
+        });
+
+        fetchFromServer(null, null).addOnCompleteListener(task -> {
+            if (gen != generation) return;
+            loading = false;
+            if (!task.isSuccessful()) {
+                Log.e(TAG, "fetchNotifications: read fail", task.getException());
+                if (!shownFromCache[0]) {
+                    cb.onError(exceptionOf(task));
+                }
+                return;
+            }
+            appendPage(task.getResult());
+            cb.onLoaded(new ArrayList<>(notifications));
+            prefetchNextPage();
+        });
+    }
+
+    /**
+     * Appends the next older page, if any, and passes the whole list to {@code cb}.
+     * Does nothing while another page is loading.
+     */
+    public void loadNextPage(@NonNull final NotificationsCallback cb) {
+        if (loading || !hasMore || cursorId == null) {
+            return;
+        }
+        final int gen = generation;
+        loading = true;
+        Task<NotificationLogPage> next = prefetch != null && Objects.equals(prefetchCursorId, cursorId)
+                ? prefetch
+                : pageAfter(cursorCreatedAt, cursorId);
+        prefetch = null;
+        next.addOnCompleteListener(task -> {
+            if (gen != generation) return;
+            loading = false;
+            if (!task.isSuccessful()) {
+                Log.e(TAG, "loadNextPage: read fail", task.getException());
+                cb.onError(exceptionOf(task));
+                return;
+            }
+            appendPage(task.getResult());
+            Log.d(TAG, "Loaded log page, " + notifications.size() + " notifications shown");
+            cb.onLoaded(new ArrayList<>(notifications));
+            prefetchNextPage();
+        });
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    public boolean isLoading() {
+        return loading;
+    }
+
+    private void appendPage(NotificationLogPage page) {
+        notifications.addAll(page.notifications);
+        hasMore = page.hasMore && page.hasCursor();
+        if (page.hasCursor()) {
+            cursorCreatedAt = page.lastCreatedAt;
+            cursorId = page.lastId;
+        }
+    }
+
+    private void prefetchNextPage() {
+        if (!hasMore || cursorId == null) {
+            return;
+        }
+        prefetchCursorId = cursorId;
+        prefetch = pageAfter(cursorCreatedAt, cursorId);
+    }
+
+    /**
+     * The page after the cursor, from disk when cached and from the server otherwise.
+     */
+    private Task<NotificationLogPage> pageAfter(Long afterCreatedAt, String afterId) {
+        return readCached(afterCreatedAt, afterId).continueWithTask(task -> {
+            NotificationLogPage cached = task.isSuccessful() ? task.getResult() : null;
+            return cached != null ? Tasks.forResult(cached) : fetchFromServer(afterCreatedAt, afterId);
+        });
+    }
+
+    private Task<NotificationLogPage> readCached(Long afterCreatedAt, String afterId) {
+        if (pageCache == null) {
+            return Tasks.forResult(null);
+        }
+        return Tasks.call(DISK, () -> pageCache.get(afterCreatedAt, afterId));
+    }
+
+    private Task<NotificationLogPage> fetchFromServer(Long afterCreatedAt, String afterId) {
+        // The document id breaks ties between requests created in the same millisecond
+        Query query = db.collection(COLLECTION_NOTIFICATION_REQUESTS)
+                .orderBy("createdAt", Query.Direction.DESCENDING)
+                .orderBy(FieldPath.documentId(), Query.Direction.DESCENDING);
+        if (afterCreatedAt != null && afterId != null) {
+            query = query.startAfter(afterCreatedAt, afterId);
+        }
+        return query.limit(pageSize).get().continueWith(task -> {
+            QuerySnapshot qs = task.getResult();
+            List<Notification> page = new ArrayList<>();
+            DocumentSnapshot last = null;
+            for (DocumentSnapshot d : qs.getDocuments()) {
+                Notification n = mapDocumentToNotification(d);
+                if (n != null) {
+                    page.add(n);
+                }
+                last = d;
+            }
+            Long lastCreatedAt = null;
+            if (last != null && last.get("createdAt") instanceof Number) {
+                lastCreatedAt = ((Number) last.get("createdAt")).longValue();
+            }
+            NotificationLogPage result = new NotificationLogPage(page, lastCreatedAt,
+                    last != null ? last.getId() : null, qs.size() >= pageSize);
+            if (pageCache != null) {
+                DISK.execute(() -> pageCache.put(afterCreatedAt, afterId, result));
+            }
+            return result;
+        });
+    }
+
+    private static Exception exceptionOf(Task<?> task) {
+        return task.getException() != null ? task.getException()
+                : new IllegalStateException("Failed to load notification logs");
+    }
+
+    private Notification mapDocumentToNotification(DocumentSnapshot d) {
+        if (d == null) return null;
+
+        Number createdN = (Number) d.get("createdAt");
+        long createdAt = createdN != null ? createdN.longValue() : 0L;
+
+        String title = getStr(d, "title");          // Firestore field "title"
+        String message = getStr(d, "message");      // Firestore field "message"
+        String eventTitle = getStr(d, "eventTitle");
+        String organizerId = getStr(d, "organizerId");
+
+        Notification notification =
+                new Notification(createdAt, title, message, eventTitle, organizerId);
+
+
+        return notification;
+    }
+
+    private static String getStr(DocumentSnapshot d, String key) {
+        Object v = d.get(key);
+        return v != null ? String.valueOf(v) : "";
+    }
+
+    public List<Notification> getNotifications() {
+        return new ArrayList<>(notifications);
+    }
+}
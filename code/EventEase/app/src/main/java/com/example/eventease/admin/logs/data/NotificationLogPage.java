@@ -0,0 +1,36 @@
+package com.example.eventease.admin.logs.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of the admin notification log plus the cursor that continues after it.
+ *
+ * <p>The cursor is the {@code createdAt} value and document id of the page's last request, so a
+ * page can be stored on disk and the next page still requested with {@code startAfter}.
+ */
+public final class NotificationLogPage {
+
+    @NonNull public final List<Notification> notifications;
+    @Nullable public final Long lastCreatedAt;
+    @Nullable public final String lastId;
+    public final boolean hasMore;
+
+    public NotificationLogPage(@NonNull List<Notification> notifications, @Nullable Long lastCreatedAt,
+                               @Nullable String lastId, boolean hasMore) {
+        this.notifications = Collections.unmodifiableList(notifications);
+        this.lastCreatedAt = lastCreatedAt;
+        this.lastId = lastId;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Whether a next page can be requested after this one.
+     */
+    public boolean hasCursor() {
+        return lastCreatedAt != null && lastId != null;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.eventease.admin.logs.data;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.eventease.data.DiskCacheFiles;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * On-disk cache of admin notification log pages, one file per cursor.
+ *
+ * <p>Cached pages let the admin scroll back through the log without reading it again. They are
+ * not invalidated by changes to the log: new requests are added at the top, but requests are also
+ * deleted when an invitation is accepted or declined, so a cached page can still list a deleted
+ * request or skip one that moved up from the next page. The TTL bounds how long that lasts, so
+ * callers should keep it short. The first page is cached too, but only to have
+ * something to show immediately: callers always refresh it from the server.
+ *
+ * <p>Pages older than the TTL are ignored, and the least recently written files are removed once
+ * more than {@code maxPages} are stored. Reads and writes are blocking and must not run on the
+ * main thread.
+ */
+public final class NotificationLogPageCache {
+
+    private static final String TAG = "NotificationLogCache";
+    private static final int FORMAT_VERSION = 1;
+    private static final String FILE_SUFFIX = ".page";
+
+    private final File dir;
+    private final int maxPages;
+    private final long ttlMs;
+    private final LongSupplier clock;
+
+    public NotificationLogPageCache(@NonNull File dir, int maxPages, long ttlMs, @NonNull LongSupplier clock) {
+        this.dir = dir;
+        this.maxPages = maxPages;
+        this.ttlMs = ttlMs;
+        this.clock = clock;
+    }
+
+    /**
+     * The cached page following the cursor, or the first page when the cursor is null.
+     * Returns null if nothing usable is cached.
+     */
+    @Nullable
+    public synchronized NotificationLogPage get(@Nullable Long afterCreatedAt, @Nullable String afterId) {
+        String key = key(afterCreatedAt, afterId);
+        File file = fileFor(key);
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION || !key.equals(readString(in))) {
+                return null;
+            }
+            long savedAt = in.readLong();
+            if (clock.getAsLong() - savedAt > ttlMs) {
+                file.delete();
+                return null;
+            }
+            boolean hasMore = in.readBoolean();
+            Long lastCreatedAt = in.readBoolean() ? in.readLong() : null;
+            String lastId = in.readBoolean() ? readString(in) : null;
+            int count = in.readInt();
+            List<Notification> notifications = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long createdAt = in.readLong();
+                notifications.add(new Notification(createdAt, readString(in), readString(in),
+                        readString(in), readString(in)));
+            }
+            return new NotificationLogPage(notifications, lastCreatedAt, lastId, hasMore);
+        } catch (IOException e) {
+            Log.w(TAG, "Discarding unreadable cached page " + file.getName(), e);
+            file.delete();
+            return null;
+        }
+    }
+
+    public synchronized void put(@Nullable Long afterCreatedAt, @Nullable String afterId,
+                                 @NonNull NotificationLogPage page) {
+        if (!dir.exists() && !dir.mkdirs()) {
+            Log.w(TAG, "Cannot create cache directory " + dir);
+            return;
+        }
+        String key = key(afterCreatedAt, afterId);
+        File file = fileFor(key);
+        File tmp = new File(dir, file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, key);
+            out.writeLong(clock.getAsLong());
+            out.writeBoolean(page.hasMore);
+            out.writeBoolean(page.lastCreatedAt != null);
+            if (page.lastCreatedAt != null) {
+                out.writeLong(page.lastCreatedAt);
+            }
+            out.writeBoolean(page.lastId != null);
+            if (page.lastId != null) {
+                writeString(out, page.lastId);
+            }
+            out.writeInt(page.notifications.size());
+            for (Notification n : page.notifications) {
+                out.writeLong(n.getCreatedAtMillis());
+                writeString(out, n.getNotificationTitle());
+                writeString(out, n.getNotificationMessage());
+                writeString(out, n.getEventTitle());
+                writeString(out, n.getOrganizerID());
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to cache page", e);
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            file.delete();
+            if (!tmp.renameTo(file)) {
+                tmp.delete();
+                return;
+            }
+        }
+        // Rewriting an existing page must still count as its most recent use
+        file.setLastModified(clock.getAsLong());
+        DiskCacheFiles.trimOldest(dir, FILE_SUFFIX, maxPages);
+    }
+
+    public synchronized void clear() {
+        for (File file : pageFiles()) {
+            file.delete();
+        }
+    }
+
+    synchronized int size() {
+        return pageFiles().length;
+    }
+
+    private File[] pageFiles() {
+        File[] files = dir.listFiles((d, name) -> name.endsWith(FILE_SUFFIX));
+        return files != null ? files : new File[0];
+    }
+
+    private File fileFor(String key) {
+        return new File(dir, sha256(key) + FILE_SUFFIX);
+    }
+
+    static String key(Long afterCreatedAt, String afterId) {
+        return "after=" + (afterCreatedAt != null ? afterCreatedAt + "/" + afterId : "");
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > (1 << 20)) {
+            throw new IOException("Corrupt string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
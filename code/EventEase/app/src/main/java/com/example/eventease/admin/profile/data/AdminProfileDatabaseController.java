@@ -4,16 +4,19 @@ import android.content.Context;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
+import com.example.eventease.data.firebase.CascadeDeleteJob;
 import com.example.eventease.ui.entrant.profile.ProfileDeletionHelper;
 import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QuerySnapshot;
 import com.google.firebase.firestore.FieldValue;
 import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.Tasks;
-import com.google.android.gms.tasks.TaskCompletionSource;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,6 +26,20 @@ public class AdminProfileDatabaseController {
     private static final String TAG = "AdminProfileDB";
     private final FirebaseFirestore db = FirebaseFirestore.getInstance();
 
+    public static final int DEFAULT_PAGE_SIZE = 30;
+    /** Role filter value selecting users with a pending organizer application. */
+    public static final String ROLE_FILTER_PENDING_APPLICATION = "pendingApplication";
+
+    private final int pageSize = DEFAULT_PAGE_SIZE;
+    private final List<UserProfile> profiles = new ArrayList<>();
+    @Nullable private String searchKey;
+    @Nullable private String roleFilter;
+    private DocumentSnapshot cursor;
+    private boolean hasMore;
+    private boolean loading;
+    /** Bumped on every reload so pages of an earlier query are dropped. */
+    private int generation;
+
     public interface ProfilesCallback {
         void onLoaded(@NonNull List<UserProfile> profiles);
         void onError(@NonNull Exception e);
@@ -33,11 +50,33 @@ public class AdminProfileDatabaseController {
         void onError(@NonNull Exception e);
     }
 
+    /**
+     * Sets the search used from the next {@link #fetchProfiles} on.
+     *
+     * @param search text the profile's name or email must start with (or one of their words); empty for all
+     * @param role role the user must have, {@link #ROLE_FILTER_PENDING_APPLICATION}, or null for any
+     */
+    public void setQuery(@Nullable String search, @Nullable String role) {
+        this.searchKey = ProfileSearchTokens.queryKey(search);
+        this.roleFilter = role == null || role.isEmpty() ? null : role;
+    }
+
+    /**
+     * Verifies the current user is an admin, then reloads the first page of profiles matching the
+     * current query. Further pages are loaded with {@link #loadNextPage}.
+     */
     public void fetchProfiles(@NonNull final ProfilesCallback cb) {
+        final int gen = ++generation;
+        profiles.clear();
+        cursor = null;
+        hasMore = false;
+        loading = true;
         // Use UserRoleChecker to verify admin role
         com.example.eventease.auth.UserRoleChecker.isAdmin()
                 .addOnCompleteListener(task -> {
+                    if (gen != generation) return;
                     if (!task.isSuccessful()) {
+                        loading = false;
                         Exception e = task.getException();
                         Log.e(TAG, "fetchProfiles: Failed to verify admin status. Error: " + (e != null ? e.getMessage() : "Unknown error"), e);
                         cb.onError(new IllegalStateException("Failed to verify admin status: " + (e != null ? e.getMessage() : "Unknown error")));
@@ -46,55 +85,72 @@ public class AdminProfileDatabaseController {
                     
                     Boolean isAdmin = task.getResult();
                     if (isAdmin == null || !isAdmin) {
+                        loading = false;
                         Log.e(TAG, "fetchProfiles: Current user is not an admin. isAdmin result: " + isAdmin);
                         cb.onError(new SecurityException("Only administrators can view all profiles"));
                         return;
                     }
                     
-                    Log.d(TAG, "fetchProfiles: Admin verified, proceeding to fetch all profiles");
-                    // User is admin, proceed to fetch all profiles
-                    fetchAllProfiles(cb);
+                    Log.d(TAG, "fetchProfiles: Admin verified, proceeding to fetch first page of profiles");
+                    // User is admin, proceed to fetch the first page
+                    fetchPage(gen, cb);
                 });
     }
+
+    /**
+     * Appends the next page of profiles matching the current search, if any.
+     * Does nothing while another page is loading.
+     */
+    public void loadNextPage(@NonNull final ProfilesCallback cb) {
+        if (loading || !hasMore || cursor == null) {
+            return;
+        }
+        loading = true;
+        fetchPage(generation, cb);
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
     
-    private void fetchAllProfiles(@NonNull final ProfilesCallback cb) {
-        db.collection("users")
+    /**
+     * Loads the page after the cursor, or the first page when there is none, and passes every
+     * profile loaded so far to {@code cb}.
+     */
+    private void fetchPage(final int gen, @NonNull final ProfilesCallback cb) {
+        Query query = db.collection("users");
+        if (searchKey != null) {
+            query = query.whereArrayContains(ProfileSearchTokens.SEARCH_PREFIXES_FIELD, searchKey);
+        }
+        if (ROLE_FILTER_PENDING_APPLICATION.equals(roleFilter)) {
+            query = query.whereEqualTo("organizerApplicationStatus", "PENDING");
+        } else if (roleFilter != null) {
+            query = query.whereEqualTo(ProfileSearchTokens.ROLE_INDEX_FIELD + "." + roleFilter, true);
+        }
+        // Ordering by id alone lets Firestore serve every filter combination from single-field indexes
+        query = query.orderBy(FieldPath.documentId());
+        if (cursor != null) {
+            query = query.startAfter(cursor);
+        }
+        query.limit(pageSize)
                 .get()
                 .addOnSuccessListener((QuerySnapshot qs) -> {
-                    List<UserProfile> list = new ArrayList<>();
-                    for (DocumentSnapshot d : qs.getDocuments()) {
-                        String uid = d.getId();
-                        String email = getStr(d, "email");
-                        String name = getStr(d, "name");
-                        String phoneNumber = getStr(d, "phoneNumber");
-                        Long createdAt = d.getLong("createdAt");
-
-                        // Get roles
-                        List<String> roles = new ArrayList<>();
-                        Object rolesObj = d.get("roles");
-                        if (rolesObj instanceof List<?>) {
-                            for (Object role : (List<?>) rolesObj) {
-                                if (role != null) {
-                                    roles.add(role.toString());
-                                }
-                            }
-                        }
-
-                        // Organizer application metadata (optional fields on user document)
-                        String organizerApplicationStatus = getStr(d, "organizerApplicationStatus");
-                        String organizerApplicationIdImageUrl = getStr(d, "organizerApplicationIdImageUrl");
-
-                        UserProfile profile = new UserProfile(uid, email, name, phoneNumber,
-                                roles, createdAt != null ? createdAt : 0L);
-                        profile.setOrganizerApplicationStatus(organizerApplicationStatus);
-                        profile.setOrganizerApplicationIdImageUrl(organizerApplicationIdImageUrl);
-
-                        list.add(profile);
+                    if (gen != generation) return;
+                    loading = false;
+                    List<DocumentSnapshot> docs = qs.getDocuments();
+                    for (DocumentSnapshot d : docs) {
+                        profiles.add(mapDocumentToProfile(d));
                     }
-                    Log.d(TAG, "fetchProfiles: Successfully loaded " + list.size() + " profiles");
-                    cb.onLoaded(list);
+                    if (!docs.isEmpty()) {
+                        cursor = docs.get(docs.size() - 1);
+                    }
+                    hasMore = docs.size() >= pageSize;
+                    Log.d(TAG, "fetchProfiles: Loaded page of " + docs.size() + " profiles, " + profiles.size() + " total");
+                    cb.onLoaded(new ArrayList<>(profiles));
                 })
                 .addOnFailureListener(e -> {
+                    if (gen != generation) return;
+                    loading = false;
                     String errorMsg = e.getMessage();
                     Log.e(TAG, "fetchProfiles: Failed to read users collection. Error: " + errorMsg, e);
                     if (errorMsg != null && errorMsg.contains("permission")) {
@@ -105,6 +161,35 @@ public class AdminProfileDatabaseController {
                 });
     }
 
+    private static UserProfile mapDocumentToProfile(DocumentSnapshot d) {
+        String uid = d.getId();
+        String email = getStr(d, "email");
+        String name = getStr(d, "name");
+        String phoneNumber = getStr(d, "phoneNumber");
+        Long createdAt = d.getLong("createdAt");
+
+        // Get roles
+        List<String> roles = new ArrayList<>();
+        Object rolesObj = d.get("roles");
+        if (rolesObj instanceof List<?>) {
+            for (Object role : (List<?>) rolesObj) {
+                if (role != null) {
+                    roles.add(role.toString());
+                }
+            }
+        }
+
+        // Organizer application metadata (optional fields on user document)
+        String organizerApplicationStatus = getStr(d, "organizerApplicationStatus");
+        String organizerApplicationIdImageUrl = getStr(d, "organizerApplicationIdImageUrl");
+
+        UserProfile profile = new UserProfile(uid, email, name, phoneNumber,
+                roles, createdAt != null ? createdAt : 0L);
+        profile.setOrganizerApplicationStatus(organizerApplicationStatus);
+        profile.setOrganizerApplicationIdImageUrl(organizerApplicationIdImageUrl);
+        return profile;
+    }
+
     private static String getStr(DocumentSnapshot d, String key) {
         Object v = d.get(key);
         return v != null ? String.valueOf(v) : "";
@@ -118,45 +203,21 @@ public class AdminProfileDatabaseController {
         }
 
         Log.d(TAG, "Starting deletion of profile: " + uid);
-        removeUserFromEventLists(uid);
-
-        // If the user is an organizer, delete all of their events first
-        Task<Void> organizerEventsTask = Tasks.forResult(null);
-        if (profile.getRoles() != null && profile.getRoles().contains("organizer")) {
-            Log.d(TAG, "deleteProfile: User is an organizer, deleting their events. uid=" + uid);
-            organizerEventsTask = deleteOrganizerEvents(uid);
-        }
-
-        // Wait for organizer events to be deleted (if applicable), then proceed with user references
-        organizerEventsTask
-                .continueWithTask(task -> {
-                    // Use ProfileDeletionHelper to delete all user references
-                    ProfileDeletionHelper deletionHelper = new ProfileDeletionHelper(context);
-                    TaskCompletionSource<Void> completionSource = new TaskCompletionSource<>();
-                    deletionHelper.deleteAllUserReferences(uid, new ProfileDeletionHelper.DeletionCallback() {
-                        @Override
-                        public void onDeletionComplete() {
-                            completionSource.setResult(null);
-                        }
-
-                        @Override
-                        public void onDeletionFailure(String error) {
-                            Log.w(TAG, "Failed to delete some user references: " + error + ", proceeding with document deletion");
-                            // Still proceed even if some references failed
-                            completionSource.setResult(null);
-                        }
-                    });
-                    return completionSource.getTask();
-                })
-                .addOnSuccessListener(aVoid -> {
-                    // After cleaning up references, delete the user document
-                    deleteUserDocument(uid, callback);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Failed during profile deletion process", e);
-                    // Still try to delete the user document
-                    deleteUserDocument(uid, callback);
-                });
+        boolean isOrganizer = profile.getRoles() != null && profile.getRoles().contains("organizer");
+
+        // Remove the user's events (if an organizer) and every reference to the user, then the document
+        new ProfileDeletionHelper(context).deleteAllUserReferences(uid, isOrganizer, new ProfileDeletionHelper.DeletionCallback() {
+            @Override
+            public void onDeletionComplete() {
+                deleteUserDocument(uid, callback);
+            }
+
+            @Override
+            public void onDeletionFailure(String error) {
+                // Keep the user document so deleting again resumes the cascade
+                callback.onError(new IllegalStateException("Failed to delete user references: " + error));
+            }
+        });
     }
 
     private void deleteUserDocument(@NonNull String uid, @NonNull DeleteCallback callback) {
@@ -246,106 +307,11 @@ public class AdminProfileDatabaseController {
             Log.w(TAG, "deleteOrganizerEvents: UID is null or empty, skipping delete");
             return Tasks.forResult(null);
         }
-
-        return db.collection("events")
-                .whereEqualTo("organizerId", uid)
-                .get()
-                .continueWithTask(queryTask -> {
-                    if (!queryTask.isSuccessful() || queryTask.getResult() == null) {
-                        Log.e(TAG, "deleteOrganizerEvents: Failed to fetch events for organizer: " + uid, queryTask.getException());
-                        return Tasks.forResult(null);
-                    }
-
-                    QuerySnapshot qs = queryTask.getResult();
-                    if (qs.isEmpty()) {
-                        Log.d(TAG, "deleteOrganizerEvents: No events found for organizer: " + uid);
-                        return Tasks.forResult(null);
-                    }
-
-                    Log.d(TAG, "deleteOrganizerEvents: Found " + qs.size() + " events to delete for organizer: " + uid);
-                    List<Task<Void>> deleteTasks = new ArrayList<>();
-                    
-                    for (DocumentSnapshot d : qs.getDocuments()) {
-                        final String eventId = d.getId();
-                        deleteTasks.add(d.getReference().delete()
-                                .addOnSuccessListener(aVoid ->
-                                        Log.d(TAG, "deleteOrganizerEvents: Deleted event " + eventId +
-                                                " for organizer: " + uid))
-                                .addOnFailureListener(e ->
-                                        Log.e(TAG, "deleteOrganizerEvents: Failed to delete event " +
-                                                eventId + " for organizer: " + uid, e))
-                                .continueWith(task -> null));
-                    }
-
-                    if (deleteTasks.isEmpty()) {
-                        return Tasks.forResult(null);
-                    }
-
-                    return Tasks.whenAll(deleteTasks)
-                            .continueWith(allTasks -> {
-                                if (allTasks.isSuccessful()) {
-                                    Log.d(TAG, "deleteOrganizerEvents: Successfully deleted all " + qs.size() + " events for organizer: " + uid);
-                                } else {
-                                    Log.e(TAG, "deleteOrganizerEvents: Some events failed to delete for organizer: " + uid, allTasks.getException());
-                                }
-                                return null;
-                            });
-                });
-    }
-
-    private void removeUserFromEventLists(@NonNull String uid) {
-        if (uid == null || uid.trim().isEmpty()) {
-            Log.w(TAG, "removeUserFromEventLists: UID is null or empty, skipping");
-            return;
-        }
-        db.collection("events")
-                .get()
-                .addOnSuccessListener((QuerySnapshot qs) -> {
-                    if (qs == null || qs.isEmpty()) {
-                        Log.d(TAG, "removeUserFromEventLists: No events found when cleaning up uid=" + uid);
-                        return;
-                    }
-
-                    String[] entrantCollections = new String[] {
-                            "WaitlistedEntrants",
-                            "SelectedEntrants",
-                            "NonSelectedEntrants",
-                            "CancelledEntrants",
-                            "AdmittedEntrants"
-                    };
-
-                    for (DocumentSnapshot eventDoc : qs.getDocuments()) {
-                        final String eventId = eventDoc.getId();
-                        DocumentReference eventRef = eventDoc.getReference();
-
-                        // Remove from any array fields on the event document (no-op if they don't exist)
-                        eventRef.update(
-                                        "waitlist", FieldValue.arrayRemove(uid),
-                                        "admitted", FieldValue.arrayRemove(uid)
-                                )
-                                .addOnSuccessListener(aVoid ->
-                                        Log.d(TAG, "removeUserFromEventLists: Removed uid " + uid +
-                                                " from arrays for event " + eventId))
-                                .addOnFailureListener(e ->
-                                        Log.w(TAG, "removeUserFromEventLists: Failed to update arrays for event "
-                                                + eventId + " and uid " + uid, e));
-
-                        // Remove documents from entrant subcollections (if they exist)
-                        for (String subPath : entrantCollections) {
-                            eventRef.collection(subPath)
-                                    .document(uid)
-                                    .delete()
-                                    .addOnSuccessListener(aVoid ->
-                                            Log.d(TAG, "removeUserFromEventLists: Deleted " + subPath + "/" + uid +
-                                                    " for event " + eventId))
-                                    .addOnFailureListener(e ->
-                                            Log.w(TAG, "removeUserFromEventLists: Failed to delete " + subPath +
-                                                    "/" + uid + " for event " + eventId, e));
-                        }
-                    }
-                })
+        return new CascadeDeleteJob(db, uid, true, null).deleteOrganizerEvents()
+                .addOnSuccessListener(aVoid ->
+                        Log.d(TAG, "deleteOrganizerEvents: Deleted all events for organizer: " + uid))
                 .addOnFailureListener(e ->
-                        Log.e(TAG, "removeUserFromEventLists: Failed to load events when cleaning up uid=" + uid, e));
+                        Log.e(TAG, "deleteOrganizerEvents: Some events failed to delete for organizer: " + uid, e));
     }
 
 }
\ No newline at end of file
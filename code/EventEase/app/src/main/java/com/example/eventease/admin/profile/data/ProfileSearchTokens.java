@@ -0,0 +1,73 @@
+package com.example.eventease.admin.profile.data;
+
+import androidx.annotation.Nullable;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Search keys stored on each user document so admins can search profiles with one
+ * {@code array-contains} query.
+ *
+ * <p>{@link #SEARCH_PREFIXES_FIELD} holds every prefix, up to {@link #MAX_PREFIX_LENGTH}
+ * characters, of the normalized full name, the normalized email and each word in either. A search
+ * therefore matches when it is the start of the name, the email or any single word of them. The
+ * field is written by the {@code indexUserSearchFields} Cloud Function, which must produce the
+ * same keys as {@link #prefixes}.
+ */
+public final class ProfileSearchTokens {
+
+    public static final String SEARCH_PREFIXES_FIELD = "searchPrefixes";
+    /** Map of role name to {@code true}, so a role filter can be combined with a search. */
+    public static final String ROLE_INDEX_FIELD = "roleIndex";
+    public static final int MAX_PREFIX_LENGTH = 20;
+
+    private ProfileSearchTokens() {
+    }
+
+    /**
+     * Lowercases, strips accents and collapses whitespace.
+     */
+    static String normalize(@Nullable String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        return stripped.toLowerCase(Locale.ROOT).strip().replaceAll("(?U)\\s+", " ");
+    }
+
+    /**
+     * Every key stored for a profile with this name and email.
+     */
+    static Set<String> prefixes(@Nullable String name, @Nullable String email) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String source : new String[] {normalize(name), normalize(email)}) {
+            addPrefixes(source, keys);
+            for (String word : source.split("[^\\p{L}\\p{N}]+")) {
+                addPrefixes(word, keys);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * The key to look up for what the admin typed, or null to show every profile.
+     */
+    @Nullable
+    public static String queryKey(@Nullable String query) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        return normalized.length() > MAX_PREFIX_LENGTH ? normalized.substring(0, MAX_PREFIX_LENGTH) : normalized;
+    }
+
+    private static void addPrefixes(String text, Set<String> keys) {
+        int max = Math.min(text.length(), MAX_PREFIX_LENGTH);
+        for (int n = 1; n <= max; n++) {
+            keys.add(text.substring(0, n));
+        }
+    }
+}
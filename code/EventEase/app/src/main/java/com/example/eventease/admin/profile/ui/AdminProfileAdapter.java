@@ -142,7 +142,17 @@ public class AdminProfileAdapter extends RecyclerView.Adapter<AdminProfileAdapte
         });
     }
 
+    /**
+     * Replaces the list. When {@code newItems} only adds profiles after the current ones (the next
+     * page was loaded), just the new rows are bound.
+     */
     public void submitList(@NonNull List<UserProfile> newItems) {
+        if (newItems != null && extendsCurrentItems(newItems)) {
+            int start = items.size();
+            items.addAll(newItems.subList(start, newItems.size()));
+            notifyItemRangeInserted(start, newItems.size() - start);
+            return;
+        }
         items.clear();
         if (newItems != null) {
             items.addAll(newItems);
@@ -150,6 +160,19 @@ public class AdminProfileAdapter extends RecyclerView.Adapter<AdminProfileAdapte
         notifyDataSetChanged();
     }
 
+    private boolean extendsCurrentItems(@NonNull List<UserProfile> newItems) {
+        if (items.isEmpty() || newItems.size() <= items.size()) {
+            return false;
+        }
+        for (int i = 0; i < items.size(); i++) {
+            String uid = items.get(i).getUid();
+            if (uid == null || !uid.equals(newItems.get(i).getUid())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public int getItemCount() {
         return items.size();
@@ -1,9 +1,14 @@
 package com.example.eventease.admin.profile.ui;
 
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.EditText;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
@@ -15,6 +20,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.eventease.R;
 import com.example.eventease.admin.profile.data.AdminProfileDatabaseController;
 import com.example.eventease.admin.profile.data.UserProfile;
+import com.google.android.material.chip.ChipGroup;
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 
 import java.util.ArrayList;
@@ -34,7 +40,8 @@ import com.example.eventease.MainActivity;
  * 
  * <p>Features:
  * <ul>
- *   <li>View all user profiles in a scrollable list</li>
+ *   <li>View all user profiles in a scrollable list, loaded a page at a time</li>
+ *   <li>Search by name or email prefix and filter by role</li>
  *   <li>Delete user profiles with confirmation dialog</li>
  *   <li>Prevent self-deletion (admin cannot delete their own profile)</li>
  *   <li>Refresh profile list after deletion</li>
@@ -46,10 +53,19 @@ import com.example.eventease.MainActivity;
  */
 public class AdminProfilesFragment extends Fragment {
 
+    /** Typing pauses this long before the search runs. */
+    private static final long SEARCH_DEBOUNCE_MS = 300;
+    /** The next page is requested when the list is scrolled this close to its end. */
+    private static final int LOAD_MORE_THRESHOLD = 5;
+
     private final AdminProfileDatabaseController APDC = new AdminProfileDatabaseController();
+    private final Handler searchHandler = new Handler(Looper.getMainLooper());
+    private final Runnable searchRunnable = this::loadProfiles;
     private RecyclerView rv;
     private AdminProfileAdapter adapter;
     private List<UserProfile> profiles = new ArrayList<>();
+    private String searchText = "";
+    private String roleFilter;
 
     @Nullable
     @Override
@@ -75,68 +91,130 @@ public class AdminProfilesFragment extends Fragment {
 
         rv = view.findViewById(R.id.rvProfiles);
         if (rv != null) {
-            rv.setLayoutManager(new LinearLayoutManager(requireContext()));
+            LinearLayoutManager layoutManager = new LinearLayoutManager(requireContext());
+            rv.setLayoutManager(layoutManager);
             adapter = new AdminProfileAdapter(requireContext(), new ArrayList<>(), this::deleteProfileAndRefresh);
             rv.setAdapter(adapter);
+            rv.addOnScrollListener(new RecyclerView.OnScrollListener() {
+                @Override
+                public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                    if (dy <= 0 || !APDC.hasMore()) return;
+                    if (layoutManager.findLastVisibleItemPosition() >= adapter.getItemCount() - LOAD_MORE_THRESHOLD) {
+                        APDC.loadNextPage(profilesCallback);
+                    }
+                }
+            });
         }
 
+        setupSearch(view);
+
         // Load profiles
         loadProfiles();
     }
 
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        searchHandler.removeCallbacks(searchRunnable);
+    }
+
+    private void setupSearch(@NonNull View view) {
+        EditText searchInput = view.findViewById(R.id.etProfileSearch);
+        if (searchInput != null) {
+            searchInput.addTextChangedListener(new TextWatcher() {
+                @Override
+                public void beforeTextChanged(CharSequence s, int start, int count, int after) { }
+
+                @Override
+                public void onTextChanged(CharSequence s, int start, int before, int count) { }
+
+                @Override
+                public void afterTextChanged(Editable s) {
+                    searchText = s.toString();
+                    searchHandler.removeCallbacks(searchRunnable);
+                    searchHandler.postDelayed(searchRunnable, SEARCH_DEBOUNCE_MS);
+                }
+            });
+        }
+
+        ChipGroup roleGroup = view.findViewById(R.id.chipGroupProfileRole);
+        if (roleGroup != null) {
+            roleGroup.setOnCheckedStateChangeListener((group, checkedIds) -> {
+                int checkedId = checkedIds.isEmpty() ? View.NO_ID : checkedIds.get(0);
+                if (checkedId == R.id.chipRoleEntrant) {
+                    roleFilter = "entrant";
+                } else if (checkedId == R.id.chipRoleOrganizer) {
+                    roleFilter = "organizer";
+                } else if (checkedId == R.id.chipRoleAdmin) {
+                    roleFilter = "admin";
+                } else if (checkedId == R.id.chipRolePending) {
+                    roleFilter = AdminProfileDatabaseController.ROLE_FILTER_PENDING_APPLICATION;
+                } else {
+                    roleFilter = null;
+                }
+                searchHandler.removeCallbacks(searchRunnable);
+                loadProfiles();
+            });
+        }
+    }
+
     private void loadProfiles() {
-        APDC.fetchProfiles(new AdminProfileDatabaseController.ProfilesCallback() {
-            @Override
-            public void onLoaded(@NonNull List<UserProfile> data) {
-                if (getActivity() != null && isAdded()) {
-                    getActivity().runOnUiThread(() -> {
-                        if (adapter != null && rv != null) {
-                            profiles = data;
-                            adapter.submitList(data);
-                        }
-                    });
+        APDC.setQuery(searchText, roleFilter);
+        APDC.fetchProfiles(profilesCallback);
+    }
+
+    private final AdminProfileDatabaseController.ProfilesCallback profilesCallback =
+            new AdminProfileDatabaseController.ProfilesCallback() {
+                @Override
+                public void onLoaded(@NonNull List<UserProfile> data) {
+                    if (getActivity() != null && isAdded()) {
+                        getActivity().runOnUiThread(() -> {
+                            if (adapter != null && rv != null) {
+                                profiles = data;
+                                adapter.submitList(data);
+                            }
+                        });
+                    }
                 }
-            }
-
-            @Override
-            public void onError(@NonNull Exception e) {
-                if (getActivity() != null && isAdded()) {
-                    getActivity().runOnUiThread(() -> {
-                        String errorMsg = e.getMessage();
-                        String className = e.getClass().getSimpleName();
+
+                @Override
+                public void onError(@NonNull Exception e) {
+                    if (getActivity() != null && isAdded()) {
+                        getActivity().runOnUiThread(() -> {
+                            String errorMsg = e.getMessage();
+                            String className = e.getClass().getSimpleName();
                         
-                        // Log full error details
-                        android.util.Log.e("AdminProfiles", "Error loading profiles. Type: " + className + ", Message: " + errorMsg, e);
+                            // Log full error details
+                            android.util.Log.e("AdminProfiles", "Error loading profiles. Type: " + className + ", Message: " + errorMsg, e);
                         
-                        if (errorMsg != null) {
-                            // Check for specific error types
-                            if (errorMsg.contains("Permission denied") || errorMsg.contains("permission")) {
-                                Toast.makeText(requireContext(), 
-                                    "Permission denied. Please verify:\n1. Firestore rules are deployed\n2. Your user has 'admin' role\n3. Check Logcat for details", 
-                                    Toast.LENGTH_LONG).show();
-                            } else if (errorMsg.contains("Failed to verify admin status")) {
-                                Toast.makeText(requireContext(), 
-                                    "Cannot verify admin status. Check Logcat for details.", 
-                                    Toast.LENGTH_LONG).show();
-                            } else if (errorMsg.contains("Only administrators")) {
-                                Toast.makeText(requireContext(), 
-                                    "Access denied: Admin role required", 
-                                    Toast.LENGTH_LONG).show();
+                            if (errorMsg != null) {
+                                // Check for specific error types
+                                if (errorMsg.contains("Permission denied") || errorMsg.contains("permission")) {
+                                    Toast.makeText(requireContext(), 
+                                        "Permission denied. Please verify:\n1. Firestore rules are deployed\n2. Your user has 'admin' role\n3. Check Logcat for details", 
+                                        Toast.LENGTH_LONG).show();
+                                } else if (errorMsg.contains("Failed to verify admin status")) {
+                                    Toast.makeText(requireContext(), 
+                                        "Cannot verify admin status. Check Logcat for details.", 
+                                        Toast.LENGTH_LONG).show();
+                                } else if (errorMsg.contains("Only administrators")) {
+                                    Toast.makeText(requireContext(), 
+                                        "Access denied: Admin role required", 
+                                        Toast.LENGTH_LONG).show();
+                                } else {
+                                    Toast.makeText(requireContext(), 
+                                        "Error loading profiles: " + errorMsg, 
+                                        Toast.LENGTH_LONG).show();
+                                }
                             } else {
                                 Toast.makeText(requireContext(), 
-                                    "Error loading profiles: " + errorMsg, 
+                                    "Error loading profiles. Check Logcat for details.", 
                                     Toast.LENGTH_LONG).show();
                             }
-                        } else {
-                            Toast.makeText(requireContext(), 
-                                "Error loading profiles. Check Logcat for details.", 
-                                Toast.LENGTH_LONG).show();
-                        }
-                    });
+                        });
+                    }
                 }
-            }
-        });
-    }
+            };
 
     private void deleteProfileAndRefresh(@NonNull UserProfile profile) {
         // Check if trying to delete current device's profile
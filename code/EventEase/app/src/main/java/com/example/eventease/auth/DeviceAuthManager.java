@@ -158,6 +158,8 @@ public class DeviceAuthManager {
         userData.put("roles", Arrays.asList(role));
         userData.put("createdAt", System.currentTimeMillis());
         userData.put("lastSeenAt", System.currentTimeMillis());
+        // New users have no memberships yet, so there is nothing to backfill
+        userData.put(MembershipIndex.VERSION_FIELD, MembershipIndex.VERSION);
         
         // Email is required
         if (email != null && !email.trim().isEmpty()) {
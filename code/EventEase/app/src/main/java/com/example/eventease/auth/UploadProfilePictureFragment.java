@@ -3,16 +3,10 @@ package com.example.eventease.auth;
 import android.Manifest;
 import android.app.Dialog;
 import android.content.pm.PackageManager;
-import android.graphics.Bitmap;
 import android.graphics.Color;
-import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.ColorDrawable;
 import android.net.Uri;
 import android.os.Bundle;
-import android.renderscript.Allocation;
-import android.renderscript.Element;
-import android.renderscript.RenderScript;
-import android.renderscript.ScriptIntrinsicBlur;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -36,6 +30,7 @@ import java.io.IOException;
 import com.bumptech.glide.Glide;
 import com.example.eventease.App;
 import com.example.eventease.R;
+import com.example.eventease.image.BlurEngine;
 import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.StorageReference;
 import com.google.firebase.firestore.FirebaseFirestore;
@@ -148,17 +143,8 @@ public class UploadProfilePictureFragment extends Fragment {
             dialog.getWindow().clearFlags(WindowManager.LayoutParams.FLAG_DIM_BEHIND);
         }
         
-        // Capture screenshot and blur it for the background
-        Bitmap screenshot = captureScreenshot();
-        if (screenshot != null) {
-            Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-            if (blurredBitmap != null) {
-                android.view.View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
-                if (blurBackground != null) {
-                    blurBackground.setBackground(new BitmapDrawable(getResources(), blurredBitmap));
-                }
-            }
-        }
+        // Blur the screen behind the dialog
+        BlurEngine.getInstance().blurBehind(getActivity(), dialog.findViewById(R.id.dialogBlurBackground));
         
         // Make the background clickable to dismiss
         android.view.View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
@@ -327,48 +313,5 @@ public class UploadProfilePictureFragment extends Fragment {
         }
     }
     
-    private Bitmap captureScreenshot() {
-        try {
-            if (getActivity() == null || getActivity().getWindow() == null) return null;
-            View rootView = getActivity().getWindow().getDecorView().getRootView();
-            rootView.setDrawingCacheEnabled(true);
-            Bitmap bitmap = Bitmap.createBitmap(rootView.getDrawingCache());
-            rootView.setDrawingCacheEnabled(false);
-            return bitmap;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
-    }
-
-    private Bitmap blurBitmap(Bitmap bitmap, float radius) {
-        if (bitmap == null || requireContext() == null) return null;
-        
-        try {
-            // Scale down for better performance
-            int width = Math.round(bitmap.getWidth() * 0.4f);
-            int height = Math.round(bitmap.getHeight() * 0.4f);
-            Bitmap inputBitmap = Bitmap.createScaledBitmap(bitmap, width, height, false);
-            Bitmap outputBitmap = Bitmap.createBitmap(inputBitmap);
-            
-            RenderScript rs = RenderScript.create(requireContext());
-            ScriptIntrinsicBlur blurScript = ScriptIntrinsicBlur.create(rs, Element.U8_4(rs));
-            Allocation tmpIn = Allocation.createFromBitmap(rs, inputBitmap);
-            Allocation tmpOut = Allocation.createFromBitmap(rs, outputBitmap);
-            
-            blurScript.setRadius(radius);
-            blurScript.setInput(tmpIn);
-            blurScript.forEach(tmpOut);
-            tmpOut.copyTo(outputBitmap);
-            
-            rs.destroy();
-            
-            // Scale back up
-            return Bitmap.createScaledBitmap(outputBitmap, bitmap.getWidth(), bitmap.getHeight(), true);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return bitmap;
-        }
-    }
 }
 
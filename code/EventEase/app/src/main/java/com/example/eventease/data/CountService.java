@@ -0,0 +1,176 @@
+package com.example.eventease.data;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts documents with Firestore aggregation queries instead of downloading them.
+ *
+ * <p>An aggregation {@code count()} is billed as one read per 1000 matched index entries and
+ * returns a single number, so checks such as "how many entrants are selected" cost O(1) in
+ * reads and payload regardless of how many entrants an event has.
+ *
+ * <p>Results are cached per key for {@link #DEFAULT_TTL_MS}, and concurrent requests for the
+ * same key share one server round trip. Callers that write to a counted collection should
+ * call {@link #invalidateEntrants} (or {@link #invalidateEvent}) so the next read is fresh;
+ * checks that gate a write use the {@code Fresh} variants, which bypass the cache.
+ */
+public final class CountService {
+
+    private static final String TAG = "CountService";
+
+    /** How long a count is served from the cache before it is fetched again. */
+    public static final long DEFAULT_TTL_MS = 5_000L;
+
+    /** Counts kept at once; well above the number of events a screen shows. */
+    private static final int MAX_CACHED_COUNTS = 1_000;
+
+    private static CountService instance;
+
+    private final FirebaseFirestore db;
+    private final TtlLruCache<String, Integer> cache;
+    private final Map<String, InFlight> inFlight = new HashMap<>();
+
+    private CountService(FirebaseFirestore db, LongSupplier clock) {
+        this.db = db;
+        this.cache = new TtlLruCache<>(MAX_CACHED_COUNTS, MAX_CACHED_COUNTS, DEFAULT_TTL_MS, count -> 1, clock);
+    }
+
+    public static synchronized CountService getInstance() {
+        if (instance == null) {
+            instance = new CountService(FirebaseFirestore.getInstance(), System::currentTimeMillis);
+        }
+        return instance;
+    }
+
+    /**
+     * Cache key for an entrant subcollection of an event.
+     */
+    static String entrantsKey(String eventId, String subcollection) {
+        return eventPrefix(eventId) + subcollection;
+    }
+
+    /**
+     * Prefix shared by every cache key that belongs to the event.
+     */
+    static String eventPrefix(String eventId) {
+        return "events/" + eventId + "/";
+    }
+
+    /**
+     * Cache key for the PENDING invitations of an event.
+     */
+    static String pendingInvitationsKey(String eventId) {
+        return eventPrefix(eventId) + "invitations?status=PENDING";
+    }
+
+    /**
+     * Number of documents in {@code events/{eventId}/{subcollection}}, served from the cache when recent.
+     */
+    public Task<Integer> countEntrants(String eventId, String subcollection) {
+        return count(entrantsKey(eventId, subcollection), entrantsQuery(eventId, subcollection));
+    }
+
+    /**
+     * Same as {@link #countEntrants} but always asks the server. Use before enforcing a limit.
+     */
+    public Task<Integer> countEntrantsFresh(String eventId, String subcollection) {
+        return countFresh(entrantsKey(eventId, subcollection), entrantsQuery(eventId, subcollection));
+    }
+
+    /**
+     * Number of PENDING invitations for the event, i.e. selected entrants who have not answered yet.
+     * Served from the cache when recent.
+     */
+    public Task<Integer> countPendingInvitations(String eventId) {
+        return count(pendingInvitationsKey(eventId), db.collection("invitations")
+                .whereEqualTo("eventId", eventId)
+                .whereEqualTo("status", "PENDING"));
+    }
+
+    /**
+     * Counts the documents matched by {@code query}, caching the result under {@code key}.
+     * The key must uniquely describe the query (collection path plus filters).
+     */
+    public Task<Integer> count(String key, Query query) {
+        Integer cached;
+        synchronized (this) {
+            cached = cache.get(key);
+            if (cached == null) {
+                InFlight pending = inFlight.get(key);
+                if (pending != null) {
+                    return pending.task;
+                }
+            }
+        }
+        if (cached != null) {
+            return Tasks.forResult(cached);
+        }
+        return countFresh(key, query);
+    }
+
+    /**
+     * Counts the documents matched by {@code query} on the server and refreshes the cache entry.
+     */
+    public Task<Integer> countFresh(String key, Query query) {
+        InFlight request = new InFlight();
+        synchronized (this) {
+            // Registered under the lock so the completion below cannot run before it is visible
+            inFlight.put(key, request);
+            request.task = query.count().get(AggregateSource.SERVER).continueWith(task -> {
+                if (!task.isSuccessful() || task.getResult() == null) {
+                    synchronized (this) {
+                        inFlight.remove(key, request);
+                    }
+                    Log.w(TAG, "Count failed for " + key, task.getException());
+                    throw task.getException() != null ? task.getException()
+                            : new IllegalStateException("Count failed for " + key);
+                }
+                int count = (int) task.getResult().getCount();
+                synchronized (this) {
+                    // Only cache if nobody invalidated or restarted this key while we were waiting
+                    if (inFlight.remove(key, request)) {
+                        cache.put(key, count);
+                    }
+                }
+                return count;
+            });
+        }
+        return request.task;
+    }
+
+    /**
+     * Drops the cached count of one entrant subcollection.
+     */
+    public synchronized void invalidateEntrants(String eventId, String subcollection) {
+        String key = entrantsKey(eventId, subcollection);
+        cache.invalidate(key);
+        inFlight.remove(key);
+    }
+
+    /**
+     * Drops every cached count that belongs to the event.
+     */
+    public synchronized void invalidateEvent(String eventId) {
+        String prefix = eventPrefix(eventId);
+        cache.invalidateIf(key -> key.startsWith(prefix));
+        inFlight.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private Query entrantsQuery(String eventId, String subcollection) {
+        return db.collection("events").document(eventId).collection(subcollection);
+    }
+
+    private static final class InFlight {
+        Task<Integer> task;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.eventease.data;
+
+import android.util.Log;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Size bound for caches that keep one file per entry in a directory.
+ *
+ * <p>Callers touch a file's modification time when they read or rewrite it, so the oldest
+ * modification time marks the least recently used entry. Blocking; call off the main thread.
+ */
+public final class DiskCacheFiles {
+
+    private static final String TAG = "DiskCacheFiles";
+
+    private DiskCacheFiles() {
+    }
+
+    /**
+     * Deletes the least recently modified files ending in {@code suffix} until at most
+     * {@code maxFiles} of them are left. Other files, such as partial writes, are not counted.
+     *
+     * @return the number of files deleted
+     */
+    public static int trimOldest(File dir, String suffix, int maxFiles) {
+        File[] files = dir.listFiles((d, name) -> name.endsWith(suffix));
+        if (files == null || files.length <= maxFiles) {
+            return 0;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        int deleted = 0;
+        for (int i = 0; i < files.length - maxFiles; i++) {
+            if (files[i].delete()) {
+                deleted++;
+            } else {
+                Log.w(TAG, "Failed to delete " + files[i].getName());
+            }
+        }
+        return deleted;
+    }
+}
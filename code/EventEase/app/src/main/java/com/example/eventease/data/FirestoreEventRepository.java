@@ -95,10 +95,9 @@ public class FirestoreEventRepository implements EventRepository {
                                 return;
                             }
 
-                            snapshot.getReference()
-                                    .collection("WaitlistedEntrants")
-                                    .get()
-                                    .addOnSuccessListener(subSnap -> listener.onChanged(subSnap.size()))
+                            CountService.getInstance()
+                                    .countEntrants(eventId, "WaitlistedEntrants")
+                                    .addOnSuccessListener(listener::onChanged)
                                     .addOnFailureListener(fetchError -> Log.w(TAG,
                                             "Failed to read WaitlistedEntrants for " + eventId, fetchError));
                         });
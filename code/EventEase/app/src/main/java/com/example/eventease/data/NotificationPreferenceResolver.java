@@ -0,0 +1,216 @@
+package com.example.eventease.data;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Source;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Resolves users' notification preferences for group notifications.
+ *
+ * <p>Users missing from the cache are read from the server with {@code whereIn(documentId)}
+ * queries of up to {@link #MAX_IN_VALUES} ids, at most {@link #MAX_CONCURRENT_CHUNKS} at a time,
+ * so notifying a large waitlist costs one round trip per 30 users instead of one per user.
+ *
+ * <p>Preferences are cached per user for one minute, long enough to cover the several group
+ * notifications sent for one draw. A preference saved on this device evicts its entry right away
+ * ({@link #invalidate}); one saved on another device is picked up once the entry expires.
+ *
+ * <p>Users whose document is missing, or whose chunk failed to load, are treated as having
+ * notifications enabled, as before.
+ */
+public final class NotificationPreferenceResolver {
+
+    private static final String TAG = "PreferenceResolver";
+
+    /** Firestore's limit on the number of values in a {@code whereIn} filter. */
+    static final int MAX_IN_VALUES = 30;
+    /** Chunks read from the server at the same time. */
+    static final int MAX_CONCURRENT_CHUNKS = 4;
+
+    private static final int MAX_CACHED_USERS = 10_000;
+    private static final long CACHE_TTL_MS = 60 * 1000L;
+
+    /** A notification preference stored on the user document. */
+    public enum Preference {
+        /** Notifications about being selected / invited. */
+        INVITED("notificationPreferenceInvited"),
+        /** Notifications about not being selected. */
+        NOT_INVITED("notificationPreferenceNotInvited");
+
+        public final String field;
+
+        Preference(String field) {
+            this.field = field;
+        }
+    }
+
+    /** The preferences of one user; null means not set. */
+    static final class Preferences {
+        final Boolean invited;
+        final Boolean notInvited;
+
+        Preferences(Boolean invited, Boolean notInvited) {
+            this.invited = invited;
+            this.notInvited = notInvited;
+        }
+
+        static Preferences fromDocument(DocumentSnapshot doc) {
+            if (doc == null || !doc.exists()) {
+                return new Preferences(null, null);
+            }
+            return new Preferences(readFlag(doc.get(Preference.INVITED.field)),
+                    readFlag(doc.get(Preference.NOT_INVITED.field)));
+        }
+
+        /**
+         * Unset preferences default to enabled, so users are notified unless they opted out.
+         */
+        boolean isEnabled(Preference preference) {
+            Boolean value = preference == Preference.INVITED ? invited : notInvited;
+            return value == null || value;
+        }
+    }
+
+    private static NotificationPreferenceResolver instance;
+
+    private final FirebaseFirestore db;
+    private final LongSupplier clock;
+    private final TtlLruCache<String, Preferences> cache;
+
+    private NotificationPreferenceResolver(FirebaseFirestore db, LongSupplier clock) {
+        this.db = db;
+        this.clock = clock;
+        this.cache = new TtlLruCache<>(MAX_CACHED_USERS, MAX_CACHED_USERS, CACHE_TTL_MS, prefs -> 1, clock);
+    }
+
+    public static synchronized NotificationPreferenceResolver getInstance() {
+        if (instance == null) {
+            instance = new NotificationPreferenceResolver(FirebaseFirestore.getInstance(), System::currentTimeMillis);
+        }
+        return instance;
+    }
+
+    /**
+     * Keeps the users that have {@code preference} enabled, in their original order.
+     * Never fails: users that cannot be resolved are kept.
+     */
+    public Task<List<String>> filterEnabled(List<String> userIds, Preference preference) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Tasks.forResult(new ArrayList<>());
+        }
+        long startedAt = clock.getAsLong();
+        List<String> unique = new ArrayList<>(new LinkedHashSet<>(userIds));
+        return resolve(unique).continueWith(task -> {
+            Map<String, Preferences> resolved = task.getResult();
+            List<String> enabled = new ArrayList<>();
+            for (String userId : userIds) {
+                Preferences prefs = resolved.get(userId);
+                if (prefs == null || prefs.isEnabled(preference)) {
+                    enabled.add(userId);
+                }
+            }
+            Log.d(TAG, "Resolved " + preference + " for " + unique.size() + " users in "
+                    + (clock.getAsLong() - startedAt) + " ms, " + enabled.size() + " enabled");
+            return enabled;
+        });
+    }
+
+    /**
+     * Drops one user's cached preferences, e.g. right after they were saved on this device.
+     */
+    public void invalidate(String userId) {
+        cache.invalidate(userId);
+    }
+
+    /**
+     * Preferences for every id; ids that could not be read are absent from the result.
+     */
+    private Task<Map<String, Preferences>> resolve(List<String> userIds) {
+        Map<String, Preferences> resolved = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String userId : userIds) {
+            Preferences cached = cache.get(userId);
+            if (cached != null) {
+                resolved.put(userId, cached);
+            } else {
+                missing.add(userId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return Tasks.forResult(resolved);
+        }
+
+        TaskCompletionSource<Map<String, Preferences>> done = new TaskCompletionSource<>();
+        Deque<List<String>> pending = new ArrayDeque<>(chunk(missing, MAX_IN_VALUES));
+        int[] running = {0};
+        Runnable[] startNext = new Runnable[1];
+        startNext[0] = () -> {
+            while (running[0] < MAX_CONCURRENT_CHUNKS && !pending.isEmpty()) {
+                List<String> chunk = pending.poll();
+                running[0]++;
+                db.collection("users")
+                        .whereIn(FieldPath.documentId(), chunk)
+                        .get(Source.SERVER)
+                        .addOnCompleteListener(task -> {
+                            if (task.isSuccessful() && task.getResult() != null) {
+                                for (DocumentSnapshot doc : task.getResult().getDocuments()) {
+                                    Preferences prefs = Preferences.fromDocument(doc);
+                                    cache.put(doc.getId(), prefs);
+                                    resolved.put(doc.getId(), prefs);
+                                }
+                            } else {
+                                Log.w(TAG, "Failed to fetch preferences for " + chunk.size()
+                                        + " users - defaulting to enabled", task.getException());
+                            }
+                            running[0]--;
+                            if (pending.isEmpty() && running[0] == 0) {
+                                done.setResult(resolved);
+                            } else {
+                                startNext[0].run();
+                            }
+                        });
+            }
+        };
+        startNext[0].run();
+        return done.getTask();
+    }
+
+    /**
+     * Reads a stored flag; strings are accepted defensively.
+     */
+    static Boolean readFlag(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof String) {
+            return Boolean.parseBoolean((String) value);
+        }
+        return null;
+    }
+
+    /**
+     * Splits ids into consecutive chunks of at most {@code size}.
+     */
+    static List<List<String>> chunk(List<String> ids, int size) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += size) {
+            chunks.add(new ArrayList<>(ids.subList(i, Math.min(i + size, ids.size()))));
+        }
+        return chunks;
+    }
+}
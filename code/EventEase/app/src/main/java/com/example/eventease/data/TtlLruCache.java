@@ -0,0 +1,219 @@
+package com.example.eventease.data;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Bounded in-memory cache with least-recently-used eviction and a time-to-live per entry.
+ *
+ * <p>The cache holds at most {@code maxEntries} entries and at most {@code maxWeight} total
+ * weight, as measured by the {@link Weigher} (for example an estimate of the value's size in
+ * bytes). When either bound is exceeded the least recently read or written entries are evicted.
+ * Entries older than the TTL are treated as missing and dropped on access.
+ *
+ * <p>Hits, misses, evictions and expirations are counted for {@link #stats()}. All methods are
+ * synchronized, so one instance can be shared between the main thread and Firestore callbacks.
+ */
+public final class TtlLruCache<K, V> {
+
+    /** Measures how much of the weight budget a value uses. */
+    public interface Weigher<V> {
+        int weigh(V value);
+    }
+
+    /** Point-in-time counters of a cache. */
+    public static final class Stats {
+        public final long hits;
+        public final long misses;
+        public final long evictions;
+        public final long expirations;
+        public final int size;
+        public final long weight;
+
+        Stats(long hits, long misses, long evictions, long expirations, int size, long weight) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.expirations = expirations;
+            this.size = size;
+            this.weight = weight;
+        }
+
+        /**
+         * @return hits divided by lookups, or 0 if there were none
+         */
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return "size=" + size + ", weight=" + weight + ", hits=" + hits + ", misses=" + misses
+                    + ", evictions=" + evictions + ", expirations=" + expirations
+                    + ", hitRate=" + String.format(java.util.Locale.ROOT, "%.2f", hitRate());
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final int weight;
+        final long writtenAt;
+
+        Entry(V value, int weight, long writtenAt) {
+            this.value = value;
+            this.weight = weight;
+            this.writtenAt = writtenAt;
+        }
+    }
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final long ttlMs;
+    private final Weigher<V> weigher;
+    private final LongSupplier clock;
+    /** Access-ordered: iteration starts at the least recently used entry. */
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public TtlLruCache(int maxEntries, long maxWeight, long ttlMs, Weigher<V> weigher, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.ttlMs = ttlMs;
+        this.weigher = weigher;
+        this.clock = clock;
+    }
+
+    /**
+     * @return the cached value, or null if there is none or it is older than the TTL
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (isExpired(entry)) {
+            remove(key, entry);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * Stores a value, replacing any previous one, and evicts least recently used entries
+     * until the cache is within its bounds. A value heavier than the whole budget is not cached.
+     */
+    public synchronized void put(K key, V value) {
+        Entry<V> previous = entries.remove(key);
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        int valueWeight = Math.max(0, weigher.weigh(value));
+        if (valueWeight > maxWeight) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, valueWeight, clock.getAsLong()));
+        weight += valueWeight;
+        trim();
+    }
+
+    /**
+     * Drops one entry.
+     *
+     * @return true if the key was cached
+     */
+    public synchronized boolean invalidate(K key) {
+        Entry<V> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        weight -= entry.weight;
+        return true;
+    }
+
+    /**
+     * Drops every entry whose key matches.
+     *
+     * @return the number of entries dropped
+     */
+    public synchronized int invalidateIf(Predicate<? super K> matches) {
+        int dropped = 0;
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, Entry<V>> entry = it.next();
+            if (matches.test(entry.getKey())) {
+                it.remove();
+                weight -= entry.getValue().weight;
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * @return whether an unexpired value is cached, without counting a lookup
+     */
+    public synchronized boolean contains(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null && !isExpired(entry);
+    }
+
+    /**
+     * @return the unexpired values, least recently used first; does not change LRU order
+     */
+    public synchronized List<V> values() {
+        List<V> values = new ArrayList<>(entries.size());
+        for (Entry<V> entry : entries.values()) {
+            if (!isExpired(entry)) {
+                values.add(entry.value);
+            }
+        }
+        return values;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, expirations, entries.size(), weight);
+    }
+
+    private boolean isExpired(Entry<V> entry) {
+        return clock.getAsLong() - entry.writtenAt >= ttlMs;
+    }
+
+    private void remove(K key, Entry<V> entry) {
+        entries.remove(key);
+        weight -= entry.weight;
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || weight > maxWeight) && it.hasNext()) {
+            Map.Entry<K, Entry<V>> eldest = it.next();
+            it.remove();
+            weight -= eldest.getValue().weight;
+            evictions++;
+        }
+    }
+}
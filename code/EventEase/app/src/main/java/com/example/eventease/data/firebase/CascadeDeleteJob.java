@@ -0,0 +1,387 @@
+package com.example.eventease.data.firebase;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.eventease.logic.BatchChunker;
+import com.example.eventease.logic.CascadeDeletePlan;
+import com.example.eventease.logic.CascadeDeletePlan.Phase;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Removes everything that belongs to a user before the user document itself is deleted.
+ *
+ * <p>Dependents are found with indexed queries rather than by scanning every event: the user's
+ * own events by {@code organizerId}, entrant documents with collection-group queries on
+ * {@code userId}, legacy array entries with {@code whereArrayContains}, and invitations by
+ * {@code uid}. Each query is drained page by page, one batch per page, so a step never holds more
+ * than one batch in memory; the user's events are deleted at most {@link #MAX_PARALLEL_EVENTS}
+ * at a time.
+ *
+ * <p>The current {@link Phase} and the running document count are kept in
+ * {@code deletionJobs/{uid}}. Running the job again for the same user, e.g. after the app was
+ * killed, continues from the recorded phase. The job document is deleted once every phase is
+ * done. Progress and throughput are reported to the {@link ProgressListener} on the main thread.
+ *
+ * <p>The entrant queries rely on the same {@code userId} collection-group index exemptions as
+ * {@link ProfilePropagator}.
+ */
+public final class CascadeDeleteJob {
+
+    private static final String TAG = "CascadeDeleteJob";
+
+    public static final String COLLECTION = "deletionJobs";
+    public static final String FIELD_PHASE = "phase";
+    public static final String FIELD_INCLUDE_EVENTS = "includeOrganizerEvents";
+    public static final String FIELD_DELETED = "deletedCount";
+    public static final String FIELD_STARTED_AT = "startedAt";
+    public static final String FIELD_UPDATED_AT = "updatedAt";
+
+    /** Subcollections of an event document, deleted before the event itself. */
+    static final String[] EVENT_SUBCOLLECTIONS = {
+            EntrantStatusStore.COLLECTION,
+            "WaitlistedEntrants",
+            "SelectedEntrants",
+            "NonSelectedEntrants",
+            "CancelledEntrants",
+            "AdmittedEntrants",
+            WaitlistCounter.SHARD_COLLECTION,
+            EntrantGeoIndex.CELLS_COLLECTION
+    };
+
+    /** Subcollections of {@code users/{uid}}. */
+    static final String[] USER_SUBCOLLECTIONS = {
+            MembershipIndex.COLLECTION,
+            NotificationInboxPager.INBOX_COLLECTION,
+            UnreadNotificationCounter.COUNTERS_COLLECTION
+    };
+
+    /** Legacy event fields holding user ids. */
+    private static final String[] EVENT_ARRAY_FIELDS = {"waitlist", "admitted"};
+
+    static final int MAX_PARALLEL_EVENTS = 4;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long BASE_DELAY_MS = 1000L;
+    private static final long MAX_DELAY_MS = 30_000L;
+
+    /**
+     * Receives progress on the main thread after every committed batch.
+     */
+    public interface ProgressListener {
+        void onProgress(Phase phase, long documents, double documentsPerSecond);
+    }
+
+    private interface TaskFactory<T> {
+        Task<T> start();
+    }
+
+    private interface PageOp {
+        void apply(WriteBatch batch, DocumentSnapshot doc);
+    }
+
+    private final FirebaseFirestore db;
+    private final String uid;
+    private final boolean includeOrganizerEvents;
+    @Nullable private final ProgressListener listener;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final DocumentReference jobRef;
+
+    private Phase phase;
+    private long documents;
+    private long startedAt;
+    /** Whether progress is recorded in the job document. */
+    private boolean tracked;
+    private boolean newJob;
+
+    /**
+     * @param includeOrganizerEvents also delete the events the user organizes
+     */
+    public CascadeDeleteJob(FirebaseFirestore db, String uid, boolean includeOrganizerEvents,
+                            @Nullable ProgressListener listener) {
+        this.db = db;
+        this.uid = uid;
+        this.includeOrganizerEvents = includeOrganizerEvents;
+        this.listener = listener;
+        this.jobRef = db.collection(COLLECTION).document(uid);
+    }
+
+    /**
+     * Runs the remaining phases. Call on the main thread.
+     *
+     * @return the number of documents deleted or updated by this run
+     */
+    public Task<Long> run() {
+        startedAt = SystemClock.elapsedRealtime();
+        tracked = true;
+        return jobRef.get().continueWithTask(jobTask -> {
+            String checkpoint = null;
+            boolean includeEvents = includeOrganizerEvents;
+            DocumentSnapshot job = jobTask.isSuccessful() ? jobTask.getResult() : null;
+            if (job != null && job.exists()) {
+                checkpoint = job.getString(FIELD_PHASE);
+                includeEvents |= Boolean.TRUE.equals(job.getBoolean(FIELD_INCLUDE_EVENTS));
+                Log.d(TAG, "Resuming deletion of " + uid + " at " + checkpoint);
+            } else if (!jobTask.isSuccessful()) {
+                Log.w(TAG, "Could not read deletion job for " + uid + ", starting over", jobTask.getException());
+            }
+            newJob = checkpoint == null;
+            return runPhases(CascadeDeletePlan.remaining(checkpoint, includeEvents), 0, includeEvents);
+        }).onSuccessTask(ignored -> jobRef.delete().continueWith(deleted -> {
+            if (!deleted.isSuccessful()) {
+                Log.w(TAG, "Failed to remove finished deletion job for " + uid, deleted.getException());
+            }
+            return null;
+        })).continueWith(task -> {
+            long elapsed = SystemClock.elapsedRealtime() - startedAt;
+            if (!task.isSuccessful()) {
+                Log.e(TAG, "Deletion of " + uid + " stopped in " + phase + " after " + documents
+                        + " documents", task.getException());
+                throw task.getException();
+            }
+            Log.d(TAG, String.format(Locale.ROOT, "Deleted %d documents for %s in %dms (%.1f/s)",
+                    documents, uid, elapsed, CascadeDeletePlan.perSecond(documents, elapsed)));
+            return documents;
+        });
+    }
+
+    /**
+     * Deletes only the events organized by the user, e.g. when the organizer role is removed.
+     * No job document is written; the step is safe to repeat.
+     */
+    public Task<Void> deleteOrganizerEvents() {
+        startedAt = SystemClock.elapsedRealtime();
+        phase = Phase.ORGANIZER_EVENTS;
+        return runPhase(Phase.ORGANIZER_EVENTS);
+    }
+
+    private Task<Void> runPhases(List<Phase> phases, int index, boolean includeEvents) {
+        if (index >= phases.size()) {
+            return Tasks.forResult(null);
+        }
+        Phase next = phases.get(index);
+        phase = next;
+        return checkpoint(next, includeEvents)
+                .continueWithTask(ignored -> runPhase(next))
+                .onSuccessTask(ignored -> runPhases(phases, index + 1, includeEvents));
+    }
+
+    /**
+     * Records the phase about to run. A failed write only costs redoing finished phases on
+     * resume, so it does not stop the job.
+     */
+    private Task<Void> checkpoint(Phase next, boolean includeEvents) {
+        Map<String, Object> data = new HashMap<>();
+        data.put(FIELD_PHASE, next.name());
+        data.put(FIELD_INCLUDE_EVENTS, includeEvents);
+        data.put(FIELD_UPDATED_AT, System.currentTimeMillis());
+        if (newJob) {
+            data.put(FIELD_DELETED, 0L);
+            data.put(FIELD_STARTED_AT, System.currentTimeMillis());
+            newJob = false;
+        }
+        return jobRef.set(data, SetOptions.merge()).continueWith(task -> {
+            if (!task.isSuccessful()) {
+                Log.w(TAG, "Failed to checkpoint deletion of " + uid + " at " + next, task.getException());
+            }
+            return null;
+        });
+    }
+
+    private Task<Void> runPhase(Phase current) {
+        switch (current) {
+            case ORGANIZER_EVENTS:
+                return db.collection("events").whereEqualTo("organizerId", uid).get().onSuccessTask(events -> {
+                    List<DocumentReference> refs = new ArrayList<>();
+                    for (DocumentSnapshot event : events.getDocuments()) {
+                        refs.add(event.getReference());
+                    }
+                    Log.d(TAG, "Deleting " + refs.size() + " events organized by " + uid);
+                    return forEachBounded(refs, MAX_PARALLEL_EVENTS);
+                });
+            case ENTRANT_RECORDS: {
+                List<Query> queries = new ArrayList<>();
+                for (String collection : ProfilePropagator.ENTRANT_COLLECTIONS) {
+                    queries.add(db.collectionGroup(collection).whereEqualTo(EntrantStatusStore.FIELD_USER_ID, uid));
+                }
+                return drainAll(queries, (batch, doc) -> batch.delete(doc.getReference()));
+            }
+            case EVENT_ARRAYS: {
+                Task<Void> chain = Tasks.forResult(null);
+                for (String field : EVENT_ARRAY_FIELDS) {
+                    Query query = db.collection("events").whereArrayContains(field, uid);
+                    chain = chain.onSuccessTask(ignored -> drain(query,
+                            (batch, doc) -> batch.update(doc.getReference(), field, FieldValue.arrayRemove(uid)),
+                            newChunker()));
+                }
+                return chain;
+            }
+            case INVITATIONS:
+                return drain(db.collection("invitations").whereEqualTo("uid", uid),
+                        (batch, doc) -> batch.delete(doc.getReference()), newChunker());
+            case USER_SUBCOLLECTIONS: {
+                List<Query> queries = new ArrayList<>();
+                for (String collection : USER_SUBCOLLECTIONS) {
+                    queries.add(db.collection("users").document(uid).collection(collection));
+                }
+                return drainAll(queries, (batch, doc) -> batch.delete(doc.getReference()));
+            }
+            default:
+                return Tasks.forResult(null);
+        }
+    }
+
+    /**
+     * Deletes an event's subcollections and invitations, then the event.
+     */
+    private Task<Void> deleteEvent(DocumentReference eventRef) {
+        List<Query> queries = new ArrayList<>();
+        for (String collection : EVENT_SUBCOLLECTIONS) {
+            queries.add(eventRef.collection(collection));
+        }
+        queries.add(db.collection("invitations").whereEqualTo("eventId", eventRef.getId()));
+        return drainAll(queries, (batch, doc) -> batch.delete(doc.getReference()))
+                .onSuccessTask(ignored -> withRetry(eventRef::delete, newChunker()))
+                .onSuccessTask(ignored -> {
+                    counted(1);
+                    Log.d(TAG, "Deleted event " + eventRef.getId() + " organized by " + uid);
+                    return Tasks.forResult(null);
+                });
+    }
+
+    /**
+     * Runs {@link #deleteEvent} for every event, with at most {@code parallelism} in flight.
+     * Fails with the first error once the events already started have finished.
+     */
+    private Task<Void> forEachBounded(List<DocumentReference> refs, int parallelism) {
+        if (refs.isEmpty()) {
+            return Tasks.forResult(null);
+        }
+        TaskCompletionSource<Void> done = new TaskCompletionSource<>();
+        final int[] next = {0};
+        final int[] active = {0};
+        final Exception[] failure = {null};
+        final Runnable[] pump = new Runnable[1];
+        pump[0] = () -> {
+            while (active[0] < parallelism && next[0] < refs.size() && failure[0] == null) {
+                DocumentReference ref = refs.get(next[0]++);
+                active[0]++;
+                deleteEvent(ref).addOnCompleteListener(task -> {
+                    active[0]--;
+                    if (!task.isSuccessful() && failure[0] == null) {
+                        failure[0] = task.getException();
+                    }
+                    if (active[0] == 0 && (failure[0] != null || next[0] >= refs.size())) {
+                        if (failure[0] != null) {
+                            done.setException(failure[0]);
+                        } else {
+                            done.setResult(null);
+                        }
+                    } else {
+                        pump[0].run();
+                    }
+                });
+            }
+        };
+        pump[0].run();
+        return done.getTask();
+    }
+
+    private Task<Void> drainAll(List<Query> queries, PageOp op) {
+        Task<Void> chain = Tasks.forResult(null);
+        for (Query query : queries) {
+            chain = chain.onSuccessTask(ignored -> drain(query, op, newChunker()));
+        }
+        return chain;
+    }
+
+    /**
+     * Applies {@code op} to everything {@code query} matches, one page per batch, until the query
+     * comes back empty. The op must make the document stop matching (delete it, or remove the
+     * matched value), otherwise the loop would not end.
+     */
+    private Task<Void> drain(Query query, PageOp op, BatchChunker chunker) {
+        return withRetry(() -> query.limit(chunker.chunkSize()).get().onSuccessTask(page -> {
+            if (page.isEmpty()) {
+                return Tasks.forResult(0);
+            }
+            WriteBatch batch = db.batch();
+            for (DocumentSnapshot doc : page.getDocuments()) {
+                op.apply(batch, doc);
+            }
+            int size = page.size();
+            return batch.commit().continueWith(commit -> {
+                if (!commit.isSuccessful()) {
+                    throw commit.getException();
+                }
+                return size;
+            });
+        }), chunker).onSuccessTask(count -> {
+            if (count == 0) {
+                return Tasks.forResult(null);
+            }
+            chunker.onSuccess();
+            counted(count);
+            return drain(query, op, chunker);
+        });
+    }
+
+    private void counted(int count) {
+        documents += count;
+        if (listener != null) {
+            long elapsed = SystemClock.elapsedRealtime() - startedAt;
+            listener.onProgress(phase, documents, CascadeDeletePlan.perSecond(documents, elapsed));
+        }
+        if (!tracked) {
+            return;
+        }
+        jobRef.update(FIELD_DELETED, FieldValue.increment(count), FIELD_UPDATED_AT, System.currentTimeMillis())
+                .addOnFailureListener(e -> Log.w(TAG, "Failed to record progress for " + uid, e));
+    }
+
+    private <T> Task<T> withRetry(TaskFactory<T> factory, BatchChunker chunker) {
+        TaskCompletionSource<T> source = new TaskCompletionSource<>();
+        attempt(factory, chunker, source);
+        return source.getTask();
+    }
+
+    private <T> void attempt(TaskFactory<T> factory, BatchChunker chunker, TaskCompletionSource<T> source) {
+        factory.start().addOnCompleteListener(task -> {
+            if (task.isSuccessful()) {
+                source.setResult(task.getResult());
+                return;
+            }
+            Exception e = task.getException();
+            BatchChunker.Failure failure = ProfilePropagator.classify(e);
+            long delay = chunker.onFailure(failure);
+            if (delay == BatchChunker.GIVE_UP) {
+                source.setException(e);
+                return;
+            }
+            Log.w(TAG, "Deletion step failed (" + failure + "), retrying in " + delay + "ms", e);
+            handler.postDelayed(() -> attempt(factory, chunker, source), delay);
+        });
+    }
+
+    private static BatchChunker newChunker() {
+        return new BatchChunker(BatchChunker.MAX_BATCH_WRITES, MAX_ATTEMPTS, BASE_DELAY_MS, MAX_DELAY_MS);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.eventease.data.firebase;
+
+import com.example.eventease.logic.EntrantLocation;
+import com.example.eventease.logic.Geohash;
+
+/**
+ * Per-cell counts of an event's waitlisted entrants.
+ *
+ * <p>Waitlist entries carry the {@link Geohash} of their join location in
+ * {@link EntrantLocation#FIELD_GEOHASH}. {@code events/{eventId}/geoCells/{cell}} holds one
+ * document per {@link Geohash#CELL_PRECISION}-character cell with the number of waitlisted
+ * entrants in it. The {@code maintainEntrantGeoCells} Cloud Function keeps the counts in step with
+ * WaitlistedEntrants, and {@code backfillEntrantGeoCells} rebuilds them for existing events.
+ */
+public final class EntrantGeoIndex {
+
+    public static final String CELLS_COLLECTION = "geoCells";
+    public static final String FIELD_CELL = "cell";
+    public static final String FIELD_COUNT = "count";
+
+    private EntrantGeoIndex() {
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.eventease.data.firebase;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.eventease.logic.EntrantGroups;
+import com.example.eventease.logic.EntrantGroups.Group;
+import com.example.eventease.model.EntrantStatus;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads the selected, cancelled and not-selected entrants of an event and merges them with
+ * {@link EntrantGroups#merge}.
+ *
+ * <p>Groups are read from the entrant documents ({@link EntrantStatusStore}); the selected group
+ * also holds admitted entrants, as SelectedEntrants always did. A group whose status query comes
+ * back empty is read from its legacy subcollection instead, which covers events whose entrants
+ * have not been migrated yet.
+ *
+ * <p>All groups are read concurrently, so a load takes as long as the slowest group rather than
+ * the sum of them. {@link #start} reads each group in pages of {@link #PAGE_SIZE} ordered by
+ * document id and delivers the merged groups after every round of pages; the first delivery comes
+ * once every group's first page is in. {@link #loadAll} reads the groups in full for flows that
+ * need a complete, consistent view before writing.
+ */
+public final class EntrantGroupsLoader {
+
+    private static final String TAG = "EntrantGroupsLoader";
+
+    public static final int PAGE_SIZE = 200;
+
+    /** Receives the merged groups of everything loaded so far. Called on the main thread. */
+    public interface Listener {
+        void onGroups(@NonNull Map<Group, List<DocumentSnapshot>> groups, boolean complete);
+        void onError(@NonNull Exception e);
+    }
+
+    private final FirebaseFirestore db;
+    private final EntrantStatusStore entrantStatusStore;
+    private final String eventId;
+
+    private Listener listener;
+    private final Map<Group, List<DocumentSnapshot>> loaded = new EnumMap<>(Group.class);
+    private final Map<Group, DocumentSnapshot> cursors = new EnumMap<>(Group.class);
+    private final Set<Group> legacy = EnumSet.noneOf(Group.class);
+    private final List<Group> pending = new ArrayList<>();
+    private boolean stopped;
+
+    public EntrantGroupsLoader(FirebaseFirestore db, String eventId) {
+        this.db = db;
+        this.entrantStatusStore = new EntrantStatusStore(db);
+        this.eventId = eventId;
+    }
+
+    /**
+     * Starts a paged load. A loader is used for one load; create a new one to reload.
+     */
+    public void start(@NonNull Listener listener) {
+        this.listener = listener;
+        for (Group group : Group.values()) {
+            loaded.put(group, new ArrayList<>());
+            pending.add(group);
+        }
+        loadRound();
+    }
+
+    /** Drops any pages still in flight. */
+    public void stop() {
+        stopped = true;
+        listener = null;
+    }
+
+    /**
+     * Reads every group in full, concurrently, and merges them.
+     */
+    public Task<Map<Group, List<DocumentSnapshot>>> loadAll() {
+        List<Task<QuerySnapshot>> reads = new ArrayList<>();
+        for (Group group : Group.values()) {
+            reads.add(byStatus(group).get().continueWithTask(task -> {
+                if (task.isSuccessful() && task.getResult() != null && task.getResult().isEmpty()) {
+                    return legacyCollection(group).get();
+                }
+                return task;
+            }));
+        }
+        return Tasks.whenAllSuccess(reads).continueWith(task -> {
+            if (!task.isSuccessful()) {
+                throw task.getException() != null ? task.getException()
+                        : new IllegalStateException("Failed to load entrant groups for " + eventId);
+            }
+            Map<Group, List<DocumentSnapshot>> fetched = new EnumMap<>(Group.class);
+            Group[] groups = Group.values();
+            for (int i = 0; i < groups.length; i++) {
+                fetched.put(groups[i], ((QuerySnapshot) task.getResult().get(i)).getDocuments());
+            }
+            return merge(fetched);
+        });
+    }
+
+    /**
+     * Statuses shown in a group.
+     */
+    static List<String> statusesOf(Group group) {
+        switch (group) {
+            case SELECTED:
+                return Arrays.asList(EntrantStatus.SELECTED.name(), EntrantStatus.ADMITTED.name());
+            case CANCELLED:
+                return Collections.singletonList(EntrantStatus.CANCELLED.name());
+            default:
+                return Collections.singletonList(EntrantStatus.NON_SELECTED.name());
+        }
+    }
+
+    private Query byStatus(Group group) {
+        return entrantStatusStore.entrants(eventId).whereIn(EntrantStatusStore.FIELD_STATUS, statusesOf(group));
+    }
+
+    private CollectionReference legacyCollection(Group group) {
+        return db.collection("events").document(eventId).collection(group.collection);
+    }
+
+    private void loadRound() {
+        final List<Group> round = new ArrayList<>(pending);
+        List<Task<QuerySnapshot>> reads = new ArrayList<>(round.size());
+        for (Group group : round) {
+            Query query = (legacy.contains(group) ? legacyCollection(group) : byStatus(group))
+                    .orderBy(FieldPath.documentId())
+                    .limit(PAGE_SIZE);
+            DocumentSnapshot cursor = cursors.get(group);
+            if (cursor != null) {
+                query = query.startAfter(cursor);
+            }
+            reads.add(query.get());
+        }
+
+        Tasks.whenAllComplete(reads).addOnCompleteListener(done -> {
+            if (stopped) return;
+            boolean switched = false;
+            for (int i = 0; i < round.size(); i++) {
+                Task<QuerySnapshot> read = reads.get(i);
+                if (!read.isSuccessful() || read.getResult() == null) {
+                    Exception e = read.getException() != null ? read.getException()
+                            : new IllegalStateException("Failed to load " + round.get(i).collection);
+                    Log.e(TAG, "Failed to load " + round.get(i).collection + " for event " + eventId, e);
+                    stopped = true;
+                    if (listener != null) listener.onError(e);
+                    return;
+                }
+                Group group = round.get(i);
+                List<DocumentSnapshot> page = read.getResult().getDocuments();
+                if (page.isEmpty() && !cursors.containsKey(group) && legacy.add(group)) {
+                    // Not migrated yet: read this group from its subcollection in the next round
+                    switched = true;
+                    continue;
+                }
+                loaded.get(group).addAll(page);
+                if (page.size() < PAGE_SIZE) {
+                    pending.remove(group);
+                } else {
+                    cursors.put(group, page.get(page.size() - 1));
+                }
+            }
+
+            boolean complete = pending.isEmpty();
+            // Hold the delivery until a switched group has its first page, so it never shows empty
+            if (listener != null && !switched) listener.onGroups(merge(loaded), complete);
+            if (!complete && !stopped) {
+                loadRound();
+            }
+        });
+    }
+
+    private Map<Group, List<DocumentSnapshot>> merge(Map<Group, List<DocumentSnapshot>> fetched) {
+        Map<Group, List<DocumentSnapshot>> merged = EntrantGroups.merge(fetched, DocumentSnapshot::getId);
+        int duplicates = EntrantGroups.duplicates(fetched, merged);
+        if (duplicates > 0) {
+            Log.w(TAG, "Filtered " + duplicates + " entrants that appear in more than one group for event " + eventId);
+        }
+        return merged;
+    }
+}
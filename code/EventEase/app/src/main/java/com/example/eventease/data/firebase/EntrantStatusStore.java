@@ -0,0 +1,255 @@
+package com.example.eventease.data.firebase;
+
+import android.util.Log;
+
+import com.example.eventease.model.EntrantStatus;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Transaction;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes the per-event entrant documents at {@code events/{eventId}/entrants/{uid}}.
+ *
+ * <p>The {@link #FIELD_STATUS} field holds the entrant's {@link EntrantStatus}; every change goes
+ * through {@link EntrantStatus#canTransition}, so a state change is one document write and
+ * "what is my status" is one document read. Entrants of a given status are an equality query on
+ * the status field ({@link #byStatus}), served by Firestore's automatic single-field index.</p>
+ *
+ * <p>The legacy per-status subcollections (WaitlistedEntrants, SelectedEntrants, ...) are
+ * maintained from these documents by the {@code projectEntrantStatus} Cloud Function for screens
+ * that still read them. For events created before this document existed, the status is derived
+ * from those subcollections the first time it is needed, and the next transition creates the
+ * entrant document.</p>
+ */
+public final class EntrantStatusStore {
+
+    private static final String TAG = "EntrantStatusStore";
+
+    public static final String COLLECTION = "entrants";
+    public static final String FIELD_STATUS = "status";
+    public static final String FIELD_PREVIOUS_STATUS = "previousStatus";
+    public static final String FIELD_STATUS_UPDATED_AT = "statusUpdatedAt";
+    public static final String FIELD_USER_ID = "userId";
+    /** Set by the projection on legacy subcollection docs; never copied back onto the entrant. */
+    public static final String FIELD_PROJECTED_AT = "projectedAt";
+
+    private final FirebaseFirestore db;
+
+    public EntrantStatusStore(FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    public CollectionReference entrants(String eventId) {
+        return db.collection("events").document(eventId).collection(COLLECTION);
+    }
+
+    public DocumentReference ref(String eventId, String uid) {
+        return entrants(eventId).document(uid);
+    }
+
+    /**
+     * Entrants of an event currently in the given state.
+     */
+    public Query byStatus(String eventId, EntrantStatus status) {
+        return entrants(eventId).whereEqualTo(FIELD_STATUS, status.name());
+    }
+
+    /**
+     * Lists the entrants of an event in the given state; document ids are user ids.
+     * Falls back to the legacy subcollection when the status query is empty, which covers events
+     * whose entrants have not been migrated to entrant documents yet.
+     */
+    public Task<List<DocumentSnapshot>> list(String eventId, EntrantStatus status) {
+        return byStatus(eventId, status).get().continueWithTask(task -> {
+            if (task.isSuccessful() && task.getResult() != null && !task.getResult().isEmpty()) {
+                return Tasks.forResult(task.getResult().getDocuments());
+            }
+            if (!task.isSuccessful()) {
+                Log.w(TAG, "Status query failed for " + status + " in event " + eventId + ", using legacy", task.getException());
+            }
+            return db.collection("events").document(eventId).collection(status.legacyCollection()).get()
+                    .continueWith(legacyTask -> {
+                        if (!legacyTask.isSuccessful()) {
+                            throw legacyTask.getException() != null ? legacyTask.getException()
+                                    : new IllegalStateException("Failed to list " + status + " entrants for " + eventId);
+                        }
+                        return legacyTask.getResult() != null ? legacyTask.getResult().getDocuments()
+                                : new ArrayList<DocumentSnapshot>();
+                    });
+        });
+    }
+
+    /**
+     * Gets the entrant's current status with a single document read.
+     *
+     * @return a task resolving to the status, or null if the user is not part of the event
+     */
+    public Task<EntrantStatus> statusOf(String eventId, String uid) {
+        return ref(eventId, uid).get().continueWithTask(task -> {
+            if (!task.isSuccessful()) {
+                return Tasks.forException(task.getException() != null ? task.getException()
+                        : new IllegalStateException("Failed to read entrant " + uid + " for event " + eventId));
+            }
+            DocumentSnapshot doc = task.getResult();
+            if (doc != null && doc.exists()) {
+                return Tasks.forResult(EntrantStatus.fromString(doc.getString(FIELD_STATUS)));
+            }
+            return legacyStatusOf(eventId, uid);
+        });
+    }
+
+    /**
+     * Moves the entrant to {@code to} in its own transaction.
+     *
+     * @param fields extra fields to merge into the entrant document (may be null)
+     * @return a task resolving to the previous status; fails with {@link IllegalStateException}
+     *         if the transition is not allowed
+     */
+    public Task<EntrantStatus> transition(String eventId, String uid, EntrantStatus to, Map<String, Object> fields) {
+        return db.runTransaction(transaction -> {
+            EntrantStatus from = read(transaction, eventId, uid);
+            write(transaction, eventId, uid, from, to, fields);
+            return from;
+        });
+    }
+
+    /**
+     * Reads the entrant's status inside a transaction. Must be called before any transaction writes.
+     */
+    public EntrantStatus read(Transaction transaction, String eventId, String uid) throws FirebaseFirestoreException {
+        DocumentSnapshot doc = transaction.get(ref(eventId, uid));
+        if (doc.exists()) {
+            return EntrantStatus.fromString(doc.getString(FIELD_STATUS));
+        }
+        boolean[] present = new boolean[EntrantStatus.values().length];
+        for (EntrantStatus status : EntrantStatus.values()) {
+            present[status.ordinal()] = transaction.get(legacyRef(eventId, uid, status)).exists();
+        }
+        return fromPresence(present);
+    }
+
+    /**
+     * Writes a transition inside a transaction after {@link #read} returned {@code from}.
+     *
+     * @throws IllegalStateException if {@code from -> to} is not a legal transition
+     */
+    public void write(Transaction transaction, String eventId, String uid, EntrantStatus from, EntrantStatus to,
+                      Map<String, Object> fields) {
+        transaction.set(ref(eventId, uid), buildUpdate(eventId, uid, from, to, fields), SetOptions.merge());
+    }
+
+    /**
+     * Adds a transition to a batch. Use when the source state is already known, e.g. the entrant came
+     * from a {@link #byStatus} query for {@code from}.
+     *
+     * @throws IllegalStateException if {@code from -> to} is not a legal transition
+     */
+    public void set(WriteBatch batch, String eventId, String uid, EntrantStatus from, EntrantStatus to,
+                    Map<String, Object> fields) {
+        batch.set(ref(eventId, uid), buildUpdate(eventId, uid, from, to, fields), SetOptions.merge());
+    }
+
+    /**
+     * Removes the entrant from the event. The entrant must currently be in {@code expected}
+     * (pass null to remove from any state).
+     *
+     * @return a task resolving to the status the entrant had, or null if they were not part of the event
+     */
+    public Task<EntrantStatus> remove(String eventId, String uid, EntrantStatus expected) {
+        return db.runTransaction(transaction -> {
+            DocumentSnapshot doc = transaction.get(ref(eventId, uid));
+            EntrantStatus current;
+            List<DocumentReference> legacyDocs = new ArrayList<>();
+            if (doc.exists()) {
+                current = EntrantStatus.fromString(doc.getString(FIELD_STATUS));
+            } else {
+                // Events that predate the entrant document have nothing to project from, so clear them directly
+                boolean[] present = new boolean[EntrantStatus.values().length];
+                for (EntrantStatus status : EntrantStatus.values()) {
+                    DocumentReference legacy = legacyRef(eventId, uid, status);
+                    present[status.ordinal()] = transaction.get(legacy).exists();
+                    if (present[status.ordinal()]) {
+                        legacyDocs.add(legacy);
+                    }
+                }
+                current = fromPresence(present);
+            }
+            if (current == null) {
+                return null;
+            }
+            if (expected != null && current != expected) {
+                throw new IllegalStateException("Entrant " + uid + " is " + current + ", not " + expected);
+            }
+            transaction.delete(ref(eventId, uid));
+            for (DocumentReference legacy : legacyDocs) {
+                transaction.delete(legacy);
+            }
+            return current;
+        });
+    }
+
+    /**
+     * Adds a removal to a batch; the legacy subcollections are cleared by the projection.
+     */
+    public void delete(WriteBatch batch, String eventId, String uid) {
+        batch.delete(ref(eventId, uid));
+    }
+
+    private Map<String, Object> buildUpdate(String eventId, String uid, EntrantStatus from, EntrantStatus to,
+                                            Map<String, Object> fields) {
+        if (!EntrantStatus.canTransition(from, to)) {
+            throw new IllegalStateException("Cannot move entrant " + uid + " of event " + eventId
+                    + " from " + from + " to " + to);
+        }
+        Map<String, Object> data = fields != null ? new HashMap<>(fields) : new HashMap<>();
+        data.remove(FIELD_PROJECTED_AT);
+        data.put(FIELD_USER_ID, uid);
+        data.put(FIELD_STATUS, to.name());
+        data.put(FIELD_PREVIOUS_STATUS, from != null ? from.name() : null);
+        data.put(FIELD_STATUS_UPDATED_AT, FieldValue.serverTimestamp());
+        Log.d(TAG, "ENTRANT_TRANSITION: eventId=" + eventId + ", userId=" + uid + ", from=" + from + ", to=" + to);
+        return data;
+    }
+
+    private DocumentReference legacyRef(String eventId, String uid, EntrantStatus status) {
+        return db.collection("events").document(eventId).collection(status.legacyCollection()).document(uid);
+    }
+
+    private Task<EntrantStatus> legacyStatusOf(String eventId, String uid) {
+        List<Task<DocumentSnapshot>> probes = new ArrayList<>();
+        for (EntrantStatus status : EntrantStatus.values()) {
+            probes.add(legacyRef(eventId, uid, status).get());
+        }
+        return Tasks.whenAllComplete(probes).continueWith(all -> {
+            boolean[] present = new boolean[probes.size()];
+            for (int i = 0; i < probes.size(); i++) {
+                Task<DocumentSnapshot> probe = probes.get(i);
+                present[i] = probe.isSuccessful() && probe.getResult() != null && probe.getResult().exists();
+            }
+            return fromPresence(present);
+        });
+    }
+
+    private static EntrantStatus fromPresence(boolean[] present) {
+        return EntrantStatus.fromLegacyPresence(
+                present[EntrantStatus.WAITLISTED.ordinal()],
+                present[EntrantStatus.SELECTED.ordinal()],
+                present[EntrantStatus.NON_SELECTED.ordinal()],
+                present[EntrantStatus.CANCELLED.ordinal()],
+                present[EntrantStatus.ADMITTED.ordinal()]);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.eventease.data.firebase;
+
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+/**
+ * Lets one device at a time run a piece of time-based work for an event.
+ *
+ * <p>Every signed-in device runs the same deadline timers, so several of them can reach the same
+ * deadline together. Before doing the work, a device claims it in a transaction: the claim
+ * succeeds only if the event's done field (e.g. {@code deadlineNotificationSent}) is not set and
+ * nobody else holds an unexpired claim, and it stores the claim time in the claim field (e.g.
+ * {@code deadlineClaimedAt}). The processor sets the done field when it finishes, as before.
+ * A claim expires after {@link #LEASE_MS}, so work whose device crashed or went offline is picked
+ * up again by the next device that fires.
+ */
+public final class EventClaims {
+
+    /** How long a claim keeps other devices away. */
+    public static final long LEASE_MS = 5 * 60 * 1000L;
+
+    private final FirebaseFirestore db;
+
+    public EventClaims(FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    /**
+     * Claims the work guarded by {@code doneField} for an event.
+     *
+     * @return a task resolving to true if this device should do the work
+     */
+    public Task<Boolean> claim(String eventId, String doneField, String claimField, long nowMs) {
+        DocumentReference eventRef = db.collection("events").document(eventId);
+        return db.runTransaction(transaction -> {
+            DocumentSnapshot eventDoc = transaction.get(eventRef);
+            if (!eventDoc.exists()
+                    || !isClaimable(eventDoc.getBoolean(doneField), eventDoc.getLong(claimField), nowMs)) {
+                return false;
+            }
+            transaction.update(eventRef, claimField, nowMs);
+            return true;
+        });
+    }
+
+    /**
+     * Whether work that is not done yet and was last claimed at {@code claimedAtMs} may be claimed now.
+     */
+    static boolean isClaimable(Boolean done, Long claimedAtMs, long nowMs) {
+        if (Boolean.TRUE.equals(done)) {
+            return false;
+        }
+        return claimedAtMs == null || nowMs - claimedAtMs >= LEASE_MS;
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.eventease.data.firebase;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Shares Firestore snapshot listeners between the parts of the app that watch the same query.
+ *
+ * <p>Each distinct query (identified by a caller-chosen key, e.g. {@link #ALL_EVENTS}) has at
+ * most one Firestore listener, opened when the first subscriber arrives and removed when the
+ * last one leaves. Every snapshot is fanned out to the subscribers as its document changes, so
+ * the device keeps one copy of the documents and pays for one stream however many background
+ * services and screens are watching.
+ *
+ * <p>A subscriber that joins a stream which is already running first receives the current
+ * documents as {@link DocumentChange.Type#ADDED} changes, which is what it would have seen as
+ * the first snapshot of a listener of its own.
+ */
+public final class EventStreamHub {
+
+    private static final String TAG = "EventStreamHub";
+
+    /** Key of the stream over the whole {@code events} collection. */
+    public static final String ALL_EVENTS = "events";
+
+    /** One document change delivered to a subscriber. */
+    public static final class Change {
+        private final DocumentChange.Type type;
+        private final DocumentSnapshot document;
+
+        Change(DocumentChange.Type type, DocumentSnapshot document) {
+            this.type = type;
+            this.document = document;
+        }
+
+        @NonNull
+        public DocumentChange.Type getType() {
+            return type;
+        }
+
+        @NonNull
+        public DocumentSnapshot getDocument() {
+            return document;
+        }
+
+        /**
+         * Converts a query result into changes. Snapshots from listeners carry their own changes;
+         * a snapshot without any (such as the result of a one-off get) is treated as all ADDED.
+         */
+        @NonNull
+        public static List<Change> fromSnapshot(@NonNull QuerySnapshot snapshot) {
+            List<Change> changes = new ArrayList<>();
+            List<DocumentChange> documentChanges = snapshot.getDocumentChanges();
+            if (!documentChanges.isEmpty()) {
+                for (DocumentChange change : documentChanges) {
+                    changes.add(new Change(change.getType(), change.getDocument()));
+                }
+            } else {
+                for (DocumentSnapshot doc : snapshot.getDocuments()) {
+                    changes.add(new Change(DocumentChange.Type.ADDED, doc));
+                }
+            }
+            return changes;
+        }
+    }
+
+    /** Receives the changes of one stream. Called on the main thread. */
+    public interface Subscriber {
+        /**
+         * @param changes the documents added, modified or removed since the previous call
+         * @param documents all documents currently matching the query, in query order
+         */
+        void onChanges(@NonNull List<Change> changes, @NonNull List<DocumentSnapshot> documents);
+
+        default void onError(@NonNull Exception e) {
+            Log.e(TAG, "Stream failed", e);
+        }
+    }
+
+    private static EventStreamHub instance;
+
+    private final Map<String, Stream> streams = new HashMap<>();
+
+    private EventStreamHub() {
+    }
+
+    public static synchronized EventStreamHub getInstance() {
+        if (instance == null) {
+            instance = new EventStreamHub();
+        }
+        return instance;
+    }
+
+    /**
+     * Subscribes to the stream over the whole {@code events} collection.
+     */
+    public ListenerRegistration subscribeAllEvents(@NonNull Subscriber subscriber) {
+        return subscribe(ALL_EVENTS, FirebaseFirestore.getInstance().collection("events"), subscriber);
+    }
+
+    /**
+     * Subscribes to the stream for {@code key}, opening a listener on {@code query} if no other
+     * subscriber is watching it. The key must uniquely describe the query.
+     *
+     * @return a registration whose {@code remove()} unsubscribes; the Firestore listener is
+     *         removed with the last subscriber
+     */
+    public ListenerRegistration subscribe(@NonNull String key, @NonNull Query query,
+                                          @NonNull Subscriber subscriber) {
+        Stream stream;
+        List<Change> replay = null;
+        List<DocumentSnapshot> replayDocuments = null;
+        synchronized (this) {
+            stream = streams.get(key);
+            if (stream == null) {
+                stream = new Stream(key);
+                streams.put(key, stream);
+                stream.subscribers.add(subscriber);
+                Log.d(TAG, "Opening stream " + key);
+                Stream opened = stream;
+                stream.registration = query.addSnapshotListener((snapshot, error) -> opened.onSnapshot(snapshot, error));
+            } else {
+                stream.subscribers.add(subscriber);
+                Log.d(TAG, "Sharing stream " + key + " (" + stream.subscribers.size() + " subscribers)");
+                if (stream.received) {
+                    replayDocuments = stream.documents;
+                    replay = new ArrayList<>(replayDocuments.size());
+                    for (DocumentSnapshot doc : replayDocuments) {
+                        replay.add(new Change(DocumentChange.Type.ADDED, doc));
+                    }
+                }
+            }
+        }
+        if (replay != null) {
+            // Catch the new subscriber up with what the stream already holds, outside the lock
+            subscriber.onChanges(replay, replayDocuments);
+        }
+
+        Stream subscribed = stream;
+        return new ListenerRegistration() {
+            private boolean removed;
+
+            @Override
+            public void remove() {
+                synchronized (EventStreamHub.this) {
+                    if (removed) return;
+                    removed = true;
+                    subscribed.subscribers.remove(subscriber);
+                    if (subscribed.subscribers.isEmpty() && streams.get(key) == subscribed) {
+                        subscribed.close();
+                        streams.remove(key);
+                        Log.d(TAG, "Closed stream " + key);
+                    }
+                }
+            }
+        };
+    }
+
+    private final class Stream {
+        final String key;
+        final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        ListenerRegistration registration;
+        List<DocumentSnapshot> documents = Collections.emptyList();
+        boolean received;
+
+        Stream(String key) {
+            this.key = key;
+        }
+
+        void onSnapshot(QuerySnapshot snapshot, Exception error) {
+            if (error != null) {
+                Log.e(TAG, "Stream " + key + " failed", error);
+                synchronized (EventStreamHub.this) {
+                    // A failed listener is dead; the next subscriber opens a fresh one
+                    if (streams.get(key) == this) {
+                        streams.remove(key);
+                    }
+                    close();
+                }
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.onError(error);
+                }
+                return;
+            }
+            if (snapshot == null) {
+                return;
+            }
+            List<Change> changes;
+            List<DocumentSnapshot> current;
+            synchronized (EventStreamHub.this) {
+                documents = Collections.unmodifiableList(new ArrayList<>(snapshot.getDocuments()));
+                current = documents;
+                received = true;
+                changes = new ArrayList<>();
+                for (DocumentChange change : snapshot.getDocumentChanges()) {
+                    changes.add(new Change(change.getType(), change.getDocument()));
+                }
+            }
+            if (changes.isEmpty()) {
+                return;
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.onChanges(changes, current);
+            }
+        }
+
+        void close() {
+            if (registration != null) {
+                registration.remove();
+                registration = null;
+            }
+        }
+    }
+}
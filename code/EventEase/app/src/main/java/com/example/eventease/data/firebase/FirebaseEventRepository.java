@@ -2,114 +2,187 @@ package com.example.eventease.data.firebase;
 
 import android.util.Log;
 
+import com.example.eventease.data.CountService;
 import com.example.eventease.data.EventRepository;
 import com.example.eventease.data.ListenerRegistration;
+import com.example.eventease.data.TtlLruCache;
 import com.example.eventease.data.WaitlistCountListener;
 import com.example.eventease.model.Event;
 import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QuerySnapshot;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Firebase implementation of EventRepository.
- * Loads events from Firestore and provides real-time waitlist count updates.
+ * Loads events from Firestore on demand and provides real-time waitlist count updates.
+ *
+ * <p>Events are kept in a bounded LRU cache with a TTL ({@link #MAX_CACHED_EVENTS},
+ * {@link #MAX_CACHE_WEIGHT}, {@link #CACHE_TTL_MS}). {@link #getEvent} reads through to Firestore
+ * on a miss. Every event document snapshot the repository receives (reads, and the live listener
+ * kept for events whose waitlist count is being observed) refreshes the cached copy, and a
+ * snapshot of a deleted event evicts it.</p>
  */
 public class FirebaseEventRepository implements EventRepository {
 
     private static final String TAG = "EventRepository";
-    private final Map<String, Event> events = new ConcurrentHashMap<>();
+
+    static final int MAX_CACHED_EVENTS = 200;
+    /** Approximate bytes, see {@link #weigh(Event)}. */
+    static final long MAX_CACHE_WEIGHT = 512 * 1024;
+    static final long CACHE_TTL_MS = 5 * 60 * 1000L;
+
+    private final TtlLruCache<String, Event> events;
+    /** Reads in flight per event id; guarded by itself. */
+    private final Map<String, Task<Event>> pendingLoads = new HashMap<>();
     private final Map<String, Integer> waitlistCounts = new ConcurrentHashMap<>();
     private final Map<String, List<WaitlistCountListener>> listeners = new ConcurrentHashMap<>();
     private final Map<String, com.google.firebase.firestore.ListenerRegistration> waitlistCountRegistrations = new ConcurrentHashMap<>();
+    private final Map<String, com.google.firebase.firestore.ListenerRegistration> eventDocRegistrations = new ConcurrentHashMap<>();
     private final FirebaseFirestore db;
+    private final WaitlistCounter waitlistCounter;
+    private final CountService countService;
 
     public FirebaseEventRepository(List<Event> seed) {
         this.db = FirebaseFirestore.getInstance();
-        
-        // Load seed events into memory
+        this.waitlistCounter = new WaitlistCounter(db);
+        this.countService = CountService.getInstance();
+        this.events = new TtlLruCache<>(MAX_CACHED_EVENTS, MAX_CACHE_WEIGHT, CACHE_TTL_MS,
+                FirebaseEventRepository::weigh, System::currentTimeMillis);
+
+        // Load seed events into memory; everything else is loaded when first requested
         for (Event e : seed) {
             events.put(e.getId(), e);
             waitlistCounts.put(e.getId(), 0);
         }
-        
-        // Also load all events from Firestore
-        loadEventsFromFirestore();
     }
-    
-    private void loadEventsFromFirestore() {
-        db.collection("events")
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    for (DocumentSnapshot doc : querySnapshot.getDocuments()) {
-                        try {
-                            Event event = Event.fromMap(doc.getData());
-                            if (event != null && event.getId() != null) {
-                                events.put(event.getId(), event);
-                                if (!waitlistCounts.containsKey(event.getId())) {
-                                    waitlistCounts.put(event.getId(), event.getWaitlistCount());
-                                }
-                                Log.d(TAG, "Loaded event from Firestore: " + event.getTitle());
-                            }
-                        } catch (Exception e) {
-                            Log.e(TAG, "Error parsing event from Firestore", e);
-                        }
-                    }
-                    Log.d(TAG, "Total events loaded: " + events.size());
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Failed to load events from Firestore", e);
-                });
+
+    /**
+     * Rough in-memory size of an event in bytes: two bytes per character plus fixed overhead.
+     */
+    static int weigh(Event e) {
+        int chars = length(e.getTitle()) + length(e.getDescription()) + length(e.getNotes())
+                + length(e.getLocation()) + length(e.getPosterUrl()) + length(e.getGuidelines());
+        if (e.getInterests() != null) {
+            for (String interest : e.getInterests()) {
+                chars += length(interest);
+            }
+        }
+        return 256 + 2 * chars;
+    }
+
+    private static int length(String s) {
+        return s != null ? s.length() : 0;
+    }
+
+    /**
+     * Updates the cache from an event document snapshot: refreshes it if the event exists and
+     * evicts it if the event was deleted.
+     *
+     * @return the parsed event, or null if the document does not exist or cannot be parsed
+     */
+    Event applySnapshot(DocumentSnapshot doc) {
+        if (doc == null) {
+            return null;
+        }
+        if (!doc.exists()) {
+            if (events.invalidate(doc.getId())) {
+                Log.d(TAG, "Evicted deleted event " + doc.getId());
+            }
+            return null;
+        }
+        try {
+            Event event = Event.fromMap(doc.getData());
+            if (event == null) {
+                return null;
+            }
+            if (event.getId() == null || event.getId().isEmpty()) {
+                event.setId(doc.getId());
+            }
+            events.put(event.getId(), event);
+            return event;
+        } catch (Exception e) {
+            Log.e(TAG, "Error parsing event " + doc.getId(), e);
+            return null;
+        }
     }
 
     @Override
     public Task<List<Event>> getOpenEvents(Date now) {
-        // Return cached events first, but also refresh from Firestore
+        long nowMs = now != null ? now.getTime() : System.currentTimeMillis();
+        // Only upcoming events are read; the start-time filter and ordering run on the server
         return db.collection("events")
+                .whereGreaterThan("startsAtEpochMs", nowMs)
+                .orderBy("startsAtEpochMs")
                 .get()
                 .continueWith(task -> {
-                    // Update cache with latest Firestore data
-                    if (task.isSuccessful() && task.getResult() != null) {
-                        for (DocumentSnapshot doc : task.getResult().getDocuments()) {
-                            try {
-                                Event event = Event.fromMap(doc.getData());
-                                if (event != null && event.getId() != null) {
-                                    events.put(event.getId(), event);
-                                }
-                            } catch (Exception e) {
-                                Log.e(TAG, "Error parsing event", e);
-                            }
-                        }
+                    if (!task.isSuccessful() || task.getResult() == null) {
+                        Log.e(TAG, "Failed to query upcoming events, using cache", task.getException());
+                        return cachedUpcoming(nowMs);
                     }
-                    
-                    long nowMs = now != null ? now.getTime() : System.currentTimeMillis();
-                    // Filter open events
+
+                    // CRITICAL: Do NOT filter on registration deadline here
+                    // Users who are already on the waitlist should continue to see the event
                     List<Event> result = new ArrayList<>();
-                    for (Map.Entry<String, Event> entry : events.entrySet()) {
-                        Event e = entry.getValue();
-
-                        // CRITICAL: Do NOT remove events from cache based on registration deadline
-                        // Users who are already on the waitlist should continue to see the event
-                        // Only filter based on event start date
-                        Date startDate = e.getStartAt();
-                        if (startDate == null || startDate.after(now)) {
-                            result.add(e);
+                    for (DocumentSnapshot doc : task.getResult().getDocuments()) {
+                        Event event = applySnapshot(doc);
+                        if (event != null) {
+                            result.add(event);
                         }
                     }
-                    result.sort(Comparator.comparing(Event::getStartAt, Comparator.nullsLast(Comparator.naturalOrder())));
                     return Collections.unmodifiableList(result);
                 });
     }
 
+    /**
+     * Cached events matching the server query: a start time strictly after {@code nowMs}, so
+     * events without a start time are left out here too.
+     */
+    private List<Event> cachedUpcoming(long nowMs) {
+        List<Event> result = new ArrayList<>();
+        for (Event e : events.values()) {
+            if (e.getStartsAtEpochMs() > nowMs) {
+                result.add(e);
+            }
+        }
+        result.sort(Comparator.comparingLong(Event::getStartsAtEpochMs));
+        return Collections.unmodifiableList(result);
+    }
+
     @Override
     public Task<Event> getEvent(String eventId) {
         Event e = events.get(eventId);
         if (e != null) return Tasks.forResult(e);
-        return Tasks.forException(new NoSuchElementException("Event not found: " + eventId));
+
+        // Read through; concurrent misses for the same event share one read
+        synchronized (pendingLoads) {
+            Task<Event> pending = pendingLoads.get(eventId);
+            if (pending != null) return pending;
+            Task<Event> load = db.collection("events").document(eventId).get().continueWith(task -> {
+                synchronized (pendingLoads) {
+                    pendingLoads.remove(eventId);
+                }
+                return eventFromRead(eventId, task);
+            });
+            pendingLoads.put(eventId, load);
+            return load;
+        }
+    }
+
+    private Event eventFromRead(String eventId, Task<DocumentSnapshot> task) throws Exception {
+        if (!task.isSuccessful()) {
+            throw task.getException() != null ? task.getException()
+                    : new IllegalStateException("Failed to load event " + eventId);
+        }
+        Event event = applySnapshot(task.getResult());
+        if (event == null) {
+            throw new NoSuchElementException("Event not found: " + eventId);
+        }
+        Log.d(TAG, "Loaded event " + eventId + " into cache (" + events.stats() + ")");
+        return event;
     }
 
     @Override
@@ -138,6 +211,10 @@ public class FirebaseEventRepository implements EventRepository {
                     if (reg != null) {
                         reg.remove();
                     }
+                    com.google.firebase.firestore.ListenerRegistration docReg = eventDocRegistrations.remove(eventId);
+                    if (docReg != null) {
+                        docReg.remove();
+                    }
                 }
             }
         };
@@ -145,13 +222,14 @@ public class FirebaseEventRepository implements EventRepository {
     
     private void queryWaitlistCount(String eventId) {
         // Compute a "logical" waitlist count depending on event state:
-        // - Before selectionProcessed: number of docs in WaitlistedEntrants
+        // - Before selectionProcessed: size of WaitlistedEntrants (summed from the counter shards)
         // - After selectionProcessed: NonSelectedEntrants
         //   + SelectedEntrants with PENDING invitations
         db.collection("events")
                 .document(eventId)
                 .get()
                 .addOnSuccessListener(eventDoc -> {
+                    applySnapshot(eventDoc);
                     if (eventDoc == null || !eventDoc.exists()) {
                         Log.w(TAG, "queryWaitlistCount: event not found: " + eventId);
                         waitlistCounts.put(eventId, 0);
@@ -163,76 +241,39 @@ public class FirebaseEventRepository implements EventRepository {
                     boolean isSelectionProcessed = selectionProcessed != null && selectionProcessed;
 
                     if (!isSelectionProcessed) {
-                        // BEFORE SELECTION: use WaitlistedEntrants subcollection size
-                        eventDoc.getReference()
-                                .collection("WaitlistedEntrants")
-                .get()
-                .addOnSuccessListener(snap -> {
-                    int actualCount = snap != null ? snap.size() : 0;
+                        // BEFORE SELECTION: sum of the waitlist counter shards
+                        waitlistCounter.read(eventId)
+                                .addOnSuccessListener(actualCount -> {
                                     Log.d(TAG, "Queried pre-selection waitlist count for event " + eventId + ": " + actualCount);
 
-                    waitlistCounts.put(eventId, actualCount);
+                                    waitlistCounts.put(eventId, actualCount);
 
-                                    eventDoc.getReference()
-                            .update("waitlistCount", actualCount)
-                                            .addOnFailureListener(e -> Log.e(TAG, "Failed to sync waitlistCount field (pre-selection)", e));
+                                    Long stored = eventDoc.getLong("waitlistCount");
+                                    if (stored == null || stored.intValue() != actualCount) {
+                                        eventDoc.getReference()
+                                                .update("waitlistCount", actualCount)
+                                                .addOnFailureListener(e -> Log.e(TAG, "Failed to sync waitlistCount field (pre-selection)", e));
+                                    }
 
                                     notifyCount(eventId);
                                 })
                                 .addOnFailureListener(e -> {
-                                    Log.e(TAG, "Failed to query WaitlistedEntrants for event " + eventId, e);
+                                    Log.e(TAG, "Failed to read waitlist shards for event " + eventId, e);
                                     notifyCount(eventId);
                                 });
                     } else {
                         // AFTER SELECTION:
                         // waitlistCount = NonSelectedEntrants
                         //                + SelectedEntrants that still have PENDING invitations
+                        // Both terms are server-side aggregation counts
                         final DocumentSnapshot finalEventDoc = eventDoc;
-                        Task<QuerySnapshot> nonSelectedTask = eventDoc.getReference()
-                                .collection("NonSelectedEntrants")
-                                .get();
-                        Task<QuerySnapshot> selectedTask = eventDoc.getReference()
-                                .collection("SelectedEntrants")
-                                .get();
-                        Task<QuerySnapshot> pendingInvitesTask = db.collection("invitations")
-                                .whereEqualTo("eventId", eventId)
-                                .whereEqualTo("status", "PENDING")
-                                .get();
-
-                        Tasks.whenAllSuccess(nonSelectedTask, selectedTask, pendingInvitesTask)
-                                .addOnSuccessListener(results -> {
-                                    QuerySnapshot nonSelectedSnap = (QuerySnapshot) results.get(0);
-                                    QuerySnapshot selectedSnap = (QuerySnapshot) results.get(1);
-                                    QuerySnapshot pendingSnap = (QuerySnapshot) results.get(2);
-
-                                    int nonSelectedCount = nonSelectedSnap != null ? nonSelectedSnap.size() : 0;
-
-                                    // Build set of selected userIds
-                                    java.util.Set<String> selectedIds = new java.util.HashSet<>();
-                                    if (selectedSnap != null) {
-                                        for (DocumentSnapshot doc : selectedSnap.getDocuments()) {
-                                            selectedIds.add(doc.getId());
-                                        }
-                                    }
-
-                                    // Build set of uids with PENDING invitations
-                                    java.util.Set<String> pendingUids = new java.util.HashSet<>();
-                                    if (pendingSnap != null) {
-                                        for (DocumentSnapshot doc : pendingSnap.getDocuments()) {
-                                            String uid = doc.getString("uid");
-                                            if (uid != null && !uid.isEmpty()) {
-                                                pendingUids.add(uid);
-                                            }
-                                        }
-                                    }
+                        Task<Integer> nonSelectedTask = countService.countEntrants(eventId, "NonSelectedEntrants");
+                        Task<Integer> selectedPendingTask = countService.countPendingInvitations(eventId);
 
-                                    // Count how many selected entrants still have PENDING invitations
-                                    int selectedPendingCount = 0;
-                                    for (String uid : pendingUids) {
-                                        if (selectedIds.contains(uid)) {
-                                            selectedPendingCount++;
-                                        }
-                                    }
+                        Tasks.whenAllSuccess(nonSelectedTask, selectedPendingTask)
+                                .addOnSuccessListener(results -> {
+                                    int nonSelectedCount = (Integer) results.get(0);
+                                    int selectedPendingCount = (Integer) results.get(1);
 
                                     int logicalCount = nonSelectedCount + selectedPendingCount;
 
@@ -262,17 +303,15 @@ public class FirebaseEventRepository implements EventRepository {
     }
 
     /* package */ void incrementWaitlist(String eventId) {
+        countService.invalidateEntrants(eventId, "WaitlistedEntrants");
         queryWaitlistCount(eventId);
     }
 
     /* package */ void decrementWaitlist(String eventId) {
+        countService.invalidateEntrants(eventId, "WaitlistedEntrants");
         queryWaitlistCount(eventId);
     }
 
-    /* package */ boolean isKnown(String eventId) {
-        return events.containsKey(eventId);
-    }
-
     private void notifyCount(String eventId) {
         int count = waitlistCounts.getOrDefault(eventId, 0);
         List<WaitlistCountListener> ls = listeners.get(eventId);
@@ -300,19 +339,30 @@ public class FirebaseEventRepository implements EventRepository {
 
         com.google.firebase.firestore.ListenerRegistration reg = db.collection("events")
                 .document(eventId)
-                .collection("WaitlistedEntrants")
+                .collection(WaitlistCounter.SHARD_COLLECTION)
                 .addSnapshotListener((snap, error) -> {
                     if (error != null) {
                         Log.w(TAG, "Waitlist listener failed for " + eventId, error);
                         return;
                     }
 
-                    // Any change in WaitlistedEntrants should trigger a recomputation
+                    // Any change to the waitlist shards should trigger a recomputation
                     // of the logical waitlist count, which also considers NonSelected
                     // and Selected+PENDING after selection.
                     queryWaitlistCount(eventId);
                 });
 
         waitlistCountRegistrations.put(eventId, reg);
+
+        // While the event is on screen, keep its cached copy in step with the document
+        eventDocRegistrations.put(eventId, db.collection("events")
+                .document(eventId)
+                .addSnapshotListener((doc, error) -> {
+                    if (error != null) {
+                        Log.w(TAG, "Event listener failed for " + eventId, error);
+                        return;
+                    }
+                    applySnapshot(doc);
+                }));
     }
 }
@@ -3,9 +3,11 @@ package com.example.eventease.data.firebase;
 import android.util.Log;
 
 import com.example.eventease.data.AdmittedRepository;
+import com.example.eventease.data.CountService;
 import com.example.eventease.data.InvitationListener;
 import com.example.eventease.data.InvitationRepository;
 import com.example.eventease.data.ListenerRegistration;
+import com.example.eventease.model.EntrantStatus;
 import com.example.eventease.model.Invitation;
 import com.example.eventease.model.Invitation.Status;
 import com.google.android.gms.tasks.Task;
@@ -35,10 +37,14 @@ public class FirebaseInvitationRepository implements InvitationRepository {
     private final Map<String, List<InvitationListener>> listenersByUid = new ConcurrentHashMap<>();
     private final FirebaseFirestore db;
     private AdmittedRepository admittedRepo;
+    private final MembershipIndex membershipIndex;
+    private final EntrantStatusStore entrantStatusStore;
     private final Map<String, com.google.firebase.firestore.ListenerRegistration> firestoreListeners = new ConcurrentHashMap<>();
 
     public FirebaseInvitationRepository(List<Invitation> seed) {
         this.db = FirebaseFirestore.getInstance();
+        this.membershipIndex = new MembershipIndex(db);
+        this.entrantStatusStore = new EntrantStatusStore(db);
         for (Invitation inv : seed) {
             byId.put(inv.getId(), inv);
         }
@@ -318,11 +324,6 @@ public class FirebaseInvitationRepository implements InvitationRepository {
     public Task<Void> decline(String invitationId, String eventId, String uid) {
         Log.d(TAG, "Decline called with invitationId: " + invitationId + ", eventId: " + eventId + ", uid: " + uid);
         
-            DocumentReference eventRef = db.collection("events").document(eventId);
-            DocumentReference waitlistDoc = eventRef.collection("WaitlistedEntrants").document(uid);
-            DocumentReference selectedDoc = eventRef.collection("SelectedEntrants").document(uid);
-            DocumentReference nonSelectedDoc = eventRef.collection("NonSelectedEntrants").document(uid);
-            DocumentReference cancelledDoc = eventRef.collection("CancelledEntrants").document(uid);
         DocumentReference invitationRef = db.collection("invitations").document(invitationId);
             
             Log.d(TAG, "Fetching user document...");
@@ -334,43 +335,29 @@ public class FirebaseInvitationRepository implements InvitationRepository {
                 DocumentSnapshot userDoc = userTask.isSuccessful() ? userTask.getResult() : null;
                 Map<String, Object> cancelledData = buildCancelledEntry(uid, userDoc);
                 
-                Log.d(TAG, "Building batch operations:");
-                Log.d(TAG, "  1. Update invitation status to DECLINED");
-                Log.d(TAG, "  2. Add to CancelledEntrants");
-                Log.d(TAG, "  3. Delete from WaitlistedEntrants");
-                Log.d(TAG, "  4. Delete from SelectedEntrants");
-                Log.d(TAG, "  5. Delete from NonSelectedEntrants");
-                
-                WriteBatch batch = db.batch();
-            
             // CRITICAL: Update invitation status to DECLINED (don't delete - needed for queries)
             // This is consistent with InvitationDeadlineProcessor which also updates status
             Map<String, Object> invitationUpdates = new HashMap<>();
             invitationUpdates.put("status", "DECLINED");
             invitationUpdates.put("declinedAt", System.currentTimeMillis());
-            batch.update(invitationRef, invitationUpdates);
-            
-            // Move user to CancelledEntrants
-                batch.set(cancelledDoc, cancelledData, SetOptions.merge());
-                // CRITICAL: Remove from ALL other collections to ensure mutual exclusivity
-                batch.delete(waitlistDoc);
-                batch.delete(selectedDoc);
-                batch.delete(nonSelectedDoc);
             
-            Log.d(TAG, "Committing batch...");
-            return batch.commit()
+            Log.d(TAG, "Committing decline transaction (invitation → DECLINED, entrant → CANCELLED)...");
+            return db.runTransaction(transaction -> {
+                EntrantStatus from = entrantStatusStore.read(transaction, eventId, uid);
+                entrantStatusStore.write(transaction, eventId, uid, from, EntrantStatus.CANCELLED, cancelledData);
+                transaction.update(invitationRef, invitationUpdates);
+                membershipIndex.put(transaction, uid, eventId, MembershipIndex.STATUS_CANCELLED, null);
+                return from;
+            })
                     .continueWithTask(commitTask -> {
                         if (!commitTask.isSuccessful()) {
-                            Log.e(TAG, "❌ FAILED: Batch commit failed!", commitTask.getException());
+                            Log.e(TAG, "❌ FAILED: Decline transaction failed!", commitTask.getException());
                             return Tasks.forException(commitTask.getException());
                         }
                         
-                            Log.d(TAG, "✅ SUCCESS: Batch committed successfully!");
+                            Log.d(TAG, "✅ SUCCESS: Decline committed successfully!");
                             Log.d(TAG, "  ✓ Invitation status → DECLINED");
-                            Log.d(TAG, "  ✓ User added to → CancelledEntrants");
-                            Log.d(TAG, "  ✓ User deleted from → WaitlistedEntrants");
-                            Log.d(TAG, "  ✓ User deleted from → SelectedEntrants");
-                            Log.d(TAG, "  ✓ User deleted from → NonSelectedEntrants");
+                            Log.d(TAG, "  ✓ Entrant status " + commitTask.getResult() + " → CANCELLED");
                             
                         // Update in-memory invitation status
                             Invitation inv = byId.get(invitationId);
@@ -558,10 +545,9 @@ public class FirebaseInvitationRepository implements InvitationRepository {
             }
             
             // Check AdmittedEntrants count (these are users who accepted)
-            eventRef.collection("AdmittedEntrants").get()
-                    .addOnSuccessListener(admittedSnapshot -> {
-                        int admittedCount = admittedSnapshot != null ? admittedSnapshot.size() : 0;
-                        
+            CountService countService = CountService.getInstance();
+            countService.countEntrantsFresh(eventId, "AdmittedEntrants")
+                    .addOnSuccessListener(admittedCount -> {
                         Log.d(TAG, "Event capacity: " + capacity + ", Admitted count: " + admittedCount);
                         
                         // Check if capacity is full
@@ -569,18 +555,14 @@ public class FirebaseInvitationRepository implements InvitationRepository {
                             Log.d(TAG, "✅ Capacity is full! Checking if all selected have accepted...");
                             
                             // Check SelectedEntrants - if empty or all have accepted invitations, send notifications
-                            eventRef.collection("SelectedEntrants").get()
-                                    .addOnSuccessListener(selectedSnapshot -> {
-                                        int selectedCount = selectedSnapshot != null ? selectedSnapshot.size() : 0;
-                                        
+                            countService.countEntrantsFresh(eventId, "SelectedEntrants")
+                                    .addOnSuccessListener(selectedCount -> {
                                         // Check if there are any pending invitations for this event
-                                        db.collection("invitations")
-                                                .whereEqualTo("eventId", eventId)
-                                                .whereEqualTo("status", "PENDING")
-                                                .get()
-                                                .addOnSuccessListener(invitationSnapshot -> {
-                                                    int pendingInvitations = invitationSnapshot != null ? invitationSnapshot.size() : 0;
-                                                    
+                                        countService.countFresh("invitations/" + eventId + "/PENDING",
+                                                        db.collection("invitations")
+                                                                .whereEqualTo("eventId", eventId)
+                                                                .whereEqualTo("status", "PENDING"))
+                                                .addOnSuccessListener(pendingInvitations -> {
                                                     Log.d(TAG, "Selected count: " + selectedCount + ", Pending invitations: " + pendingInvitations);
                                                     
                                                     // If no pending invitations, all selected have responded
@@ -623,11 +605,10 @@ public class FirebaseInvitationRepository implements InvitationRepository {
         
         Log.d(TAG, "Sending not-selected notifications for event: " + eventId);
         
-        DocumentReference eventRef = db.collection("events").document(eventId);
         String finalEventTitle = eventTitle;
-        eventRef.collection("NonSelectedEntrants").get()
-                .addOnSuccessListener(nonSelectedSnapshot -> {
-                    if (nonSelectedSnapshot == null || nonSelectedSnapshot.isEmpty()) {
+        entrantStatusStore.list(eventId, EntrantStatus.NON_SELECTED)
+                .addOnSuccessListener(nonSelectedDocs -> {
+                    if (nonSelectedDocs.isEmpty()) {
                         Log.d(TAG, "No non-selected entrants to notify for event " + eventId);
                         // Mark as sent even if no entrants
                         markSorryNotificationSent(eventId);
@@ -635,7 +616,7 @@ public class FirebaseInvitationRepository implements InvitationRepository {
                     }
                     
                     List<String> userIds = new ArrayList<>();
-                    for (DocumentSnapshot doc : nonSelectedSnapshot.getDocuments()) {
+                    for (DocumentSnapshot doc : nonSelectedDocs) {
                         userIds.add(doc.getId());
                     }
                     
@@ -3,14 +3,13 @@ package com.example.eventease.data.firebase;
 import android.util.Log;
 
 import com.example.eventease.data.WaitlistRepository;
+import com.example.eventease.logic.EntrantLocation;
+import com.example.eventease.model.EntrantStatus;
 import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QuerySnapshot;
-import com.google.firebase.firestore.SetOptions;
 import com.google.firebase.firestore.WriteBatch;
 
 import java.util.HashMap;
@@ -29,10 +28,16 @@ public class FirebaseWaitlistRepository implements WaitlistRepository {
     private final Set<String> membership = ConcurrentHashMap.newKeySet();
     private final FirebaseEventRepository eventRepo;
     private final FirebaseFirestore db;
+    private final MembershipIndex membershipIndex;
+    private final WaitlistCounter waitlistCounter;
+    private final EntrantStatusStore entrantStatusStore;
 
     public FirebaseWaitlistRepository(FirebaseEventRepository eventRepo) {
         this.eventRepo = eventRepo;
         this.db = FirebaseFirestore.getInstance();
+        this.membershipIndex = new MembershipIndex(db);
+        this.waitlistCounter = new WaitlistCounter(db);
+        this.entrantStatusStore = new EntrantStatusStore(db);
     }
 
     private static String key(String eventId, String uid) {
@@ -52,6 +57,8 @@ public class FirebaseWaitlistRepository implements WaitlistRepository {
             }
 
             DocumentSnapshot eventDoc = task.getResult();
+            Long startsAtObj = eventDoc.getLong("startsAtEpochMs");
+            long startsAt = startsAtObj != null ? startsAtObj : 0L;
 
             @SuppressWarnings("unchecked")
             List<String> admitted = (List<String>) eventDoc.get("admitted");
@@ -75,61 +82,47 @@ public class FirebaseWaitlistRepository implements WaitlistRepository {
                 return Tasks.forException(new Exception("Registration period has ended"));
             }
 
-            // Check capacity
             Long capacityLong = eventDoc.getLong("capacity");
             int capacity = capacityLong != null ? capacityLong.intValue() : 0;
-            if (capacity > 0) {
-                // FIX: Always check the actual subcollection count to ensure accuracy
-                // The stored waitlistCount field can be stale, especially after deadline changes
-                return eventRef.collection("WaitlistedEntrants").get().continueWithTask(countTask -> {
-                    int actualCount = countTask.isSuccessful() && countTask.getResult() != null ? 
-                        countTask.getResult().size() : 0;
-                    
-                    Log.d(TAG, "Capacity check for event " + eventId + ": capacity=" + capacity + ", actualWaitlistCount=" + actualCount);
-                    
-                    if (actualCount >= capacity) {
-                        Log.d(TAG, "Waitlist capacity reached for event " + eventId + " (capacity: " + capacity + ", actual: " + actualCount + ")");
-                        return Tasks.forException(new Exception("Waitlist is full. Capacity reached."));
-                    }
-                    
-                    // Also update the waitlistCount field to keep it in sync
-                    if (actualCount >= 0) {
-                        eventRef.update("waitlistCount", actualCount)
-                                .addOnFailureListener(e -> Log.w(TAG, "Failed to sync waitlistCount field", e));
-                    }
-                    
-                    return proceedWithJoin(eventRef, eventId, uid);
-                });
-            }
 
-            return proceedWithJoin(eventRef, eventId, uid);
+            boolean geolocation = Boolean.TRUE.equals(eventDoc.getBoolean("geolocation"));
+
+            return proceedWithJoin(eventRef, eventId, uid, capacity, startsAt, geolocation);
         });
     }
     
-    private Task<Void> proceedWithJoin(DocumentReference eventRef, String eventId, String uid) {
-        DocumentReference waitlistDoc = eventRef.collection("WaitlistedEntrants").document(uid);
-        return waitlistDoc.get().continueWithTask(waitlistTask -> {
-            if (waitlistTask.isSuccessful() && waitlistTask.getResult() != null && waitlistTask.getResult().exists()) {
-                Log.d(TAG, "User " + uid + " already has a waitlist entry for event " + eventId);
-                membership.add(key(eventId, uid));
-                return Tasks.forResult(null);
+    private Task<Void> proceedWithJoin(DocumentReference eventRef, String eventId, String uid,
+                                       int capacity, long startsAt, boolean geolocation) {
+        return db.collection("users").document(uid).get().continueWithTask(userTask -> {
+            DocumentSnapshot userDoc = userTask.isSuccessful() ? userTask.getResult() : null;
+            Map<String, Object> payload = buildWaitlistEntry(uid, userDoc);
+            if (geolocation && userDoc != null) {
+                // Stored on the entry so the organizer's map reads all locations with one query
+                EntrantLocation location = EntrantLocation.fromMap(userDoc.get(EntrantLocation.FIELD));
+                if (location != null) {
+                    payload.put(EntrantLocation.FIELD, location.toMap(System.currentTimeMillis()));
+                }
             }
 
-            return db.collection("users").document(uid).get().continueWithTask(userTask -> {
-                DocumentSnapshot userDoc = userTask.isSuccessful() ? userTask.getResult() : null;
-                Map<String, Object> payload = buildWaitlistEntry(uid, userDoc);
+            // Capacity is enforced inside the counter transaction; no subcollection download needed
+            return waitlistCounter.join(eventRef, uid, payload, capacity).continueWithTask(joinTask -> {
+                if (!joinTask.isSuccessful()) {
+                    Log.e(TAG, "FAILED to add user " + uid + " to waitlist for event " + eventId, joinTask.getException());
+                    return Tasks.forException(joinTask.getException());
+                }
+                if (!Boolean.TRUE.equals(joinTask.getResult())) {
+                    // Already on the waitlist: the count and membership index already include them
+                    return Tasks.forResult(null);
+                }
 
-                WriteBatch batch = db.batch();
-                batch.set(waitlistDoc, payload, SetOptions.merge());
-                batch.update(eventRef, "waitlistCount", FieldValue.increment(1));
+                Log.d(TAG, "SUCCESS: User " + uid + " added to waitlist for event " + eventId);
+                membership.add(key(eventId, uid));
+                eventRepo.incrementWaitlist(eventId);
 
+                WriteBatch batch = db.batch();
+                membershipIndex.put(batch, uid, eventId, MembershipIndex.STATUS_WAITLISTED, startsAt);
                 return batch.commit()
-                        .addOnSuccessListener(aVoid -> {
-                            Log.d(TAG, "SUCCESS: User " + uid + " added to waitlist subcollection for event " + eventId);
-                            membership.add(key(eventId, uid));
-                            eventRepo.incrementWaitlist(eventId);
-                        })
-                        .addOnFailureListener(e -> Log.e(TAG, "FAILED to add user " + uid + " to waitlist for event " + eventId, e))
+                        .addOnFailureListener(e -> Log.w(TAG, "Failed to index waitlist membership for " + uid, e))
                         .continueWith(t -> null);
             });
         });
@@ -139,15 +132,10 @@ public class FirebaseWaitlistRepository implements WaitlistRepository {
     public Task<Boolean> isJoined(String eventId, String uid) {
         // Always verify against Firestore to avoid stale membership cache,
         // then keep the in-memory set in sync with the latest value.
-        return db.collection("events")
-                .document(eventId)
-                .collection("WaitlistedEntrants")
-                .document(uid)
-                .get()
+        return entrantStatusStore.statusOf(eventId, uid)
                 .continueWith(task -> {
                     boolean exists = task.isSuccessful()
-                            && task.getResult() != null
-                            && task.getResult().exists();
+                            && task.getResult() == EntrantStatus.WAITLISTED;
 
                     String k = key(eventId, uid);
                     if (exists) {
@@ -166,10 +154,11 @@ public class FirebaseWaitlistRepository implements WaitlistRepository {
         Log.d(TAG, "Attempting to remove user " + uid + " from waitlist for event " + eventId);
         
         DocumentReference eventRef = db.collection("events").document(eventId);
-        DocumentReference waitlistDoc = eventRef.collection("WaitlistedEntrants").document(uid);
 
-        // Get event details for notification
-        return eventRef.get().continueWithTask(eventTask -> {
+        // Get event details and the current count (before leaving) for notification
+        Task<DocumentSnapshot> eventTask = eventRef.get();
+        Task<Integer> countTask = waitlistCounter.read(eventId);
+        return Tasks.whenAllComplete(eventTask, countTask).continueWithTask(all -> {
             String eventTitle = null;
             Long capacity = null;
             Long waitlistCount = null;
@@ -178,21 +167,28 @@ public class FirebaseWaitlistRepository implements WaitlistRepository {
                 DocumentSnapshot eventDoc = eventTask.getResult();
                 eventTitle = eventDoc.getString("title");
                 capacity = eventDoc.getLong("capacity");
-                waitlistCount = eventDoc.getLong("waitlistCount");
+            }
+            if (countTask.isSuccessful() && countTask.getResult() != null) {
+                waitlistCount = countTask.getResult().longValue();
             }
             
-            return proceedWithLeave(eventRef, waitlistDoc, eventId, uid, eventTitle, capacity, waitlistCount);
+            return proceedWithLeave(eventId, uid, eventTitle, capacity, waitlistCount);
         });
     }
     
-    private Task<Void> proceedWithLeave(DocumentReference eventRef, DocumentReference waitlistDoc, 
-                                       String eventId, String uid, String eventTitle, 
+    private Task<Void> proceedWithLeave(String eventId, String uid, String eventTitle,
                                        Long capacity, Long waitlistCount) {
-        WriteBatch batch = db.batch();
-        batch.delete(waitlistDoc);
-        batch.update(eventRef, "waitlistCount", FieldValue.increment(-1));
-
-        return batch.commit()
+        // Only entrants still on the waitlist can leave; the waitlist shard is decremented
+        // server-side when the projected WaitlistedEntrants document is deleted
+        return entrantStatusStore.remove(eventId, uid, EntrantStatus.WAITLISTED)
+                .continueWithTask(removeTask -> {
+                    if (!removeTask.isSuccessful()) {
+                        return Tasks.forException(removeTask.getException());
+                    }
+                    WriteBatch batch = db.batch();
+                    membershipIndex.remove(batch, uid, eventId);
+                    return batch.commit();
+                })
                 .addOnSuccessListener(aVoid -> {
                     Log.d(TAG, "SUCCESS: User " + uid + " removed from waitlist for event " + eventId);
                     membership.remove(key(eventId, uid));
@@ -215,16 +211,14 @@ public class FirebaseWaitlistRepository implements WaitlistRepository {
     private void sendWaitlistSpotAvailableNotification(String eventId, String eventTitle, String leavingUserId) {
         Log.d(TAG, "Sending waitlist spot available notification for event " + eventId);
         
-        DocumentReference eventRef = db.collection("events").document(eventId);
-        
-        eventRef.collection("WaitlistedEntrants").get()
-                .addOnSuccessListener(snapshot -> {
-                    if (snapshot == null || snapshot.isEmpty()) {
+        entrantStatusStore.list(eventId, EntrantStatus.WAITLISTED)
+                .addOnSuccessListener(waitlistedDocs -> {
+                    if (waitlistedDocs.isEmpty()) {
                         return;
                     }
                     
                     List<String> userIds = new java.util.ArrayList<>();
-                    for (com.google.firebase.firestore.DocumentSnapshot doc : snapshot.getDocuments()) {
+                    for (com.google.firebase.firestore.DocumentSnapshot doc : waitlistedDocs) {
                         String userId = doc.getId();
                         // Don't notify the user who just left
                         if (!userId.equals(leavingUserId)) {
@@ -0,0 +1,372 @@
+package com.example.eventease.data.firebase;
+
+import android.util.Log;
+
+import com.example.eventease.model.EntrantStatus;
+import com.example.eventease.model.Event;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Transaction;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user membership index stored at {@code users/{uid}/memberships/{eventId}}.
+ *
+ * <p>Each document records which entrant collection the user currently sits in for one event
+ * ({@code status}) together with the event's start time ({@code startsAtEpochMs}), so
+ * "which events am I part of" becomes a single range query instead of a scan over every event.
+ *
+ * <p>The index is maintained server-side by the {@code syncEntrantMembership} Cloud Function,
+ * which re-derives the status whenever an entrant document is written. Entrant-facing actions
+ * (join, leave, accept, decline) also write the index in the same batch so the user's own
+ * screens are consistent immediately. Users created before the index existed are backfilled
+ * lazily on first use (see {@link #ensureBackfilled(String)}).
+ *
+ * <p>The upcoming query needs the composite index on {@code memberships (status ASC, startsAtEpochMs ASC)}
+ * defined in {@code firestore.indexes.json}; the backfill needs the collection-group {@code userId}
+ * exemptions defined there too. Until they are deployed the queries fail and the lists come back
+ * empty, as they did before the index existed.
+ */
+public final class MembershipIndex {
+
+    private static final String TAG = "MembershipIndex";
+
+    public static final String COLLECTION = "memberships";
+    public static final String FIELD_EVENT_ID = "eventId";
+    public static final String FIELD_STATUS = "status";
+    public static final String FIELD_STARTS_AT = "startsAtEpochMs";
+    public static final String FIELD_UPDATED_AT = "updatedAt";
+
+    /** Field on {@code users/{uid}} recording which index version has been backfilled. */
+    public static final String VERSION_FIELD = "membershipIndexVersion";
+    public static final int VERSION = 1;
+
+    public static final String STATUS_WAITLISTED = "WAITLISTED";
+    public static final String STATUS_SELECTED = "SELECTED";
+    public static final String STATUS_NON_SELECTED = "NON_SELECTED";
+    public static final String STATUS_CANCELLED = "CANCELLED";
+    public static final String STATUS_ADMITTED = "ADMITTED";
+
+    /**
+     * Sort key stored for events without a start time. It is the largest ECMAScript time value,
+     * so the Cloud Function can write the same number, and it keeps unscheduled events in the
+     * upcoming range and out of the previous range (matching the old scan behaviour).
+     */
+    public static final long UNSCHEDULED_STARTS_AT = 8_640_000_000_000_000L;
+
+    private static final String[] ENTRANT_SUBCOLLECTIONS = {
+            "WaitlistedEntrants",
+            "SelectedEntrants",
+            "NonSelectedEntrants",
+            "CancelledEntrants",
+            "AdmittedEntrants"
+    };
+
+    /** Firestore caps {@code whereIn} at 30 values. */
+    private static final int MAX_IN_CLAUSE = 30;
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private final FirebaseFirestore db;
+
+    public MembershipIndex(FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    /**
+     * Derives the single index status from the entrant collections a user is present in
+     * (see {@link EntrantStatus#fromLegacyPresence}).
+     * Admitted users keep their SelectedEntrants record (status=ACCEPTED), so "admitted" wins
+     * over "selected"; otherwise the collections are mutually exclusive.
+     *
+     * @return the status string, or null if the user is not part of the event
+     */
+    public static String deriveStatus(boolean waitlisted, boolean selected, boolean nonSelected,
+                                      boolean cancelled, boolean admitted) {
+        EntrantStatus status = EntrantStatus.fromLegacyPresence(waitlisted, selected, nonSelected, cancelled, admitted);
+        return status != null ? status.name() : null;
+    }
+
+    /**
+     * Maps an event start time to the value stored in {@link #FIELD_STARTS_AT}.
+     */
+    public static long sortKey(long startsAtEpochMs) {
+        return startsAtEpochMs > 0 ? startsAtEpochMs : UNSCHEDULED_STARTS_AT;
+    }
+
+    public CollectionReference memberships(String uid) {
+        return db.collection("users").document(uid).collection(COLLECTION);
+    }
+
+    public DocumentReference ref(String uid, String eventId) {
+        return memberships(uid).document(eventId);
+    }
+
+    /**
+     * Adds an index write to an existing batch.
+     *
+     * @param startsAtEpochMs the event start time, or null to leave the stored value untouched
+     */
+    public void put(WriteBatch batch, String uid, String eventId, String status, Long startsAtEpochMs) {
+        batch.set(ref(uid, eventId), entry(eventId, status, startsAtEpochMs), SetOptions.merge());
+    }
+
+    /**
+     * Adds an index write to an existing transaction.
+     *
+     * @param startsAtEpochMs the event start time, or null to leave the stored value untouched
+     */
+    public void put(Transaction transaction, String uid, String eventId, String status, Long startsAtEpochMs) {
+        transaction.set(ref(uid, eventId), entry(eventId, status, startsAtEpochMs), SetOptions.merge());
+    }
+
+    /**
+     * Adds an index delete to an existing batch.
+     */
+    public void remove(WriteBatch batch, String uid, String eventId) {
+        batch.delete(ref(uid, eventId));
+    }
+
+    private Map<String, Object> entry(String eventId, String status, Long startsAtEpochMs) {
+        Map<String, Object> data = new HashMap<>();
+        data.put(FIELD_EVENT_ID, eventId);
+        data.put(FIELD_STATUS, status);
+        if (startsAtEpochMs != null) {
+            data.put(FIELD_STARTS_AT, sortKey(startsAtEpochMs));
+        }
+        data.put(FIELD_UPDATED_AT, System.currentTimeMillis());
+        return data;
+    }
+
+    /**
+     * Admitted events that have not started yet, soonest first.
+     */
+    public Query upcomingQuery(String uid, long now) {
+        return memberships(uid)
+                .whereEqualTo(FIELD_STATUS, STATUS_ADMITTED)
+                .whereGreaterThan(FIELD_STARTS_AT, now)
+                .orderBy(FIELD_STARTS_AT, Query.Direction.ASCENDING);
+    }
+
+    /**
+     * Events of any status whose start time has passed, most recent first.
+     */
+    public Query previousQuery(String uid, long now) {
+        return memberships(uid)
+                .whereGreaterThan(FIELD_STARTS_AT, 0L)
+                .whereLessThan(FIELD_STARTS_AT, now)
+                .orderBy(FIELD_STARTS_AT, Query.Direction.DESCENDING);
+    }
+
+    /**
+     * Runs a membership query and resolves the referenced events, preserving the query order.
+     * Events are fetched with {@code whereIn(documentId)} in chunks of 30.
+     *
+     * <p>The returned task always succeeds; a failed read is logged and yields an empty list.
+     */
+    public Task<List<Event>> loadEvents(Query membershipQuery) {
+        return membershipQuery.get().continueWithTask(task -> {
+            if (!task.isSuccessful() || task.getResult() == null) {
+                Log.e(TAG, "Membership query failed", task.getException());
+                return Tasks.forResult(new ArrayList<Event>());
+            }
+
+            List<String> eventIds = new ArrayList<>();
+            for (QueryDocumentSnapshot doc : task.getResult()) {
+                eventIds.add(doc.getId());
+            }
+            if (eventIds.isEmpty()) {
+                return Tasks.forResult(new ArrayList<Event>());
+            }
+
+            List<Task<QuerySnapshot>> chunks = new ArrayList<>();
+            for (int i = 0; i < eventIds.size(); i += MAX_IN_CLAUSE) {
+                List<String> chunk = eventIds.subList(i, Math.min(i + MAX_IN_CLAUSE, eventIds.size()));
+                chunks.add(db.collection("events")
+                        .whereIn(FieldPath.documentId(), new ArrayList<>(chunk))
+                        .get());
+            }
+
+            return Tasks.whenAllSuccess(chunks).continueWith(all -> {
+                Map<String, Event> byId = new HashMap<>();
+                for (Object result : all.getResult()) {
+                    for (DocumentSnapshot doc : ((QuerySnapshot) result).getDocuments()) {
+                        Event event = toEvent(doc);
+                        if (event != null) {
+                            byId.put(doc.getId(), event);
+                        }
+                    }
+                }
+
+                List<Event> events = new ArrayList<>();
+                for (String eventId : eventIds) {
+                    Event event = byId.get(eventId);
+                    if (event != null) {
+                        events.add(event);
+                    } else {
+                        Log.w(TAG, "Membership points at missing event " + eventId);
+                    }
+                }
+                return events;
+            });
+        }).continueWith(task -> {
+            if (!task.isSuccessful()) {
+                Log.e(TAG, "Failed to load membership events", task.getException());
+                return new ArrayList<Event>();
+            }
+            return task.getResult();
+        });
+    }
+
+    private static Event toEvent(DocumentSnapshot doc) {
+        Map<String, Object> data = doc.getData();
+        if (data == null) {
+            return null;
+        }
+        try {
+            Event event = Event.fromMap(data);
+            if (event != null && (event.getId() == null || event.getId().isEmpty())) {
+                event.setId(doc.getId());
+            }
+            return event;
+        } catch (Exception e) {
+            Log.e(TAG, "Error parsing event: " + doc.getId(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Makes sure the user's memberships have been indexed. Users whose profile predates the
+     * index get a one-off lookup of their entrant records (one collection-group query on
+     * {@code userId} per entrant subcollection), the results are written to the index, and the
+     * user document is stamped with {@link #VERSION_FIELD} so the lookup never runs again.
+     *
+     * <p>Nothing is backfilled unless the user document was read and exists, so an offline read
+     * neither triggers the lookup nor creates a stub user document.
+     *
+     * <p>The returned task always succeeds; a failed backfill is logged and retried next time.
+     */
+    public Task<Void> ensureBackfilled(String uid) {
+        DocumentReference userRef = db.collection("users").document(uid);
+        return userRef.get().continueWithTask(userTask -> {
+            if (!userTask.isSuccessful() || userTask.getResult() == null || !userTask.getResult().exists()) {
+                Log.d(TAG, "Skipping membership backfill, user document unavailable for uid: " + uid);
+                return Tasks.forResult(null);
+            }
+            Long version = userTask.getResult().getLong(VERSION_FIELD);
+            if (version != null && version >= VERSION) {
+                return Tasks.forResult(null);
+            }
+            Log.d(TAG, "Backfilling membership index for uid: " + uid);
+            return backfill(uid, userRef);
+        }).continueWith(task -> {
+            if (!task.isSuccessful()) {
+                Log.e(TAG, "Membership backfill failed for uid: " + uid, task.getException());
+            }
+            return null;
+        });
+    }
+
+    private Task<Void> backfill(String uid, DocumentReference userRef) {
+        List<Task<QuerySnapshot>> lookups = new ArrayList<>();
+        for (String subcollection : ENTRANT_SUBCOLLECTIONS) {
+            lookups.add(db.collectionGroup(subcollection)
+                    .whereEqualTo(EntrantStatusStore.FIELD_USER_ID, uid)
+                    .get());
+        }
+        return Tasks.whenAllSuccess(lookups).continueWithTask(allLookups -> {
+            // Which entrant subcollections the user sits in, per event
+            Map<String, boolean[]> presence = new LinkedHashMap<>();
+            List<Object> results = allLookups.getResult();
+            for (int i = 0; i < results.size(); i++) {
+                for (DocumentSnapshot doc : ((QuerySnapshot) results.get(i)).getDocuments()) {
+                    DocumentReference eventRef = doc.getReference().getParent().getParent();
+                    if (eventRef == null || !"events".equals(eventRef.getParent().getId())) {
+                        continue;
+                    }
+                    boolean[] present = presence.get(eventRef.getId());
+                    if (present == null) {
+                        present = new boolean[ENTRANT_SUBCOLLECTIONS.length];
+                        presence.put(eventRef.getId(), present);
+                    }
+                    present[i] = true;
+                }
+            }
+            return startTimes(new ArrayList<>(presence.keySet())).continueWithTask(startsTask -> {
+                Map<String, Long> startTimes = startsTask.getResult();
+
+                List<Task<Void>> commits = new ArrayList<>();
+                WriteBatch batch = db.batch();
+                int batchCount = 0;
+                int indexed = 0;
+
+                for (Map.Entry<String, boolean[]> entry : presence.entrySet()) {
+                    String eventId = entry.getKey();
+                    if (!startTimes.containsKey(eventId)) {
+                        continue; // Event deleted; its entrant records are left to the cascade
+                    }
+                    boolean[] present = entry.getValue();
+                    String status = deriveStatus(present[0], present[1], present[2], present[3], present[4]);
+                    if (status == null) {
+                        continue;
+                    }
+
+                    put(batch, uid, eventId, status, startTimes.get(eventId));
+                    indexed++;
+                    if (++batchCount >= MAX_BATCH_SIZE) {
+                        commits.add(batch.commit());
+                        batch = db.batch();
+                        batchCount = 0;
+                    }
+                }
+
+                Map<String, Object> marker = new HashMap<>();
+                marker.put(VERSION_FIELD, VERSION);
+                // Update, not set: the user document was read above and must not be recreated
+                batch.update(userRef, marker);
+                commits.add(batch.commit());
+
+                Log.d(TAG, "Indexed " + indexed + " memberships for uid: " + uid);
+                return Tasks.whenAll(commits);
+            });
+        });
+    }
+
+    /**
+     * Start times of the given events, read with {@code whereIn(documentId)} in chunks of 30.
+     * Events that no longer exist are missing from the result.
+     */
+    private Task<Map<String, Long>> startTimes(List<String> eventIds) {
+        List<Task<QuerySnapshot>> chunks = new ArrayList<>();
+        for (int i = 0; i < eventIds.size(); i += MAX_IN_CLAUSE) {
+            List<String> chunk = eventIds.subList(i, Math.min(i + MAX_IN_CLAUSE, eventIds.size()));
+            chunks.add(db.collection("events")
+                    .whereIn(FieldPath.documentId(), new ArrayList<>(chunk))
+                    .get());
+        }
+        return Tasks.whenAllSuccess(chunks).continueWith(all -> {
+            Map<String, Long> startTimes = new HashMap<>();
+            for (Object result : all.getResult()) {
+                for (DocumentSnapshot eventDoc : ((QuerySnapshot) result).getDocuments()) {
+                    Long startsAt = eventDoc.getLong("startsAtEpochMs");
+                    startTimes.put(eventDoc.getId(), startsAt != null ? startsAt : 0L);
+                }
+            }
+            return startTimes;
+        });
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.eventease.data.firebase;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.eventease.logic.LivePages;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Cursor-paginated reader of one user's notification inbox, newest first.
+ *
+ * <p>Notifications are fanned out by the {@code fanOutNotificationInbox} Cloud Function from
+ * {@code notificationRequests} into {@code users/{uid}/inbox/{requestId}}, so a device only
+ * reads the notifications addressed to its user. The first page is a live snapshot listener and
+ * acts as the live tail: a new notification appears at its top as soon as it is written. Older
+ * pages are one-shot reads continuing with {@code startAfter} from the last document received.
+ * The pages are kept in {@link LivePages}: a notification pushed off the live first page by a
+ * newer one stays in the list, just below the first page, and one that is on both the first page
+ * and an older page is shown once, at its first-page position.
+ *
+ * <p>Ordering by the single field {@code createdAt} is served by Firestore's automatic index.
+ */
+public final class NotificationInboxPager {
+
+    private static final String TAG = "NotificationInboxPager";
+
+    public static final String INBOX_COLLECTION = "inbox";
+    public static final int DEFAULT_PAGE_SIZE = 30;
+    static final String FIELD_CREATED_AT = "createdAt";
+
+    /** The query's order: newest first, ties broken by descending document id. */
+    static final Comparator<DocumentSnapshot> ORDER = Comparator
+            .comparingLong(NotificationInboxPager::createdAt)
+            .thenComparing(DocumentSnapshot::getId)
+            .reversed();
+
+    /** Receives the merged list of all loaded pages. Called on the main thread. */
+    public interface Listener {
+        void onNotifications(@NonNull List<DocumentSnapshot> notifications, boolean hasMore);
+        void onError(@NonNull Exception e);
+    }
+
+    private final FirebaseFirestore db;
+    private final String uid;
+    private final int pageSize;
+    private final Listener listener;
+
+    private ListenerRegistration firstPageRegistration;
+    private final LivePages<DocumentSnapshot> pages = new LivePages<>(ORDER, DocumentSnapshot::getId);
+    private boolean firstPageFull;
+    private boolean laterPageLoaded;
+    private boolean laterPagesFull = true;
+    private boolean loading;
+    private boolean stopped;
+
+    public NotificationInboxPager(FirebaseFirestore db, String uid, int pageSize, Listener listener) {
+        this.db = db;
+        this.uid = uid;
+        this.pageSize = pageSize;
+        this.listener = listener;
+    }
+
+    /**
+     * Starts listening to the newest page.
+     */
+    public void start() {
+        if (firstPageRegistration != null || stopped) {
+            return;
+        }
+        firstPageRegistration = baseQuery().limit(pageSize).addSnapshotListener((snapshot, error) -> {
+            if (stopped) return;
+            if (error != null) {
+                Log.e(TAG, "Inbox listener failed", error);
+                listener.onError(error);
+                return;
+            }
+            if (snapshot == null) return;
+            List<DocumentSnapshot> docs = snapshot.getDocuments();
+            pages.setLive(docs);
+            firstPageFull = docs.size() >= pageSize;
+            publish();
+        });
+    }
+
+    /**
+     * Loads the next older page if there is one and no load is in progress.
+     */
+    public void loadNextPage() {
+        if (stopped || loading || !hasMore()) {
+            return;
+        }
+        DocumentSnapshot cursor = pages.cursor();
+        if (cursor == null) {
+            return;
+        }
+        loading = true;
+        baseQuery().startAfter(cursor).limit(pageSize).get()
+                .addOnCompleteListener(task -> {
+                    loading = false;
+                    if (stopped) return;
+                    if (!task.isSuccessful() || task.getResult() == null) {
+                        Log.e(TAG, "Failed to load older notifications", task.getException());
+                        listener.onError(task.getException() != null ? task.getException()
+                                : new IllegalStateException("Failed to load notifications"));
+                        return;
+                    }
+                    QuerySnapshot snapshot = task.getResult();
+                    List<DocumentSnapshot> docs = snapshot.getDocuments();
+                    pages.addLater(docs);
+                    laterPageLoaded = true;
+                    laterPagesFull = docs.size() >= pageSize;
+                    Log.d(TAG, "Loaded page of " + docs.size() + " older notifications");
+                    publish();
+                });
+    }
+
+    /**
+     * Whether the inbox may hold older notifications than the ones loaded so far.
+     */
+    public boolean hasMore() {
+        return laterPageLoaded ? laterPagesFull : firstPageFull;
+    }
+
+    /**
+     * Detaches the live listener and ignores any page still in flight.
+     */
+    public void stop() {
+        stopped = true;
+        if (firstPageRegistration != null) {
+            firstPageRegistration.remove();
+            firstPageRegistration = null;
+        }
+    }
+
+    private Query baseQuery() {
+        return db.collection("users").document(uid).collection(INBOX_COLLECTION)
+                .orderBy(FIELD_CREATED_AT, Query.Direction.DESCENDING);
+    }
+
+    private void publish() {
+        listener.onNotifications(pages.merged(), hasMore());
+    }
+
+    private static long createdAt(DocumentSnapshot doc) {
+        Long createdAt = doc.getLong(FIELD_CREATED_AT);
+        return createdAt != null ? createdAt : 0L;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.eventease.data.firebase;
+
+import android.graphics.Bitmap;
+import android.os.Build;
+import android.util.Log;
+
+import com.example.eventease.logic.PosterVariants;
+import com.example.eventease.logic.PosterVariants.Variant;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.StorageMetadata;
+import com.google.firebase.storage.StorageReference;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Uploads an event poster as WebP in every {@link Variant} size.
+ *
+ * <p>The bitmap is scaled and encoded off the main thread, the variants are uploaded in parallel,
+ * and the result maps each variant's event field ({@link Variant#field}) to its download URL, ready
+ * to be merged into the event document. The task fails if any variant fails, so an event is never
+ * saved with a partial set.
+ */
+public final class PosterUploader {
+
+    private static final String TAG = "PosterUploader";
+    /** A replaced poster keeps its path, so HTTP caches may only hold a copy for a day. */
+    private static final String CACHE_CONTROL = "public, max-age=86400";
+
+    private static final Executor ENCODER = Executors.newSingleThreadExecutor();
+
+    private final FirebaseStorage storage;
+
+    public PosterUploader(FirebaseStorage storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * Encodes and uploads every variant of {@code poster}. The caller keeps ownership of
+     * {@code poster} and must not recycle it until the task completes.
+     *
+     * @param posterKey file name stem, usually the event id
+     * @param customMetadata extra Storage metadata (uploader, device) set on each object
+     * @return event field name to download URL, for every variant
+     */
+    public Task<Map<String, String>> upload(String posterKey, Bitmap poster, Map<String, String> customMetadata) {
+        return Tasks.call(ENCODER, () -> encodeAll(poster)).onSuccessTask(encoded -> {
+            List<Task<String>> uploads = new ArrayList<>();
+            List<Variant> order = new ArrayList<>(encoded.keySet());
+            for (Variant variant : order) {
+                uploads.add(uploadVariant(posterKey, variant, encoded.get(variant), customMetadata));
+            }
+            return Tasks.<String>whenAllSuccess(uploads).continueWith(task -> {
+                if (!task.isSuccessful()) {
+                    Exception e = task.getException();
+                    throw e != null ? e : new IllegalStateException("Poster upload failed");
+                }
+                List<String> urls = task.getResult();
+                Map<String, String> fields = new HashMap<>();
+                for (int i = 0; i < order.size(); i++) {
+                    fields.put(order.get(i).field, urls.get(i));
+                }
+                Log.d(TAG, "Uploaded " + fields.size() + " poster variants for " + posterKey);
+                return fields;
+            });
+        });
+    }
+
+    /**
+     * Deletes every variant stored under {@code posterKey}. Missing objects are ignored, so the
+     * task always succeeds.
+     */
+    public Task<Void> delete(String posterKey) {
+        List<Task<Void>> deletes = new ArrayList<>();
+        for (Variant variant : Variant.values()) {
+            deletes.add(storage.getReference(PosterVariants.storagePath(posterKey, variant)).delete());
+        }
+        return Tasks.whenAllComplete(deletes).continueWith(task -> null);
+    }
+
+    private Task<String> uploadVariant(String posterKey, Variant variant, byte[] bytes,
+                                       Map<String, String> customMetadata) {
+        StorageReference ref = storage.getReference(PosterVariants.storagePath(posterKey, variant));
+        StorageMetadata.Builder meta = new StorageMetadata.Builder()
+                .setContentType(PosterVariants.CONTENT_TYPE)
+                .setCacheControl(CACHE_CONTROL)
+                .setCustomMetadata("variant", variant.suffix);
+        if (customMetadata != null) {
+            for (Map.Entry<String, String> entry : customMetadata.entrySet()) {
+                meta.setCustomMetadata(entry.getKey(), entry.getValue());
+            }
+        }
+        return ref.putBytes(bytes, meta.build())
+                .continueWithTask(task -> {
+                    if (!task.isSuccessful()) {
+                        Exception e = task.getException();
+                        throw e != null ? e : new IllegalStateException("Upload failed: " + variant);
+                    }
+                    return ref.getDownloadUrl();
+                })
+                .continueWith(task -> task.getResult().toString());
+    }
+
+    private static Map<Variant, byte[]> encodeAll(Bitmap poster) {
+        Map<Variant, byte[]> encoded = new EnumMap<>(Variant.class);
+        for (Variant variant : Variant.values()) {
+            int[] size = PosterVariants.scaledSize(poster.getWidth(), poster.getHeight(), variant.maxEdge);
+            Bitmap scaled = size[0] == poster.getWidth() && size[1] == poster.getHeight()
+                    ? poster
+                    : Bitmap.createScaledBitmap(poster, size[0], size[1], true);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            scaled.compress(webpFormat(), variant.quality, out);
+            if (scaled != poster) {
+                scaled.recycle();
+            }
+            encoded.put(variant, out.toByteArray());
+            Log.d(TAG, variant.suffix + ": " + size[0] + "x" + size[1] + ", " + out.size() + " bytes");
+        }
+        return encoded;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Bitmap.CompressFormat webpFormat() {
+        // WEBP is lossy for quality < 100 on API 26-29; WEBP_LOSSY makes that explicit from API 30
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+                ? Bitmap.CompressFormat.WEBP_LOSSY
+                : Bitmap.CompressFormat.WEBP;
+    }
+}
@@ -0,0 +1,357 @@
+package com.example.eventease.data.firebase;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.eventease.logic.BatchChunker;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Copies a user's profile fields onto every entrant document that carries them.
+ *
+ * <p>Joining, admitting and cancelling copy the user's name, contact details and photo into the
+ * entrant record, so a profile edit has to be written back to each of them. The records are
+ * found with one collection-group query on {@code userId} per entrant collection, which reads only
+ * the user's own documents instead of every event. Updates are committed in batches sized by
+ * {@link BatchChunker}, with backoff on transient errors. Records deleted since the lookup are
+ * skipped rather than recreated.
+ *
+ * <p>The paths still to be written are checkpointed in shared preferences after every batch, so a
+ * run cut short by the process dying is finished by {@link #resumePending} on the next launch.
+ *
+ * <p>Each query needs a collection-group index exemption on {@code userId} for its collection
+ * (Firestore only indexes single fields per collection by default).
+ */
+public final class ProfilePropagator {
+
+    private static final String TAG = "ProfilePropagator";
+
+    private static final String PREFS_NAME = "ProfilePropagation";
+    private static final String KEY_UID = "uid";
+    private static final String KEY_PENDING = "pendingPaths";
+    private static final String KEY_TOTAL = "total";
+
+    /** Collections whose documents copy profile fields; all of them live under {@code events/}. */
+    static final String[] ENTRANT_COLLECTIONS = {
+            EntrantStatusStore.COLLECTION,
+            "WaitlistedEntrants",
+            "SelectedEntrants",
+            "NonSelectedEntrants",
+            "CancelledEntrants",
+            "AdmittedEntrants"
+    };
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long BASE_DELAY_MS = 1000L;
+    private static final long MAX_DELAY_MS = 30_000L;
+
+    /**
+     * Receives progress on the main thread after each committed batch.
+     */
+    public interface ProgressListener {
+        void onProgress(int updated, int total);
+    }
+
+    private static ProfilePropagator instance;
+
+    private final FirebaseFirestore db;
+    private final SharedPreferences prefs;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    /** Last run started; a new run waits for it so two runs never write the same user at once. */
+    private Task<Integer> running;
+
+    private ProfilePropagator(Context context) {
+        this.db = FirebaseFirestore.getInstance();
+        this.prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    public static synchronized ProfilePropagator getInstance(Context context) {
+        if (instance == null) {
+            instance = new ProfilePropagator(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Writes the current profile of {@code uid} to all of its entrant documents. Call on the main
+     * thread after the user document has been saved.
+     *
+     * @return the number of entrant documents updated
+     */
+    public Task<Integer> propagate(String uid, @Nullable ProgressListener listener) {
+        return enqueue(() -> findEntrantPaths(uid).onSuccessTask(paths -> run(uid, paths, listener)));
+    }
+
+    /**
+     * Finishes a run for {@code uid} that was interrupted, if there is one. Call on the main thread.
+     *
+     * @return the number of entrant documents updated, 0 if nothing was pending
+     */
+    public Task<Integer> resumePending(String uid) {
+        if (!uid.equals(prefs.getString(KEY_UID, null))) {
+            return Tasks.forResult(0);
+        }
+        return enqueue(() -> {
+            List<String> paths = new ArrayList<>(prefs.getStringSet(KEY_PENDING, new HashSet<>()));
+            if (paths.isEmpty()) {
+                clearCheckpoint();
+                return Tasks.forResult(0);
+            }
+            Log.d(TAG, "Resuming profile propagation for " + uid + ": " + paths.size() + " of "
+                    + prefs.getInt(KEY_TOTAL, paths.size()) + " documents left");
+            return run(uid, paths, null);
+        });
+    }
+
+    private interface RunFactory {
+        Task<Integer> start();
+    }
+
+    private Task<Integer> enqueue(RunFactory factory) {
+        Task<Integer> previous = running;
+        Task<Integer> next = previous == null || previous.isComplete()
+                ? factory.start()
+                : previous.continueWithTask(ignored -> factory.start());
+        running = next;
+        return next;
+    }
+
+    /**
+     * @return paths of the user's entrant documents, without duplicates
+     */
+    private Task<List<String>> findEntrantPaths(String uid) {
+        List<Task<QuerySnapshot>> queries = new ArrayList<>();
+        for (String collection : ENTRANT_COLLECTIONS) {
+            queries.add(db.collectionGroup(collection)
+                    .whereEqualTo(EntrantStatusStore.FIELD_USER_ID, uid)
+                    .get());
+        }
+        return Tasks.whenAllSuccess(queries).continueWith(task -> {
+            if (!task.isSuccessful()) {
+                Log.e(TAG, "Entrant lookup failed for " + uid, task.getException());
+                throw task.getException();
+            }
+            Set<String> paths = new LinkedHashSet<>();
+            for (Object result : task.getResult()) {
+                for (DocumentSnapshot doc : ((QuerySnapshot) result).getDocuments()) {
+                    String path = doc.getReference().getPath();
+                    if (path.startsWith("events/")) {
+                        paths.add(path);
+                    }
+                }
+            }
+            return new ArrayList<>(paths);
+        });
+    }
+
+    private Task<Integer> run(String uid, List<String> paths, @Nullable ProgressListener listener) {
+        if (paths.isEmpty()) {
+            clearCheckpoint();
+            return Tasks.forResult(0);
+        }
+        saveCheckpoint(uid, paths, paths.size());
+        // Read the profile after the lookup so the freshest values are written
+        return db.collection("users").document(uid).get().onSuccessTask(userDoc -> {
+            if (userDoc == null || !userDoc.exists()) {
+                clearCheckpoint();
+                return Tasks.forResult(0);
+            }
+            Job job = new Job(uid, entrantFields(userDoc), paths, listener);
+            job.next();
+            return job.result.getTask();
+        });
+    }
+
+    /**
+     * Writes one batch at a time; all callbacks run on the main thread.
+     */
+    private final class Job {
+        final String uid;
+        final Map<String, Object> fields;
+        final List<String> remaining;
+        final int total;
+        final ProgressListener listener;
+        final BatchChunker chunker =
+                new BatchChunker(BatchChunker.MAX_BATCH_WRITES, MAX_ATTEMPTS, BASE_DELAY_MS, MAX_DELAY_MS);
+        final TaskCompletionSource<Integer> result = new TaskCompletionSource<>();
+        int updated;
+        int skipped;
+
+        Job(String uid, Map<String, Object> fields, List<String> paths, @Nullable ProgressListener listener) {
+            this.uid = uid;
+            this.fields = fields;
+            this.remaining = new ArrayList<>(paths);
+            this.total = paths.size();
+            this.listener = listener;
+        }
+
+        void next() {
+            if (remaining.isEmpty()) {
+                clearCheckpoint();
+                Log.d(TAG, "Propagated profile of " + uid + " to " + updated + " entrant documents ("
+                        + skipped + " deleted since the lookup)");
+                result.setResult(updated);
+                return;
+            }
+
+            List<String> chunk = new ArrayList<>(chunker.nextChunk(remaining));
+            WriteBatch batch = db.batch();
+            for (String path : chunk) {
+                // Update keeps per-record fields such as joinedAt, and never recreates a deleted record
+                batch.update(db.document(path), fields);
+            }
+            batch.commit()
+                    .addOnSuccessListener(aVoid -> onWritten(chunk.size(), 0))
+                    .addOnFailureListener(e -> {
+                        if (isNotFound(e)) {
+                            // A record was deleted since the lookup; write this chunk one by one to skip it
+                            updateEach(chunk);
+                            return;
+                        }
+                        onFailed(chunk.size(), e);
+                    });
+        }
+
+        void updateEach(List<String> chunk) {
+            List<Task<Void>> writes = new ArrayList<>(chunk.size());
+            for (String path : chunk) {
+                writes.add(db.document(path).update(fields));
+            }
+            Tasks.whenAllComplete(writes).addOnCompleteListener(done -> {
+                int skipped = 0;
+                for (Task<Void> write : writes) {
+                    if (write.isSuccessful()) {
+                        continue;
+                    }
+                    if (!isNotFound(write.getException())) {
+                        onFailed(chunk.size(), write.getException());
+                        return;
+                    }
+                    skipped++;
+                }
+                onWritten(chunk.size(), skipped);
+            });
+        }
+
+        void onWritten(int size, int skipped) {
+            remaining.subList(0, size).clear();
+            updated += size - skipped;
+            this.skipped += skipped;
+            chunker.onSuccess();
+            saveCheckpoint(uid, remaining, total);
+            if (listener != null) {
+                listener.onProgress(updated + this.skipped, total);
+            }
+            next();
+        }
+
+        void onFailed(int size, Exception e) {
+            BatchChunker.Failure failure = classify(e);
+            long delay = chunker.onFailure(failure);
+            if (delay == BatchChunker.GIVE_UP) {
+                Log.e(TAG, "Giving up on profile propagation for " + uid + " with "
+                        + remaining.size() + " documents left", e);
+                if (failure == BatchChunker.Failure.PERMANENT) {
+                    clearCheckpoint();
+                }
+                result.setException(e);
+                return;
+            }
+            Log.w(TAG, "Batch of " + size + " failed (" + failure + "), retrying in " + delay + "ms", e);
+            handler.postDelayed(this::next, delay);
+        }
+    }
+
+    private static boolean isNotFound(@Nullable Exception e) {
+        return e instanceof FirebaseFirestoreException
+                && ((FirebaseFirestoreException) e).getCode() == FirebaseFirestoreException.Code.NOT_FOUND;
+    }
+
+    static BatchChunker.Failure classify(Exception e) {
+        if (!(e instanceof FirebaseFirestoreException)) {
+            return BatchChunker.Failure.TRANSIENT;
+        }
+        switch (((FirebaseFirestoreException) e).getCode()) {
+            case INVALID_ARGUMENT:
+                // Returned for requests over the size limit
+                return BatchChunker.Failure.TOO_LARGE;
+            case UNAVAILABLE:
+            case DEADLINE_EXCEEDED:
+            case ABORTED:
+            case RESOURCE_EXHAUSTED:
+            case INTERNAL:
+            case UNKNOWN:
+                return BatchChunker.Failure.TRANSIENT;
+            default:
+                return BatchChunker.Failure.PERMANENT;
+        }
+    }
+
+    private void saveCheckpoint(String uid, List<String> pending, int total) {
+        prefs.edit()
+                .putString(KEY_UID, uid)
+                .putStringSet(KEY_PENDING, new HashSet<>(pending))
+                .putInt(KEY_TOTAL, total)
+                .apply();
+    }
+
+    private void clearCheckpoint() {
+        prefs.edit().clear().apply();
+    }
+
+    /**
+     * Builds the profile fields stored on entrant documents, matching the entries written when a
+     * user joins, is admitted or is cancelled.
+     */
+    public static Map<String, Object> entrantFields(DocumentSnapshot userDoc) {
+        Map<String, Object> data = new HashMap<>();
+        data.put(EntrantStatusStore.FIELD_USER_ID, userDoc.getId());
+
+        String displayName = userDoc.getString("fullName");
+        if (displayName == null || displayName.trim().isEmpty()) {
+            displayName = userDoc.getString("name");
+        }
+        if (displayName == null || displayName.trim().isEmpty()) {
+            String first = userDoc.getString("firstName");
+            String last = userDoc.getString("lastName");
+            displayName = ((first != null ? first : "") + " " + (last != null ? last : "")).trim();
+        }
+
+        putIfString(data, "displayName", displayName);
+        putIfString(data, "fullName", userDoc.getString("fullName"));
+        putIfString(data, "name", userDoc.getString("name"));
+        putIfString(data, "firstName", userDoc.getString("firstName"));
+        putIfString(data, "lastName", userDoc.getString("lastName"));
+        putIfString(data, "email", userDoc.getString("email"));
+        putIfString(data, "phoneNumber", userDoc.getString("phoneNumber"));
+        putIfString(data, "photoUrl", userDoc.getString("photoUrl"));
+        return data;
+    }
+
+    private static void putIfString(Map<String, Object> target, String key, String value) {
+        if (value != null && !value.trim().isEmpty()) {
+            target.put(key, value);
+        }
+    }
+}
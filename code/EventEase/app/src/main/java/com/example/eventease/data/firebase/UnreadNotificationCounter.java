@@ -0,0 +1,68 @@
+package com.example.eventease.data.firebase;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.SetOptions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-user count of notifications the user has not opened yet, stored in
+ * {@code users/{uid}/counters/notifications}.
+ *
+ * <p>The count is incremented server-side by the {@code fanOutNotificationInbox} and
+ * {@code countInvitationUnread} Cloud Functions whenever a notification or invitation targeting
+ * the user is created, and reset to zero when the user opens their notifications. Watching it
+ * costs one document read per change instead of a query over every notification in the system.
+ */
+public final class UnreadNotificationCounter {
+
+    private static final String TAG = "UnreadNotificationCounter";
+
+    public static final String COUNTERS_COLLECTION = "counters";
+    public static final String DOCUMENT_ID = "notifications";
+    public static final String UNREAD_FIELD = "unread";
+
+    /** Receives the current unread count. */
+    public interface Listener {
+        void onUnreadCount(long unread);
+    }
+
+    private UnreadNotificationCounter() {
+    }
+
+    public static DocumentReference document(FirebaseFirestore db, String uid) {
+        return db.collection("users").document(uid).collection(COUNTERS_COLLECTION).document(DOCUMENT_ID);
+    }
+
+    /**
+     * Listens to the user's unread count. A missing counter document counts as zero.
+     */
+    public static ListenerRegistration listen(FirebaseFirestore db, String uid, Listener listener) {
+        return document(db, uid).addSnapshotListener((snapshot, error) -> {
+            if (error != null) {
+                Log.e(TAG, "Unread counter listener failed", error);
+                return;
+            }
+            Long unread = snapshot != null && snapshot.exists() ? snapshot.getLong(UNREAD_FIELD) : null;
+            listener.onUnreadCount(unread != null ? unread : 0);
+        });
+    }
+
+    /**
+     * Resets the user's unread count when they open their notifications.
+     */
+    public static Task<Void> markAllRead(FirebaseFirestore db, String uid) {
+        Map<String, Object> reset = new HashMap<>();
+        reset.put(UNREAD_FIELD, 0);
+        reset.put("lastReadAt", FieldValue.serverTimestamp());
+        return document(db, uid).set(reset, SetOptions.merge())
+                .addOnFailureListener(e -> Log.w(TAG, "Failed to reset unread count for " + uid, e));
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.eventease.data.firebase;
+
+import android.text.TextUtils;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.eventease.logic.LivePages;
+import com.example.eventease.model.Event;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Cursor-paginated feed of upcoming events, ordered by start time.
+ *
+ * <p>The start-time window is applied on the server ({@code startsAtEpochMs > from}, optionally
+ * {@code < until}) so past events are never downloaded. Only the first page is a live snapshot
+ * listener; further pages are one-shot reads continuing with {@code startAfter} from the last
+ * event received. The pages are kept in {@link LivePages}: an event pushed off the live first
+ * page by an earlier one stays in the feed just below the first page, and an event that is on
+ * both the first page and a later page is shown once, at its first-page position.
+ *
+ * <p>Ordering and filtering on the same single field is served by Firestore's automatic index.
+ * Events without a start time are not part of the feed.
+ */
+public final class UpcomingEventsPager {
+
+    private static final String TAG = "UpcomingEventsPager";
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    /** The query's order: soonest first, ties broken by document id. */
+    static final Comparator<Event> ORDER = Comparator
+            .comparingLong(Event::getStartsAtEpochMs)
+            .thenComparing(Event::getId);
+
+    /** Receives the merged list of all loaded pages. Called on the main thread. */
+    public interface Listener {
+        void onEvents(@NonNull List<Event> events, boolean hasMore);
+        void onError(@NonNull Exception e);
+    }
+
+    private final FirebaseFirestore db;
+    private final long fromMs;
+    private final long untilMs;
+    private final int pageSize;
+    private final Listener listener;
+
+    private ListenerRegistration firstPageRegistration;
+    private final LivePages<Event> pages = new LivePages<>(ORDER, Event::getId);
+    private boolean firstPageFull;
+    private boolean laterPageLoaded;
+    private boolean laterPagesFull = true;
+    private boolean loading;
+    private boolean stopped;
+
+    /**
+     * @param fromMs only events starting strictly after this time are loaded
+     * @param untilMs only events starting strictly before this time are loaded; 0 for no upper bound
+     */
+    public UpcomingEventsPager(FirebaseFirestore db, long fromMs, long untilMs, int pageSize, Listener listener) {
+        this.db = db;
+        this.fromMs = fromMs;
+        this.untilMs = untilMs;
+        this.pageSize = pageSize;
+        this.listener = listener;
+    }
+
+    /**
+     * Starts listening to the first page.
+     */
+    public void start() {
+        if (firstPageRegistration != null || stopped) {
+            return;
+        }
+        firstPageRegistration = baseQuery().limit(pageSize).addSnapshotListener((snapshot, error) -> {
+            if (stopped) return;
+            if (error != null) {
+                Log.e(TAG, "First page listener failed", error);
+                listener.onError(error);
+                return;
+            }
+            if (snapshot == null) return;
+            pages.setLive(toEvents(snapshot));
+            firstPageFull = snapshot.getDocuments().size() >= pageSize;
+            publish();
+        });
+    }
+
+    /**
+     * Loads the next page if there is one and no load is in progress.
+     */
+    public void loadNextPage() {
+        if (stopped || loading || !hasMore()) {
+            return;
+        }
+        Event cursor = pages.cursor();
+        if (cursor == null) {
+            return;
+        }
+        loading = true;
+        // Cursor values follow the query's order: start time, then document id
+        baseQuery().startAfter(cursor.getStartsAtEpochMs(), cursor.getId()).limit(pageSize).get()
+                .addOnCompleteListener(task -> {
+                    loading = false;
+                    if (stopped) return;
+                    if (!task.isSuccessful() || task.getResult() == null) {
+                        Log.e(TAG, "Failed to load next page", task.getException());
+                        listener.onError(task.getException() != null ? task.getException()
+                                : new IllegalStateException("Failed to load events"));
+                        return;
+                    }
+                    QuerySnapshot snapshot = task.getResult();
+                    List<DocumentSnapshot> docs = snapshot.getDocuments();
+                    pages.addLater(toEvents(snapshot));
+                    laterPageLoaded = true;
+                    laterPagesFull = docs.size() >= pageSize;
+                    Log.d(TAG, "Loaded page of " + docs.size() + " events");
+                    publish();
+                });
+    }
+
+    /**
+     * Whether the server may have more events after the ones loaded so far.
+     */
+    public boolean hasMore() {
+        return laterPageLoaded ? laterPagesFull : firstPageFull;
+    }
+
+    public boolean isLoading() {
+        return loading;
+    }
+
+    /**
+     * Detaches the first-page listener and ignores any page still in flight.
+     */
+    public void stop() {
+        stopped = true;
+        if (firstPageRegistration != null) {
+            firstPageRegistration.remove();
+            firstPageRegistration = null;
+        }
+    }
+
+    private Query baseQuery() {
+        Query query = db.collection("events").whereGreaterThan("startsAtEpochMs", fromMs);
+        if (untilMs > 0) {
+            query = query.whereLessThan("startsAtEpochMs", untilMs);
+        }
+        return query.orderBy("startsAtEpochMs").orderBy(FieldPath.documentId());
+    }
+
+    private void publish() {
+        listener.onEvents(pages.merged(), hasMore());
+    }
+
+    private static List<Event> toEvents(QuerySnapshot snapshot) {
+        List<Event> events = new ArrayList<>();
+        for (DocumentSnapshot doc : snapshot.getDocuments()) {
+            Event event = Event.fromMap(doc.getData());
+            if (event == null) continue;
+            if (TextUtils.isEmpty(event.id)) {
+                event.id = doc.getId();
+            }
+            events.add(event);
+        }
+        return events;
+    }
+
+    /**
+     * Concatenates the live first page with the pages loaded after it, keeping the first
+     * occurrence of each event id.
+     */
+    static List<Event> mergePages(List<Event> firstPage, List<Event> laterPages) {
+        return LivePages.merge(firstPage, laterPages, Event::getId);
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.eventease.data.firebase;
+
+import android.util.Log;
+
+import com.example.eventease.data.CountService;
+import com.example.eventease.model.EntrantStatus;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Distributed waitlist counter for an event, stored as {@link #NUM_SHARDS} shard documents
+ * under {@code events/{eventId}/waitlistShards/{index}}. The count is the sum of the shards.
+ *
+ * <p>Capacity is enforced per shard: the event capacity is split into per-shard quotas and a
+ * join is a transaction over the entrant's own status document plus one shard. Concurrent joins
+ * land on different shards, so there is no single hot document and each join reads O(1) documents,
+ * while the sum of the shards can never exceed the capacity. When the chosen shard is full the
+ * next one is tried, so "full" is only reported once every shard has reached its quota.
+ *
+ * <p>Joins increment the shard in the same transaction and record it on the entrant document
+ * ({@link #FIELD_SHARD}), from where the projection copies it to the WaitlistedEntrants entry.
+ * Decrements are applied by the {@code maintainWaitlistShards} Cloud Function whenever a
+ * WaitlistedEntrants document is deleted, which covers leaving as well as every organizer or
+ * server-side move out of the waitlist.
+ */
+public final class WaitlistCounter {
+
+    private static final String TAG = "WaitlistCounter";
+
+    public static final String SHARD_COLLECTION = "waitlistShards";
+    public static final String FIELD_COUNT = "count";
+    /** Field on the entrant document recording which shard counted the entrant. */
+    public static final String FIELD_SHARD = "counterShard";
+    public static final int NUM_SHARDS = 10;
+
+    /** Outcome of a join attempt against a single shard. */
+    enum JoinResult { JOINED, ALREADY_JOINED, SHARD_FULL }
+
+    private final FirebaseFirestore db;
+    private final EntrantStatusStore entrantStatusStore;
+    private final Random random = new Random();
+
+    public WaitlistCounter(FirebaseFirestore db) {
+        this.db = db;
+        this.entrantStatusStore = new EntrantStatusStore(db);
+    }
+
+    /**
+     * Splits the capacity across shards; the first {@code capacity % numShards} shards take the remainder.
+     *
+     * @return the shard's quota, or {@link Integer#MAX_VALUE} when the event has no capacity limit
+     */
+    static int quotaFor(int shard, int capacity, int numShards) {
+        if (capacity <= 0) {
+            return Integer.MAX_VALUE;
+        }
+        return capacity / numShards + (shard < capacity % numShards ? 1 : 0);
+    }
+
+    /**
+     * Sums shard documents.
+     */
+    static int sum(QuerySnapshot shards) {
+        int total = 0;
+        if (shards != null) {
+            for (DocumentSnapshot shard : shards.getDocuments()) {
+                Long count = shard.getLong(FIELD_COUNT);
+                if (count != null) {
+                    total += count.intValue();
+                }
+            }
+        }
+        return Math.max(total, 0);
+    }
+
+    public CollectionReference shards(String eventId) {
+        return db.collection("events").document(eventId).collection(SHARD_COLLECTION);
+    }
+
+    /**
+     * Reads the current waitlist size (one read per shard, independent of the number of entrants).
+     */
+    public Task<Integer> read(String eventId) {
+        return shards(eventId).get().continueWith(task -> {
+            if (!task.isSuccessful()) {
+                throw task.getException() != null ? task.getException()
+                        : new IllegalStateException("Failed to read waitlist shards for " + eventId);
+            }
+            return sum(task.getResult());
+        });
+    }
+
+    /**
+     * Adds the entrant to the waitlist while enforcing capacity.
+     *
+     * @param payload the entrant fields to write along with the WAITLISTED status
+     * @return a task resolving to false if the entrant was already on the waitlist and nothing was
+     *         written; fails with "Waitlist is full. Capacity reached." when every shard is at quota
+     */
+    public Task<Boolean> join(DocumentReference eventRef, String uid, Map<String, Object> payload, int capacity) {
+        return ensureSeeded(eventRef, capacity).continueWithTask(seedTask -> {
+            if (!seedTask.isSuccessful()) {
+                Log.w(TAG, "Could not seed waitlist shards for " + eventRef.getId(), seedTask.getException());
+            }
+            return attemptJoin(eventRef, uid, payload, capacity, random.nextInt(NUM_SHARDS), 0);
+        });
+    }
+
+    private Task<Boolean> attemptJoin(DocumentReference eventRef, String uid, Map<String, Object> payload,
+                                   int capacity, int startShard, int attempt) {
+        if (attempt >= NUM_SHARDS) {
+            Log.d(TAG, "All shards at quota for event " + eventRef.getId() + " (capacity: " + capacity + ")");
+            return Tasks.forException(new Exception("Waitlist is full. Capacity reached."));
+        }
+
+        int shard = (startShard + attempt) % NUM_SHARDS;
+        int quota = quotaFor(shard, capacity, NUM_SHARDS);
+        if (quota == 0) {
+            return attemptJoin(eventRef, uid, payload, capacity, startShard, attempt + 1);
+        }
+
+        String eventId = eventRef.getId();
+        DocumentReference shardDoc = eventRef.collection(SHARD_COLLECTION).document(String.valueOf(shard));
+
+        return db.runTransaction(transaction -> {
+            EntrantStatus current = entrantStatusStore.read(transaction, eventId, uid);
+            if (current == EntrantStatus.WAITLISTED) {
+                return JoinResult.ALREADY_JOINED;
+            }
+            DocumentSnapshot shardSnap = transaction.get(shardDoc);
+            Long count = shardSnap.getLong(FIELD_COUNT);
+            if (count != null && count >= quota) {
+                return JoinResult.SHARD_FULL;
+            }
+
+            Map<String, Object> entry = new HashMap<>(payload);
+            entry.put(FIELD_SHARD, shard);
+            // Cancelled and not-selected entrants rejoin; selected and admitted entrants are rejected
+            entrantStatusStore.write(transaction, eventId, uid, current, EntrantStatus.WAITLISTED, entry);
+
+            Map<String, Object> increment = new HashMap<>();
+            increment.put(FIELD_COUNT, FieldValue.increment(1));
+            transaction.set(shardDoc, increment, SetOptions.merge());
+            return JoinResult.JOINED;
+        }).continueWithTask(task -> {
+            if (!task.isSuccessful()) {
+                return Tasks.forException(task.getException());
+            }
+            if (task.getResult() == JoinResult.SHARD_FULL) {
+                return attemptJoin(eventRef, uid, payload, capacity, startShard, attempt + 1);
+            }
+            if (task.getResult() == JoinResult.ALREADY_JOINED) {
+                Log.d(TAG, "User " + uid + " already has a waitlist entry for event " + eventRef.getId());
+                return Tasks.forResult(false);
+            }
+            return Tasks.forResult(true);
+        });
+    }
+
+    /**
+     * Creates the shard documents for events that predate the counter, seeding them from the
+     * existing WaitlistedEntrants. Seeding runs once per event; the transaction makes sure two
+     * clients racing on the same event do not both seed it.
+     */
+    private Task<Void> ensureSeeded(DocumentReference eventRef, int capacity) {
+        DocumentReference firstShard = eventRef.collection(SHARD_COLLECTION).document("0");
+        return firstShard.get().continueWithTask(shardTask -> {
+            if (shardTask.isSuccessful() && shardTask.getResult() != null && shardTask.getResult().exists()) {
+                return Tasks.forResult(null);
+            }
+
+            return CountService.getInstance().countEntrantsFresh(eventRef.getId(), "WaitlistedEntrants").continueWithTask(countTask -> {
+                if (!countTask.isSuccessful() || countTask.getResult() == null) {
+                    return Tasks.forException(countTask.getException());
+                }
+                int existing = countTask.getResult();
+                Log.d(TAG, "Seeding waitlist shards for event " + eventRef.getId() + " with " + existing + " entrants");
+
+                return db.runTransaction(transaction -> {
+                    if (transaction.get(firstShard).exists()) {
+                        return null;
+                    }
+                    int remaining = existing;
+                    for (int shard = 0; shard < NUM_SHARDS; shard++) {
+                        int seeded = shard == NUM_SHARDS - 1 ? remaining
+                                : Math.min(remaining, quotaFor(shard, capacity, NUM_SHARDS));
+                        remaining -= seeded;
+                        Map<String, Object> data = new HashMap<>();
+                        data.put(FIELD_COUNT, seeded);
+                        transaction.set(eventRef.collection(SHARD_COLLECTION).document(String.valueOf(shard)), data);
+                    }
+                    return null;
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.eventease.image;
+
+import android.app.Activity;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.HardwareRenderer;
+import android.graphics.PixelFormat;
+import android.graphics.RecordingCanvas;
+import android.graphics.RenderEffect;
+import android.graphics.RenderNode;
+import android.graphics.Shader;
+import android.graphics.drawable.BitmapDrawable;
+import android.hardware.HardwareBuffer;
+import android.media.Image;
+import android.media.ImageReader;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Blurred screen backdrops for the full-screen dialogs.
+ *
+ * <p>The activity's window is drawn at 1/{@link #DOWNSAMPLE} of its size into a bitmap taken from
+ * Glide's bitmap pool, which is the only work done on the main thread. The blur runs on a
+ * background thread, with {@link RenderEffect} on API 31+ and {@link StackBlur} below that or if
+ * the GPU path fails, and the result is set as the target view's background once it is ready.
+ *
+ * <p>The backdrop is kept per activity for {@link #BACKDROP_TTL_MS}, so a dialog opened from
+ * another dialog, or reopened, reuses it instead of blurring the same screen again. A replaced
+ * backdrop goes back to the pool once no view shows it.
+ */
+public final class BlurEngine {
+
+    private static final String TAG = "BlurEngine";
+
+    /** The screen is captured at 1/DOWNSAMPLE of its width and height. */
+    static final int DOWNSAMPLE = 4;
+    /** Blur radius in captured pixels, about 64 screen pixels. */
+    static final int RADIUS = 16;
+    /** How long a backdrop is reused for dialogs on the same screen. */
+    static final long BACKDROP_TTL_MS = 10_000;
+
+    private static BlurEngine instance;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    /** Only touched on the worker thread. */
+    private final StackBlur stackBlur = new StackBlur();
+    private int[] pixels = new int[0];
+    /** Only touched on the main thread. */
+    private final Map<Activity, Backdrop> backdrops = new WeakHashMap<>();
+
+    /** One captured screen and the views waiting for or showing it. */
+    private static final class Backdrop {
+        final int screenWidth;
+        final int screenHeight;
+        final long capturedAt;
+        Bitmap bitmap;
+        boolean ready;
+        final List<WeakReference<View>> targets = new ArrayList<>();
+
+        Backdrop(int screenWidth, int screenHeight, long capturedAt) {
+            this.screenWidth = screenWidth;
+            this.screenHeight = screenHeight;
+            this.capturedAt = capturedAt;
+        }
+
+        boolean isFresh(View decor, long now) {
+            return decor.getWidth() == screenWidth && decor.getHeight() == screenHeight
+                    && now - capturedAt < BACKDROP_TTL_MS;
+        }
+
+        boolean isShown() {
+            for (WeakReference<View> ref : targets) {
+                View view = ref.get();
+                if (view != null && view.isAttachedToWindow()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private BlurEngine() {
+    }
+
+    public static synchronized BlurEngine getInstance() {
+        if (instance == null) {
+            instance = new BlurEngine();
+        }
+        return instance;
+    }
+
+    /**
+     * Sets a blurred copy of what {@code activity} currently shows as the background of
+     * {@code target}. The background changes once the blur is done, usually within a frame or two.
+     */
+    @MainThread
+    public void blurBehind(@Nullable Activity activity, @Nullable View target) {
+        if (activity == null || target == null || activity.getWindow() == null) {
+            return;
+        }
+        View decor = activity.getWindow().getDecorView();
+        if (decor.getWidth() == 0 || decor.getHeight() == 0) {
+            return;
+        }
+        long now = SystemClock.elapsedRealtime();
+        Backdrop backdrop = backdrops.get(activity);
+        if (backdrop == null || !backdrop.isFresh(decor, now)) {
+            Backdrop previous = backdrop;
+            backdrop = capture(activity, decor, now);
+            if (backdrop == null) {
+                return;
+            }
+            backdrops.put(activity, backdrop);
+            if (previous != null) {
+                release(activity, previous);
+            }
+        }
+        backdrop.targets.add(new WeakReference<>(target));
+        if (backdrop.ready) {
+            apply(backdrop, target);
+        }
+    }
+
+    /**
+     * Drops the backdrop of {@code activity} so the next dialog captures the screen again.
+     */
+    @MainThread
+    public void invalidate(@Nullable Activity activity) {
+        if (activity == null) {
+            return;
+        }
+        Backdrop backdrop = backdrops.remove(activity);
+        if (backdrop != null) {
+            release(activity, backdrop);
+        }
+    }
+
+    @Nullable
+    private Backdrop capture(Activity activity, View decor, long now) {
+        int width = Math.max(1, decor.getWidth() / DOWNSAMPLE);
+        int height = Math.max(1, decor.getHeight() / DOWNSAMPLE);
+        BitmapPool pool = Glide.get(activity).getBitmapPool();
+        Bitmap bitmap = pool.get(width, height, Bitmap.Config.ARGB_8888);
+        try {
+            Canvas canvas = new Canvas(bitmap);
+            canvas.scale((float) width / decor.getWidth(), (float) height / decor.getHeight());
+            decor.draw(canvas);
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Failed to capture screen", e);
+            pool.put(bitmap);
+            return null;
+        }
+
+        Backdrop backdrop = new Backdrop(decor.getWidth(), decor.getHeight(), now);
+        long started = SystemClock.elapsedRealtime();
+        worker.execute(() -> {
+            Bitmap blurred = blur(bitmap);
+            mainHandler.post(() -> {
+                if (blurred != bitmap) {
+                    pool.put(bitmap);
+                }
+                backdrop.bitmap = blurred;
+                backdrop.ready = true;
+                Log.d(TAG, "Blurred " + width + "x" + height + " in "
+                        + (SystemClock.elapsedRealtime() - started) + " ms");
+                for (WeakReference<View> ref : backdrop.targets) {
+                    View target = ref.get();
+                    if (target != null) {
+                        apply(backdrop, target);
+                    }
+                }
+            });
+        });
+        return backdrop;
+    }
+
+    /**
+     * Returns the blurred image: {@code input} itself after a CPU blur, or a new bitmap from the GPU.
+     */
+    private Bitmap blur(Bitmap input) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
+            try {
+                return blurWithRenderEffect(input);
+            } catch (RuntimeException e) {
+                Log.w(TAG, "RenderEffect blur failed, using stack blur", e);
+            }
+        }
+        int width = input.getWidth();
+        int height = input.getHeight();
+        if (pixels.length < width * height) {
+            pixels = new int[width * height];
+        }
+        input.getPixels(pixels, 0, width, 0, 0, width, height);
+        stackBlur.blur(pixels, width, height, RADIUS);
+        input.setPixels(pixels, 0, width, 0, 0, width, height);
+        return input;
+    }
+
+    @RequiresApi(Build.VERSION_CODES.S)
+    private static Bitmap blurWithRenderEffect(Bitmap input) {
+        int width = input.getWidth();
+        int height = input.getHeight();
+        ImageReader reader = ImageReader.newInstance(width, height, PixelFormat.RGBA_8888, 1,
+                HardwareBuffer.USAGE_GPU_SAMPLED_IMAGE | HardwareBuffer.USAGE_GPU_COLOR_OUTPUT);
+        RenderNode node = new RenderNode(TAG);
+        HardwareRenderer renderer = new HardwareRenderer();
+        try {
+            renderer.setSurface(reader.getSurface());
+            renderer.setContentRoot(node);
+            node.setPosition(0, 0, width, height);
+            node.setRenderEffect(RenderEffect.createBlurEffect(RADIUS, RADIUS, Shader.TileMode.CLAMP));
+            RecordingCanvas canvas = node.beginRecording();
+            canvas.drawBitmap(input, 0, 0, null);
+            node.endRecording();
+            renderer.createRenderRequest().setWaitForPresent(true).syncAndDraw();
+
+            try (Image image = reader.acquireNextImage();
+                 HardwareBuffer buffer = image.getHardwareBuffer()) {
+                Bitmap hardware = buffer != null ? Bitmap.wrapHardwareBuffer(buffer, null) : null;
+                if (hardware == null) {
+                    throw new IllegalStateException("No image rendered");
+                }
+                // Mutable software copy, so it can be drawn into software canvases and pooled later
+                Bitmap copy = hardware.copy(Bitmap.Config.ARGB_8888, true);
+                hardware.recycle();
+                return copy;
+            }
+        } finally {
+            node.discardDisplayList();
+            renderer.destroy();
+            reader.close();
+        }
+    }
+
+    private void apply(Backdrop backdrop, View target) {
+        if (backdrop.bitmap != null) {
+            target.setBackground(new BitmapDrawable(target.getResources(), backdrop.bitmap));
+        }
+    }
+
+    private void release(Activity activity, Backdrop backdrop) {
+        // Still blurring, or on screen: leave the bitmap to the garbage collector
+        if (!backdrop.ready || backdrop.bitmap == null || backdrop.isShown()) {
+            return;
+        }
+        Glide.get(activity).getBitmapPool().put(backdrop.bitmap);
+        backdrop.bitmap = null;
+    }
+}
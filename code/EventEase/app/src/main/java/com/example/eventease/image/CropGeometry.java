@@ -0,0 +1,123 @@
+package com.example.eventease.image;
+
+/**
+ * Coordinate math for {@link RegionCropper}, kept free of Android types.
+ *
+ * <p>Crop rectangles are passed around normalized, as {@code {left, top, right, bottom}} fractions
+ * of the image as the user sees it, i.e. after its EXIF orientation is applied. That makes them
+ * independent of the size of whatever preview bitmap the user cropped on.
+ */
+final class CropGeometry {
+
+    /** EXIF orientation tag values, as in {@code ExifInterface.ORIENTATION_*}. */
+    static final int ORIENTATION_NORMAL = 1;
+    static final int ORIENTATION_FLIP_HORIZONTAL = 2;
+    static final int ORIENTATION_ROTATE_180 = 3;
+    static final int ORIENTATION_FLIP_VERTICAL = 4;
+    static final int ORIENTATION_TRANSPOSE = 5;
+    static final int ORIENTATION_ROTATE_90 = 6;
+    static final int ORIENTATION_TRANSVERSE = 7;
+    static final int ORIENTATION_ROTATE_270 = 8;
+
+    private CropGeometry() {
+    }
+
+    /**
+     * @return true if the image is stored with width and height swapped relative to how it is shown
+     */
+    static boolean swapsAxes(int orientation) {
+        return orientation >= ORIENTATION_TRANSPOSE && orientation <= ORIENTATION_ROTATE_270;
+    }
+
+    /**
+     * Clamps points given in pixels of a {@code width} x {@code height} image to the image and
+     * returns their normalized bounding box.
+     *
+     * @param points x, y pairs
+     * @return {left, top, right, bottom} in [0, 1], or null if the box is empty after clamping
+     */
+    static float[] normalizedBounds(float[] points, int width, int height) {
+        if (points.length < 2 || width <= 0 || height <= 0) {
+            return null;
+        }
+        float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+        for (int i = 0; i + 1 < points.length; i += 2) {
+            minX = Math.min(minX, points[i]);
+            maxX = Math.max(maxX, points[i]);
+            minY = Math.min(minY, points[i + 1]);
+            maxY = Math.max(maxY, points[i + 1]);
+        }
+        float left = clamp(minX / width);
+        float top = clamp(minY / height);
+        float right = clamp(maxX / width);
+        float bottom = clamp(maxY / height);
+        if (right <= left || bottom <= top) {
+            return null;
+        }
+        return new float[] {left, top, right, bottom};
+    }
+
+    /**
+     * Maps a normalized rectangle in displayed coordinates to pixels of the image as stored, so it
+     * can be handed to a region decoder before the orientation is applied.
+     *
+     * @param rect {left, top, right, bottom} fractions of the displayed image
+     * @param rawWidth stored width in pixels
+     * @param rawHeight stored height in pixels
+     * @return {left, top, right, bottom} in stored pixels, at least one pixel wide and tall
+     */
+    static int[] toRawRect(float[] rect, int rawWidth, int rawHeight, int orientation) {
+        float[] a = toRaw(rect[0], rect[1], orientation);
+        float[] b = toRaw(rect[2], rect[3], orientation);
+        int left = (int) Math.floor(Math.min(a[0], b[0]) * rawWidth);
+        int top = (int) Math.floor(Math.min(a[1], b[1]) * rawHeight);
+        int right = (int) Math.ceil(Math.max(a[0], b[0]) * rawWidth);
+        int bottom = (int) Math.ceil(Math.max(a[1], b[1]) * rawHeight);
+        left = Math.max(0, Math.min(left, rawWidth - 1));
+        top = Math.max(0, Math.min(top, rawHeight - 1));
+        right = Math.max(left + 1, Math.min(right, rawWidth));
+        bottom = Math.max(top + 1, Math.min(bottom, rawHeight));
+        return new int[] {left, top, right, bottom};
+    }
+
+    /** Normalized displayed point to normalized stored point. */
+    private static float[] toRaw(float u, float v, int orientation) {
+        switch (orientation) {
+            case ORIENTATION_FLIP_HORIZONTAL:
+                return new float[] {1 - u, v};
+            case ORIENTATION_ROTATE_180:
+                return new float[] {1 - u, 1 - v};
+            case ORIENTATION_FLIP_VERTICAL:
+                return new float[] {u, 1 - v};
+            case ORIENTATION_TRANSPOSE:
+                return new float[] {v, u};
+            case ORIENTATION_ROTATE_90:
+                return new float[] {v, 1 - u};
+            case ORIENTATION_TRANSVERSE:
+                return new float[] {1 - v, 1 - u};
+            case ORIENTATION_ROTATE_270:
+                return new float[] {1 - v, u};
+            default:
+                return new float[] {u, v};
+        }
+    }
+
+    /**
+     * Picks the largest power-of-two sample size that still decodes a region of
+     * {@code width} x {@code height} with its longer edge at least {@code maxEdge}, so the final
+     * scale-down is by less than two and keeps detail.
+     */
+    static int sampleSize(int width, int height, int maxEdge) {
+        int longEdge = Math.max(width, height);
+        int sample = 1;
+        while (maxEdge > 0 && longEdge / (sample * 2) >= maxEdge) {
+            sample *= 2;
+        }
+        return sample;
+    }
+
+    private static float clamp(float value) {
+        return Math.max(0f, Math.min(1f, value));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.eventease.image;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.engine.GlideException;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruBitmapPool;
+import com.bumptech.glide.load.engine.cache.InternalCacheDiskCacheFactory;
+import com.bumptech.glide.load.engine.cache.LruResourceCache;
+import com.bumptech.glide.load.engine.cache.MemorySizeCalculator;
+import com.bumptech.glide.module.AppGlideModule;
+import com.bumptech.glide.request.RequestListener;
+import com.bumptech.glide.request.RequestOptions;
+import com.bumptech.glide.request.target.Target;
+
+/**
+ * App-wide Glide configuration for the poster lists.
+ *
+ * <ul>
+ *   <li>The memory cache holds about three screens of images and the bitmap pool three more, so
+ *   posters fetched ahead by a {@link PosterPreloader} are still decoded when their rows appear.</li>
+ *   <li>Posters are opaque, so images without alpha decode as RGB_565 at half the memory of
+ *   ARGB_8888. Hardware bitmaps are disabled because they cannot be reused from the pool.</li>
+ *   <li>Downloaded and transformed images are kept in a {@value #DISK_CACHE_MB} MB disk cache.</li>
+ *   <li>Every poster load is counted in {@link ImageLoadStats}. {@link PosterPreloader} attaches a
+ *   {@link StatsListener} to each request, which is what tells shown posters from preloads.</li>
+ * </ul>
+ */
+@GlideModule
+public final class EventEaseGlideModule extends AppGlideModule {
+
+    private static final String TAG = "EventEaseGlideModule";
+    private static final String DISK_CACHE_DIR = "image_cache";
+    static final int DISK_CACHE_MB = 250;
+    private static final float MEMORY_CACHE_SCREENS = 3;
+    private static final float BITMAP_POOL_SCREENS = 3;
+
+    @Override
+    public void applyOptions(@NonNull Context context, @NonNull GlideBuilder builder) {
+        MemorySizeCalculator calculator = new MemorySizeCalculator.Builder(context)
+                .setMemoryCacheScreens(MEMORY_CACHE_SCREENS)
+                .setBitmapPoolScreens(BITMAP_POOL_SCREENS)
+                .build();
+        builder.setMemoryCache(new LruResourceCache(calculator.getMemoryCacheSize()));
+        builder.setBitmapPool(new LruBitmapPool(calculator.getBitmapPoolSize()));
+        builder.setDiskCache(new InternalCacheDiskCacheFactory(context, DISK_CACHE_DIR,
+                DISK_CACHE_MB * 1024L * 1024L));
+        builder.setDefaultRequestOptions(new RequestOptions()
+                .format(DecodeFormat.PREFER_RGB_565)
+                .disallowHardwareConfig());
+        Log.d(TAG, "Memory cache " + calculator.getMemoryCacheSize() / 1024 + " KB, bitmap pool "
+                + calculator.getBitmapPoolSize() / 1024 + " KB");
+    }
+
+    @Override
+    public boolean isManifestParsingEnabled() {
+        // No library in the app ships a manifest GlideModule
+        return false;
+    }
+
+    /** Feeds the source of a finished request into {@link ImageLoadStats}. */
+    static final class StatsListener implements RequestListener<Drawable> {
+
+        static final StatsListener SHOWN = new StatsListener(false);
+        static final StatsListener PRELOAD = new StatsListener(true);
+
+        private final boolean preload;
+
+        private StatsListener(boolean preload) {
+            this.preload = preload;
+        }
+
+        @Override
+        public boolean onLoadFailed(@Nullable GlideException e, @Nullable Object model,
+                                    @NonNull Target<Drawable> target, boolean isFirstResource) {
+            ImageLoadStats.getInstance().recordFailure(preload);
+            return false;
+        }
+
+        @Override
+        public boolean onResourceReady(@NonNull Drawable resource, @NonNull Object model, Target<Drawable> target,
+                                       @NonNull DataSource dataSource, boolean isFirstResource) {
+            ImageLoadStats.getInstance().recordLoad(sourceOf(dataSource), preload);
+            return false;
+        }
+
+        private static ImageLoadStats.Source sourceOf(DataSource dataSource) {
+            switch (dataSource) {
+                case MEMORY_CACHE:
+                    return ImageLoadStats.Source.MEMORY;
+                case RESOURCE_DISK_CACHE:
+                case DATA_DISK_CACHE:
+                    return ImageLoadStats.Source.DISK;
+                case LOCAL:
+                    return ImageLoadStats.Source.LOCAL;
+                case REMOTE:
+                default:
+                    return ImageLoadStats.Source.NETWORK;
+            }
+        }
+    }
+}
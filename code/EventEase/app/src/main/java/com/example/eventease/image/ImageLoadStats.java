@@ -0,0 +1,104 @@
+package com.example.eventease.image;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Counts where Glide found each poster, so the cache and preload tuning in
+ * {@link EventEaseGlideModule} can be checked on a device.
+ *
+ * <p>Images shown on screen and images fetched ahead by a {@link PosterPreloader} are counted
+ * separately. A high memory hit rate for shown images means posters were decoded before their
+ * rows scrolled into view. A summary is logged every {@link #LOG_EVERY} shown images.
+ */
+public final class ImageLoadStats {
+
+    private static final String TAG = "ImageLoadStats";
+    static final int LOG_EVERY = 50;
+
+    /** Where an image came from, from cheapest to most expensive. */
+    public enum Source { MEMORY, DISK, LOCAL, NETWORK }
+
+    private static final ImageLoadStats INSTANCE = new ImageLoadStats();
+
+    private final long[] shown = new long[Source.values().length];
+    private final long[] preloaded = new long[Source.values().length];
+    private long shownFailures;
+    private long preloadFailures;
+
+    public static ImageLoadStats getInstance() {
+        return INSTANCE;
+    }
+
+    ImageLoadStats() {
+    }
+
+    public synchronized void recordLoad(@NonNull Source source, boolean preload) {
+        if (preload) {
+            preloaded[source.ordinal()]++;
+            return;
+        }
+        shown[source.ordinal()]++;
+        if (total(shown) % LOG_EVERY == 0) {
+            Log.d(TAG, summary());
+        }
+    }
+
+    public synchronized void recordFailure(boolean preload) {
+        if (preload) {
+            preloadFailures++;
+        } else {
+            shownFailures++;
+        }
+    }
+
+    /**
+     * Fraction of shown images that were already decoded in memory, or 0 before any load.
+     */
+    public synchronized double memoryHitRate() {
+        long total = total(shown);
+        return total == 0 ? 0 : (double) shown[Source.MEMORY.ordinal()] / total;
+    }
+
+    /**
+     * Fraction of shown images that did not need the network, or 0 before any load.
+     */
+    public synchronized double cacheHitRate() {
+        long total = total(shown);
+        return total == 0 ? 0 : 1 - (double) shown[Source.NETWORK.ordinal()] / total;
+    }
+
+    public synchronized long shownCount(@NonNull Source source) {
+        return shown[source.ordinal()];
+    }
+
+    public synchronized long preloadedCount(@NonNull Source source) {
+        return preloaded[source.ordinal()];
+    }
+
+    public synchronized String summary() {
+        return String.format(Locale.US,
+                "shown=%d (memory %.0f%%, no network %.0f%%, failed %d), preloaded=%d (network %d, failed %d)",
+                total(shown), memoryHitRate() * 100, cacheHitRate() * 100, shownFailures,
+                total(preloaded), preloaded[Source.NETWORK.ordinal()], preloadFailures);
+    }
+
+    public synchronized void reset() {
+        Arrays.fill(shown, 0);
+        Arrays.fill(preloaded, 0);
+        shownFailures = 0;
+        preloadFailures = 0;
+    }
+
+    private static long total(long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+}
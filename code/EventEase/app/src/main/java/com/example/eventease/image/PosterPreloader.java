@@ -0,0 +1,84 @@
+package com.example.eventease.image;
+
+import android.graphics.drawable.Drawable;
+import android.text.TextUtils;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.integration.recyclerview.RecyclerViewPreloader;
+import com.bumptech.glide.util.ViewPreloadSizeProvider;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Fetches and decodes the posters of the rows just past the visible ones while a list scrolls.
+ *
+ * <p>A preload only helps if the bind later asks Glide for the same cache key, so adapters load
+ * posters with {@link #request} and register their poster view with {@link #trackView}; the
+ * preloads then use that view's exact size and the same transformation. Shown and preloaded
+ * requests carry different {@link ImageLoadStats} listeners.
+ */
+public final class PosterPreloader implements ListPreloader.PreloadModelProvider<String> {
+
+    /** Rows ahead of the visible ones whose posters are preloaded. */
+    public static final int MAX_PRELOAD = 8;
+
+    /** Poster URL of the row at a position, or null for rows without a poster. */
+    public interface PosterSource {
+        @Nullable String posterUrlAt(int position);
+    }
+
+    private final RequestManager glide;
+    private final PosterSource source;
+    private final ViewPreloadSizeProvider<String> sizeProvider = new ViewPreloadSizeProvider<>();
+
+    public PosterPreloader(@NonNull RequestManager glide, @NonNull PosterSource source) {
+        this.glide = glide;
+        this.source = source;
+    }
+
+    /**
+     * The request used both to show a poster in a list and to preload it.
+     */
+    @NonNull
+    public static RequestBuilder<Drawable> request(@NonNull RequestManager glide, @Nullable String url) {
+        return poster(glide, url).addListener(EventEaseGlideModule.StatsListener.SHOWN);
+    }
+
+    /** Listeners are not part of the cache key, so preloads still match {@link #request}. */
+    private static RequestBuilder<Drawable> poster(@NonNull RequestManager glide, @Nullable String url) {
+        return glide.load(url).centerCrop();
+    }
+
+    /**
+     * Takes the preload size from {@code posterView} once it is laid out. Call from
+     * {@code onCreateViewHolder}; only the first view is used.
+     */
+    public void trackView(@NonNull View posterView) {
+        sizeProvider.setView(posterView);
+    }
+
+    public void attachTo(@NonNull RecyclerView recyclerView) {
+        recyclerView.addOnScrollListener(new RecyclerViewPreloader<>(glide, this, sizeProvider, MAX_PRELOAD));
+    }
+
+    @NonNull
+    @Override
+    public List<String> getPreloadItems(int position) {
+        String url = source.posterUrlAt(position);
+        return TextUtils.isEmpty(url) ? Collections.emptyList() : Collections.singletonList(url);
+    }
+
+    @Nullable
+    @Override
+    public RequestBuilder<?> getPreloadRequestBuilder(@NonNull String url) {
+        return poster(glide, url).addListener(EventEaseGlideModule.StatsListener.PRELOAD);
+    }
+}
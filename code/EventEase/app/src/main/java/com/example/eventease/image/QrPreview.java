@@ -0,0 +1,58 @@
+package com.example.eventease.image;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.util.Log;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.eventease.R;
+
+/**
+ * The QR code shown in an event's QR dialog.
+ *
+ * <p>{@link QrRenderer} renders the code off the main thread, so the dialog's share and save
+ * buttons ask {@link #bitmap()}, which stays null until the code has arrived.
+ */
+public final class QrPreview {
+
+    private static final String TAG = "QrPreview";
+
+    @Nullable private Bitmap bitmap;
+
+    private QrPreview() {
+    }
+
+    /**
+     * Starts rendering {@code payload} into {@code imageView}; a failed render shows the poster
+     * placeholder instead.
+     */
+    @NonNull
+    public static QrPreview show(@NonNull Context context, @NonNull String payload, @Nullable ImageView imageView) {
+        QrPreview preview = new QrPreview();
+        QrRenderer.getInstance().render(context, payload)
+                .addOnSuccessListener(bitmap -> {
+                    preview.bitmap = bitmap;
+                    if (imageView != null) {
+                        imageView.setImageBitmap(bitmap);
+                    }
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "QR code generation failed", e);
+                    if (imageView != null) {
+                        imageView.setImageResource(R.drawable.ic_event_poster_placeholder);
+                    }
+                });
+        return preview;
+    }
+
+    /**
+     * @return the rendered code, or null while it is rendering or if rendering failed
+     */
+    @Nullable
+    public Bitmap bitmap() {
+        return bitmap;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.eventease.image;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Color;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.eventease.data.DiskCacheFiles;
+import com.example.eventease.data.TtlLruCache;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Renders event QR codes off the main thread and caches them.
+ *
+ * <p>A code is looked up by payload and size in a small memory LRU, then as a PNG in the app's
+ * cache directory, and only encoded with ZXing when both miss. Encoding fills one {@code int[]} and
+ * copies it into the bitmap with a single {@link Bitmap#setPixels} call. Concurrent requests for
+ * the same code share one task.
+ *
+ * <p>Returned bitmaps are shared between callers and must not be recycled or modified.
+ */
+public final class QrRenderer {
+
+    private static final String TAG = "QrRenderer";
+
+    /** Edge length in pixels of the codes shown in the QR dialogs. */
+    public static final int DEFAULT_SIZE = 512;
+
+    private static final int MAX_MEMORY_ENTRIES = 8;
+    private static final long MAX_MEMORY_BYTES = 8L * 1024 * 1024;
+    private static final int MAX_DISK_FILES = 50;
+    private static final String FILE_SUFFIX = ".png";
+    private static final String DISK_DIR = "qr_cache";
+
+    private static final Executor ENCODER = Executors.newSingleThreadExecutor();
+
+    private static QrRenderer instance;
+
+    /** A code for a given payload never changes, so entries only leave by eviction. */
+    private final TtlLruCache<String, Bitmap> memory = new TtlLruCache<>(
+            MAX_MEMORY_ENTRIES, MAX_MEMORY_BYTES, Long.MAX_VALUE, Bitmap::getByteCount, SystemClock::elapsedRealtime);
+    private final Map<String, Task<Bitmap>> pending = new HashMap<>();
+
+    private long encodeCount;
+    private long encodeNanosTotal;
+    private long encodeNanosMax;
+
+    private QrRenderer() {
+    }
+
+    public static synchronized QrRenderer getInstance() {
+        if (instance == null) {
+            instance = new QrRenderer();
+        }
+        return instance;
+    }
+
+    /**
+     * Renders {@code payload} at {@link #DEFAULT_SIZE}.
+     */
+    public Task<Bitmap> render(Context context, String payload) {
+        return render(context, payload, DEFAULT_SIZE);
+    }
+
+    /**
+     * Returns the QR code for {@code payload}, {@code size} pixels square. Listeners run on the
+     * main thread; the task fails if the payload cannot be encoded.
+     */
+    public synchronized Task<Bitmap> render(Context context, String payload, int size) {
+        String key = cacheKey(payload, size);
+        Bitmap cached = memory.get(key);
+        if (cached != null) {
+            return Tasks.forResult(cached);
+        }
+        Task<Bitmap> running = pending.get(key);
+        if (running != null) {
+            return running;
+        }
+        File dir = new File(context.getApplicationContext().getCacheDir(), DISK_DIR);
+        Task<Bitmap> task = Tasks.call(ENCODER, () -> load(dir, key, payload, size));
+        task.addOnCompleteListener(done -> {
+            synchronized (QrRenderer.this) {
+                pending.remove(key);
+                if (done.isSuccessful() && done.getResult() != null) {
+                    memory.put(key, done.getResult());
+                }
+            }
+        });
+        pending.put(key, task);
+        return task;
+    }
+
+    /**
+     * @return encode count and timings since the process started, for profiling
+     */
+    public synchronized String encodeStats() {
+        if (encodeCount == 0) {
+            return "no encodes";
+        }
+        return String.format(Locale.ROOT, "encodes=%d, avg=%.1fms, max=%.1fms, memory=[%s]",
+                encodeCount, encodeNanosTotal / 1e6 / encodeCount, encodeNanosMax / 1e6, memory.stats());
+    }
+
+    /** Runs on the encoder thread. */
+    private Bitmap load(File dir, String key, String payload, int size) throws WriterException {
+        File file = new File(dir, key + FILE_SUFFIX);
+        if (file.isFile()) {
+            Bitmap decoded = BitmapFactory.decodeFile(file.getPath());
+            if (decoded != null) {
+                file.setLastModified(System.currentTimeMillis());
+                return decoded;
+            }
+        }
+
+        long started = System.nanoTime();
+        Bitmap bitmap = encode(payload, size);
+        recordEncode(System.nanoTime() - started);
+
+        if (dir.isDirectory() || dir.mkdirs()) {
+            try (FileOutputStream out = new FileOutputStream(file)) {
+                bitmap.compress(Bitmap.CompressFormat.PNG, 100, out);
+            } catch (IOException e) {
+                Log.w(TAG, "Failed to write QR cache file", e);
+                file.delete();
+            }
+            DiskCacheFiles.trimOldest(dir, FILE_SUFFIX, MAX_DISK_FILES);
+        }
+        return bitmap;
+    }
+
+    private static Bitmap encode(String payload, int size) throws WriterException {
+        BitMatrix matrix = new QRCodeWriter().encode(payload, BarcodeFormat.QR_CODE, size, size);
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        bitmap.setPixels(toPixels(matrix), 0, width, 0, 0, width, height);
+        return bitmap;
+    }
+
+    private synchronized void recordEncode(long nanos) {
+        encodeCount++;
+        encodeNanosTotal += nanos;
+        encodeNanosMax = Math.max(encodeNanosMax, nanos);
+        Log.d(TAG, String.format(Locale.ROOT, "Encoded QR in %.1fms (%s)", nanos / 1e6, encodeStats()));
+    }
+
+    /**
+     * Converts a module matrix to opaque black and white pixels, row by row.
+     */
+    static int[] toPixels(BitMatrix matrix) {
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+        int[] pixels = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            int offset = y * width;
+            for (int x = 0; x < width; x++) {
+                pixels[offset + x] = matrix.get(x, y) ? Color.BLACK : Color.WHITE;
+            }
+        }
+        return pixels;
+    }
+
+    /**
+     * @return a file-name-safe key for one payload at one size
+     */
+    static String cacheKey(String payload, int size) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((size + ":" + payload).getBytes(StandardCharsets.UTF_8));
+            StringBuilder key = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                key.append(String.format(Locale.ROOT, "%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.eventease.image;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.BitmapRegionDecoder;
+import android.graphics.Matrix;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+import android.media.ExifInterface;
+import android.net.Uri;
+import android.os.Build;
+import android.util.Log;
+import android.widget.ImageView;
+
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.load.resource.bitmap.DownsampleStrategy;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Crops photos without decoding them at full size.
+ *
+ * <p>The crop views show a preview no larger than {@link #PREVIEW_MAX_EDGE}. When the user
+ * confirms, the visible area is turned into a normalized rectangle ({@link #visibleRect}) and
+ * {@link #crop} decodes just that region of the original with {@link BitmapRegionDecoder}, at the
+ * coarsest power-of-two sample size that still covers the requested output, then applies the EXIF
+ * orientation and the final scale in one pass. A 48MP photo cropped to a 1600px poster therefore
+ * allocates a few megabytes instead of close to 200.
+ */
+public final class RegionCropper {
+
+    private static final String TAG = "RegionCropper";
+
+    /** Longest edge of the preview bitmaps shown while cropping. */
+    public static final int PREVIEW_MAX_EDGE = 2048;
+
+    private static final Executor DECODER = Executors.newSingleThreadExecutor();
+
+    private RegionCropper() {
+    }
+
+    /**
+     * @return a Glide request for a crop preview of {@code uri}, bounded in size and already
+     *         rotated by its EXIF orientation
+     */
+    public static RequestBuilder<Bitmap> preview(RequestManager glide, Uri uri) {
+        return glide.asBitmap()
+                .load(uri)
+                .downsample(DownsampleStrategy.AT_MOST)
+                .override(PREVIEW_MAX_EDGE, PREVIEW_MAX_EDGE);
+    }
+
+    /**
+     * Maps {@code viewArea}, in view pixels, through the inverse of {@code imageMatrix} onto the
+     * drawable shown in {@code view}.
+     *
+     * @return the area as fractions of the drawable, clamped to it, or null if nothing of the
+     *         drawable is inside the area
+     */
+    @Nullable
+    public static RectF visibleRect(ImageView view, Matrix imageMatrix, RectF viewArea) {
+        Drawable drawable = view.getDrawable();
+        Matrix inverse = new Matrix();
+        if (drawable == null || imageMatrix == null || !imageMatrix.invert(inverse)) {
+            return null;
+        }
+        float[] corners = {
+                viewArea.left, viewArea.top,
+                viewArea.right, viewArea.top,
+                viewArea.right, viewArea.bottom,
+                viewArea.left, viewArea.bottom
+        };
+        inverse.mapPoints(corners);
+        float[] bounds = CropGeometry.normalizedBounds(
+                corners, drawable.getIntrinsicWidth(), drawable.getIntrinsicHeight());
+        return bounds != null ? new RectF(bounds[0], bounds[1], bounds[2], bounds[3]) : null;
+    }
+
+    /**
+     * Decodes the part of {@code uri} covered by {@code rect} off the main thread.
+     *
+     * @param rect fractions of the image as displayed, e.g. from {@link #visibleRect}
+     * @param maxEdge longest edge of the result; smaller regions are not upscaled
+     * @return the upright cropped bitmap, owned by the caller
+     */
+    public static Task<Bitmap> crop(Context context, Uri uri, RectF rect, int maxEdge) {
+        ContentResolver resolver = context.getApplicationContext().getContentResolver();
+        float[] normalized = {rect.left, rect.top, rect.right, rect.bottom};
+        return Tasks.call(DECODER, () -> decode(resolver, uri, normalized, maxEdge));
+    }
+
+    private static Bitmap decode(ContentResolver resolver, Uri uri, float[] rect, int maxEdge) throws IOException {
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        try (InputStream in = open(resolver, uri)) {
+            BitmapFactory.decodeStream(in, null, bounds);
+        }
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+            throw new IOException("Not a decodable image: " + uri);
+        }
+
+        int orientation = readOrientation(resolver, uri);
+        int[] raw = CropGeometry.toRawRect(rect, bounds.outWidth, bounds.outHeight, orientation);
+        Rect region = new Rect(raw[0], raw[1], raw[2], raw[3]);
+
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = CropGeometry.sampleSize(region.width(), region.height(), maxEdge);
+        options.inPreferredConfig = Bitmap.Config.ARGB_8888;
+
+        Bitmap decoded = decodeRegion(resolver, uri, region, options);
+        Log.d(TAG, "Decoded " + region.width() + "x" + region.height() + " of " + bounds.outWidth + "x"
+                + bounds.outHeight + " at 1/" + options.inSampleSize + " -> "
+                + decoded.getWidth() + "x" + decoded.getHeight());
+        return orient(decoded, orientation, maxEdge);
+    }
+
+    private static Bitmap decodeRegion(ContentResolver resolver, Uri uri, Rect region,
+                                       BitmapFactory.Options options) throws IOException {
+        try (InputStream in = open(resolver, uri)) {
+            BitmapRegionDecoder decoder = Build.VERSION.SDK_INT >= Build.VERSION_CODES.S
+                    ? BitmapRegionDecoder.newInstance(in)
+                    : BitmapRegionDecoder.newInstance(in, false);
+            if (decoder != null) {
+                try {
+                    Bitmap bitmap = decoder.decodeRegion(region, options);
+                    if (bitmap != null) {
+                        return bitmap;
+                    }
+                } finally {
+                    decoder.recycle();
+                }
+            }
+        } catch (IOException e) {
+            // Formats without region support (e.g. GIF) fall through to a sampled full decode
+            Log.w(TAG, "Region decoding not supported for " + uri + ", decoding sampled image", e);
+        }
+
+        Bitmap sampled;
+        try (InputStream in = open(resolver, uri)) {
+            sampled = BitmapFactory.decodeStream(in, null, options);
+        }
+        if (sampled == null) {
+            throw new IOException("Failed to decode " + uri);
+        }
+        int sample = options.inSampleSize;
+        int left = Math.min(region.left / sample, sampled.getWidth() - 1);
+        int top = Math.min(region.top / sample, sampled.getHeight() - 1);
+        int width = Math.max(1, Math.min(region.width() / sample, sampled.getWidth() - left));
+        int height = Math.max(1, Math.min(region.height() / sample, sampled.getHeight() - top));
+        Bitmap cropped = Bitmap.createBitmap(sampled, left, top, width, height);
+        if (cropped != sampled) {
+            sampled.recycle();
+        }
+        return cropped;
+    }
+
+    /**
+     * Rotates or mirrors {@code bitmap} upright and scales it to at most {@code maxEdge}, in a
+     * single copy.
+     */
+    private static Bitmap orient(Bitmap bitmap, int orientation, int maxEdge) {
+        Matrix matrix = new Matrix();
+        switch (orientation) {
+            case CropGeometry.ORIENTATION_FLIP_HORIZONTAL:
+                matrix.setScale(-1, 1);
+                break;
+            case CropGeometry.ORIENTATION_ROTATE_180:
+                matrix.setRotate(180);
+                break;
+            case CropGeometry.ORIENTATION_FLIP_VERTICAL:
+                matrix.setRotate(180);
+                matrix.postScale(-1, 1);
+                break;
+            case CropGeometry.ORIENTATION_TRANSPOSE:
+                matrix.setRotate(90);
+                matrix.postScale(-1, 1);
+                break;
+            case CropGeometry.ORIENTATION_ROTATE_90:
+                matrix.setRotate(90);
+                break;
+            case CropGeometry.ORIENTATION_TRANSVERSE:
+                matrix.setRotate(-90);
+                matrix.postScale(-1, 1);
+                break;
+            case CropGeometry.ORIENTATION_ROTATE_270:
+                matrix.setRotate(-90);
+                break;
+            default:
+                break;
+        }
+        int longEdge = Math.max(bitmap.getWidth(), bitmap.getHeight());
+        if (maxEdge > 0 && longEdge > maxEdge) {
+            float scale = (float) maxEdge / longEdge;
+            matrix.postScale(scale, scale);
+        }
+        if (matrix.isIdentity()) {
+            return bitmap;
+        }
+        Bitmap result = Bitmap.createBitmap(bitmap, 0, 0, bitmap.getWidth(), bitmap.getHeight(), matrix, true);
+        if (result != bitmap) {
+            bitmap.recycle();
+        }
+        return result;
+    }
+
+    private static int readOrientation(ContentResolver resolver, Uri uri) {
+        try (InputStream in = open(resolver, uri)) {
+            return new ExifInterface(in).getAttributeInt(
+                    ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Could not read EXIF orientation of " + uri, e);
+            return CropGeometry.ORIENTATION_NORMAL;
+        }
+    }
+
+    private static InputStream open(ContentResolver resolver, Uri uri) throws IOException {
+        InputStream in = resolver.openInputStream(uri);
+        if (in == null) {
+            throw new FileNotFoundException("Cannot open " + uri);
+        }
+        return in;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.eventease.image;
+
+/**
+ * Stack blur on packed ARGB pixels, a close approximation of a Gaussian blur in time linear in the
+ * number of pixels and independent of the radius.
+ *
+ * <p>Each pixel becomes a weighted average of its neighbours within {@code radius}, the weights
+ * falling off linearly with distance: one horizontal pass, then one vertical pass. Edge pixels are
+ * repeated past the border. The working buffers are kept between calls, so blurring screens of
+ * the same size allocates nothing; an instance must therefore be used from one thread at a time.
+ */
+final class StackBlur {
+
+    private int[] red = new int[0];
+    private int[] green = new int[0];
+    private int[] blue = new int[0];
+    private int[] alpha = new int[0];
+    private int[] nextX = new int[0];
+    private int[] nextY = new int[0];
+    private int[] divide = new int[0];
+    private int[][] stack = new int[0][];
+    private int tableRadius = -1;
+
+    /**
+     * Blurs {@code pixels} ({@code width * height}, row by row) in place.
+     */
+    void blur(int[] pixels, int width, int height, int radius) {
+        if (radius < 1 || width < 1 || height < 1) {
+            return;
+        }
+        if (pixels.length < width * height) {
+            throw new IllegalArgumentException("Expected " + width * height + " pixels, got " + pixels.length);
+        }
+        ensureBuffers(width, height, radius);
+
+        final int div = radius * 2 + 1;
+        final int r1 = radius + 1;
+        final int wm = width - 1;
+        final int hm = height - 1;
+        for (int x = 0; x < width; x++) {
+            nextX[x] = Math.min(x + r1, wm);
+        }
+        for (int y = 0; y < height; y++) {
+            nextY[y] = Math.min(y + r1, hm) * width;
+        }
+
+        // Horizontal pass into the channel buffers
+        int yi = 0;
+        for (int y = 0, yw = 0; y < height; y++, yw += width) {
+            int rSum = 0, gSum = 0, bSum = 0, aSum = 0;
+            int rIn = 0, gIn = 0, bIn = 0, aIn = 0;
+            int rOut = 0, gOut = 0, bOut = 0, aOut = 0;
+            for (int i = -radius; i <= radius; i++) {
+                int p = pixels[yw + Math.min(wm, Math.max(i, 0))];
+                int[] s = stack[i + radius];
+                unpack(p, s);
+                int weight = r1 - Math.abs(i);
+                rSum += s[0] * weight;
+                gSum += s[1] * weight;
+                bSum += s[2] * weight;
+                aSum += s[3] * weight;
+                if (i > 0) {
+                    rIn += s[0]; gIn += s[1]; bIn += s[2]; aIn += s[3];
+                } else {
+                    rOut += s[0]; gOut += s[1]; bOut += s[2]; aOut += s[3];
+                }
+            }
+            int sp = radius;
+            for (int x = 0; x < width; x++) {
+                red[yi] = divide[rSum];
+                green[yi] = divide[gSum];
+                blue[yi] = divide[bSum];
+                alpha[yi] = divide[aSum];
+
+                rSum -= rOut; gSum -= gOut; bSum -= bOut; aSum -= aOut;
+
+                int[] s = stack[(sp - radius + div) % div];
+                rOut -= s[0]; gOut -= s[1]; bOut -= s[2]; aOut -= s[3];
+
+                unpack(pixels[yw + nextX[x]], s);
+                rIn += s[0]; gIn += s[1]; bIn += s[2]; aIn += s[3];
+                rSum += rIn; gSum += gIn; bSum += bIn; aSum += aIn;
+
+                sp = (sp + 1) % div;
+                s = stack[sp];
+                rOut += s[0]; gOut += s[1]; bOut += s[2]; aOut += s[3];
+                rIn -= s[0]; gIn -= s[1]; bIn -= s[2]; aIn -= s[3];
+                yi++;
+            }
+        }
+
+        // Vertical pass back into the pixels
+        for (int x = 0; x < width; x++) {
+            int rSum = 0, gSum = 0, bSum = 0, aSum = 0;
+            int rIn = 0, gIn = 0, bIn = 0, aIn = 0;
+            int rOut = 0, gOut = 0, bOut = 0, aOut = 0;
+            int yp = -radius * width;
+            for (int i = -radius; i <= radius; i++) {
+                int idx = Math.max(0, yp) + x;
+                int[] s = stack[i + radius];
+                s[0] = red[idx];
+                s[1] = green[idx];
+                s[2] = blue[idx];
+                s[3] = alpha[idx];
+                int weight = r1 - Math.abs(i);
+                rSum += s[0] * weight;
+                gSum += s[1] * weight;
+                bSum += s[2] * weight;
+                aSum += s[3] * weight;
+                if (i > 0) {
+                    rIn += s[0]; gIn += s[1]; bIn += s[2]; aIn += s[3];
+                } else {
+                    rOut += s[0]; gOut += s[1]; bOut += s[2]; aOut += s[3];
+                }
+                if (i < hm) {
+                    yp += width;
+                }
+            }
+            int sp = radius;
+            for (int y = 0, idx = x; y < height; y++, idx += width) {
+                pixels[idx] = (divide[aSum] << 24) | (divide[rSum] << 16) | (divide[gSum] << 8) | divide[bSum];
+
+                rSum -= rOut; gSum -= gOut; bSum -= bOut; aSum -= aOut;
+
+                int[] s = stack[(sp - radius + div) % div];
+                rOut -= s[0]; gOut -= s[1]; bOut -= s[2]; aOut -= s[3];
+
+                int p = x + nextY[y];
+                s[0] = red[p];
+                s[1] = green[p];
+                s[2] = blue[p];
+                s[3] = alpha[p];
+                rIn += s[0]; gIn += s[1]; bIn += s[2]; aIn += s[3];
+                rSum += rIn; gSum += gIn; bSum += bIn; aSum += aIn;
+
+                sp = (sp + 1) % div;
+                s = stack[sp];
+                rOut += s[0]; gOut += s[1]; bOut += s[2]; aOut += s[3];
+                rIn -= s[0]; gIn -= s[1]; bIn -= s[2]; aIn -= s[3];
+            }
+        }
+    }
+
+    private void ensureBuffers(int width, int height, int radius) {
+        int size = width * height;
+        if (red.length < size) {
+            red = new int[size];
+            green = new int[size];
+            blue = new int[size];
+            alpha = new int[size];
+        }
+        if (nextX.length < width) {
+            nextX = new int[width];
+        }
+        if (nextY.length < height) {
+            nextY = new int[height];
+        }
+        if (tableRadius != radius) {
+            // The weights add up to (radius + 1)^2, so a weighted sum is at most 255 times that
+            int weightSum = (radius + 1) * (radius + 1);
+            divide = new int[256 * weightSum];
+            for (int i = 0; i < divide.length; i++) {
+                divide[i] = i / weightSum;
+            }
+            stack = new int[radius * 2 + 1][4];
+            tableRadius = radius;
+        }
+    }
+
+    private static void unpack(int p, int[] into) {
+        into[0] = (p >> 16) & 0xff;
+        into[1] = (p >> 8) & 0xff;
+        into[2] = p & 0xff;
+        into[3] = p >>> 24;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.eventease.logic;
+
+import java.util.List;
+
+/**
+ * Decides how many writes go into the next Firestore batch and what to do when a batch fails.
+ *
+ * <p>Batches start at {@link #MAX_BATCH_WRITES}. A batch rejected as too large is halved and
+ * retried straight away; transient failures (unavailable, deadline exceeded, ...) are retried with
+ * exponential backoff up to {@code maxAttempts} times in a row. Every successful commit resets the
+ * attempt counter and doubles the chunk size back towards the maximum.
+ */
+public final class BatchChunker {
+
+    /** Firestore rejects batches with more than 500 writes. */
+    public static final int MAX_BATCH_WRITES = 500;
+
+    /** Returned by {@link #onFailure} when the write should not be retried. */
+    public static final long GIVE_UP = -1L;
+
+    /**
+     * How a batch commit failed.
+     */
+    public enum Failure {
+        /** The request exceeded a size limit; a smaller batch may succeed. */
+        TOO_LARGE,
+        /** The backend was temporarily unable to apply the batch. */
+        TRANSIENT,
+        /** Retrying will not help, e.g. permission denied. */
+        PERMANENT
+    }
+
+    private final int maxChunk;
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+
+    private int chunkSize;
+    private int attempts;
+
+    public BatchChunker(int maxChunk, int maxAttempts, long baseDelayMs, long maxDelayMs) {
+        if (maxChunk < 1 || maxChunk > MAX_BATCH_WRITES) {
+            throw new IllegalArgumentException("maxChunk must be in [1, " + MAX_BATCH_WRITES + "]: " + maxChunk);
+        }
+        this.maxChunk = maxChunk;
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.chunkSize = maxChunk;
+    }
+
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return a view of the first {@link #chunkSize()} items of {@code remaining}
+     */
+    public <T> List<T> nextChunk(List<T> remaining) {
+        return remaining.subList(0, Math.min(chunkSize, remaining.size()));
+    }
+
+    /**
+     * Records a committed batch.
+     */
+    public void onSuccess() {
+        attempts = 0;
+        chunkSize = Math.min(maxChunk, chunkSize * 2);
+    }
+
+    /**
+     * Records a failed batch.
+     *
+     * @return the delay in milliseconds before retrying (0 for immediately), or {@link #GIVE_UP}
+     */
+    public long onFailure(Failure failure) {
+        if (failure == Failure.TOO_LARGE && chunkSize > 1) {
+            chunkSize = Math.max(1, chunkSize / 2);
+            return 0L;
+        }
+        if (failure != Failure.TRANSIENT || attempts >= maxAttempts) {
+            return GIVE_UP;
+        }
+        long delay = baseDelayMs << Math.min(attempts, 30);
+        attempts++;
+        return Math.min(maxDelayMs, delay);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.eventease.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Order of the steps that remove everything belonging to a deleted user.
+ *
+ * <p>Every phase deletes whatever its queries still match, so re-running a phase that was cut
+ * short is harmless. The job records the phase it is in, and a resumed job starts from that phase
+ * instead of from the beginning.
+ */
+public final class CascadeDeletePlan {
+    private CascadeDeletePlan(){}
+
+    /**
+     * One step of the cascade, in execution order.
+     */
+    public enum Phase {
+        /** Events the user organizes, with their subcollections and invitations. */
+        ORGANIZER_EVENTS,
+        /** The user's entrant documents in other organizers' events. */
+        ENTRANT_RECORDS,
+        /** The user's id in the legacy {@code waitlist} / {@code admitted} arrays on events. */
+        EVENT_ARRAYS,
+        /** Invitations addressed to the user. */
+        INVITATIONS,
+        /** Subcollections under {@code users/{uid}}, which deleting the user document leaves behind. */
+        USER_SUBCOLLECTIONS
+    }
+
+    /**
+     * @param checkpoint the phase recorded by an interrupted job, or null for a new job
+     * @param includeOrganizerEvents whether the user's own events are deleted too
+     * @return the phases still to run, in order
+     */
+    public static List<Phase> remaining(String checkpoint, boolean includeOrganizerEvents) {
+        int start = 0;
+        if (checkpoint != null) {
+            for (Phase phase : Phase.values()) {
+                if (phase.name().equals(checkpoint)) {
+                    start = phase.ordinal();
+                    break;
+                }
+            }
+        }
+        List<Phase> phases = new ArrayList<>();
+        for (Phase phase : Phase.values()) {
+            if (phase.ordinal() < start) {
+                continue;
+            }
+            if (phase == Phase.ORGANIZER_EVENTS && !includeOrganizerEvents) {
+                continue;
+            }
+            phases.add(phase);
+        }
+        return phases;
+    }
+
+    /**
+     * @return documents per second, or 0 when no time has passed
+     */
+    public static double perSecond(long documents, long elapsedMs) {
+        return elapsedMs > 0 ? documents * 1000.0 / elapsedMs : 0.0;
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.eventease.logic;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the time-based work of every known event on a {@link TimingWheel} and reports each
+ * piece of work when its time comes.
+ *
+ * <p>Each event has at most one timer per {@link Kind}. Rescheduling a kind with a new time
+ * replaces its timer, and times that have already passed are not scheduled. The caller moves
+ * the scheduler forward with {@link #advance()} (for example from a main-thread handler
+ * posted for {@link #nextWakeupMs()}), and the clock is injected so tests can drive it.
+ */
+public final class DeadlineScheduler {
+
+    /** Default resolution: work fires at most this long after it is due. */
+    public static final long DEFAULT_TICK_MS = 1000L;
+    private static final int WHEEL_SIZE = 64;
+
+    /** Time-based work on an event. */
+    public enum Kind {
+        /** Registration has closed; draw the lottery. Due at {@code registrationEnd}. */
+        REGISTRATION_END,
+        /** The invitation response deadline has passed. Due at {@code deadlineEpochMs}. */
+        INVITATION_DEADLINE,
+        /** Tell non-selected entrants shortly before {@code startsAtEpochMs}. */
+        SORRY_NOTIFICATION
+    }
+
+    public interface Callback {
+        void onDue(String eventId, Kind kind, long dueAtMs);
+    }
+
+    private static final class Key {
+        final String eventId;
+        final Kind kind;
+
+        Key(String eventId, Kind kind) {
+            this.eventId = eventId;
+            this.kind = kind;
+        }
+    }
+
+    private final LongSupplier clock;
+    private final Callback callback;
+    private final TimingWheel<Key> wheel;
+    private final Map<String, EnumMap<Kind, TimingWheel<Key>.Timeout>> timers = new HashMap<>();
+
+    public DeadlineScheduler(LongSupplier clock, Callback callback) {
+        this(clock, DEFAULT_TICK_MS, callback);
+    }
+
+    public DeadlineScheduler(LongSupplier clock, long tickMs, Callback callback) {
+        this.clock = clock;
+        this.callback = callback;
+        this.wheel = new TimingWheel<>(tickMs, WHEEL_SIZE, clock.getAsLong());
+    }
+
+    /**
+     * Sets when {@code kind} is due for an event, replacing any earlier time.
+     *
+     * @param dueAtMs epoch milliseconds; null, 0 or a time that has passed clears the timer
+     * @return whether a timer is now pending
+     */
+    public boolean schedule(String eventId, Kind kind, Long dueAtMs) {
+        TimingWheel<Key>.Timeout existing = timer(eventId, kind);
+        if (dueAtMs == null || dueAtMs <= 0 || dueAtMs <= clock.getAsLong()) {
+            cancel(eventId, kind);
+            return false;
+        }
+        if (existing != null && existing.isPending() && existing.getDueAtMs() == dueAtMs) {
+            return true;
+        }
+        cancel(eventId, kind);
+        EnumMap<Kind, TimingWheel<Key>.Timeout> eventTimers = timers.get(eventId);
+        if (eventTimers == null) {
+            eventTimers = new EnumMap<>(Kind.class);
+            timers.put(eventId, eventTimers);
+        }
+        eventTimers.put(kind, wheel.schedule(dueAtMs, new Key(eventId, kind)));
+        return true;
+    }
+
+    public void cancel(String eventId, Kind kind) {
+        EnumMap<Kind, TimingWheel<Key>.Timeout> eventTimers = timers.get(eventId);
+        if (eventTimers == null) {
+            return;
+        }
+        TimingWheel<Key>.Timeout timeout = eventTimers.remove(kind);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        if (eventTimers.isEmpty()) {
+            timers.remove(eventId);
+        }
+    }
+
+    /**
+     * Cancels every timer of an event, e.g. when it is deleted.
+     */
+    public void remove(String eventId) {
+        EnumMap<Kind, TimingWheel<Key>.Timeout> eventTimers = timers.remove(eventId);
+        if (eventTimers == null) {
+            return;
+        }
+        for (TimingWheel<Key>.Timeout timeout : eventTimers.values()) {
+            timeout.cancel();
+        }
+    }
+
+    public void clear() {
+        for (String eventId : new ArrayList<>(timers.keySet())) {
+            remove(eventId);
+        }
+    }
+
+    /**
+     * Fires the callback for everything that has fallen due.
+     *
+     * @return the number of callbacks made
+     */
+    public int advance() {
+        List<Key> due = wheel.advanceTo(clock.getAsLong());
+        int fired = 0;
+        for (Key key : due) {
+            TimingWheel<Key>.Timeout timeout = timer(key.eventId, key.kind);
+            if (timeout == null || timeout.getItem() != key) {
+                // Cancelled or replaced by an earlier callback in this batch
+                continue;
+            }
+            cancel(key.eventId, key.kind);
+            callback.onDue(key.eventId, key.kind, timeout.getDueAtMs());
+            fired++;
+        }
+        return fired;
+    }
+
+    /**
+     * @return when {@link #advance()} should next be called, or Long.MAX_VALUE if nothing is pending
+     */
+    public long nextWakeupMs() {
+        return wheel.nextWakeupMs();
+    }
+
+    /**
+     * @return the pending due time of a timer, or null if there is none
+     */
+    public Long dueAt(String eventId, Kind kind) {
+        TimingWheel<Key>.Timeout timeout = timer(eventId, kind);
+        return timeout != null && timeout.isPending() ? timeout.getDueAtMs() : null;
+    }
+
+    /**
+     * @return number of pending timers
+     */
+    public int size() {
+        return wheel.size();
+    }
+
+    private TimingWheel<Key>.Timeout timer(String eventId, Kind kind) {
+        EnumMap<Kind, TimingWheel<Key>.Timeout> eventTimers = timers.get(eventId);
+        return eventTimers != null ? eventTimers.get(kind) : null;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.eventease.logic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The entrant groups shown on the organizer's view-entrants screen, and how the per-group
+ * subcollections are merged into one consistent view.
+ *
+ * <p>An entrant should sit in exactly one group, but a move that only half-applied can leave them
+ * in two subcollections. {@link #merge} keeps each entrant in the group that comes first in
+ * {@link Group} declaration order: selected, then cancelled, then not selected. Cancelled ranks
+ * above not selected so a stale not-selected entry can never make a cancelled entrant eligible
+ * for a replacement draw.
+ */
+public final class EntrantGroups {
+
+    /** Groups in precedence order. */
+    public enum Group {
+        SELECTED("SelectedEntrants"),
+        CANCELLED("CancelledEntrants"),
+        NON_SELECTED("NonSelectedEntrants");
+
+        public final String collection;
+
+        Group(String collection) {
+            this.collection = collection;
+        }
+    }
+
+    /** Extracts the user id an entry belongs to. */
+    public interface Ids<T> {
+        String idOf(T entry);
+    }
+
+    private EntrantGroups() {
+    }
+
+    /**
+     * Merges the fetched groups in a single pass in precedence order. Entries keep their order
+     * within a group; an id already placed in a higher-precedence group, or earlier in the same
+     * group, is dropped. Missing groups come back empty.
+     */
+    public static <T> Map<Group, List<T>> merge(Map<Group, ? extends List<T>> fetched, Ids<T> ids) {
+        Map<Group, List<T>> merged = new EnumMap<>(Group.class);
+        Set<String> placed = new HashSet<>();
+        for (Group group : Group.values()) {
+            List<T> entries = fetched.get(group);
+            if (entries == null || entries.isEmpty()) {
+                merged.put(group, Collections.emptyList());
+                continue;
+            }
+            List<T> kept = new ArrayList<>(entries.size());
+            for (T entry : entries) {
+                if (placed.add(ids.idOf(entry))) {
+                    kept.add(entry);
+                }
+            }
+            merged.put(group, kept);
+        }
+        return merged;
+    }
+
+    /**
+     * @return how many entries {@link #merge} dropped as duplicates
+     */
+    public static <T> int duplicates(Map<Group, ? extends List<T>> fetched, Map<Group, List<T>> merged) {
+        int fetchedCount = 0;
+        for (List<T> entries : fetched.values()) {
+            fetchedCount += entries == null ? 0 : entries.size();
+        }
+        int mergedCount = 0;
+        for (List<T> entries : merged.values()) {
+            mergedCount += entries.size();
+        }
+        return fetchedCount - mergedCount;
+    }
+}
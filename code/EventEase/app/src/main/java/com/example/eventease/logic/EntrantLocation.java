@@ -0,0 +1,73 @@
+package com.example.eventease.logic;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Coordinates stored under {@code location} on user documents and waitlist entries, as a map
+ * with {@code latitude} and {@code longitude}.
+ *
+ * <p>Joining an event with geolocation enabled copies the user's location onto the waitlist entry,
+ * so the organizer's map can load every coordinate with one query on the waitlist. The entry also
+ * stores the {@link Geohash} of the point, which the per-event cell counts are keyed by.
+ */
+public final class EntrantLocation {
+
+    public static final String FIELD = "location";
+    public static final String FIELD_LATITUDE = "latitude";
+    public static final String FIELD_LONGITUDE = "longitude";
+    public static final String FIELD_CAPTURED_AT = "capturedAt";
+    public static final String FIELD_GEOHASH = "geohash";
+
+    public final double latitude;
+    public final double longitude;
+
+    public EntrantLocation(double latitude, double longitude) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    /**
+     * Parses a stored {@code location} field.
+     *
+     * @return the location, or null if the value is missing, malformed, out of range or (0, 0),
+     *         which is what a failed fix is saved as
+     */
+    public static EntrantLocation fromMap(Object value) {
+        if (!(value instanceof Map)) {
+            return null;
+        }
+        Map<?, ?> map = (Map<?, ?>) value;
+        Object lat = map.get(FIELD_LATITUDE);
+        Object lng = map.get(FIELD_LONGITUDE);
+        if (!(lat instanceof Number) || !(lng instanceof Number)) {
+            return null;
+        }
+        double latitude = ((Number) lat).doubleValue();
+        double longitude = ((Number) lng).doubleValue();
+        return isValid(latitude, longitude) ? new EntrantLocation(latitude, longitude) : null;
+    }
+
+    public static boolean isValid(double latitude, double longitude) {
+        if (latitude == 0.0 && longitude == 0.0) {
+            return false;
+        }
+        return latitude >= -90.0 && latitude <= 90.0 && longitude >= -180.0 && longitude <= 180.0;
+    }
+
+    public String geohash() {
+        return Geohash.encode(latitude, longitude, Geohash.STORED_PRECISION);
+    }
+
+    /**
+     * @return the map stored on a waitlist entry
+     */
+    public Map<String, Object> toMap(long capturedAt) {
+        Map<String, Object> map = new HashMap<>();
+        map.put(FIELD_LATITUDE, latitude);
+        map.put(FIELD_LONGITUDE, longitude);
+        map.put(FIELD_CAPTURED_AT, capturedAt);
+        map.put(FIELD_GEOHASH, geohash());
+        return map;
+    }
+}
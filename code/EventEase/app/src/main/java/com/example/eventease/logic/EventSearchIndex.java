@@ -0,0 +1,530 @@
+package com.example.eventease.logic;
+
+import com.example.eventease.model.Event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory search index over events for search-as-you-type.
+ *
+ * <p>Every word of the indexed fields is broken into its 1-, 2- and 3-character substrings
+ * (n-grams), and each n-gram has a posting list of the events containing it, with a bit per
+ * field it occurs in. Word prefixes and whole words of up to three characters get postings of
+ * their own. A query word of up to three characters is therefore answered, ranking included,
+ * straight from its postings; a longer word intersects the postings of its trigrams and checks
+ * the few remaining candidates against the normalized text. Either way the results keep the old
+ * "field contains the text" semantics, without lowercasing and scanning every event on every
+ * keystroke.
+ *
+ * <p>A multi-word query matches as a phrase, as the old substring check did: the words are
+ * looked up one by one to narrow down the candidates, and a candidate is kept only if one of its
+ * searched fields contains the words in order, with the first and last allowed to be part of a
+ * longer word ("jazz n" matches "Jazz Night"). Results are ranked by field ({@link Field#weight}) and by how well each word matched: a whole
+ * word scores above a word prefix, which scores above a match inside a word. Ties keep the order
+ * in which events were first indexed.
+ *
+ * <p>The index is updated incrementally: {@link #sync} re-indexes only events whose searchable
+ * text changed. Not thread-safe; use from one thread.
+ */
+public final class EventSearchIndex {
+
+    /** Indexed event fields, with their ranking weight. */
+    public enum Field {
+        TITLE(8),
+        INTERESTS(4),
+        LOCATION(2),
+        DESCRIPTION(1);
+
+        public final int weight;
+
+        Field(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final int MAX_GRAM = 3;
+    private static final Field[] FIELDS = Field.values();
+
+    /** Posting-key prefixes for word prefixes and whole words; they cannot occur inside a token. */
+    private static final char PREFIX_MARK = '\u0001';
+    private static final char WORD_MARK = '\u0002';
+
+    private static final int SCORE_EXACT_WORD = 3;
+    private static final int SCORE_WORD_PREFIX = 2;
+    private static final int SCORE_INFIX = 1;
+
+    /** Normalized text of one event; each field is stored as " word word ... " for word-boundary checks. */
+    private static final class Doc {
+        final String id;
+        /** The raw field values, so unchanged events are skipped without normalizing them again. */
+        final Object[] source;
+        final String[] fieldText = new String[FIELDS.length];
+
+        Doc(String id, Object[] source) {
+            this.id = id;
+            this.source = source;
+        }
+
+        /** Posting keys of this document, each with the bit mask of fields it occurs in. */
+        Map<String, Integer> keys() {
+            Map<String, Integer> keys = new HashMap<>();
+            for (int f = 0; f < fieldText.length; f++) {
+                String text = fieldText[f].trim();
+                if (text.isEmpty()) continue;
+                for (String word : text.split(" ")) {
+                    addKeys(word, 1 << f, keys);
+                }
+            }
+            return keys;
+        }
+
+        boolean sameText(Doc other) {
+            return Arrays.equals(fieldText, other.fieldText);
+        }
+    }
+
+    /**
+     * Documents containing one key, sorted by document number, with a field mask per document.
+     */
+    private static final class Posting {
+        int[] docs = new int[4];
+        byte[] masks = new byte[4];
+        int size;
+
+        void append(int doc, int mask) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                masks = Arrays.copyOf(masks, size * 2);
+            }
+            docs[size] = doc;
+            masks[size] = (byte) mask;
+            size++;
+        }
+
+        void remove(int doc) {
+            int i = Arrays.binarySearch(docs, 0, size, doc);
+            if (i < 0) return;
+            System.arraycopy(docs, i + 1, docs, i, size - i - 1);
+            System.arraycopy(masks, i + 1, masks, i, size - i - 1);
+            size--;
+        }
+    }
+
+    /** Indexed documents by document number; null once removed or re-indexed. */
+    private final List<Doc> docs = new ArrayList<>();
+    private final Map<String, Integer> docNumbers = new HashMap<>();
+    private final Map<String, Posting> postings = new HashMap<>();
+
+    /**
+     * Adds or re-indexes an event. Events without an id are ignored.
+     *
+     * @return true if the index changed
+     */
+    public boolean put(Event event) {
+        if (event == null || event.getId() == null) {
+            return false;
+        }
+        Integer existing = docNumbers.get(event.getId());
+        Object[] source = sourceOf(event);
+        if (existing != null && Arrays.equals(docs.get(existing).source, source)) {
+            return false;
+        }
+        Doc doc = toDoc(event.getId(), source);
+        if (existing != null) {
+            if (docs.get(existing).sameText(doc)) {
+                return false;
+            }
+            unindex(existing);
+        }
+        // New numbers are always the largest, so postings stay sorted by appending
+        int number = docs.size();
+        docs.add(doc);
+        docNumbers.put(doc.id, number);
+        for (Map.Entry<String, Integer> key : doc.keys().entrySet()) {
+            postings.computeIfAbsent(key.getKey(), k -> new Posting()).append(number, key.getValue());
+        }
+        compactIfSparse();
+        return true;
+    }
+
+    /**
+     * Removes an event from the index.
+     *
+     * @return true if the event was indexed
+     */
+    public boolean remove(String eventId) {
+        Integer number = docNumbers.get(eventId);
+        if (number == null) {
+            return false;
+        }
+        unindex(number);
+        return true;
+    }
+
+    /**
+     * Makes the index hold exactly the given events, re-indexing only those that are new or
+     * whose searchable text changed.
+     *
+     * @return the number of events added, re-indexed or removed
+     */
+    public int sync(Collection<Event> events) {
+        int changed = 0;
+        Set<String> keep = new HashSet<>();
+        for (Event event : events) {
+            if (event == null || event.getId() == null) continue;
+            keep.add(event.getId());
+            if (put(event)) {
+                changed++;
+            }
+        }
+        for (String id : new ArrayList<>(docNumbers.keySet())) {
+            if (!keep.contains(id) && remove(id)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    public int size() {
+        return docNumbers.size();
+    }
+
+    /**
+     * Searches all indexed fields.
+     *
+     * @see #search(String, Set)
+     */
+    public List<String> search(String query) {
+        return search(query, EnumSet.allOf(Field.class));
+    }
+
+    /**
+     * Finds the events with a given field that contains the query as a phrase.
+     *
+     * @param query free text; blank queries match nothing
+     * @param fields the fields to match against
+     * @return ids of the matching events, best match first
+     */
+    public List<String> search(String query, Set<Field> fields) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || fields.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int fieldMask = 0;
+        for (Field field : fields) {
+            fieldMask |= 1 << field.ordinal();
+        }
+
+        int[] scores = new int[docs.size()];
+        int[] matched = null;
+        int matchedCount = 0;
+        for (String token : tokens) {
+            int[] next = token.length() <= MAX_GRAM
+                    ? scoreShortToken(token, fieldMask, scores, matched, matchedCount)
+                    : scoreLongToken(token, fieldMask, scores, matched, matchedCount);
+            matchedCount = next[next.length - 1];
+            matched = next;
+            if (matchedCount == 0) {
+                return Collections.emptyList();
+            }
+        }
+
+        if (tokens.size() > 1) {
+            matchedCount = keepPhraseMatches(String.join(" ", tokens), fieldMask, matched, matchedCount);
+            if (matchedCount == 0) {
+                return Collections.emptyList();
+            }
+        }
+
+        // Sort by score (descending), then document number, without boxing
+        long[] order = new long[matchedCount];
+        for (int i = 0; i < matchedCount; i++) {
+            int doc = matched[i];
+            order[i] = ((long) (Integer.MAX_VALUE - scores[doc]) << 32) | doc;
+        }
+        Arrays.sort(order);
+        List<String> result = new ArrayList<>(matchedCount);
+        for (long entry : order) {
+            result.add(docs.get((int) entry).id);
+        }
+        return result;
+    }
+
+    /**
+     * Adds the scores for a word of up to {@link #MAX_GRAM} characters using only its postings.
+     *
+     * @param previous documents that matched all earlier words (null for the first word)
+     * @return documents that also match this word, with their count in the last slot
+     */
+    private int[] scoreShortToken(String token, int fieldMask, int[] scores, int[] previous, int previousCount) {
+        Posting infix = postings.get(token);
+        if (infix == null) {
+            return new int[]{0};
+        }
+        byte[] prefixMasks = masksByDoc(postings.get(PREFIX_MARK + token));
+        byte[] wordMasks = masksByDoc(postings.get(WORD_MARK + token));
+
+        int[] out = new int[infix.size + 1];
+        int count = 0;
+        int p = 0;
+        for (int i = 0; i < infix.size; i++) {
+            int doc = infix.docs[i];
+            if (previous != null) {
+                while (p < previousCount && previous[p] < doc) p++;
+                if (p == previousCount) break;
+                if (previous[p] != doc) continue;
+            }
+            int mask = infix.masks[i] & fieldMask;
+            if (mask == 0) continue;
+            int score = 0;
+            for (int f = 0; f < FIELDS.length; f++) {
+                int bit = 1 << f;
+                if ((mask & bit) == 0) continue;
+                int match = (wordMasks != null && doc < wordMasks.length && (wordMasks[doc] & bit) != 0) ? SCORE_EXACT_WORD
+                        : (prefixMasks != null && doc < prefixMasks.length && (prefixMasks[doc] & bit) != 0) ? SCORE_WORD_PREFIX
+                        : SCORE_INFIX;
+                score += FIELDS[f].weight * match;
+            }
+            scores[doc] += score;
+            out[count++] = doc;
+        }
+        out[out.length - 1] = count;
+        return out;
+    }
+
+    /**
+     * Adds the scores for a longer word: intersects its trigram postings, then checks the text.
+     */
+    private int[] scoreLongToken(String token, int fieldMask, int[] scores, int[] previous, int previousCount) {
+        List<Posting> grams = new ArrayList<>();
+        for (String gram : queryGrams(token)) {
+            Posting posting = postings.get(gram);
+            if (posting == null) {
+                return new int[]{0};
+            }
+            grams.add(posting);
+        }
+        grams.sort((a, b) -> Integer.compare(a.size, b.size));
+
+        int[] candidates;
+        int count;
+        int first;
+        if (previous != null) {
+            candidates = previous;
+            count = previousCount;
+            first = 0;
+        } else {
+            candidates = grams.get(0).docs;
+            count = grams.get(0).size;
+            first = 1;
+        }
+        for (Posting gram : grams.subList(first, grams.size())) {
+            candidates = intersect(candidates, count, gram);
+            count = candidates[candidates.length - 1];
+            if (count == 0) {
+                return candidates;
+            }
+        }
+
+        String word = " " + token + " ";
+        String prefix = " " + token;
+        int[] out = new int[count + 1];
+        int matched = 0;
+        for (int i = 0; i < count; i++) {
+            int doc = candidates[i];
+            Doc d = docs.get(doc);
+            int score = 0;
+            for (int f = 0; f < FIELDS.length; f++) {
+                if ((fieldMask & (1 << f)) == 0) continue;
+                String text = d.fieldText[f];
+                if (!text.contains(token)) continue;
+                int match = text.contains(word) ? SCORE_EXACT_WORD
+                        : text.contains(prefix) ? SCORE_WORD_PREFIX
+                        : SCORE_INFIX;
+                score += FIELDS[f].weight * match;
+            }
+            if (score == 0) continue;
+            scores[doc] += score;
+            out[matched++] = doc;
+        }
+        out[out.length - 1] = matched;
+        return out;
+    }
+
+    /**
+     * Moves the documents with a searched field containing {@code phrase} to the front of {@code matched}.
+     *
+     * @return how many there are
+     */
+    private int keepPhraseMatches(String phrase, int fieldMask, int[] matched, int matchedCount) {
+        int kept = 0;
+        for (int i = 0; i < matchedCount; i++) {
+            Doc d = docs.get(matched[i]);
+            for (int f = 0; f < FIELDS.length; f++) {
+                if ((fieldMask & (1 << f)) != 0 && d.fieldText[f].contains(phrase)) {
+                    matched[kept++] = matched[i];
+                    break;
+                }
+            }
+        }
+        return kept;
+    }
+
+    private static int[] intersect(int[] sorted, int count, Posting posting) {
+        int[] out = new int[Math.min(count, posting.size) + 1];
+        int n = 0;
+        int j = 0;
+        for (int i = 0; i < count && j < posting.size; i++) {
+            int doc = sorted[i];
+            while (j < posting.size && posting.docs[j] < doc) j++;
+            if (j < posting.size && posting.docs[j] == doc) {
+                out[n++] = doc;
+            }
+        }
+        out[out.length - 1] = n;
+        return out;
+    }
+
+    private byte[] masksByDoc(Posting posting) {
+        if (posting == null) {
+            return null;
+        }
+        byte[] masks = new byte[docs.size()];
+        for (int i = 0; i < posting.size; i++) {
+            masks[posting.docs[i]] = posting.masks[i];
+        }
+        return masks;
+    }
+
+    private void unindex(int number) {
+        Doc doc = docs.get(number);
+        for (String key : doc.keys().keySet()) {
+            Posting posting = postings.get(key);
+            if (posting != null) {
+                posting.remove(number);
+                if (posting.size == 0) {
+                    postings.remove(key);
+                }
+            }
+        }
+        docs.set(number, null);
+        docNumbers.remove(doc.id);
+    }
+
+    /**
+     * Renumbers documents once more than half of the numbers belong to removed or re-indexed
+     * events, so per-query scratch arrays stay proportional to the live index.
+     */
+    private void compactIfSparse() {
+        if (docs.size() < 64 || docNumbers.size() * 2 > docs.size()) {
+            return;
+        }
+        List<Doc> live = new ArrayList<>(docNumbers.size());
+        for (Doc doc : docs) {
+            if (doc != null) live.add(doc);
+        }
+        docs.clear();
+        docNumbers.clear();
+        postings.clear();
+        for (Doc doc : live) {
+            int number = docs.size();
+            docs.add(doc);
+            docNumbers.put(doc.id, number);
+            for (Map.Entry<String, Integer> key : doc.keys().entrySet()) {
+                postings.computeIfAbsent(key.getKey(), k -> new Posting()).append(number, key.getValue());
+            }
+        }
+    }
+
+    private static Object[] sourceOf(Event event) {
+        List<String> interests = event.getInterests() != null ? new ArrayList<>(event.getInterests()) : null;
+        return new Object[]{event.getTitle(), interests, event.getLocation(), event.getDescription()};
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Doc toDoc(String id, Object[] source) {
+        Doc doc = new Doc(id, source);
+        doc.fieldText[Field.TITLE.ordinal()] = normalize((String) source[0]);
+        StringBuilder interests = new StringBuilder();
+        if (source[1] != null) {
+            for (String interest : (List<String>) source[1]) {
+                if (interest != null) {
+                    interests.append(interest).append(' ');
+                }
+            }
+        }
+        doc.fieldText[Field.INTERESTS.ordinal()] = normalize(interests.toString());
+        doc.fieldText[Field.LOCATION.ordinal()] = normalize((String) source[2]);
+        doc.fieldText[Field.DESCRIPTION.ordinal()] = normalize((String) source[3]);
+        return doc;
+    }
+
+    /**
+     * Lowercases and splits text into words of letters and digits.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static String normalize(String text) {
+        List<String> tokens = tokenize(text);
+        if (tokens.isEmpty()) {
+            return " ";
+        }
+        return " " + String.join(" ", tokens) + " ";
+    }
+
+    private static void addKeys(String word, int fieldBit, Map<String, Integer> keys) {
+        for (int n = 1; n <= MAX_GRAM; n++) {
+            for (int i = 0; i + n <= word.length(); i++) {
+                keys.merge(word.substring(i, i + n), fieldBit, (a, b) -> a | b);
+            }
+            if (n <= word.length()) {
+                keys.merge(PREFIX_MARK + word.substring(0, n), fieldBit, (a, b) -> a | b);
+            }
+        }
+        if (word.length() <= MAX_GRAM) {
+            keys.merge(WORD_MARK + word, fieldBit, (a, b) -> a | b);
+        }
+    }
+
+    /**
+     * Grams that must all be present for a word to contain {@code token}.
+     */
+    static List<String> queryGrams(String token) {
+        List<String> grams = new ArrayList<>();
+        if (token.length() <= MAX_GRAM) {
+            grams.add(token);
+            return grams;
+        }
+        for (int i = 0; i + MAX_GRAM <= token.length(); i++) {
+            grams.add(token.substring(i, i + MAX_GRAM));
+        }
+        return grams;
+    }
+}
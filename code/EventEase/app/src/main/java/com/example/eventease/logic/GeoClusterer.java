@@ -0,0 +1,170 @@
+package com.example.eventease.logic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups map points into grid clusters for one viewport and zoom level.
+ *
+ * <p>Points are projected to Web Mercator once, when the clusterer is built. Each
+ * {@link #cluster} call then buckets the points inside the viewport into square cells of
+ * {@code cellPx} screen pixels at the given zoom, which is a single pass over the points, so the
+ * map only ever holds one marker per occupied cell. Cells are aligned to the whole zoom level, so
+ * clusters stay put while the user pans or zooms within a level.
+ *
+ * <p>Instances are immutable and can be used from a background thread.
+ */
+public final class GeoClusterer {
+
+    /** Web Mercator stops at this latitude. */
+    private static final double MAX_LATITUDE = 85.05112878;
+    private static final double TILE_SIZE = 256.0;
+
+    /**
+     * One point to cluster.
+     */
+    public static final class Item {
+        public final String id;
+        public final String label;
+        public final double latitude;
+        public final double longitude;
+        final double x;
+        final double y;
+
+        public Item(String id, String label, double latitude, double longitude) {
+            this.id = id;
+            this.label = label;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.x = mercatorX(longitude);
+            this.y = mercatorY(latitude);
+        }
+    }
+
+    /**
+     * A marker to draw: a single item, or the centroid of several.
+     */
+    public static final class Cluster {
+        /** Stable for as long as the same cell holds the same number of items. */
+        public final String key;
+        public final double latitude;
+        public final double longitude;
+        public final int count;
+        /** The item when {@link #count} is 1, otherwise null. */
+        public final Item item;
+
+        Cluster(String key, double latitude, double longitude, int count, Item item) {
+            this.key = key;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.count = count;
+            this.item = item;
+        }
+    }
+
+    private static final class Cell {
+        final long cellX;
+        final long cellY;
+        double sumX;
+        double sumY;
+        int count;
+        Item first;
+
+        Cell(long cellX, long cellY) {
+            this.cellX = cellX;
+            this.cellY = cellY;
+        }
+    }
+
+    private final List<Item> items;
+
+    public GeoClusterer(List<Item> items) {
+        this.items = Collections.unmodifiableList(new ArrayList<>(items));
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Clusters the items inside the viewport, plus a margin of one cell so markers just off screen
+     * are already placed when the user pans.
+     *
+     * @param west may be greater than {@code east} when the viewport crosses the antimeridian
+     * @param zoom the camera zoom; the fractional part is ignored
+     * @param cellPx cell edge in screen pixels
+     */
+    public List<Cluster> cluster(double south, double west, double north, double east, float zoom, int cellPx) {
+        int level = Math.max(0, (int) Math.floor(zoom));
+        double cell = cellPx / (TILE_SIZE * Math.pow(2, level));
+
+        double top = mercatorY(north) - cell;
+        double bottom = mercatorY(south) + cell;
+        double left = mercatorX(west) - cell;
+        double right = mercatorX(east) + cell;
+        boolean wraps = west > east;
+
+        Map<Long, Cell> cells = new HashMap<>();
+        List<Cell> order = new ArrayList<>();
+        for (Item item : items) {
+            if (item.y < top || item.y > bottom) {
+                continue;
+            }
+            boolean inside = wraps
+                    ? item.x >= left || item.x <= right
+                    : item.x >= left && item.x <= right;
+            if (!inside) {
+                continue;
+            }
+            long cellX = (long) Math.floor(item.x / cell);
+            long cellY = (long) Math.floor(item.y / cell);
+            Long key = (cellX << 32) ^ cellY;
+            Cell bucket = cells.get(key);
+            if (bucket == null) {
+                bucket = new Cell(cellX, cellY);
+                bucket.first = item;
+                cells.put(key, bucket);
+                order.add(bucket);
+            }
+            bucket.sumX += item.x;
+            bucket.sumY += item.y;
+            bucket.count++;
+        }
+
+        List<Cluster> clusters = new ArrayList<>(order.size());
+        for (Cell bucket : order) {
+            String key = level + "/" + bucket.cellX + "/" + bucket.cellY + "/" + bucket.count;
+            if (bucket.count == 1) {
+                Item item = bucket.first;
+                clusters.add(new Cluster(key, item.latitude, item.longitude, 1, item));
+            } else {
+                clusters.add(new Cluster(key, latitudeOf(bucket.sumY / bucket.count),
+                        longitudeOf(bucket.sumX / bucket.count), bucket.count, null));
+            }
+        }
+        return clusters;
+    }
+
+    /** Longitude to a 0..1 fraction of the world width. */
+    static double mercatorX(double longitude) {
+        return (longitude + 180.0) / 360.0;
+    }
+
+    /** Latitude to a 0..1 fraction of the world height, 0 at the top. */
+    static double mercatorY(double latitude) {
+        double clamped = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude));
+        double sin = Math.sin(Math.toRadians(clamped));
+        return 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+    }
+
+    static double longitudeOf(double x) {
+        return x * 360.0 - 180.0;
+    }
+
+    static double latitudeOf(double y) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * y))));
+    }
+}
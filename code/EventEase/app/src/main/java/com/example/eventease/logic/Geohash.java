@@ -0,0 +1,63 @@
+package com.example.eventease.logic;
+
+/**
+ * Geohash encoding for entrant locations.
+ *
+ * <p>A geohash interleaves longitude and latitude bits into a base-32 string, so every point in
+ * a cell shares the cell's hash as a prefix.
+ *
+ * <p>Waitlist entries store a {@link #STORED_PRECISION}-character hash. Per-event counts are
+ * aggregated by {@link #CELL_PRECISION}-character prefix.
+ */
+public final class Geohash {
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    /** Stored on each entry, roughly 1 m. */
+    public static final int STORED_PRECISION = 10;
+    /** Cells counted per event, roughly 5 km x 5 km. */
+    public static final int CELL_PRECISION = 5;
+
+    private Geohash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        if (precision < 1 || precision > 12) {
+            throw new IllegalArgumentException("precision must be between 1 and 12: " + precision);
+        }
+        double minLat = -90, maxLat = 90;
+        double minLng = -180, maxLng = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLng = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(ch));
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+}
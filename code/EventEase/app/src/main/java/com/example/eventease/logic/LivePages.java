@@ -0,0 +1,111 @@
+package com.example.eventease.logic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The pages of a feed whose first page is live and whose later pages are one-shot reads.
+ *
+ * <p>Later pages continue from the last item of the live page as it was when the next page was
+ * requested. When an item is inserted above that point, the live page's old last item is pushed
+ * off it, and no later page contains it because the read started after it. {@link #setLive}
+ * detects such items (they left the live page and sort after its new last item) and keeps them at
+ * the head of the later pages, so the later pages start again right after the live page.
+ *
+ * <p>An item that left the live page and sorts before its new last item was deleted and is dropped.
+ * Items are identified by id; an item on both the live page and a later page is shown once, at
+ * its live position.
+ */
+public final class LivePages<T> {
+
+    /** Extracts the id of an item. */
+    public interface Ids<T> {
+        String idOf(T item);
+    }
+
+    private final Comparator<T> order;
+    private final Ids<T> ids;
+
+    private List<T> live = Collections.emptyList();
+    private final List<T> later = new ArrayList<>();
+    /** Whether a later page has been requested from the live page's last item. */
+    private boolean anchored;
+
+    /**
+     * @param order the order of the feed's query, including its tie-breaker
+     */
+    public LivePages(Comparator<T> order, Ids<T> ids) {
+        this.order = order;
+        this.ids = ids;
+    }
+
+    /**
+     * Replaces the live page with its latest snapshot.
+     */
+    public void setLive(List<T> page) {
+        if (anchored && !page.isEmpty()) {
+            T last = page.get(page.size() - 1);
+            Set<String> kept = new HashSet<>();
+            for (T item : page) {
+                kept.add(ids.idOf(item));
+            }
+            List<T> pushed = new ArrayList<>();
+            for (T item : live) {
+                if (!kept.contains(ids.idOf(item)) && order.compare(item, last) > 0) {
+                    pushed.add(item);
+                }
+            }
+            later.addAll(0, pushed);
+        }
+        live = new ArrayList<>(page);
+    }
+
+    /**
+     * The item the next later page starts after, or null when nothing has been loaded. Call when
+     * requesting the next page.
+     */
+    public T cursor() {
+        if (!later.isEmpty()) {
+            return later.get(later.size() - 1);
+        }
+        if (live.isEmpty()) {
+            return null;
+        }
+        anchored = true;
+        return live.get(live.size() - 1);
+    }
+
+    /**
+     * Appends a later page read from {@link #cursor}.
+     */
+    public void addLater(List<T> page) {
+        later.addAll(page);
+    }
+
+    /**
+     * The live page followed by the later pages, each item once.
+     */
+    public List<T> merged() {
+        return merge(live, later, ids);
+    }
+
+    /**
+     * Concatenates {@code first} and {@code rest}, keeping the first occurrence of each id.
+     */
+    public static <T> List<T> merge(List<T> first, List<T> rest, Ids<T> ids) {
+        Map<String, T> merged = new LinkedHashMap<>();
+        for (T item : first) {
+            merged.putIfAbsent(ids.idOf(item), item);
+        }
+        for (T item : rest) {
+            merged.putIfAbsent(ids.idOf(item), item);
+        }
+        return new ArrayList<>(merged.values());
+    }
+}
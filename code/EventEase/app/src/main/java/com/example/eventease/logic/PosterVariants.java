@@ -0,0 +1,87 @@
+package com.example.eventease.logic;
+
+/**
+ * Sizes, storage paths and event fields of the downscaled copies kept for every event poster.
+ *
+ * <p>List screens show {@link Variant#THUMB}, which is a few tens of kilobytes, instead of the
+ * full upload. Events created before the variants existed only have {@code posterUrl}, so
+ * {@link #listUrl} falls back to the next larger variant that is present.
+ */
+public final class PosterVariants {
+    private PosterVariants(){}
+
+    /** Storage folder holding the thumb and medium copies, apart from the full posters. */
+    public static final String VARIANTS_FOLDER = "posters/variants/";
+    public static final String CONTENT_TYPE = "image/webp";
+
+    /**
+     * One stored size of a poster.
+     */
+    public enum Variant {
+        THUMB("thumb", 320, 70, "posterThumbUrl"),
+        MEDIUM("medium", 800, 80, "posterMediumUrl"),
+        FULL("full", 1600, 85, "posterUrl");
+
+        /** Suffix used in the storage file name. */
+        public final String suffix;
+        /** Longest edge in pixels; smaller images are not upscaled. */
+        public final int maxEdge;
+        /** WebP quality, 0-100. */
+        public final int quality;
+        /** Event document field holding the download URL. */
+        public final String field;
+
+        Variant(String suffix, int maxEdge, int quality, String field) {
+            this.suffix = suffix;
+            this.maxEdge = maxEdge;
+            this.quality = quality;
+            this.field = field;
+        }
+    }
+
+    /**
+     * Scales {@code width} x {@code height} down so the longest edge is at most {@code maxEdge},
+     * keeping the aspect ratio.
+     *
+     * @return {width, height}, each at least 1
+     */
+    public static int[] scaledSize(int width, int height, int maxEdge) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Invalid size " + width + "x" + height);
+        }
+        int longest = Math.max(width, height);
+        if (longest <= maxEdge) {
+            return new int[] {width, height};
+        }
+        double scale = (double) maxEdge / longest;
+        return new int[] {
+                Math.max(1, (int) Math.round(width * scale)),
+                Math.max(1, (int) Math.round(height * scale))
+        };
+    }
+
+    /**
+     * Storage path of a variant. The full poster keeps the top-level {@code posters/} folder.
+     */
+    public static String storagePath(String eventId, Variant variant) {
+        if (variant == Variant.FULL) {
+            return "posters/" + eventId + ".webp";
+        }
+        return VARIANTS_FOLDER + eventId + "_" + variant.suffix + ".webp";
+    }
+
+    /**
+     * The URL to show in a list card: the thumbnail, or the smallest larger variant available.
+     *
+     * @return the URL, or null if the event has no poster
+     */
+    public static String listUrl(String thumbUrl, String mediumUrl, String fullUrl) {
+        if (!isBlank(thumbUrl)) return thumbUrl;
+        if (!isBlank(mediumUrl)) return mediumUrl;
+        return isBlank(fullUrl) ? null : fullUrl;
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.trim().isEmpty();
+    }
+}
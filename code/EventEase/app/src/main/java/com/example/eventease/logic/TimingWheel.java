@@ -0,0 +1,316 @@
+package com.example.eventease.logic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel holding items that fall due at given times.
+ *
+ * <p>Level 0 has {@code wheelSize} buckets of {@code tickMs} each. Every further level has the
+ * same number of buckets, each as wide as the whole level below it, and levels are added as
+ * far-off items need them. An item is placed in the lowest level whose range covers its due
+ * time. When time reaches one of a higher level's buckets, its items are moved down into the
+ * finer levels, so each item is handled at most once per level.
+ *
+ * <p>Scheduling and cancelling are O(1). Items come out of {@link #advanceTo(long)} at the first
+ * tick at or after their due time, so never early and at most one tick late. Times are epoch
+ * milliseconds and must not be negative.
+ *
+ * <p>Not thread-safe; drive it from one thread.
+ */
+public final class TimingWheel<T> {
+
+    /** A scheduled item. */
+    public final class Timeout {
+        private final long dueAtMs;
+        private final T item;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(long dueAtMs, T item) {
+            this.dueAtMs = dueAtMs;
+            this.item = item;
+        }
+
+        public long getDueAtMs() {
+            return dueAtMs;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        /**
+         * @return whether the item is still waiting to fall due
+         */
+        public boolean isPending() {
+            return bucket != null;
+        }
+
+        /**
+         * Removes the item from the wheel.
+         *
+         * @return false if it had already fallen due or been cancelled
+         */
+        public boolean cancel() {
+            if (bucket == null) {
+                return false;
+            }
+            bucket.unlink(this);
+            size--;
+            return true;
+        }
+    }
+
+    /** Doubly linked list of timeouts, so any one can be unlinked in O(1). */
+    private final class Bucket {
+        private final Level level;
+        private Timeout head;
+
+        Bucket(Level level) {
+            this.level = level;
+        }
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+            if (level != null) {
+                level.count++;
+            }
+        }
+
+        void unlink(Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+            if (level != null) {
+                level.count--;
+            }
+        }
+
+        /**
+         * Unlinks every timeout, oldest first.
+         */
+        List<Timeout> drain() {
+            List<Timeout> drained = new ArrayList<>();
+            while (head != null) {
+                drained.add(head);
+                unlink(head);
+            }
+            // Newest are at the head; hand them back in the order they were added
+            Collections.reverse(drained);
+            return drained;
+        }
+    }
+
+    private final class Level {
+        final long tickMs;
+        /** Time range covered by the level, or Long.MAX_VALUE if that would overflow. */
+        final long spanMs;
+        final List<Bucket> buckets;
+        int count;
+
+        Level(long tickMs) {
+            this.tickMs = tickMs;
+            this.spanMs = tickMs > Long.MAX_VALUE / wheelSize ? Long.MAX_VALUE : tickMs * wheelSize;
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new Bucket(this));
+            }
+        }
+
+        Bucket bucketFor(long timeMs) {
+            return buckets.get((int) ((timeMs / tickMs) % wheelSize));
+        }
+    }
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Level> levels = new ArrayList<>();
+    /** Items that were already due when scheduled; returned by the next advance. */
+    private final Bucket ready = new Bucket(null);
+    /** Start of the last processed tick. */
+    private long currentMs;
+    private int size;
+
+    /**
+     * @param tickMs resolution of the wheel
+     * @param wheelSize buckets per level
+     * @param startMs current time
+     */
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2 || startMs < 0) {
+            throw new IllegalArgumentException("tickMs and startMs must be positive and wheelSize at least 2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentMs = floor(startMs, tickMs);
+        levels.add(new Level(tickMs));
+    }
+
+    /**
+     * Schedules {@code item} to fall due at {@code dueAtMs}. An item that is already due is
+     * returned by the next {@link #advanceTo(long)}.
+     */
+    public Timeout schedule(long dueAtMs, T item) {
+        Timeout timeout = new Timeout(Math.max(0, dueAtMs), item);
+        insert(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMs}.
+     *
+     * @return the items that fell due, in tick order
+     */
+    public List<T> advanceTo(long nowMs) {
+        List<T> expired = new ArrayList<>();
+        collect(ready, expired);
+        long targetMs = floor(nowMs, tickMs);
+        while (currentMs < targetMs) {
+            int lowest = lowestOccupiedLevel();
+            if (lowest < 0) {
+                currentMs = targetMs;
+                break;
+            }
+            // Nothing happens before the next tick of the lowest occupied level
+            long levelTick = levels.get(lowest).tickMs;
+            long nextMs = floor(currentMs, levelTick) + levelTick;
+            if (nextMs > targetMs) {
+                currentMs = targetMs;
+                break;
+            }
+            currentMs = nextMs;
+            processTick(expired);
+        }
+        return expired;
+    }
+
+    /**
+     * Time of the next call to {@link #advanceTo(long)} that can return or move items: the
+     * exact due tick when the nearest item is in the finest level, otherwise the tick at which
+     * items will be moved down. Long.MAX_VALUE when the wheel is empty.
+     */
+    public long nextWakeupMs() {
+        if (ready.head != null) {
+            return currentMs;
+        }
+        long next = Long.MAX_VALUE;
+        Level finest = levels.get(0);
+        if (finest.count > 0) {
+            for (int i = 1; i <= wheelSize; i++) {
+                long tickAt = currentMs + i * tickMs;
+                if (finest.bucketFor(tickAt).head != null) {
+                    next = tickAt;
+                    break;
+                }
+            }
+        }
+        // A coarser level may move an earlier item down before the finest level's next item
+        for (int i = 1; i < levels.size(); i++) {
+            Level level = levels.get(i);
+            if (level.count > 0) {
+                next = Math.min(next, floor(currentMs, level.tickMs) + level.tickMs);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * @return number of items still waiting to fall due
+     */
+    public int size() {
+        return size;
+    }
+
+    int levelCount() {
+        return levels.size();
+    }
+
+    private void insert(Timeout timeout) {
+        long dueAtMs = timeout.dueAtMs;
+        // Level 0 rounds up so an item is never returned before it is due
+        long dueTick = ceil(dueAtMs, tickMs);
+        if (dueTick <= currentMs) {
+            ready.add(timeout);
+            return;
+        }
+        Level finest = levels.get(0);
+        if (dueTick - currentMs <= finest.spanMs) {
+            finest.bucketFor(dueTick).add(timeout);
+            return;
+        }
+        // Higher levels round down, so items move to a finer level before they are due
+        for (int i = 1; ; i++) {
+            if (i == levels.size()) {
+                Level below = levels.get(i - 1);
+                levels.add(new Level(below.spanMs));
+            }
+            Level level = levels.get(i);
+            long bucketStart = floor(dueAtMs, level.tickMs);
+            if (bucketStart - floor(currentMs, level.tickMs) < level.spanMs) {
+                level.bucketFor(bucketStart).add(timeout);
+                return;
+            }
+        }
+    }
+
+    private void processTick(List<T> expired) {
+        // Empty this tick's buckets before moving items down: an item due a full level span
+        // from now belongs in the same slot and must wait for the next turn of the wheel
+        collect(levels.get(0).bucketFor(currentMs), expired);
+        for (int i = 1; i < levels.size(); i++) {
+            Level level = levels.get(i);
+            if (level.count > 0 && currentMs % level.tickMs == 0) {
+                for (Timeout timeout : level.bucketFor(currentMs).drain()) {
+                    insert(timeout);
+                }
+            }
+        }
+        collect(ready, expired);
+    }
+
+    private void collect(Bucket bucket, List<T> expired) {
+        if (bucket.head == null) {
+            return;
+        }
+        for (Timeout timeout : bucket.drain()) {
+            size--;
+            expired.add(timeout.item);
+        }
+    }
+
+    private int lowestOccupiedLevel() {
+        for (int i = 0; i < levels.size(); i++) {
+            if (levels.get(i).count > 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long floor(long timeMs, long unitMs) {
+        return timeMs - timeMs % unitMs;
+    }
+
+    private static long ceil(long timeMs, long unitMs) {
+        long floor = floor(timeMs, unitMs);
+        return floor == timeMs ? floor : floor + unitMs;
+    }
+}
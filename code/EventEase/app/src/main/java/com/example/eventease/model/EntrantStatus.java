@@ -0,0 +1,142 @@
+package com.example.eventease.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Lifecycle state of an entrant within a single event.
+ *
+ * <p>Each entrant has exactly one status per event, stored in the {@code status} field of
+ * {@code events/{eventId}/entrants/{uid}}. This enum is the state machine for that field: it
+ * lists the states and which transitions between them are legal, so every writer (joining,
+ * lottery selection, accepting or declining an invitation, deadline processing, organizer moves)
+ * goes through the same rules instead of deleting and re-creating documents in several
+ * subcollections.</p>
+ *
+ * <p>Leaving the event entirely (leaving the waitlist, profile deletion) is not a status; the
+ * entrant document is deleted instead.</p>
+ *
+ * <p>Each status also names the legacy subcollection ({@link #legacyCollection()}) that older
+ * screens and Cloud Functions still read. Those subcollections are kept as a server-maintained
+ * projection of the entrant document.</p>
+ */
+public enum EntrantStatus {
+    /** On the waiting list, lottery not yet drawn. */
+    WAITLISTED("WaitlistedEntrants"),
+    /** Drawn in the lottery and holding an invitation. */
+    SELECTED("SelectedEntrants"),
+    /** Not drawn in the lottery; may still be picked as a replacement. */
+    NON_SELECTED("NonSelectedEntrants"),
+    /** Declined, missed the invitation deadline, or removed by the organizer. */
+    CANCELLED("CancelledEntrants"),
+    /** Accepted the invitation and is attending. */
+    ADMITTED("AdmittedEntrants");
+
+    private final String legacyCollection;
+
+    EntrantStatus(String legacyCollection) {
+        this.legacyCollection = legacyCollection;
+    }
+
+    /**
+     * Gets the name of the per-status subcollection this state used to be stored in.
+     *
+     * @return the legacy subcollection name
+     */
+    public String legacyCollection() {
+        return legacyCollection;
+    }
+
+    /**
+     * Gets the states this state may move to.
+     * Cancelled and not-selected entrants may join the waitlist again; selected and admitted
+     * entrants may not.
+     *
+     * @return the legal next states (never contains this state)
+     */
+    public Set<EntrantStatus> nextStates() {
+        switch (this) {
+            case WAITLISTED:
+                return Collections.unmodifiableSet(EnumSet.of(SELECTED, NON_SELECTED, CANCELLED));
+            case SELECTED:
+                return Collections.unmodifiableSet(EnumSet.of(ADMITTED, NON_SELECTED, CANCELLED));
+            case NON_SELECTED:
+                return Collections.unmodifiableSet(EnumSet.of(SELECTED, CANCELLED, WAITLISTED));
+            case CANCELLED:
+                return Collections.unmodifiableSet(EnumSet.of(SELECTED, NON_SELECTED, WAITLISTED));
+            case ADMITTED:
+                return Collections.unmodifiableSet(EnumSet.of(NON_SELECTED, CANCELLED));
+            default:
+                return Collections.emptySet();
+        }
+    }
+
+    /**
+     * Checks whether moving from {@code from} to {@code to} is legal.
+     * A {@code null} source means the entrant has no document yet, which may only become WAITLISTED.
+     * Re-applying the current state is allowed so retried writes are idempotent.
+     *
+     * @param from the current state, or null if the entrant is not part of the event
+     * @param to the requested state
+     * @return true if the transition is allowed
+     */
+    public static boolean canTransition(EntrantStatus from, EntrantStatus to) {
+        if (to == null) {
+            return false;
+        }
+        if (from == null) {
+            return to == WAITLISTED;
+        }
+        return from == to || from.nextStates().contains(to);
+    }
+
+    /**
+     * Parses a stored status value.
+     *
+     * @param value the stored string, may be null
+     * @return the matching status, or null if the value is missing or unknown
+     */
+    public static EntrantStatus fromString(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Maps a legacy subcollection name to its status.
+     *
+     * @param collection the subcollection name, e.g. "SelectedEntrants"
+     * @return the matching status, or null if the name is not an entrant subcollection
+     */
+    public static EntrantStatus fromLegacyCollection(String collection) {
+        for (EntrantStatus status : values()) {
+            if (status.legacyCollection.equals(collection)) {
+                return status;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Derives a status from which legacy subcollections hold a document for the entrant.
+     * Admitted entrants keep an ACCEPTED record in SelectedEntrants, so admission wins over selection,
+     * and a cancellation wins over a stale waitlist entry.
+     *
+     * @return the derived status, or null if the entrant is in none of them
+     */
+    public static EntrantStatus fromLegacyPresence(boolean waitlisted, boolean selected, boolean nonSelected,
+                                                   boolean cancelled, boolean admitted) {
+        if (admitted) return ADMITTED;
+        if (selected) return SELECTED;
+        if (cancelled) return CANCELLED;
+        if (nonSelected) return NON_SELECTED;
+        if (waitlisted) return WAITLISTED;
+        return null;
+    }
+}
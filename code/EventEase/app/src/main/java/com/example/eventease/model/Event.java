@@ -1,6 +1,7 @@
 package com.example.eventease.model;
 
 import androidx.annotation.Nullable;
+import com.example.eventease.logic.PosterVariants;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Date;
@@ -48,6 +49,10 @@ public class Event implements Serializable {
     @Nullable public String guidelines;
     /** URL of the event poster image. */
     @Nullable public String posterUrl;
+    /** URL of the small poster variant shown in list cards. */
+    @Nullable public String posterThumbUrl;
+    /** URL of the medium poster variant. */
+    @Nullable public String posterMediumUrl;
     /** Unique identifier of the event organizer. */
     public String organizerId;
     /** Event creation timestamp in milliseconds UTC. */
@@ -100,6 +105,8 @@ public class Event implements Serializable {
         m.put("description", description);
         m.put("guidelines", guidelines);
         m.put("posterUrl", posterUrl);
+        m.put("posterThumbUrl", posterThumbUrl);
+        m.put("posterMediumUrl", posterMediumUrl);
         m.put("organizerId", organizerId);
         m.put("createdAtEpochMs", createdAtEpochMs);
         m.put("qrPayload", qrPayload);
@@ -188,6 +195,8 @@ public class Event implements Serializable {
         }
         e.guidelines = (String) m.get("guidelines");
         e.posterUrl = (String) m.get("posterUrl");
+        e.posterThumbUrl = (String) m.get("posterThumbUrl");
+        e.posterMediumUrl = (String) m.get("posterMediumUrl");
         e.organizerId = (String) m.get("organizerId");
         
         Object createdAt = m.get("createdAtEpochMs");
@@ -412,6 +421,44 @@ public class Event implements Serializable {
      */
     public void setPosterUrl(@Nullable String posterUrl) { this.posterUrl = posterUrl; }
 
+    /**
+     * Gets the URL of the small poster variant.
+     *
+     * @return the thumbnail URL, or null if not set
+     */
+    @Nullable public String getPosterThumbUrl() { return posterThumbUrl; }
+
+    /**
+     * Sets the URL of the small poster variant.
+     *
+     * @param posterThumbUrl the thumbnail URL to set
+     */
+    public void setPosterThumbUrl(@Nullable String posterThumbUrl) { this.posterThumbUrl = posterThumbUrl; }
+
+    /**
+     * Gets the URL of the medium poster variant.
+     *
+     * @return the medium URL, or null if not set
+     */
+    @Nullable public String getPosterMediumUrl() { return posterMediumUrl; }
+
+    /**
+     * Sets the URL of the medium poster variant.
+     *
+     * @param posterMediumUrl the medium URL to set
+     */
+    public void setPosterMediumUrl(@Nullable String posterMediumUrl) { this.posterMediumUrl = posterMediumUrl; }
+
+    /**
+     * Gets the poster URL to show in list cards: the thumbnail when the event has one, otherwise
+     * the full poster.
+     *
+     * @return the list poster URL, or null if the event has no poster
+     */
+    @Nullable public String getListPosterUrl() {
+        return PosterVariants.listUrl(posterThumbUrl, posterMediumUrl, posterUrl);
+    }
+
     /**
      * Gets the unique identifier of the event organizer.
      *
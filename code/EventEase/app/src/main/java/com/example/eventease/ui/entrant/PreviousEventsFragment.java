@@ -24,6 +24,7 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
+import com.example.eventease.image.PosterPreloader;
 import com.example.eventease.App;
 import com.example.eventease.R;
 import com.example.eventease.data.AdmittedRepository;
@@ -53,6 +54,7 @@ public class PreviousEventsFragment extends Fragment {
     private ProgressBar progressBar;
     private TextView emptyView;
     private PreviousEventsAdapter adapter;
+    private PosterPreloader posterPreloader;
     private AdmittedRepository admittedRepo;
 
     @Nullable
@@ -91,6 +93,8 @@ public class PreviousEventsFragment extends Fragment {
         recyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
         adapter = new PreviousEventsAdapter();
         recyclerView.setAdapter(adapter);
+        posterPreloader = new PosterPreloader(Glide.with(this), adapter::posterUrlAt);
+        posterPreloader.attachTo(recyclerView);
 
         return root;
     }
@@ -270,6 +274,10 @@ public class PreviousEventsFragment extends Fragment {
                 Color.parseColor("#FF9E9D")
         };
 
+        String posterUrlAt(int position) {
+            return position >= 0 && position < events.size() ? events.get(position).getListPosterUrl() : null;
+        }
+
         void submitEvents(List<Event> newEvents) {
             events.clear();
             if (newEvents != null) {
@@ -283,7 +291,11 @@ public class PreviousEventsFragment extends Fragment {
         public VH onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
             View view = LayoutInflater.from(parent.getContext())
                     .inflate(R.layout.entrant_item_event_card, parent, false);
-            return new VH(view);
+            VH holder = new VH(view);
+            if (posterPreloader != null) {
+                posterPreloader.trackView(holder.poster);
+            }
+            return holder;
         }
 
         @Override
@@ -357,11 +369,9 @@ public class PreviousEventsFragment extends Fragment {
                 }
                 meta.setText(metaText);
 
-                Glide.with(poster.getContext())
-                        .load(event.getPosterUrl())
+                PosterPreloader.request(Glide.with(poster), event.getListPosterUrl())
                         .placeholder(R.drawable.entrant_image_placeholder_event)
                         .error(R.drawable.entrant_image_placeholder_event)
-                        .centerCrop()
                         .into(poster);
 
                 if (accentDot != null) {
@@ -23,6 +23,7 @@ import androidx.navigation.Navigation;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.eventease.image.PosterPreloader;
 import com.example.eventease.data.AdmittedRepository;
 import com.example.eventease.model.Event;
 import com.example.eventease.ui.entrant.eventdetail.EventDetailActivity;
@@ -46,6 +47,7 @@ public class UpcomingEventsFragment extends Fragment {
     private ProgressBar progressBar;
     private TextView emptyView;
     private UpcomingEventsAdapter adapter;
+    private PosterPreloader posterPreloader;
     private AdmittedRepository admittedRepo;
 
     @Nullable
@@ -84,6 +86,8 @@ public class UpcomingEventsFragment extends Fragment {
         recyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
         adapter = new UpcomingEventsAdapter();
         recyclerView.setAdapter(adapter);
+        posterPreloader = new PosterPreloader(Glide.with(this), adapter::posterUrlAt);
+        posterPreloader.attachTo(recyclerView);
 
         return root;
     }
@@ -180,6 +184,10 @@ public class UpcomingEventsFragment extends Fragment {
                 Color.parseColor("#FF9E9D")
         };
 
+        String posterUrlAt(int position) {
+            return position >= 0 && position < events.size() ? events.get(position).getListPosterUrl() : null;
+        }
+
         void submitEvents(List<Event> newEvents) {
             events.clear();
             if (newEvents != null) {
@@ -193,7 +201,11 @@ public class UpcomingEventsFragment extends Fragment {
         public VH onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
             View view = LayoutInflater.from(parent.getContext())
                     .inflate(R.layout.entrant_item_event_card, parent, false);
-            return new VH(view);
+            VH holder = new VH(view);
+            if (posterPreloader != null) {
+                posterPreloader.trackView(holder.poster);
+            }
+            return holder;
         }
 
         @Override
@@ -266,11 +278,9 @@ public class UpcomingEventsFragment extends Fragment {
                 }
                 meta.setText(metaText);
 
-                Glide.with(poster.getContext())
-                        .load(event.getPosterUrl())
+                PosterPreloader.request(Glide.with(poster), event.getListPosterUrl())
                         .placeholder(R.drawable.entrant_image_placeholder_event)
                         .error(R.drawable.entrant_image_placeholder_event)
-                        .centerCrop()
                         .into(poster);
 
                 if (accentDot != null) {
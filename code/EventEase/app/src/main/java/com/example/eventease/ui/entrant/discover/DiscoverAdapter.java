@@ -18,6 +18,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.eventease.model.Event;
 import com.bumptech.glide.Glide;
 import com.example.eventease.R;
+import com.example.eventease.image.PosterPreloader;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -28,6 +29,7 @@ import java.util.Locale;
 /**
  * RecyclerView adapter for displaying discoverable events.
  * Binds event data to card views with images, titles, dates, and locations.
+ * Asks for the next page through {@link OnLoadMoreListener} when the list is scrolled near its end.
  */
 public class DiscoverAdapter extends RecyclerView.Adapter<DiscoverAdapter.VH> {
 
@@ -35,8 +37,18 @@ public class DiscoverAdapter extends RecyclerView.Adapter<DiscoverAdapter.VH> {
         void onEventClick(@NonNull Event event);
     }
 
+    public interface OnLoadMoreListener {
+        void onLoadMore();
+    }
+
+    /** How many items before the end of the list the next page is requested. */
+    private static final int LOAD_MORE_THRESHOLD = 5;
+
     private final List<Event> items = new ArrayList<>();
     private final OnEventClickListener onClickListener;
+    @Nullable private OnLoadMoreListener onLoadMoreListener;
+    @Nullable private PosterPreloader posterPreloader;
+    private boolean hasMore;
 
     @SuppressLint("SimpleDateFormat")
     private static final SimpleDateFormat DATE_FORMAT =
@@ -56,9 +68,33 @@ public class DiscoverAdapter extends RecyclerView.Adapter<DiscoverAdapter.VH> {
 
     public void clear() {
         items.clear();
+        hasMore = false;
         notifyDataSetChanged();
     }
 
+    public void setOnLoadMoreListener(@Nullable OnLoadMoreListener listener) {
+        this.onLoadMoreListener = listener;
+    }
+
+    public void setPosterPreloader(@Nullable PosterPreloader posterPreloader) {
+        this.posterPreloader = posterPreloader;
+    }
+
+    /**
+     * The list poster of the event at {@code position}, for {@link PosterPreloader}.
+     */
+    @Nullable
+    public String posterUrlAt(int position) {
+        return position >= 0 && position < items.size() ? items.get(position).getListPosterUrl() : null;
+    }
+
+    /**
+     * Sets whether more events can be loaded after the current items.
+     */
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
     private static final int[] ACCENT_COLORS = {
             Color.parseColor("#7FE8F5"),
             Color.parseColor("#F8B3FF"),
@@ -112,11 +148,9 @@ public class DiscoverAdapter extends RecyclerView.Adapter<DiscoverAdapter.VH> {
             }
             tvMeta.setText(meta);
 
-            Glide.with(ivPoster.getContext())
-                    .load(event.getPosterUrl())
+            PosterPreloader.request(Glide.with(ivPoster), event.getListPosterUrl())
                     .placeholder(R.drawable.entrant_image_placeholder_event)
                     .error(R.drawable.entrant_image_placeholder_event)
-                    .centerCrop()
                     .into(ivPoster);
 
             if (accentDot != null) {
@@ -137,12 +171,19 @@ public class DiscoverAdapter extends RecyclerView.Adapter<DiscoverAdapter.VH> {
     public VH onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View v = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.entrant_item_event_card, parent, false);
-        return new VH(v);
+        VH holder = new VH(v);
+        if (posterPreloader != null) {
+            posterPreloader.trackView(holder.ivPoster);
+        }
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull VH holder, int position) {
         holder.bind(items.get(position), onClickListener);
+        if (hasMore && onLoadMoreListener != null && position >= items.size() - LOAD_MORE_THRESHOLD) {
+            onLoadMoreListener.onLoadMore();
+        }
     }
 
     @Override
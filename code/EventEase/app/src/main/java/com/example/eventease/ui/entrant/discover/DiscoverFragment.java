@@ -3,9 +3,7 @@ package com.example.eventease.ui.entrant.discover;
 import android.app.DatePickerDialog;
 import android.app.Dialog;
 import android.content.Intent;
-import android.graphics.Bitmap;
 import android.graphics.Color;
-import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.ColorDrawable;
 import android.os.Bundle;
 import android.text.Editable;
@@ -22,10 +20,6 @@ import android.widget.ProgressBar;
 import android.widget.RadioButton;
 import android.widget.TextView;
 import android.widget.Toast;
-import android.renderscript.Allocation;
-import android.renderscript.Element;
-import android.renderscript.RenderScript;
-import android.renderscript.ScriptIntrinsicBlur;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -33,23 +27,26 @@ import androidx.fragment.app.Fragment;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.bumptech.glide.Glide;
+import com.example.eventease.data.firebase.UpcomingEventsPager;
+import com.example.eventease.image.PosterPreloader;
+import com.example.eventease.logic.EventSearchIndex;
 import com.example.eventease.model.Event;
 import com.example.eventease.R;
-import com.google.firebase.firestore.DocumentSnapshot;
+import com.example.eventease.image.BlurEngine;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.FirebaseFirestoreException;
-import com.google.firebase.firestore.ListenerRegistration;
-import com.google.firebase.firestore.Query;
-import com.google.firebase.firestore.QuerySnapshot;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Fragment for discovering and browsing available events.
@@ -60,24 +57,36 @@ import java.util.Locale;
  * 
  * <p>Features:
  * <ul>
- *   <li>Real-time event updates using Firestore listeners</li>
+ *   <li>Upcoming events loaded a page at a time, ordered by start time, with infinite scroll</li>
+ *   <li>Real-time updates for the first page using a Firestore listener</li>
+ *   <li>Date filters applied in the Firestore query; search and location filters on the loaded events</li>
  *   <li>Event cards showing title, date, location, and poster image</li>
  *   <li>Click to view event details and join waitlist</li>
  *   <li>Empty state message when no events are available</li>
  * </ul>
  * 
- * <p>The fragment automatically updates when events are added, modified, or removed from Firestore.
+ * <p>The first page updates automatically when events are added, modified, or removed from Firestore;
+ * later pages are fetched once as the user scrolls.
  */
 public class DiscoverFragment extends Fragment {
 
+    /** Keep loading pages while fewer than this many events pass the search/location filters. */
+    private static final int MIN_VISIBLE_EVENTS = 10;
+
     private DiscoverAdapter adapter;
-    private ListenerRegistration eventsRegistration;
+    private UpcomingEventsPager pager;
+    private DateFilterOption pagerDateFilter;
+    private long pagerCustomDateMs;
+    private boolean hasMore;
     private ProgressBar progressView;
     private TextView emptyView;
     private EditText searchInput;
     private String searchQuery = "";
     private String locationFilter = "";
     private final List<Event> allEvents = new ArrayList<>();
+    private final Map<String, Event> eventsById = new HashMap<>();
+    /** Search and location filtering over the loaded events, updated as pages arrive. */
+    private final EventSearchIndex searchIndex = new EventSearchIndex();
 
     private enum DateFilterOption {
         ANY_DATE,
@@ -115,7 +124,15 @@ public class DiscoverFragment extends Fragment {
             intent.putExtra(EventDetailsDiscoverActivity.EXTRA_EVENT_ID, event.getId());
             startActivity(intent);
         });
+        adapter.setOnLoadMoreListener(() -> {
+            if (pager != null) {
+                pager.loadNextPage();
+            }
+        });
         rv.setAdapter(adapter);
+        PosterPreloader posterPreloader = new PosterPreloader(Glide.with(this), adapter::posterUrlAt);
+        adapter.setPosterPreloader(posterPreloader);
+        posterPreloader.attachTo(rv);
 
         View filterButton = view.findViewById(R.id.discover_filter);
         if (filterButton != null) {
@@ -166,9 +183,9 @@ public class DiscoverFragment extends Fragment {
     @Override
     public void onDestroyView() {
         super.onDestroyView();
-        if (eventsRegistration != null) {
-            eventsRegistration.remove();
-            eventsRegistration = null;
+        if (pager != null) {
+            pager.stop();
+            pager = null;
         }
         adapter = null;
         progressView = null;
@@ -194,16 +211,7 @@ public class DiscoverFragment extends Fragment {
             dialog.getWindow().clearFlags(WindowManager.LayoutParams.FLAG_DIM_BEHIND);
         }
 
-        Bitmap screenshot = captureScreenshot();
-        if (screenshot != null) {
-            Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-            if (blurredBitmap != null) {
-                View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
-                if (blurBackground != null) {
-                    blurBackground.setBackground(new BitmapDrawable(getResources(), blurredBitmap));
-                }
-            }
-        }
+        BlurEngine.getInstance().blurBehind(getActivity(), dialog.findViewById(R.id.dialogBlurBackground));
 
         View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
         ImageButton closeButton = dialog.findViewById(R.id.btnFilterClose);
@@ -233,7 +241,12 @@ public class DiscoverFragment extends Fragment {
                             ? etFilterLocation.getText().toString().trim()
                             : "";
                 }
-                applyFiltersAndUpdateUI();
+                if (activeDateFilter != pagerDateFilter || customDateFilterStartMs != pagerCustomDateMs) {
+                    // The date range is part of the query
+                    listenForEvents();
+                } else {
+                    applyFiltersAndUpdateUI();
+                }
                 dialog.dismiss();
             });
         }
@@ -348,90 +361,77 @@ public class DiscoverFragment extends Fragment {
         }
     }
 
-    private Bitmap captureScreenshot() {
-        try {
-            if (getActivity() == null || getActivity().getWindow() == null) return null;
-            View rootView = getActivity().getWindow().getDecorView().getRootView();
-            rootView.setDrawingCacheEnabled(true);
-            Bitmap bitmap = Bitmap.createBitmap(rootView.getDrawingCache());
-            rootView.setDrawingCacheEnabled(false);
-            return bitmap;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
-    }
-
-    private Bitmap blurBitmap(Bitmap bitmap, float radius) {
-        if (bitmap == null || getContext() == null) return null;
-
-        try {
-            int width = Math.round(bitmap.getWidth() * 0.4f);
-            int height = Math.round(bitmap.getHeight() * 0.4f);
-            Bitmap inputBitmap = Bitmap.createScaledBitmap(bitmap, width, height, false);
-            Bitmap outputBitmap = Bitmap.createBitmap(inputBitmap);
-
-            RenderScript rs = RenderScript.create(getContext());
-            ScriptIntrinsicBlur blurScript = ScriptIntrinsicBlur.create(rs, Element.U8_4(rs));
-            Allocation tmpIn = Allocation.createFromBitmap(rs, inputBitmap);
-            Allocation tmpOut = Allocation.createFromBitmap(rs, outputBitmap);
-
-            blurScript.setRadius(radius);
-            blurScript.setInput(tmpIn);
-            blurScript.forEach(tmpOut);
-            tmpOut.copyTo(outputBitmap);
-
-            rs.destroy();
-
-            return Bitmap.createScaledBitmap(outputBitmap, bitmap.getWidth(), bitmap.getHeight(), true);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return bitmap;
-        }
-    }
-
     private void listenForEvents() {
+        if (pager != null) {
+            pager.stop();
+        }
         setLoading(true);
-        FirebaseFirestore firestore = FirebaseFirestore.getInstance();
-        // Query all events without orderBy to ensure all events are returned
-        // We'll sort them in memory after fetching
-        Query query = firestore.collection("events");
-
-        eventsRegistration = query.addSnapshotListener((snapshots, error) -> {
-            if (!isAdded()) return;
-            if (error != null) {
+        allEvents.clear();
+        hasMore = false;
+
+        long now = System.currentTimeMillis();
+        long[] range = dateFilterRange(now);
+        pagerDateFilter = activeDateFilter;
+        pagerCustomDateMs = customDateFilterStartMs;
+        pager = new UpcomingEventsPager(FirebaseFirestore.getInstance(), range[0], range[1],
+                UpcomingEventsPager.DEFAULT_PAGE_SIZE, new UpcomingEventsPager.Listener() {
+            @Override
+            public void onEvents(@NonNull List<Event> events, boolean more) {
+                if (!isAdded()) return;
                 setLoading(false);
-                handleError(error);
-                return;
+                handleEvents(events, more);
+            }
+
+            @Override
+            public void onError(@NonNull Exception e) {
+                if (!isAdded()) return;
+                setLoading(false);
+                handleError(e);
             }
-            setLoading(false);
-            handleSnapshot(snapshots);
         });
+        pager.start();
     }
 
-    private void handleSnapshot(@Nullable QuerySnapshot snapshots) {
-        android.util.Log.d("DiscoverFragment", "handleSnapshot docs=" + (snapshots != null ? snapshots.size() : -1));
-        if (adapter == null) return;
-        if (snapshots == null) {
-            adapter.clear();
-            showEmptyState(true);
-            return;
+    /**
+     * Start-time window sent to the server for the active date filter, as {from, until}
+     * where an until of 0 means no upper bound. Past events are always excluded.
+     */
+    private long[] dateFilterRange(long now) {
+        Calendar end = Calendar.getInstance();
+        switch (activeDateFilter) {
+            case TODAY:
+                end.setTimeInMillis(startOfDay(now));
+                end.add(Calendar.DAY_OF_YEAR, 1);
+                return new long[]{now, end.getTimeInMillis()};
+            case THIS_MONTH:
+                end.setTimeInMillis(startOfDay(now));
+                end.set(Calendar.DAY_OF_MONTH, 1);
+                end.add(Calendar.MONTH, 1);
+                return new long[]{now, end.getTimeInMillis()};
+            case CUSTOM:
+                if (customDateFilterStartMs <= 0) {
+                    return new long[]{now, 0L};
+                }
+                long dayStart = startOfDay(customDateFilterStartMs);
+                end.setTimeInMillis(dayStart);
+                end.add(Calendar.DAY_OF_YEAR, 1);
+                return new long[]{Math.max(now, dayStart - 1), end.getTimeInMillis()};
+            case ANY_DATE:
+            default:
+                return new long[]{now, 0L};
         }
+    }
+
+    private void handleEvents(@NonNull List<Event> loaded, boolean more) {
+        android.util.Log.d("DiscoverFragment", "handleEvents loaded=" + loaded.size() + " hasMore=" + more);
+        if (adapter == null) return;
 
         long currentTime = System.currentTimeMillis();
         List<Event> events = new ArrayList<>();
-        for (DocumentSnapshot doc : snapshots.getDocuments()) {
-            android.util.Log.d("DiscoverFragment", "Doc id=" + doc.getId() + " data=" + doc.getData());
-            Event event = Event.fromMap(doc.getData());
-            if (event == null) continue;
-            if (TextUtils.isEmpty(event.id)) {
-                event.id = doc.getId();
-            }
-            
-            // Filter out events where the start date has already passed
+        for (Event event : loaded) {
+            // The first page is live, so an event may have started since the query was made
             long eventStartTime = event.getStartsAtEpochMs();
             if (eventStartTime > 0 && eventStartTime < currentTime) {
-                android.util.Log.d("DiscoverFragment", "Event " + event.getTitle() + " (id: " + event.getId() + ") has already started/passed, excluding from discover");
                 continue;
             }
 
@@ -442,47 +442,62 @@ public class DiscoverFragment extends Fragment {
                         + new Date(registrationEnd) + ", excluding from discover");
                 continue;
             }
-            
+
             events.add(event);
         }
-        
-        // Sort events by start time in memory (events without startsAtEpochMs will be sorted last)
-        Collections.sort(events, new Comparator<Event>() {
-            @Override
-            public int compare(Event e1, Event e2) {
-                // Events with startsAtEpochMs = 0 or missing will be sorted to the end
-                if (e1.startsAtEpochMs == 0 && e2.startsAtEpochMs == 0) return 0;
-                if (e1.startsAtEpochMs == 0) return 1;
-                if (e2.startsAtEpochMs == 0) return -1;
-                return Long.compare(e1.startsAtEpochMs, e2.startsAtEpochMs);
-            }
-        });
-        
-        android.util.Log.d("DiscoverFragment", "Parsed " + events.size() + " upcoming events (filtered out past events)");
+
         allEvents.clear();
         allEvents.addAll(events);
+        eventsById.clear();
+        for (Event event : events) {
+            eventsById.put(event.getId(), event);
+        }
+        searchIndex.sync(events);
+        hasMore = more;
         applyFiltersAndUpdateUI();
     }
 
     private void applyFiltersAndUpdateUI() {
         if (adapter == null) return;
 
+        Set<String> locationMatches = TextUtils.isEmpty(locationFilter) ? null
+                : new HashSet<>(searchIndex.search(locationFilter, EnumSet.of(EventSearchIndex.Field.LOCATION)));
+
         List<Event> filtered = new ArrayList<>();
-        for (Event event : allEvents) {
-            if (passesDateFilter(event) && passesLocationFilter(event) && passesSearchFilter(event)) {
-                filtered.add(event);
+        if (TextUtils.isEmpty(searchQuery)) {
+            // No search text: keep start-time order
+            for (Event event : allEvents) {
+                if (locationMatches == null || locationMatches.contains(event.getId())) {
+                    filtered.add(event);
+                }
+            }
+        } else {
+            // Best matches first
+            for (String id : searchIndex.search(searchQuery)) {
+                Event event = eventsById.get(id);
+                if (event != null && (locationMatches == null || locationMatches.contains(id))) {
+                    filtered.add(event);
+                }
             }
         }
 
+        adapter.setHasMore(hasMore);
         adapter.submit(filtered);
-        showEmptyState(filtered.isEmpty());
+        showEmptyState(filtered.isEmpty() && !hasMore);
+
+        // Filters can hide most of a page; keep fetching until the list can scroll
+        if (hasMore && filtered.size() < MIN_VISIBLE_EVENTS && pager != null) {
+            pager.loadNextPage();
+        }
     }
 
-    private void handleError(@NonNull FirebaseFirestoreException error) {
-        if (adapter != null) {
-            adapter.clear();
+    private void handleError(@NonNull Exception error) {
+        if (allEvents.isEmpty()) {
+            if (adapter != null) {
+                adapter.clear();
+            }
+            showEmptyState(true);
         }
-        showEmptyState(true);
         if (getContext() != null) {
             String message = error.getMessage();
             if (TextUtils.isEmpty(message)) {
@@ -507,89 +522,6 @@ public class DiscoverFragment extends Fragment {
         }
     }
 
-    private boolean passesLocationFilter(@NonNull Event event) {
-        if (TextUtils.isEmpty(locationFilter)) {
-            return true;
-        }
-        String eventLocation = event.location;
-        if (TextUtils.isEmpty(eventLocation)) {
-            return false;
-        }
-        return eventLocation.toLowerCase(Locale.getDefault())
-                .contains(locationFilter.toLowerCase(Locale.getDefault()));
-    }
-
-    private boolean passesSearchFilter(@NonNull Event event) {
-        if (TextUtils.isEmpty(searchQuery)) {
-            return true;
-        }
-        String queryLower = searchQuery.toLowerCase(Locale.getDefault());
-        String title = event.getTitle();
-        if (!TextUtils.isEmpty(title) && title.toLowerCase(Locale.getDefault()).contains(queryLower)) {
-            return true;
-        }
-        List<String> interests = event.getInterests();
-        if (interests == null || interests.isEmpty()) {
-            return false;
-        }
-        for (String interest : interests) {
-            if (interest != null && interest.toLowerCase(Locale.getDefault()).contains(queryLower)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private boolean passesDateFilter(@NonNull Event event) {
-        if (activeDateFilter == DateFilterOption.ANY_DATE) {
-            return true;
-        }
-
-        long eventDate = getEventDateForFilter(event);
-        if (eventDate <= 0) {
-            return false;
-        }
-
-        switch (activeDateFilter) {
-            case TODAY:
-                return isSameDay(eventDate, startOfDay(System.currentTimeMillis()));
-            case THIS_MONTH:
-                return isSameMonth(eventDate, System.currentTimeMillis());
-            case CUSTOM:
-                if (customDateFilterStartMs <= 0) return true;
-                return isSameDay(eventDate, customDateFilterStartMs);
-            default:
-                return true;
-        }
-    }
-
-    private long getEventDateForFilter(@NonNull Event event) {
-        if (event.getStartsAtEpochMs() > 0) {
-            return event.getStartsAtEpochMs();
-        }
-        return event.registrationStart > 0 ? event.registrationStart : 0;
-    }
-
-    private boolean isSameDay(long timestampMs, long dayStartMs) {
-        Calendar day = Calendar.getInstance();
-        day.setTimeInMillis(dayStartMs);
-
-        Calendar target = Calendar.getInstance();
-        target.setTimeInMillis(timestampMs);
-
-        return day.get(Calendar.YEAR) == target.get(Calendar.YEAR)
-                && day.get(Calendar.DAY_OF_YEAR) == target.get(Calendar.DAY_OF_YEAR);
-    }
-
-    private boolean isSameMonth(long timestampMs, long referenceMs) {
-        Calendar ref = Calendar.getInstance();
-        ref.setTimeInMillis(referenceMs);
-        Calendar target = Calendar.getInstance();
-        target.setTimeInMillis(timestampMs);
-        return ref.get(Calendar.YEAR) == target.get(Calendar.YEAR)
-                && ref.get(Calendar.MONTH) == target.get(Calendar.MONTH);
-    }
-
     private long startOfDay(long timeMs) {
         Calendar cal = Calendar.getInstance();
         cal.setTimeInMillis(timeMs);
@@ -27,15 +27,13 @@ import com.example.eventease.model.Event;
 import com.bumptech.glide.Glide;
 import com.example.eventease.App;
 import com.example.eventease.R;
+import com.example.eventease.image.BlurEngine;
+import com.example.eventease.image.QrPreview;
 import com.google.android.material.button.MaterialButton;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.FirebaseFirestoreException;
 import com.google.firebase.firestore.ListenerRegistration;
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.WriterException;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
 
 import java.text.SimpleDateFormat;
 import java.util.List;
@@ -146,10 +144,6 @@ public class EventDetailsDiscoverActivity extends AppCompatActivity {
     }
 
     private void showGuidelinesDialog() {
-        // Capture screenshot and blur it
-        android.graphics.Bitmap screenshot = captureScreenshot();
-        android.graphics.Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-
         // Create custom dialog with full screen to show blur background
         android.app.Dialog dialog = new android.app.Dialog(this, android.R.style.Theme_Black_NoTitleBar_Fullscreen);
         dialog.setContentView(R.layout.entrant_dialog_guidelines);
@@ -167,9 +161,7 @@ public class EventDetailsDiscoverActivity extends AppCompatActivity {
 
         // Apply blurred background
         android.view.View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
-        if (blurredBitmap != null) {
-            blurBackground.setBackground(new android.graphics.drawable.BitmapDrawable(getResources(), blurredBitmap));
-        }
+        BlurEngine.getInstance().blurBehind(this, blurBackground);
         blurBackground.setOnClickListener(v -> dialog.dismiss());
 
         // Card for zoom animation
@@ -200,38 +192,6 @@ public class EventDetailsDiscoverActivity extends AppCompatActivity {
         finish();
     }
 
-    private android.graphics.Bitmap captureScreenshot() {
-        android.view.View rootView = getWindow().getDecorView().getRootView();
-        rootView.setDrawingCacheEnabled(true);
-        android.graphics.Bitmap bitmap = android.graphics.Bitmap.createBitmap(rootView.getDrawingCache());
-        rootView.setDrawingCacheEnabled(false);
-        return bitmap;
-    }
-
-    private android.graphics.Bitmap blurBitmap(android.graphics.Bitmap bitmap, float radius) {
-        if (bitmap == null) return null;
-        try {
-            int width = Math.round(bitmap.getWidth() * 0.4f);
-            int height = Math.round(bitmap.getHeight() * 0.4f);
-            android.graphics.Bitmap inputBitmap = android.graphics.Bitmap.createScaledBitmap(bitmap, width, height, false);
-            android.graphics.Bitmap outputBitmap = android.graphics.Bitmap.createBitmap(inputBitmap);
-
-            android.renderscript.RenderScript rs = android.renderscript.RenderScript.create(this);
-            android.renderscript.ScriptIntrinsicBlur blurScript = android.renderscript.ScriptIntrinsicBlur.create(rs, android.renderscript.Element.U8_4(rs));
-            android.renderscript.Allocation tmpIn = android.renderscript.Allocation.createFromBitmap(rs, inputBitmap);
-            android.renderscript.Allocation tmpOut = android.renderscript.Allocation.createFromBitmap(rs, outputBitmap);
-            blurScript.setRadius(radius);
-            blurScript.setInput(tmpIn);
-            blurScript.forEach(tmpOut);
-            tmpOut.copyTo(outputBitmap);
-            rs.destroy();
-            return android.graphics.Bitmap.createScaledBitmap(outputBitmap, bitmap.getWidth(), bitmap.getHeight(), true);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return bitmap;
-        }
-    }
-
     private void observeEvent() {
         eventRegistration = firestore.collection("events")
                 .document(eventId)
@@ -708,19 +668,12 @@ public class EventDetailsDiscoverActivity extends AppCompatActivity {
             titleView.setText(eventTitleText);
         }
 
-        final Bitmap qrBitmap = generateQrBitmap(qrPayload);
-        if (imgQr != null) {
-            if (qrBitmap != null) {
-                imgQr.setImageBitmap(qrBitmap);
-            } else {
-                imgQr.setImageResource(R.drawable.ic_event_poster_placeholder);
-            }
-        }
+        QrPreview qr = QrPreview.show(this, qrPayload, imgQr);
 
         if (btnShare != null) {
             btnShare.setOnClickListener(v -> {
-                if (qrBitmap != null) {
-                    shareQrBitmap(qrBitmap, qrPayload);
+                if (qr.bitmap() != null) {
+                    shareQrBitmap(qr.bitmap(), qrPayload);
                 } else {
                     shareQrText(qrPayload);
                 }
@@ -729,8 +682,8 @@ public class EventDetailsDiscoverActivity extends AppCompatActivity {
 
         if (btnSave != null) {
             btnSave.setOnClickListener(v -> {
-                if (qrBitmap != null) {
-                    boolean saved = saveQrToGallery(qrBitmap, eventTitleText);
+                if (qr.bitmap() != null) {
+                    boolean saved = saveQrToGallery(qr.bitmap(), eventTitleText);
                     if (saved) {
                         Toast.makeText(EventDetailsDiscoverActivity.this, "Saved to gallery", Toast.LENGTH_SHORT).show();
                     }
@@ -771,28 +724,6 @@ public class EventDetailsDiscoverActivity extends AppCompatActivity {
         return dialog;
     }
 
-    /**
-     * Generates a QR code bitmap from the given payload
-     */
-    private Bitmap generateQrBitmap(String payload) {
-        try {
-            QRCodeWriter writer = new QRCodeWriter();
-            BitMatrix matrix = writer.encode(payload, BarcodeFormat.QR_CODE, 512, 512);
-            int width = matrix.getWidth();
-            int height = matrix.getHeight();
-            Bitmap bmp = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
-            for (int x = 0; x < width; x++) {
-                for (int y = 0; y < height; y++) {
-                    bmp.setPixel(x, y, matrix.get(x, y) ? Color.BLACK : Color.WHITE);
-                }
-            }
-            return bmp;
-        } catch (WriterException e) {
-            android.util.Log.e("EventDetailsDiscover", "QR code generation failed", e);
-            return null;
-        }
-    }
-
     /**
      * Shares the QR code bitmap
      */
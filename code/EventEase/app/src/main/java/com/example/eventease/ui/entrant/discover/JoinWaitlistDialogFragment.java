@@ -1,13 +1,5 @@
 package com.example.eventease.ui.entrant.discover;
 
-import android.graphics.Bitmap;
-import android.graphics.RenderEffect;
-import android.graphics.Shader;
-import android.graphics.drawable.BitmapDrawable;
-import android.renderscript.Allocation;
-import android.renderscript.Element;
-import android.renderscript.RenderScript;
-import android.renderscript.ScriptIntrinsicBlur;
 import android.os.Build;
 import android.os.Bundle;
 import android.view.LayoutInflater;
@@ -23,6 +15,7 @@ import androidx.fragment.app.DialogFragment;
 import androidx.fragment.app.FragmentManager;
 
 import com.example.eventease.R;
+import com.example.eventease.image.BlurEngine;
 
 /**
  * Dialog fragment shown after successfully joining a waitlist.
@@ -64,74 +57,14 @@ public class JoinWaitlistDialogFragment extends DialogFragment {
             card.setOnClickListener(v -> { /* consume card taps */ });
         }
 
-        // Capture screenshot and blur it for the background
+        // Blur the screen behind the dialog
         View blurBackground = view.findViewById(R.id.dialogBlurBackground);
         if (blurBackground != null) {
-            if (getActivity() != null) {
-                Bitmap screenshot = captureScreenshot();
-                if (screenshot != null) {
-                    Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-                    if (blurredBitmap != null) {
-                        blurBackground.setBackground(new BitmapDrawable(getResources(), blurredBitmap));
-                    }
-                }
-            }
-            
-            // Fallback: Use RenderEffect for API 31+ if screenshot blur fails
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S && blurBackground.getBackground() == null) {
-                blurBackground.setRenderEffect(
-                        RenderEffect.createBlurEffect(45f, 45f, Shader.TileMode.CLAMP));
-            }
-            
+            BlurEngine.getInstance().blurBehind(getActivity(), blurBackground);
             blurBackground.setOnClickListener(v -> dismissAllowingStateLoss());
         }
     }
     
-    private Bitmap captureScreenshot() {
-        if (getActivity() == null) return null;
-        
-        try {
-            android.view.View rootView = getActivity().getWindow().getDecorView().getRootView();
-            rootView.setDrawingCacheEnabled(true);
-            Bitmap bitmap = Bitmap.createBitmap(rootView.getDrawingCache());
-            rootView.setDrawingCacheEnabled(false);
-            return bitmap;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
-    }
-    
-    private Bitmap blurBitmap(Bitmap bitmap, float radius) {
-        if (bitmap == null || getActivity() == null) return null;
-        
-        try {
-            // Scale down for better performance
-            int width = Math.round(bitmap.getWidth() * 0.4f);
-            int height = Math.round(bitmap.getHeight() * 0.4f);
-            Bitmap inputBitmap = Bitmap.createScaledBitmap(bitmap, width, height, false);
-            Bitmap outputBitmap = Bitmap.createBitmap(inputBitmap);
-            
-            RenderScript rs = RenderScript.create(getActivity());
-            ScriptIntrinsicBlur blurScript = ScriptIntrinsicBlur.create(rs, Element.U8_4(rs));
-            Allocation tmpIn = Allocation.createFromBitmap(rs, inputBitmap);
-            Allocation tmpOut = Allocation.createFromBitmap(rs, outputBitmap);
-            
-            blurScript.setRadius(radius);
-            blurScript.setInput(tmpIn);
-            blurScript.forEach(tmpOut);
-            tmpOut.copyTo(outputBitmap);
-            
-            rs.destroy();
-            
-            // Scale back up
-            return Bitmap.createScaledBitmap(outputBitmap, bitmap.getWidth(), bitmap.getHeight(), true);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return bitmap;
-        }
-    }
-
     @Override
     public void onStart() {
         super.onStart();
@@ -15,24 +15,17 @@ import com.example.eventease.data.InvitationRepository;
 import com.example.eventease.data.WaitlistRepository;
 import com.example.eventease.App;
 import com.example.eventease.R;
+import com.example.eventease.image.BlurEngine;
+import com.example.eventease.image.QrPreview;
 import com.bumptech.glide.Glide;
 import com.bumptech.glide.load.resource.drawable.DrawableTransitionOptions;
 import android.graphics.Bitmap;
 import android.graphics.Color;
-import android.graphics.drawable.BitmapDrawable;
-import android.renderscript.Allocation;
-import android.renderscript.Element;
-import android.renderscript.RenderScript;
-import android.renderscript.ScriptIntrinsicBlur;
 import android.view.Window;
 import android.view.ViewGroup;
 import android.app.Dialog;
 import android.provider.MediaStore;
 
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.WriterException;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
 import com.google.android.material.button.MaterialButton;
 
 import java.text.SimpleDateFormat;
@@ -309,10 +302,6 @@ public class EventDetailActivity extends AppCompatActivity {
     }
 
     private void showGuidelinesDialog() {
-        // Capture screenshot and blur it
-        Bitmap screenshot = captureScreenshot();
-        Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-        
         // Create custom dialog with full screen to show blur background
         android.app.Dialog dialog = new android.app.Dialog(this, android.R.style.Theme_Black_NoTitleBar_Fullscreen);
         dialog.setContentView(R.layout.entrant_dialog_guidelines);
@@ -335,9 +324,7 @@ public class EventDetailActivity extends AppCompatActivity {
         
         // Apply blurred background
         android.view.View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
-        if (blurredBitmap != null) {
-            blurBackground.setBackground(new BitmapDrawable(getResources(), blurredBitmap));
-        }
+        BlurEngine.getInstance().blurBehind(this, blurBackground);
         
         // Make the background clickable to dismiss
         blurBackground.setOnClickListener(v -> dialog.dismiss());
@@ -370,10 +357,6 @@ public class EventDetailActivity extends AppCompatActivity {
     }
     
     private void showAcceptDialog() {
-        // Capture screenshot and blur it
-        Bitmap screenshot = captureScreenshot();
-        Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-        
         // Create custom dialog with full screen to show blur background
         android.app.Dialog dialog = new android.app.Dialog(this, android.R.style.Theme_Black_NoTitleBar_Fullscreen);
         dialog.setContentView(R.layout.entrant_dialog_accept_invitation);
@@ -396,9 +379,7 @@ public class EventDetailActivity extends AppCompatActivity {
         
         // Apply blurred background
         android.view.View blurBackground = dialog.findViewById(R.id.dialogAcceptBlurBackground);
-        if (blurredBitmap != null) {
-            blurBackground.setBackground(new BitmapDrawable(getResources(), blurredBitmap));
-        }
+        BlurEngine.getInstance().blurBehind(this, blurBackground);
         
         // Make the background clickable to dismiss
         blurBackground.setOnClickListener(v -> dialog.dismiss());
@@ -428,10 +409,6 @@ public class EventDetailActivity extends AppCompatActivity {
     }
     
     private void showDeclineDialog() {
-        // Capture screenshot and blur it
-        Bitmap screenshot = captureScreenshot();
-        Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-        
         // Create custom dialog with full screen to show blur background
         android.app.Dialog dialog = new android.app.Dialog(this, android.R.style.Theme_Black_NoTitleBar_Fullscreen);
         dialog.setContentView(R.layout.entrant_dialog_decline_invitation);
@@ -454,9 +431,7 @@ public class EventDetailActivity extends AppCompatActivity {
         
         // Apply blurred background
         android.view.View blurBackground = dialog.findViewById(R.id.dialogDeclineBlurBackground);
-        if (blurredBitmap != null) {
-            blurBackground.setBackground(new BitmapDrawable(getResources(), blurredBitmap));
-        }
+        BlurEngine.getInstance().blurBehind(this, blurBackground);
         
         // Make the background clickable to dismiss
         blurBackground.setOnClickListener(v -> dialog.dismiss());
@@ -473,44 +448,6 @@ public class EventDetailActivity extends AppCompatActivity {
         dialog.show();
     }
     
-    private Bitmap captureScreenshot() {
-        android.view.View rootView = getWindow().getDecorView().getRootView();
-        rootView.setDrawingCacheEnabled(true);
-        Bitmap bitmap = Bitmap.createBitmap(rootView.getDrawingCache());
-        rootView.setDrawingCacheEnabled(false);
-        return bitmap;
-    }
-    
-    private Bitmap blurBitmap(Bitmap bitmap, float radius) {
-        if (bitmap == null) return null;
-        
-        try {
-            // Scale down for better performance
-            int width = Math.round(bitmap.getWidth() * 0.4f);
-            int height = Math.round(bitmap.getHeight() * 0.4f);
-            Bitmap inputBitmap = Bitmap.createScaledBitmap(bitmap, width, height, false);
-            Bitmap outputBitmap = Bitmap.createBitmap(inputBitmap);
-            
-            RenderScript rs = RenderScript.create(this);
-            ScriptIntrinsicBlur blurScript = ScriptIntrinsicBlur.create(rs, Element.U8_4(rs));
-            Allocation tmpIn = Allocation.createFromBitmap(rs, inputBitmap);
-            Allocation tmpOut = Allocation.createFromBitmap(rs, outputBitmap);
-            
-            blurScript.setRadius(radius);
-            blurScript.setInput(tmpIn);
-            blurScript.forEach(tmpOut);
-            tmpOut.copyTo(outputBitmap);
-            
-            rs.destroy();
-            
-            // Scale back up
-            return Bitmap.createScaledBitmap(outputBitmap, bitmap.getWidth(), bitmap.getHeight(), true);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return bitmap;
-        }
-    }
-
     private void navigateToMain(String target) {
         android.content.Intent intent = new android.content.Intent(this, com.example.eventease.MainActivity.class);
         intent.putExtra("nav_target", target);
@@ -756,10 +693,6 @@ public class EventDetailActivity extends AppCompatActivity {
      * Show dialog to confirm opt-out from waitlist
      */
     private void showOptOutDialog() {
-        // Capture screenshot and blur it
-        Bitmap screenshot = captureScreenshot();
-        Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-        
         // Create custom dialog
         android.app.Dialog dialog = new android.app.Dialog(this, android.R.style.Theme_Black_NoTitleBar_Fullscreen);
         android.view.LayoutInflater inflater = getLayoutInflater();
@@ -784,9 +717,7 @@ public class EventDetailActivity extends AppCompatActivity {
         
         // Apply blurred background
         android.view.View blurBackground = dialogView.findViewById(R.id.dialogOptOutBlurBackground);
-        if (blurredBitmap != null && blurBackground != null) {
-            blurBackground.setBackground(new BitmapDrawable(getResources(), blurredBitmap));
-        }
+        BlurEngine.getInstance().blurBehind(this, blurBackground);
         
         // Make the background clickable to dismiss
         if (blurBackground != null) {
@@ -896,19 +827,12 @@ public class EventDetailActivity extends AppCompatActivity {
             titleView.setText(eventTitleText);
         }
 
-        final Bitmap qrBitmap = generateQrBitmap(qrPayload);
-        if (imgQr != null) {
-            if (qrBitmap != null) {
-                imgQr.setImageBitmap(qrBitmap);
-            } else {
-                imgQr.setImageResource(R.drawable.ic_event_poster_placeholder);
-            }
-        }
+        QrPreview qr = QrPreview.show(this, qrPayload, imgQr);
 
         if (btnShare != null) {
             btnShare.setOnClickListener(v -> {
-                if (qrBitmap != null) {
-                    shareQrBitmap(qrBitmap, qrPayload);
+                if (qr.bitmap() != null) {
+                    shareQrBitmap(qr.bitmap(), qrPayload);
                 } else {
                     shareQrText(qrPayload);
                 }
@@ -917,8 +841,8 @@ public class EventDetailActivity extends AppCompatActivity {
 
         if (btnSave != null) {
             btnSave.setOnClickListener(v -> {
-                if (qrBitmap != null) {
-                    boolean saved = saveQrToGallery(qrBitmap, eventTitleText);
+                if (qr.bitmap() != null) {
+                    boolean saved = saveQrToGallery(qr.bitmap(), eventTitleText);
                     if (saved) {
                         Toast.makeText(EventDetailActivity.this, "Saved to gallery", Toast.LENGTH_SHORT).show();
                     }
@@ -959,28 +883,6 @@ public class EventDetailActivity extends AppCompatActivity {
         return dialog;
     }
 
-    /**
-     * Generates a QR code bitmap from the given payload
-     */
-    private Bitmap generateQrBitmap(String payload) {
-        try {
-            QRCodeWriter writer = new QRCodeWriter();
-            BitMatrix matrix = writer.encode(payload, BarcodeFormat.QR_CODE, 512, 512);
-            int width = matrix.getWidth();
-            int height = matrix.getHeight();
-            Bitmap bmp = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
-            for (int x = 0; x < width; x++) {
-                for (int y = 0; y < height; y++) {
-                    bmp.setPixel(x, y, matrix.get(x, y) ? Color.BLACK : Color.WHITE);
-                }
-            }
-            return bmp;
-        } catch (WriterException e) {
-            android.util.Log.e("EventDetailActivity", "QR code generation failed", e);
-            return null;
-        }
-    }
-
     /**
      * Shares the QR code bitmap
      */
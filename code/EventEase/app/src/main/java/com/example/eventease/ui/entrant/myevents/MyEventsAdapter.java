@@ -96,7 +96,7 @@ class MyEventsAdapter extends RecyclerView.Adapter<MyEventsAdapter.VH> {
 
         // Load event image with Glide
         Glide.with(h.image.getContext())
-                .load(e.getPosterUrl())
+                .load(e.getListPosterUrl())
                 .placeholder(R.drawable.entrant_image_placeholder_event)
                 .error(R.drawable.entrant_image_placeholder_event)
                 .centerCrop()
@@ -32,6 +32,7 @@ import com.example.eventease.data.ListenerRegistration;
 import com.example.eventease.data.WaitlistRepository;
 import com.example.eventease.model.Event;
 import com.example.eventease.model.Invitation;
+import com.example.eventease.image.PosterPreloader;
 import com.example.eventease.App;                // ✅ use shared DevGraph
 import com.example.eventease.R;
 import com.google.android.gms.tasks.Task;
@@ -78,6 +79,7 @@ public class MyEventsFragment extends Fragment {
     private ProgressBar progress;
 
     private final MyEventsAdapter adapter = new MyEventsAdapter();
+    @Nullable private PosterPreloader posterPreloader;
     private ListenerRegistration inviteReg;
 
     private final Set<String> invitedEventIds = new HashSet<>();
@@ -119,6 +121,8 @@ public class MyEventsFragment extends Fragment {
 
         list.setLayoutManager(new LinearLayoutManager(getContext()));
         list.setAdapter(adapter);
+        posterPreloader = new PosterPreloader(Glide.with(this), adapter::posterUrlAt);
+        posterPreloader.attachTo(list);
 
         return root;
     }
@@ -530,10 +534,14 @@ public class MyEventsFragment extends Fragment {
             notifyDataSetChanged();
         }
 
+        @Nullable String posterUrlAt(int position) {
+            return position >= 0 && position < data.size() ? data.get(position).getListPosterUrl() : null;
+        }
+
         @NonNull @Override public MyEventVH onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
             View v = LayoutInflater.from(parent.getContext())
                     .inflate(R.layout.entrant_item_event_card, parent, false);
-            return new MyEventVH(v, event -> {
+            MyEventVH holder = new MyEventVH(v, event -> {
                 // Launch EventDetailActivity when an event is clicked
                 Intent intent = new Intent(requireContext(), EventDetailActivity.class);
                 intent.putExtra("eventId", event.getId());
@@ -556,6 +564,10 @@ public class MyEventsFragment extends Fragment {
                 intent.putExtra("isWaitlistedEvent", true);
                 startActivity(intent);
             });
+            if (posterPreloader != null) {
+                posterPreloader.trackView(holder.image);
+            }
+            return holder;
         }
 
         @Override public void onBindViewHolder(@NonNull MyEventVH h, int pos) {
@@ -614,13 +626,11 @@ public class MyEventsFragment extends Fragment {
             }
             
             // Load event image using Glide
-            if (e.getPosterUrl() != null && !e.getPosterUrl().isEmpty()) {
-                Glide.with(itemView.getContext())
-                    .load(e.getPosterUrl())
+            if (e.getListPosterUrl() != null) {
+                PosterPreloader.request(Glide.with(itemView), e.getListPosterUrl())
                     .placeholder(R.drawable.entrant_image_placeholder_event)
                     .error(R.drawable.entrant_image_placeholder_event)
                     .transition(DrawableTransitionOptions.withCrossFade())
-                    .centerCrop()
                     .into(image);
             } else {
                 image.setImageResource(R.drawable.entrant_image_placeholder_event);
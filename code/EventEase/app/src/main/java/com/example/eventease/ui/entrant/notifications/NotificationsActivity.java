@@ -4,27 +4,25 @@ import android.os.Bundle;
 import android.view.View;
 import android.widget.ImageButton;
 import android.widget.ProgressBar;
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.eventease.R;
 import com.example.eventease.auth.DeviceAuthManager;
+import com.example.eventease.data.firebase.NotificationInboxPager;
+import com.example.eventease.data.firebase.UnreadNotificationCounter;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.ListenerRegistration;
-import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
-import com.google.firebase.firestore.QuerySnapshot;
 import android.content.SharedPreferences;
 import android.content.Context;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Set;
 
 public class NotificationsActivity extends AppCompatActivity {
     private static final String TAG = "NotificationsActivity";
@@ -34,12 +32,17 @@ public class NotificationsActivity extends AppCompatActivity {
     private NotificationsAdapter adapter;
     private FirebaseFirestore db;
     private DeviceAuthManager authManager;
-    private ListenerRegistration notificationListener;
-    private Set<String> loadedNotificationIds = new HashSet<>();
+    private NotificationInboxPager inboxPager;
+    private List<NotificationItem> inboxItems = new ArrayList<>();
+    private List<NotificationItem> invitationItems = new ArrayList<>();
+    private boolean inboxLoaded = false;
+    private boolean invitationsLoaded = false;
     private boolean isFirstLoad = true;
-    private boolean initialLoadComplete = false;
     private long lastSeenTime;
 
+    /** Older notifications are requested when the list is scrolled this close to its end. */
+    private static final int LOAD_MORE_THRESHOLD = 5;
+
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -74,6 +77,18 @@ public class NotificationsActivity extends AppCompatActivity {
         adapter = new NotificationsAdapter();
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
         recyclerView.setAdapter(adapter);
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView view, int dx, int dy) {
+                LinearLayoutManager layoutManager = (LinearLayoutManager) view.getLayoutManager();
+                if (dy <= 0 || layoutManager == null || inboxPager == null) {
+                    return;
+                }
+                if (layoutManager.findLastVisibleItemPosition() >= adapter.getItemCount() - LOAD_MORE_THRESHOLD) {
+                    inboxPager.loadNextPage();
+                }
+            }
+        });
 
         loadNotifications();
     }
@@ -81,21 +96,31 @@ public class NotificationsActivity extends AppCompatActivity {
     @Override
     protected void onResume() {
         super.onResume();
+        markAllRead();
         if (!isFirstLoad) {
-            initialLoadComplete = false;
-            loadedNotificationIds.clear();
-            loadNotifications();
+            // The inbox is live; only pending invitations need to be re-read
+            String uid = authManager.getUid();
+            if (uid != null && !uid.isEmpty()) {
+                loadInvitationsAsNotifications(uid);
+            }
         } else {
             isFirstLoad = false;
         }
     }
 
+    @Override
+    protected void onPause() {
+        super.onPause();
+        // Notifications that arrived while the list was open have been seen too
+        markAllRead();
+    }
+
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        if (notificationListener != null) {
-            notificationListener.remove();
-            notificationListener = null;
+        if (inboxPager != null) {
+            inboxPager.stop();
+            inboxPager = null;
         }
     }
     
@@ -105,74 +130,11 @@ public class NotificationsActivity extends AppCompatActivity {
         finish();
     }
 
-    private void setupRealtimeListener() {
-        if (notificationListener != null) {
-            return;
-        }
-
+    private void markAllRead() {
         String uid = authManager.getUid();
-        if (uid == null || uid.isEmpty()) {
-            return;
+        if (uid != null && !uid.isEmpty()) {
+            UnreadNotificationCounter.markAllRead(db, uid);
         }
-
-        notificationListener = db.collection("notificationRequests")
-                .addSnapshotListener((querySnapshot, e) -> {
-                    if (!initialLoadComplete || e != null || querySnapshot == null) {
-                        return;
-                    }
-
-                    List<NotificationItem> newItems = new ArrayList<>();
-                    
-                    for (QueryDocumentSnapshot doc : querySnapshot) {
-                        String docId = doc.getId();
-                        
-                        if (loadedNotificationIds.contains(docId)) {
-                            continue;
-                        }
-
-                        Object userIdsObj = doc.get("userIds");
-                        List<String> userIds = null;
-                        if (userIdsObj instanceof List) {
-                            userIds = (List<String>) userIdsObj;
-                        } else if (userIdsObj != null) {
-                            android.util.Log.w(TAG, "Real-time: userIds is not a List for doc " + docId + ", type: " + userIdsObj.getClass().getName());
-                            continue;
-                        }
-
-                        if (userIds == null || !userIds.contains(uid)) {
-                            android.util.Log.d(TAG, "Real-time: Document " + docId + " does not contain user " + uid);
-                            continue;
-                        }
-
-                        NotificationItem item = new NotificationItem();
-                        item.id = docId;
-                        item.title = doc.getString("title");
-                        item.message = doc.getString("message");
-                        item.eventId = doc.getString("eventId");
-                        item.eventTitle = doc.getString("eventTitle");
-                        Long createdAt = doc.getLong("createdAt");
-                        item.createdAt = createdAt != null ? createdAt : System.currentTimeMillis();
-                        item.groupType = doc.getString("groupType");
-                        
-                        newItems.add(item);
-                        loadedNotificationIds.add(item.id);
-                    }
-
-                    if (!newItems.isEmpty()) {
-                        List<NotificationItem> allNotifications = new ArrayList<>();
-                        for (NotificationsAdapter.NotificationListItem item : adapter.getCurrentList()) {
-                            if (!item.isHeader) {
-                                allNotifications.add(item.notification);
-                            }
-                        }
-                        allNotifications.addAll(newItems);
-                        allNotifications.sort((a, b) -> Long.compare(b.createdAt, a.createdAt));
-                        
-                        List<NotificationsAdapter.NotificationListItem> listItems = createSectionedList(allNotifications);
-                        adapter.submitList(listItems);
-                        showList();
-                    }
-                });
     }
 
     private void loadNotifications() {
@@ -184,139 +146,83 @@ public class NotificationsActivity extends AppCompatActivity {
 
         setLoading(true);
 
-        loadNotificationRequests(uid, new ArrayList<>());
+        startInbox(uid);
+        loadInvitationsAsNotifications(uid);
     }
 
-    private void loadNotificationRequests(String uid, List<NotificationItem> existingNotifications) {
-        android.util.Log.d(TAG, "Loading notification requests for user: " + uid);
-        android.util.Log.d(TAG, "Current existingNotifications size: " + existingNotifications.size());
-        
-        db.collection("notificationRequests")
-                .orderBy("createdAt", Query.Direction.DESCENDING)
-                .limit(100)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    android.util.Log.d(TAG, "Query success! Found " + querySnapshot.size() + " total notificationRequests documents");
-                    
-                    int matchedCount = 0;
-                    for (QueryDocumentSnapshot doc : querySnapshot) {
-                        String docId = doc.getId();
-                        Object userIdsObj = doc.get("userIds");
-                        List<String> userIds = null;
-                        if (userIdsObj instanceof List) {
-                            userIds = (List<String>) userIdsObj;
-                        } else if (userIdsObj != null) {
-                            android.util.Log.w(TAG, "userIds is not a List for doc " + docId);
-                            continue;
-                        }
-                        
-                        if (userIds == null || !userIds.contains(uid)) {
-                            continue;
+    /**
+     * Reads the user's own inbox; its newest page stays live so new notifications appear
+     * without reloading.
+     */
+    private void startInbox(String uid) {
+        if (inboxPager != null) {
+            return;
+        }
+        android.util.Log.d(TAG, "Loading notification inbox for user: " + uid);
+        inboxPager = new NotificationInboxPager(db, uid, NotificationInboxPager.DEFAULT_PAGE_SIZE,
+                new NotificationInboxPager.Listener() {
+                    @Override
+                    public void onNotifications(@NonNull List<DocumentSnapshot> notifications, boolean hasMore) {
+                        List<NotificationItem> items = new ArrayList<>();
+                        for (DocumentSnapshot doc : notifications) {
+                            items.add(toNotificationItem(doc));
                         }
-                        
-                        matchedCount++;
-                        NotificationItem item = new NotificationItem();
-                        item.id = docId;
-                        item.title = doc.getString("title");
-                        item.message = doc.getString("message");
-                        item.eventId = doc.getString("eventId");
-                        item.eventTitle = doc.getString("eventTitle");
-                        Long createdAt = doc.getLong("createdAt");
-                        item.createdAt = createdAt != null ? createdAt : System.currentTimeMillis();
-                        item.groupType = doc.getString("groupType");
-                        existingNotifications.add(item);
-                        loadedNotificationIds.add(item.id);
-                        
-                        android.util.Log.d(TAG, "Added notification: " + item.title + " (created: " + item.createdAt + ")");
+                        android.util.Log.d(TAG, "Inbox has " + items.size() + " notifications loaded (more: " + hasMore + ")");
+                        inboxItems = items;
+                        inboxLoaded = true;
+                        render();
                     }
-                    
-                    android.util.Log.d(TAG, "Matched " + matchedCount + " notifications for user " + uid);
-                    android.util.Log.d(TAG, "Total existingNotifications after matching: " + existingNotifications.size());
-                    
-                    loadInvitationsAsNotifications(uid, existingNotifications);
-                })
-                .addOnFailureListener(e -> {
-                    android.util.Log.e(TAG, "Failed to load notifications with orderBy", e);
-                    if (e.getMessage() != null && e.getMessage().contains("index")) {
-                        android.util.Log.d(TAG, "Index error detected, falling back to query without orderBy");
-                        loadNotificationsWithoutOrderBy(uid, existingNotifications);
-                    } else {
-                        loadInvitationsAsNotifications(uid, existingNotifications);
+
+                    @Override
+                    public void onError(@NonNull Exception e) {
+                        android.util.Log.e(TAG, "Failed to load notification inbox", e);
+                        inboxLoaded = true;
+                        render();
                     }
                 });
+        inboxPager.start();
     }
 
-    private void loadNotificationsWithoutOrderBy(String uid, List<NotificationItem> existingNotifications) {
-        android.util.Log.d(TAG, "Loading notifications without orderBy (fallback) for user: " + uid);
-        db.collection("notificationRequests")
-                .limit(100)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    android.util.Log.d(TAG, "Alternative query returned " + querySnapshot.size() + " notification requests");
-                    android.util.Log.d(TAG, "Checking each document for user " + uid);
-                    
-                    for (QueryDocumentSnapshot doc : querySnapshot) {
-                        String docId = doc.getId();
-                        Object userIdsObj = doc.get("userIds");
-                        List<String> userIds = null;
-                        if (userIdsObj instanceof List) {
-                            userIds = (List<String>) userIdsObj;
-                        } else if (userIdsObj != null) {
-                            android.util.Log.w(TAG, "userIds is not a List for doc " + docId + ", type: " + userIdsObj.getClass().getName());
-                            continue;
-                        }
-                        
-                        if (userIds == null || !userIds.contains(uid)) {
-                            android.util.Log.d(TAG, "Document " + docId + " does not contain user " + uid);
-                            continue;
-                        }
-                        
-                        NotificationItem item = new NotificationItem();
-                        item.id = docId;
-                        item.title = doc.getString("title");
-                        item.message = doc.getString("message");
-                        item.eventId = doc.getString("eventId");
-                        item.eventTitle = doc.getString("eventTitle");
-                        Long createdAt = doc.getLong("createdAt");
-                        item.createdAt = createdAt != null ? createdAt : System.currentTimeMillis();
-                        item.groupType = doc.getString("groupType");
-                        existingNotifications.add(item);
-                        loadedNotificationIds.add(item.id);
-                    }
-                    
-                    existingNotifications.sort((a, b) -> Long.compare(b.createdAt, a.createdAt));
-                    loadInvitationsAsNotifications(uid, existingNotifications);
-                })
-                .addOnFailureListener(e -> {
-                    loadInvitationsAsNotifications(uid, existingNotifications);
-                });
+    private NotificationItem toNotificationItem(DocumentSnapshot doc) {
+        NotificationItem item = new NotificationItem();
+        item.id = doc.getId();
+        item.title = doc.getString("title");
+        item.message = doc.getString("message");
+        item.eventId = doc.getString("eventId");
+        item.eventTitle = doc.getString("eventTitle");
+        Long createdAt = doc.getLong("createdAt");
+        item.createdAt = createdAt != null ? createdAt : System.currentTimeMillis();
+        item.groupType = doc.getString("groupType");
+        return item;
     }
 
-    private void loadInvitationsAsNotifications(String uid, List<NotificationItem> existingNotifications) {
+    /**
+     * Shows the inbox and pending invitations together, newest first, once both have loaded.
+     */
+    private void render() {
+        if (!inboxLoaded || !invitationsLoaded) {
+            return;
+        }
+        List<NotificationItem> finalList = new ArrayList<>(inboxItems);
+        finalList.addAll(invitationItems);
+        finalList.sort((a, b) -> Long.compare(b.createdAt, a.createdAt));
+        android.util.Log.d(TAG, "Submitting " + finalList.size() + " notifications to adapter");
+        List<NotificationsAdapter.NotificationListItem> listItems = createSectionedList(finalList);
+        adapter.submitList(listItems);
+        setLoading(false);
+        if (finalList.isEmpty()) {
+            showEmpty();
+        } else {
+            showList();
+        }
+    }
+
+    private void loadInvitationsAsNotifications(String uid) {
         db.collection("invitations")
                 .whereEqualTo("uid", uid)
                 .whereEqualTo("status", "PENDING")
                 .get()
                 .addOnSuccessListener(invitationSnapshot -> {
-                    if (invitationSnapshot.isEmpty()) {
-                        List<NotificationItem> finalList = new ArrayList<>(existingNotifications);
-                        finalList.sort((a, b) -> Long.compare(b.createdAt, a.createdAt));
-                        List<NotificationsAdapter.NotificationListItem> listItems = createSectionedList(finalList);
-                        adapter.submitList(listItems);
-                        setLoading(false);
-                        if (finalList.isEmpty()) {
-                            showEmpty();
-                        } else {
-                            showList();
-                        }
-                        
-                        if (!initialLoadComplete) {
-                            initialLoadComplete = true;
-                            setupRealtimeListener();
-                        }
-                        return;
-                    }
-                    
                     List<com.google.android.gms.tasks.Task<DocumentSnapshot>> eventTasks = new ArrayList<>();
                     List<QueryDocumentSnapshot> invitationDocs = new ArrayList<>();
                     
@@ -329,131 +235,64 @@ public class NotificationsActivity extends AppCompatActivity {
                     }
                     
                     if (eventTasks.isEmpty()) {
-                        android.util.Log.d(TAG, "No valid event IDs found in invitations. Total notifications: " + existingNotifications.size());
-                        List<NotificationItem> finalList = new ArrayList<>(existingNotifications);
-                        finalList.sort((a, b) -> Long.compare(b.createdAt, a.createdAt));
-                        android.util.Log.d(TAG, "Submitting " + finalList.size() + " notifications to adapter");
-                        List<NotificationsAdapter.NotificationListItem> listItems = createSectionedList(finalList);
-                        adapter.submitList(listItems);
-                        setLoading(false);
-                        if (finalList.isEmpty()) {
-                            showEmpty();
-                        } else {
-                            showList();
-                        }
-                        
-                        if (!initialLoadComplete) {
-                            android.util.Log.d(TAG, "Initial load complete - setting up real-time listener");
-                            initialLoadComplete = true;
-                            setupRealtimeListener();
-                        }
+                        android.util.Log.d(TAG, "No pending invitations with valid event IDs");
+                        onInvitationsLoaded(new ArrayList<>());
                         return;
                     }
                     
                     android.util.Log.d(TAG, "Waiting for " + eventTasks.size() + " event details to load...");
                     com.google.android.gms.tasks.Tasks.whenAllComplete(eventTasks)
                             .addOnSuccessListener(tasks -> {
-                                android.util.Log.d(TAG, "All event tasks completed. Processing results...");
-                                int successCount = 0;
+                                List<NotificationItem> items = new ArrayList<>();
                                 
                                 for (int i = 0; i < tasks.size() && i < invitationDocs.size(); i++) {
                                     com.google.android.gms.tasks.Task<?> task = tasks.get(i);
                                     QueryDocumentSnapshot invitationDoc = invitationDocs.get(i);
                                     
-                                    if (task.isSuccessful()) {
-                                        Object result = task.getResult();
-                                        if (result instanceof DocumentSnapshot) {
-                                            DocumentSnapshot eventDoc = (DocumentSnapshot) result;
-                                            
-                                            if (eventDoc != null && eventDoc.exists()) {
-                                                String eventTitle = eventDoc.getString("title");
-                                                Long issuedAt = invitationDoc.getLong("issuedAt");
-                                                
-                                                NotificationItem item = new NotificationItem();
-                                                item.id = "invitation_" + invitationDoc.getId();
-                                                item.title = "You've been invited!";
-                                                item.message = "You've been selected for \"" + (eventTitle != null ? eventTitle : "an event") + "\". Tap to view details and accept your invitation.";
-                                                item.eventId = invitationDoc.getString("eventId");
-                                                item.eventTitle = eventTitle;
-                                                item.createdAt = issuedAt != null ? issuedAt : System.currentTimeMillis();
-                                                item.groupType = "invitation";
-                                                
-                                                existingNotifications.add(item);
-                                                successCount++;
-                                                android.util.Log.d(TAG, "Added invitation notification for event: " + eventTitle);
-                                            } else {
-                                                android.util.Log.w(TAG, "Event document does not exist for invitation: " + invitationDoc.getId());
-                                            }
-                                        } else {
-                                            android.util.Log.w(TAG, "Task result is not a DocumentSnapshot: " + (result != null ? result.getClass().getName() : "null"));
-                                        }
-                                    } else {
+                                    if (!task.isSuccessful()) {
                                         android.util.Log.w(TAG, "Failed to load event for invitation: " + invitationDoc.getId(), task.getException());
+                                        continue;
                                     }
+                                    Object result = task.getResult();
+                                    if (!(result instanceof DocumentSnapshot) || !((DocumentSnapshot) result).exists()) {
+                                        android.util.Log.w(TAG, "Event document does not exist for invitation: " + invitationDoc.getId());
+                                        continue;
+                                    }
+                                    DocumentSnapshot eventDoc = (DocumentSnapshot) result;
+                                    String eventTitle = eventDoc.getString("title");
+                                    Long issuedAt = invitationDoc.getLong("issuedAt");
+                                    
+                                    NotificationItem item = new NotificationItem();
+                                    item.id = "invitation_" + invitationDoc.getId();
+                                    item.title = "You've been invited!";
+                                    item.message = "You've been selected for \"" + (eventTitle != null ? eventTitle : "an event") + "\". Tap to view details and accept your invitation.";
+                                    item.eventId = invitationDoc.getString("eventId");
+                                    item.eventTitle = eventTitle;
+                                    item.createdAt = issuedAt != null ? issuedAt : System.currentTimeMillis();
+                                    item.groupType = "invitation";
+                                    items.add(item);
+                                    android.util.Log.d(TAG, "Added invitation notification for event: " + eventTitle);
                                 }
                                 
-                                android.util.Log.d(TAG, "Successfully processed " + successCount + " invitations. Total notifications: " + existingNotifications.size());
-                                List<NotificationItem> finalList = new ArrayList<>(existingNotifications);
-                                finalList.sort((a, b) -> Long.compare(b.createdAt, a.createdAt));
-                                android.util.Log.d(TAG, "Submitting " + finalList.size() + " notifications to adapter");
-                                List<NotificationsAdapter.NotificationListItem> listItems = createSectionedList(finalList);
-                                adapter.submitList(listItems);
-                                setLoading(false);
-                                if (finalList.isEmpty()) {
-                                    showEmpty();
-                                } else {
-                                    showList();
-                                }
-                                
-                                if (!initialLoadComplete) {
-                                    android.util.Log.d(TAG, "Initial load complete - setting up real-time listener");
-                                    initialLoadComplete = true;
-                                    setupRealtimeListener();
-                                }
+                                onInvitationsLoaded(items);
                             })
                             .addOnFailureListener(e -> {
                                 android.util.Log.e(TAG, "Failed to load events for invitations", e);
-                                List<NotificationItem> finalList = new ArrayList<>(existingNotifications);
-                                finalList.sort((a, b) -> Long.compare(b.createdAt, a.createdAt));
-                                android.util.Log.d(TAG, "Submitting " + finalList.size() + " notifications to adapter (after error)");
-                                List<NotificationsAdapter.NotificationListItem> listItems = createSectionedList(finalList);
-                                adapter.submitList(listItems);
-                                setLoading(false);
-                                if (finalList.isEmpty()) {
-                                    showEmpty();
-                                } else {
-                                    showList();
-                                }
-                                
-                                if (!initialLoadComplete) {
-                                    android.util.Log.d(TAG, "Initial load complete (after error) - setting up real-time listener");
-                                    initialLoadComplete = true;
-                                    setupRealtimeListener();
-                                }
+                                onInvitationsLoaded(new ArrayList<>());
                             });
                 })
                 .addOnFailureListener(e -> {
                     android.util.Log.e(TAG, "Failed to load invitations", e);
-                    List<NotificationItem> finalList = new ArrayList<>(existingNotifications);
-                    finalList.sort((a, b) -> Long.compare(b.createdAt, a.createdAt));
-                    android.util.Log.d(TAG, "Submitting " + finalList.size() + " notifications to adapter (after error)");
-                    List<NotificationsAdapter.NotificationListItem> listItems = createSectionedList(finalList);
-                    adapter.submitList(listItems);
-                    setLoading(false);
-                    if (finalList.isEmpty()) {
-                        showEmpty();
-                    } else {
-                        showList();
-                    }
-                    
-                    if (!initialLoadComplete) {
-                        android.util.Log.d(TAG, "Initial load complete (after error) - setting up real-time listener");
-                        initialLoadComplete = true;
-                        setupRealtimeListener();
-                    }
+                    onInvitationsLoaded(new ArrayList<>());
                 });
     }
 
+    private void onInvitationsLoaded(List<NotificationItem> items) {
+        invitationItems = items;
+        invitationsLoaded = true;
+        render();
+    }
+
     private List<NotificationsAdapter.NotificationListItem> createSectionedList(List<NotificationItem> notifications) {
         List<NotificationsAdapter.NotificationListItem> sectionedList = new ArrayList<>();
         
@@ -8,9 +8,7 @@ import android.content.Context;
 import android.content.Intent;
 import android.content.SharedPreferences;
 import android.content.pm.PackageManager;
-import android.graphics.Bitmap;
 import android.graphics.Color;
-import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.ColorDrawable;
 import android.net.Uri;
 import android.os.Build;
@@ -44,6 +42,9 @@ import com.google.firebase.firestore.ListenerRegistration;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
 import com.google.firebase.firestore.QuerySnapshot;
 import com.example.eventease.R;
+import com.example.eventease.image.BlurEngine;
+import com.example.eventease.data.NotificationPreferenceResolver;
+import com.example.eventease.data.firebase.UnreadNotificationCounter;
 import com.example.eventease.auth.ProfileSetupActivity;
 import com.example.eventease.notifications.FCMTokenManager;
 import com.example.eventease.util.ToastUtil;
@@ -58,10 +59,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import android.renderscript.Allocation;
-import android.renderscript.Element;
-import android.renderscript.RenderScript;
-import android.renderscript.ScriptIntrinsicBlur;
 
 /**
  * Fragment for displaying user account information.
@@ -216,8 +213,7 @@ public class AccountFragment extends Fragment {
         super.onResume();
         // When returning to the account page (e.g., after viewing notifications),
         // hide the badge. The real-time listener in checkForNewNotifications()
-        // will turn it back on automatically if any *new* notifications arrive
-        // after the last seen time was updated in NotificationsActivity.
+        // will turn it back on automatically if the unread counter goes up again.
         if (notificationBadge != null) {
             notificationBadge.setVisibility(View.GONE);
         }
@@ -373,17 +369,8 @@ public class AccountFragment extends Fragment {
             dialog.getWindow().clearFlags(WindowManager.LayoutParams.FLAG_DIM_BEHIND);
         }
 
-        // Capture screenshot and blur it for the background
-        Bitmap screenshot = captureScreenshot();
-        if (screenshot != null) {
-            Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-            if (blurredBitmap != null) {
-                android.view.View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
-                if (blurBackground != null) {
-                    blurBackground.setBackground(new BitmapDrawable(getResources(), blurredBitmap));
-                }
-            }
-        }
+        // Blur the screen behind the dialog
+        BlurEngine.getInstance().blurBehind(getActivity(), dialog.findViewById(R.id.dialogBlurBackground));
 
         // Make the background clickable to dismiss
         android.view.View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
@@ -493,6 +480,7 @@ public class AccountFragment extends Fragment {
         db.collection("users").document(currentUserId)
                 .update(updates)
                 .addOnSuccessListener(aVoid -> {
+                    NotificationPreferenceResolver.getInstance().invalidate(currentUserId);
                     Log.d(TAG, "Notification preferences saved: invited=" + invitedEnabled + ", notInvited=" + notInvitedEnabled);
                     ToastUtil.showShort(getContext(), "Notification preferences saved");
                 })
@@ -504,7 +492,7 @@ public class AccountFragment extends Fragment {
 
     /**
      * Checks for new notifications and updates the badge visibility.
-     * Listens to notificationRequests and invitations collections in real-time.
+     * Listens to the user's unread notification counter in real-time.
      */
     private void checkForNewNotifications() {
         String currentUserId = com.example.eventease.auth.AuthHelper.getUid(requireContext());
@@ -512,121 +500,20 @@ public class AccountFragment extends Fragment {
             return;
         }
 
-        String uid = currentUserId;
-        SharedPreferences prefs = getContext().getSharedPreferences("EventEasePrefs", Context.MODE_PRIVATE);
-        long lastSeenTime = prefs.getLong("lastNotificationSeenTime", 0);
-
-        Log.d(TAG, "Setting up real-time notification badge listener for user: " + uid);
-        Log.d(TAG, "Initial last seen time: " + lastSeenTime);
+        Log.d(TAG, "Setting up real-time notification badge listener for user: " + currentUserId);
 
         if (notificationBadgeListener != null) {
             notificationBadgeListener.remove();
         }
 
-        notificationBadgeListener = db.collection("notificationRequests")
-                .addSnapshotListener((querySnapshot, e) -> {
-                    if (e != null) {
-                        Log.e(TAG, "Error in notification badge listener", e);
-                        return;
-                    }
-
-                    if (querySnapshot == null) {
-                        Log.w(TAG, "Query snapshot is null");
-                        return;
-                    }
-
-                    if (getView() == null) {
-                        Log.w(TAG, "View is null, cannot update badge");
-                        return;
-                    }
-
-                    Log.d(TAG, "Real-time update: notificationRequests changed, checking " + querySnapshot.size() + " documents");
-
-                    SharedPreferences currentPrefs = getContext() != null ?
-                            getContext().getSharedPreferences("EventEasePrefs", Context.MODE_PRIVATE) : null;
-                    if (currentPrefs == null) {
-                        Log.w(TAG, "Cannot get SharedPreferences");
-                        return;
-                    }
-
-                    long currentLastSeenTime = currentPrefs.getLong("lastNotificationSeenTime", 0);
-                    Log.d(TAG, "Current last seen time from prefs: " + currentLastSeenTime);
-
-                    boolean hasNewNotifications = false;
-                    int matchingCount = 0;
-                    for (com.google.firebase.firestore.QueryDocumentSnapshot doc : querySnapshot) {
-                        Object userIdsObj = doc.get("userIds");
-                        Long createdAt = doc.getLong("createdAt");
-
-                        if (createdAt != null && createdAt > currentLastSeenTime && userIdsObj instanceof List) {
-                            @SuppressWarnings("unchecked")
-                            List<String> userIds = (List<String>) userIdsObj;
-                            if (userIds.contains(uid)) {
-                                hasNewNotifications = true;
-                                matchingCount++;
-                                Log.d(TAG, "Found new notificationRequest: " + doc.getId() +
-                                        " created at " + createdAt + " (newer than " + currentLastSeenTime + ")");
-                            }
-                        }
-                    }
-
-                    Log.d(TAG, "Found " + matchingCount + " new notificationRequests for this user");
-
-                    final boolean hasNotificationRequests = hasNewNotifications;
-
-                    db.collection("invitations")
-                            .whereEqualTo("uid", uid)
-                            .whereEqualTo("status", "PENDING")
-                            .get()
-                            .addOnSuccessListener(invitationSnapshot -> {
-                                Log.d(TAG, "Checking " + invitationSnapshot.size() + " pending invitations");
-
-                                boolean hasNewInvitations = false;
-                                int newInvCount = 0;
-                                for (com.google.firebase.firestore.DocumentSnapshot invDoc : invitationSnapshot.getDocuments()) {
-                                    Long issuedAt = invDoc.getLong("issuedAt");
-                                    if (issuedAt != null && issuedAt > currentLastSeenTime) {
-                                        hasNewInvitations = true;
-                                        newInvCount++;
-                                        Log.d(TAG, "Found new invitation: " + invDoc.getId() +
-                                                " issued at " + issuedAt + " (newer than " + currentLastSeenTime + ")");
-                                    }
-                                }
-
-                                Log.d(TAG, "Found " + newInvCount + " new invitations");
-
-                                boolean shouldShowBadge = hasNotificationRequests || hasNewInvitations;
-
-                                Log.d(TAG, "Badge decision: shouldShowBadge=" + shouldShowBadge +
-                                        " (notificationRequests=" + hasNotificationRequests +
-                                        ", invitations=" + hasNewInvitations + ")");
-
-                                if (getView() != null && notificationBadge != null) {
-                                    if (getActivity() != null) {
-                                        getActivity().runOnUiThread(() -> {
-                                            if (notificationBadge != null) {
-                                                notificationBadge.setVisibility(shouldShowBadge ? View.VISIBLE : View.GONE);
-                                                Log.d(TAG, "Badge visibility updated to: " +
-                                                        (shouldShowBadge ? "VISIBLE" : "GONE"));
-                                            }
-                                        });
-                                    }
-                                }
-                            })
-                            .addOnFailureListener(error -> {
-                                Log.e(TAG, "Failed to check invitations for badge", error);
-                                // Still update badge based on notificationRequests
-                                if (getView() != null && notificationBadge != null) {
-                                    if (getActivity() != null) {
-                                        getActivity().runOnUiThread(() -> {
-                                            if (notificationBadge != null) {
-                                                notificationBadge.setVisibility(hasNotificationRequests ? View.VISIBLE : View.GONE);
-                                            }
-                                        });
-                                    }
-                                }
-                            });
-                });
+        notificationBadgeListener = UnreadNotificationCounter.listen(db, currentUserId, unread -> {
+            if (getView() == null || notificationBadge == null) {
+                Log.w(TAG, "View is null, cannot update badge");
+                return;
+            }
+            Log.d(TAG, "Unread notifications: " + unread);
+            notificationBadge.setVisibility(unread > 0 ? View.VISIBLE : View.GONE);
+        });
     }
 
     private void loadUserData() {
@@ -776,17 +663,8 @@ public class AccountFragment extends Fragment {
             dialog.getWindow().clearFlags(WindowManager.LayoutParams.FLAG_DIM_BEHIND);
         }
 
-        // Capture screenshot and blur it for the background
-        Bitmap screenshot = captureScreenshot();
-        if (screenshot != null) {
-            Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-            if (blurredBitmap != null) {
-                android.view.View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
-                if (blurBackground != null) {
-                    blurBackground.setBackground(new BitmapDrawable(getResources(), blurredBitmap));
-                }
-            }
-        }
+        // Blur the screen behind the dialog
+        BlurEngine.getInstance().blurBehind(getActivity(), dialog.findViewById(R.id.dialogBlurBackground));
 
         // Make the background clickable to dismiss
         android.view.View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
@@ -950,50 +828,6 @@ public class AccountFragment extends Fragment {
                         ToastUtil.showShort(getContext(), "Failed to upload image: " + e.getMessage()));
     }
 
-    private Bitmap captureScreenshot() {
-        try {
-            if (getActivity() == null || getActivity().getWindow() == null) return null;
-            android.view.View rootView = getActivity().getWindow().getDecorView().getRootView();
-            rootView.setDrawingCacheEnabled(true);
-            Bitmap bitmap = Bitmap.createBitmap(rootView.getDrawingCache());
-            rootView.setDrawingCacheEnabled(false);
-            return bitmap;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
-    }
-
-    private Bitmap blurBitmap(Bitmap bitmap, float radius) {
-        if (bitmap == null || getContext() == null) return null;
-
-        try {
-            // Scale down for better performance
-            int width = Math.round(bitmap.getWidth() * 0.4f);
-            int height = Math.round(bitmap.getHeight() * 0.4f);
-            Bitmap inputBitmap = Bitmap.createScaledBitmap(bitmap, width, height, false);
-            Bitmap outputBitmap = Bitmap.createBitmap(inputBitmap);
-
-            RenderScript rs = RenderScript.create(getContext());
-            ScriptIntrinsicBlur blurScript = ScriptIntrinsicBlur.create(rs, Element.U8_4(rs));
-            Allocation tmpIn = Allocation.createFromBitmap(rs, inputBitmap);
-            Allocation tmpOut = Allocation.createFromBitmap(rs, outputBitmap);
-
-            blurScript.setRadius(radius);
-            blurScript.setInput(tmpIn);
-            blurScript.forEach(tmpOut);
-            tmpOut.copyTo(outputBitmap);
-
-            rs.destroy();
-
-            // Scale back up
-            return Bitmap.createScaledBitmap(outputBitmap, bitmap.getWidth(), bitmap.getHeight(), true);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return bitmap;
-        }
-    }
-
     private void deleteProfile() {
         if (getContext() == null) return;
 
@@ -1009,67 +843,19 @@ public class AccountFragment extends Fragment {
 
         ProfileDeletionHelper deletionHelper = new ProfileDeletionHelper(getContext());
         
-        // Check if user is an organizer and delete their events first
+        // Check if user is an organizer so the cascade also deletes their events
         com.google.firebase.firestore.DocumentReference userRef = db.collection("users").document(uid);
         userRef.get()
-                .addOnSuccessListener(userDoc -> {
-                    if (userDoc != null && userDoc.exists()) {
-                        java.util.List<String> roles = (java.util.List<String>) userDoc.get("roles");
-                        boolean isOrganizer = roles != null && roles.contains("organizer");
-                        
-                        com.google.android.gms.tasks.Task<Void> organizerEventsTask = com.google.android.gms.tasks.Tasks.forResult(null);
-                        if (isOrganizer) {
-                            android.util.Log.d("AccountFragment", "User is an organizer, deleting their events first");
-                            organizerEventsTask = deletionHelper.deleteOrganizerEvents(uid);
-                        }
-                        
-                        // Wait for organizer events deletion (if applicable), then proceed with user references
-                        organizerEventsTask
-                                .continueWithTask(task -> {
-                                    com.google.android.gms.tasks.TaskCompletionSource<Void> completionSource = new com.google.android.gms.tasks.TaskCompletionSource<>();
-                                    deletionHelper.deleteAllUserReferences(uid, new ProfileDeletionHelper.DeletionCallback() {
-                                        @Override
-                                        public void onDeletionComplete() {
-                                            completionSource.setResult(null);
-                                        }
-
-                                        @Override
-                                        public void onDeletionFailure(String error) {
-                                            android.util.Log.e("AccountFragment", "Failed to delete user references: " + error);
-                                            // Still proceed even if some references failed
-                                            completionSource.setResult(null);
-                                        }
-                                    });
-                                    return completionSource.getTask();
-                                })
-                                .addOnSuccessListener(aVoid -> {
-                                    deleteUserDocumentAndAuth(uid);
-                                })
-                                .addOnFailureListener(e -> {
-                                    android.util.Log.e("AccountFragment", "Failed during profile deletion process", e);
-                                    // Still try to delete the user document
-                                    deleteUserDocumentAndAuth(uid);
-                                });
-                    } else {
-                        // User document not found, proceed with deletion anyway
-                        deletionHelper.deleteAllUserReferences(uid, new ProfileDeletionHelper.DeletionCallback() {
-                            @Override
-                            public void onDeletionComplete() {
-                                deleteUserDocumentAndAuth(uid);
-                            }
-
-                            @Override
-                            public void onDeletionFailure(String error) {
-                                android.util.Log.e("AccountFragment", "Failed to delete user references: " + error);
-                                deleteUserDocumentAndAuth(uid);
-                            }
-                        });
+                .addOnCompleteListener(userTask -> {
+                    boolean isOrganizer = false;
+                    if (userTask.isSuccessful() && userTask.getResult() != null && userTask.getResult().exists()) {
+                        java.util.List<String> roles = (java.util.List<String>) userTask.getResult().get("roles");
+                        isOrganizer = roles != null && roles.contains("organizer");
+                    } else if (!userTask.isSuccessful()) {
+                        android.util.Log.e("AccountFragment", "Failed to check user roles, proceeding with deletion", userTask.getException());
                     }
-                })
-                .addOnFailureListener(e -> {
-                    android.util.Log.e("AccountFragment", "Failed to check user roles, proceeding with deletion", e);
-                    // If we can't check roles, proceed with deletion anyway
-                    deletionHelper.deleteAllUserReferences(uid, new ProfileDeletionHelper.DeletionCallback() {
+
+                    deletionHelper.deleteAllUserReferences(uid, isOrganizer, new ProfileDeletionHelper.DeletionCallback() {
                         @Override
                         public void onDeletionComplete() {
                             deleteUserDocumentAndAuth(uid);
@@ -1078,7 +864,8 @@ public class AccountFragment extends Fragment {
                         @Override
                         public void onDeletionFailure(String error) {
                             android.util.Log.e("AccountFragment", "Failed to delete user references: " + error);
-                            deleteUserDocumentAndAuth(uid);
+                            // Keep the user document so deleting again resumes the cascade
+                            ToastUtil.showLong(getContext(), "Failed to delete profile, please try again");
                         }
                     });
                 });
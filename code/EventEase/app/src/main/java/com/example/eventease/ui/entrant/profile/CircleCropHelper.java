@@ -17,6 +17,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.bumptech.glide.Glide;
 import com.example.eventease.R;
+import com.example.eventease.image.RegionCropper;
 import com.google.android.material.button.MaterialButton;
 
 /**
@@ -74,10 +75,8 @@ public class CircleCropHelper {
             return;
         }
         
-        // Load image into crop view
-        Glide.with(context)
-                .asBitmap()
-                .load(imageUri)
+        // Load a bounded preview into the crop view; the crop itself is decoded from the original
+        RegionCropper.preview(Glide.with(context), imageUri)
                 .into(new com.bumptech.glide.request.target.CustomTarget<Bitmap>() {
                     @Override
                     public void onResourceReady(@NonNull Bitmap resource, 
@@ -94,25 +93,38 @@ public class CircleCropHelper {
             btnDone.setOnClickListener(v -> {
                 Matrix cropMatrix = (Matrix) cropImageView.getTag();
                 if (cropMatrix != null && imageUri != null) {
-                    // Reload bitmap to extract cropped circle
-                    Glide.with(context)
-                            .asBitmap()
-                            .load(imageUri)
-                            .into(new com.bumptech.glide.request.target.CustomTarget<Bitmap>() {
-                                @Override
-                                public void onResourceReady(@NonNull Bitmap originalBitmap,
-                                                            @Nullable com.bumptech.glide.request.transition.Transition<? super Bitmap> transition) {
-                                    Bitmap croppedCircle = extractCircleBitmap(
-                                            originalBitmap, cropMatrix, 
-                                            cropImageView.getWidth(), cropImageView.getHeight());
-                                    if (croppedCircle != null && callback != null) {
-                                        callback.onCropComplete(croppedCircle);
-                                    }
-                                    cropDialog.dismiss();
+                    int viewWidth = cropImageView.getWidth();
+                    int viewHeight = cropImageView.getHeight();
+                    int size = Math.min(viewWidth, viewHeight);
+                    RectF circleArea = new RectF(
+                            (viewWidth - size) / 2f, (viewHeight - size) / 2f,
+                            (viewWidth + size) / 2f, (viewHeight + size) / 2f);
+                    RectF region = RegionCropper.visibleRect(cropImageView, cropMatrix, circleArea);
+                    if (region == null || size == 0) {
+                        cropDialog.dismiss();
+                        return;
+                    }
+                    v.setEnabled(false);
+                    // Decode only the area under the circle, at the size it is shown
+                    RegionCropper.crop(context, imageUri, region, size)
+                            .addOnSuccessListener(croppedRegion -> {
+                                Bitmap croppedCircle = createCircularBitmap(croppedRegion, size);
+                                croppedRegion.recycle();
+                                if (croppedCircle != null && callback != null) {
+                                    callback.onCropComplete(croppedCircle);
+                                }
+                                cropDialog.dismiss();
+                            })
+                            .addOnFailureListener(e -> {
+                                Log.e(TAG, "Failed to crop from original, using preview", e);
+                                Bitmap preview = previewBitmap(cropImageView);
+                                Bitmap croppedCircle = preview != null
+                                        ? extractCircleBitmap(preview, cropMatrix, viewWidth, viewHeight)
+                                        : null;
+                                if (croppedCircle != null && callback != null) {
+                                    callback.onCropComplete(croppedCircle);
                                 }
-                                
-                                @Override
-                                public void onLoadCleared(@Nullable android.graphics.drawable.Drawable placeholder) {}
+                                cropDialog.dismiss();
                             });
                 } else {
                     cropDialog.dismiss();
@@ -181,7 +193,18 @@ public class CircleCropHelper {
     }
     
     /**
-     * Extracts a circular bitmap from the original based on the crop view's matrix
+     * @return the preview bitmap shown in the crop view, if any
+     */
+    @Nullable
+    private static Bitmap previewBitmap(ImageView cropView) {
+        android.graphics.drawable.Drawable drawable = cropView.getDrawable();
+        return drawable instanceof android.graphics.drawable.BitmapDrawable
+                ? ((android.graphics.drawable.BitmapDrawable) drawable).getBitmap()
+                : null;
+    }
+    
+    /**
+     * Extracts a circular bitmap from the preview based on the crop view's matrix
      */
     private static Bitmap extractCircleBitmap(Bitmap originalBitmap, Matrix cropMatrix,
                                              int viewWidth, int viewHeight) {
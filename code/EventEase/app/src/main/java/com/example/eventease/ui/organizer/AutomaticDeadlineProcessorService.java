@@ -1,6 +1,7 @@
 package com.example.eventease.ui.organizer;
 
 import android.util.Log;
+import com.example.eventease.data.firebase.EventStreamHub;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.ListenerRegistration;
@@ -41,22 +42,13 @@ public class AutomaticDeadlineProcessorService {
         
         InvitationDeadlineProcessor deadlineProcessor = new InvitationDeadlineProcessor();
         
-        // Listen to events - only process document changes
-        deadlineListenerRegistration = db.collection("events")
-                .addSnapshotListener((snapshot, error) -> {
-                    if (error != null) {
-                        Log.e(TAG, "Error in deadline processor listener", error);
-                        return;
-                    }
-                    
-                    if (snapshot == null) {
-                        return;
-                    }
-                    
+        // Listen to events through the shared hub stream - only process document changes
+        deadlineListenerRegistration = EventStreamHub.getInstance()
+                .subscribeAllEvents((changes, documents) -> {
                     long currentTime = System.currentTimeMillis();
                     
                     // Only process changed documents (ADDED or MODIFIED)
-                    for (com.google.firebase.firestore.DocumentChange change : snapshot.getDocumentChanges()) {
+                    for (EventStreamHub.Change change : changes) {
                         // Only process if document was added or modified
                         if (change.getType() != com.google.firebase.firestore.DocumentChange.Type.ADDED && 
                             change.getType() != com.google.firebase.firestore.DocumentChange.Type.MODIFIED) {
@@ -104,20 +96,7 @@ public class AutomaticDeadlineProcessorService {
                             Log.d(TAG, "Auto-processing deadline for event: " + eventId + 
                                 " (deadline was at " + new java.util.Date(deadlineEpochMs) + ")");
                             
-                            deadlineProcessor.processDeadlineForEvent(eventId, new InvitationDeadlineProcessor.DeadlineCallback() {
-                                @Override
-                                public void onComplete(int processedCount) {
-                                    if (processedCount > 0) {
-                                        Log.d(TAG, "Auto-deadline processing completed: " + processedCount + 
-                                            " non-responders processed for event " + eventId);
-                                    }
-                                }
-                                
-                                @Override
-                                public void onError(String error) {
-                                    Log.e(TAG, "Auto-deadline processing error for event " + eventId + ": " + error);
-                                }
-                            });
+                            processDeadline(deadlineProcessor, eventId);
                         }
                     }
                     
@@ -129,6 +108,31 @@ public class AutomaticDeadlineProcessorService {
                 });
     }
     
+    /**
+     * Moves the non-responders of one event to CancelledEntrants. Called by the listener and by
+     * {@link DeadlineSchedulerService} when an event's deadline passes.
+     */
+    static void processDeadline(String eventId) {
+        processDeadline(new InvitationDeadlineProcessor(), eventId);
+    }
+
+    private static void processDeadline(InvitationDeadlineProcessor deadlineProcessor, String eventId) {
+        deadlineProcessor.processDeadlineForEvent(eventId, new InvitationDeadlineProcessor.DeadlineCallback() {
+            @Override
+            public void onComplete(int processedCount) {
+                if (processedCount > 0) {
+                    Log.d(TAG, "Auto-deadline processing completed: " + processedCount +
+                        " non-responders processed for event " + eventId);
+                }
+            }
+
+            @Override
+            public void onError(String error) {
+                Log.e(TAG, "Auto-deadline processing error for event " + eventId + ": " + error);
+            }
+        });
+    }
+
     /**
      * Stops the deadline processor listener.
      */
@@ -5,6 +5,7 @@ import android.app.job.JobParameters;
 import android.app.job.JobService;
 import android.util.Log;
 
+import com.example.eventease.data.firebase.EventStreamHub;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
@@ -223,23 +224,14 @@ public class AutomaticEntrantSelectionService extends JobService {
         
         // Listen to events where registrationEnd is in the past and selectionProcessed is false
         // Only process document changes to avoid processing all events on every snapshot
-        selectionListenerRegistration = db.collection("events")
-                .addSnapshotListener((snapshot, error) -> {
-                    if (error != null) {
-                        Log.e(TAG, "Error in automatic entrant selection listener", error);
-                        return;
-                    }
-                    
-                    if (snapshot == null) {
-                        return;
-                    }
-                    
+        selectionListenerRegistration = EventStreamHub.getInstance()
+                .subscribeAllEvents((changes, documents) -> {
                     long snapshotCurrentTime = System.currentTimeMillis();
                     
                     // Only process changed documents (ADDED or MODIFIED)
                     // This prevents processing all events on every snapshot
-                    Log.d(TAG, "Snapshot received with " + snapshot.getDocumentChanges().size() + " document changes");
-                    for (com.google.firebase.firestore.DocumentChange change : snapshot.getDocumentChanges()) {
+                    Log.d(TAG, "Snapshot received with " + changes.size() + " document changes");
+                    for (EventStreamHub.Change change : changes) {
                         DocumentSnapshot eventDoc = change.getDocument();
                         Long registrationEnd = eventDoc.getLong("registrationEnd");
                         Boolean selectionProcessed = eventDoc.getBoolean("selectionProcessed");
@@ -294,28 +286,9 @@ public class AutomaticEntrantSelectionService extends JobService {
                                 // FIX: Don't skip events on initial load - we want to process all events that need selection
                                 // The duplicate prevention is handled by selectionProcessed flag and processingEventIds set
                                 
-                                // Mark as processing to prevent duplicate processing
-                                processingEventIds.add(eventId);
                                 Log.d(TAG, "Auto-processing entrant selection for event: " + eventId + 
                                     " (registration ended at " + new java.util.Date(registrationEnd) + ")");
-                                
-                                selectionHelper.checkAndProcessEventSelection(eventId, new EventSelectionHelper.SelectionCallback() {
-                                    @Override
-                                    public void onComplete(int selectedCount) {
-                                        // Remove from processing set
-                                        processingEventIds.remove(eventId);
-                                        if (selectedCount > 0) {
-                                            Log.d(TAG, "Auto-selection completed: " + selectedCount + " entrants selected for event " + eventId);
-                                        }
-                                    }
-                                    
-                                    @Override
-                                    public void onError(String error) {
-                                        // Remove from processing set even on error
-                                        processingEventIds.remove(eventId);
-                                        Log.e(TAG, "Auto-selection error for event " + eventId + ": " + error);
-                                    }
-                                });
+                                processSelection(selectionHelper, eventId);
                             }
                         }
                     }
@@ -328,6 +301,39 @@ public class AutomaticEntrantSelectionService extends JobService {
                 });
     }
     
+    /**
+     * Runs the lottery for one event unless it is already being processed. Called by the
+     * listener and by {@link DeadlineSchedulerService} when registration closes.
+     */
+    static void processSelection(String eventId) {
+        processSelection(new EventSelectionHelper(), eventId);
+    }
+
+    private static void processSelection(EventSelectionHelper selectionHelper, String eventId) {
+        // Mark as processing to prevent duplicate processing
+        if (!processingEventIds.add(eventId)) {
+            Log.d(TAG, "Event " + eventId + " is already being processed, skipping");
+            return;
+        }
+        selectionHelper.checkAndProcessEventSelection(eventId, new EventSelectionHelper.SelectionCallback() {
+            @Override
+            public void onComplete(int selectedCount) {
+                // Remove from processing set
+                processingEventIds.remove(eventId);
+                if (selectedCount > 0) {
+                    Log.d(TAG, "Auto-selection completed: " + selectedCount + " entrants selected for event " + eventId);
+                }
+            }
+
+            @Override
+            public void onError(String error) {
+                // Remove from processing set even on error
+                processingEventIds.remove(eventId);
+                Log.e(TAG, "Auto-selection error for event " + eventId + ": " + error);
+            }
+        });
+    }
+
     /**
      * Stops the automatic selection listener.
      */
@@ -0,0 +1,206 @@
+package com.example.eventease.ui.organizer;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import com.example.eventease.data.firebase.EventClaims;
+import com.example.eventease.data.firebase.EventStreamHub;
+import com.example.eventease.logic.DeadlineScheduler;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Service that runs time-based event processing at the moment it falls due.
+ *
+ * <p>The other automatic services react to event changes, so an event whose deadline passes
+ * without its document changing is only processed on its next update. This service indexes the
+ * {@code registrationEnd}, {@code deadlineEpochMs} and {@code startsAtEpochMs} of every event
+ * from the shared events stream on a {@link DeadlineScheduler}, wakes the main thread at the
+ * next due time and hands each event to the existing processor:
+ * <ul>
+ *   <li>registration end: {@link AutomaticEntrantSelectionService} (only if enabled, see below)</li>
+ *   <li>invitation deadline: {@link AutomaticDeadlineProcessorService}</li>
+ *   <li>shortly before start: {@link SorryNotificationService}</li>
+ * </ul>
+ *
+ * <p>Every device runs these timers, so each due event is first claimed through
+ * {@link EventClaims}; only the device that wins the claim runs the processor. Invitation
+ * deadlines of events that have already started are skipped, as the listener-based processor does.
+ *
+ * <p>Entrant selection is normally done by the Cloud Function, so registration-end timers are
+ * only kept when the service is started with selection enabled.
+ */
+public class DeadlineSchedulerService {
+    private static final String TAG = "DeadlineScheduler";
+    private static final Handler handler = new Handler(Looper.getMainLooper());
+    private static final Map<String, DocumentSnapshot> latestEvents = new HashMap<>();
+    private static final EventClaims claims = new EventClaims(FirebaseFirestore.getInstance());
+    private static DeadlineScheduler scheduler;
+    private static ListenerRegistration registration;
+    private static boolean selectionEnabled;
+
+    private static final Runnable tick = DeadlineSchedulerService::onTick;
+
+    /**
+     * Starts indexing events and firing their deadlines.
+     *
+     * @param withSelection also run the lottery when registration ends
+     */
+    public static void start(boolean withSelection) {
+        if (registration != null) {
+            Log.d(TAG, "Deadline scheduler already running");
+            return;
+        }
+        Log.d(TAG, "Starting deadline scheduler (selection " + (withSelection ? "enabled" : "disabled") + ")");
+        selectionEnabled = withSelection;
+        scheduler = new DeadlineScheduler(System::currentTimeMillis, DeadlineSchedulerService::onDue);
+        registration = EventStreamHub.getInstance().subscribeAllEvents((changes, documents) -> {
+            for (EventStreamHub.Change change : changes) {
+                DocumentSnapshot eventDoc = change.getDocument();
+                if (change.getType() == DocumentChange.Type.REMOVED) {
+                    latestEvents.remove(eventDoc.getId());
+                    scheduler.remove(eventDoc.getId());
+                } else {
+                    latestEvents.put(eventDoc.getId(), eventDoc);
+                    index(eventDoc);
+                }
+            }
+            Log.d(TAG, scheduler.size() + " deadlines pending");
+            rescheduleWakeup();
+        });
+    }
+
+    /**
+     * Stops the scheduler and drops all pending deadlines.
+     */
+    public static void stop() {
+        if (registration != null) {
+            registration.remove();
+            registration = null;
+        }
+        handler.removeCallbacks(tick);
+        if (scheduler != null) {
+            scheduler.clear();
+            scheduler = null;
+        }
+        latestEvents.clear();
+        Log.d(TAG, "Stopped deadline scheduler");
+    }
+
+    private static void index(DocumentSnapshot eventDoc) {
+        String eventId = eventDoc.getId();
+
+        if (selectionEnabled && !Boolean.TRUE.equals(eventDoc.getBoolean("selectionProcessed"))) {
+            scheduler.schedule(eventId, DeadlineScheduler.Kind.REGISTRATION_END, eventDoc.getLong("registrationEnd"));
+        } else {
+            scheduler.cancel(eventId, DeadlineScheduler.Kind.REGISTRATION_END);
+        }
+
+        if (!Boolean.TRUE.equals(eventDoc.getBoolean("deadlineNotificationSent"))) {
+            scheduler.schedule(eventId, DeadlineScheduler.Kind.INVITATION_DEADLINE, eventDoc.getLong("deadlineEpochMs"));
+        } else {
+            scheduler.cancel(eventId, DeadlineScheduler.Kind.INVITATION_DEADLINE);
+        }
+
+        Long startsAtEpochMs = eventDoc.getLong("startsAtEpochMs");
+        if (!Boolean.TRUE.equals(eventDoc.getBoolean("sorryNotificationSent"))
+                && startsAtEpochMs != null && startsAtEpochMs > 0) {
+            scheduler.schedule(eventId, DeadlineScheduler.Kind.SORRY_NOTIFICATION,
+                    startsAtEpochMs - SorryNotificationService.NOTIFICATION_BEFORE_START_MS);
+        } else {
+            scheduler.cancel(eventId, DeadlineScheduler.Kind.SORRY_NOTIFICATION);
+        }
+    }
+
+    private static void onTick() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.advance();
+        rescheduleWakeup();
+    }
+
+    private static void rescheduleWakeup() {
+        handler.removeCallbacks(tick);
+        if (scheduler == null) {
+            return;
+        }
+        long next = scheduler.nextWakeupMs();
+        if (next == Long.MAX_VALUE) {
+            return;
+        }
+        handler.postDelayed(tick, Math.max(0, next - System.currentTimeMillis()));
+    }
+
+    private static void onDue(String eventId, DeadlineScheduler.Kind kind, long dueAtMs) {
+        Log.d(TAG, kind + " due for event " + eventId + " (at " + new java.util.Date(dueAtMs) + ")");
+        long now = System.currentTimeMillis();
+        if (kind == DeadlineScheduler.Kind.INVITATION_DEADLINE && hasStarted(latestEvents.get(eventId), now)) {
+            Log.d(TAG, "Event " + eventId + " has already started, skipping deadline processing");
+            return;
+        }
+        claims.claim(eventId, doneFieldOf(kind), claimFieldOf(kind), now)
+                .addOnSuccessListener(claimed -> {
+                    if (Boolean.TRUE.equals(claimed)) {
+                        process(eventId, kind);
+                    } else {
+                        Log.d(TAG, kind + " for event " + eventId + " is done or claimed by another device");
+                    }
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to claim " + kind + " for event " + eventId, e));
+    }
+
+    private static boolean hasStarted(DocumentSnapshot eventDoc, long now) {
+        Long startsAtEpochMs = eventDoc != null ? eventDoc.getLong("startsAtEpochMs") : null;
+        return startsAtEpochMs != null && startsAtEpochMs > 0 && now >= startsAtEpochMs;
+    }
+
+    /**
+     * The event field its processor sets once the work is done.
+     */
+    private static String doneFieldOf(DeadlineScheduler.Kind kind) {
+        switch (kind) {
+            case REGISTRATION_END:
+                return "selectionProcessed";
+            case INVITATION_DEADLINE:
+                return "deadlineNotificationSent";
+            default:
+                return "sorryNotificationSent";
+        }
+    }
+
+    /**
+     * The event field holding the time a device claimed the work.
+     */
+    private static String claimFieldOf(DeadlineScheduler.Kind kind) {
+        switch (kind) {
+            case REGISTRATION_END:
+                return "selectionClaimedAt";
+            case INVITATION_DEADLINE:
+                return "deadlineClaimedAt";
+            default:
+                return "sorryClaimedAt";
+        }
+    }
+
+    private static void process(String eventId, DeadlineScheduler.Kind kind) {
+        switch (kind) {
+            case REGISTRATION_END:
+                AutomaticEntrantSelectionService.processSelection(eventId);
+                break;
+            case INVITATION_DEADLINE:
+                AutomaticDeadlineProcessorService.processDeadline(eventId);
+                break;
+            case SORRY_NOTIFICATION:
+                DocumentSnapshot eventDoc = latestEvents.get(eventId);
+                if (eventDoc != null) {
+                    SorryNotificationService.checkAndSendSorryNotifications(eventDoc, System.currentTimeMillis());
+                }
+                break;
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.example.eventease.ui.organizer;
 
 import android.util.Log;
 
+import com.example.eventease.data.CountService;
+import com.example.eventease.data.firebase.EntrantStatusStore;
+import com.example.eventease.model.EntrantStatus;
 import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.firestore.DocumentReference;
@@ -25,18 +28,20 @@ import java.util.UUID;
  * <ol>
  *   <li>Checks if registration period has ended</li>
  *   <li>Randomly selects entrants from waitlist based on sampleSize</li>
- *   <li>Moves selected entrants to SelectedEntrants subcollection</li>
+ *   <li>Moves selected entrants to SELECTED (one entrant status write each)</li>
  *   <li>Automatically creates invitations for selected entrants</li>
  *   <li>Sends push notifications to selected entrants</li>
- *   <li>Moves remaining waitlisted entrants to NonSelectedEntrants after deadline</li>
+ *   <li>Moves remaining waitlisted entrants to NON_SELECTED after deadline</li>
  * </ol>
  */
 public class EventSelectionHelper {
     private static final String TAG = "EventSelectionHelper";
     private final FirebaseFirestore db;
+    private final EntrantStatusStore entrantStatusStore;
     
     public EventSelectionHelper() {
         this.db = FirebaseFirestore.getInstance();
+        this.entrantStatusStore = new EntrantStatusStore(db);
     }
     
     public interface SelectionCallback {
@@ -162,9 +167,8 @@ public class EventSelectionHelper {
         Log.d(TAG, "=== Processing selection for event " + eventId + " with sample size " + sampleSize + " ===");
         
         // CRITICAL FIX: First check how many are already selected to prevent race conditions
-        eventRef.collection("SelectedEntrants").get()
-                .addOnSuccessListener(selectedSnapshot -> {
-                    int currentSelectedCount = selectedSnapshot != null ? selectedSnapshot.size() : 0;
+        CountService.getInstance().countEntrantsFresh(eventId, "SelectedEntrants")
+                .addOnSuccessListener(currentSelectedCount -> {
                     int availableSpots = sampleSize - currentSelectedCount;
                     
                     Log.d(TAG, "Current selected count: " + currentSelectedCount + ", Sample size: " + sampleSize + ", Available spots: " + availableSpots);
@@ -176,15 +180,14 @@ public class EventSelectionHelper {
                     }
                     
                     // Now get waitlist and select only availableSpots
-        eventRef.collection("WaitlistedEntrants").get()
-                .addOnSuccessListener(waitlistSnapshot -> {
-                    if (waitlistSnapshot == null || waitlistSnapshot.isEmpty()) {
+        entrantStatusStore.list(eventId, EntrantStatus.WAITLISTED)
+                .addOnSuccessListener(waitlistedDocs -> {
+                    if (waitlistedDocs.isEmpty()) {
                         Log.d(TAG, "No waitlisted entrants to select from");
                         markAsProcessed(eventRef, callback);
                         return;
                     }
                     
-                    List<DocumentSnapshot> waitlistedDocs = waitlistSnapshot.getDocuments();
                     int availableCount = waitlistedDocs.size();
                                 // CRITICAL: Select only availableSpots (not sampleSize!)
                                 int toSelect = Math.min(availableSpots, availableCount);
@@ -337,18 +340,10 @@ public class EventSelectionHelper {
                 continue;
             }
             
-            DocumentReference selectedRef = eventRef.collection("SelectedEntrants").document(userId);
-            DocumentReference waitlistRef = eventRef.collection("WaitlistedEntrants").document(userId);
-            DocumentReference nonSelectedRef = eventRef.collection("NonSelectedEntrants").document(userId);
-            DocumentReference cancelledRef = eventRef.collection("CancelledEntrants").document(userId);
-            
-            // CRITICAL: Ensure mutual exclusivity - user can only exist in ONE collection
-            batch.set(selectedRef, data);
-            // Remove from ALL other collections
-            batch.delete(waitlistRef);
-            batch.delete(nonSelectedRef);
-            batch.delete(cancelledRef);
-            batchCount += 4; // Set + 3 deletes
+            // One status write; the entrant can only be in ONE state, and the legacy
+            // subcollections are updated by the projection
+            entrantStatusStore.set(batch, eventId, userId, EntrantStatus.WAITLISTED, EntrantStatus.SELECTED, data);
+            batchCount++;
             
             if (batchCount >= MAX_BATCH_SIZE) {
                 final WriteBatch currentBatch = batch;
@@ -373,6 +368,7 @@ public class EventSelectionHelper {
             Tasks.whenAll(batchTasks)
                     .addOnSuccessListener(aVoid -> {
                         Log.d(TAG, "✓ Successfully moved " + finalSelectedDocs.size() + " entrants to SelectedEntrants");
+                        CountService.getInstance().invalidateEvent(eventId);
                         Log.d(TAG, "=== Now sending invitations and notifications ===");
                         
                         // Automatically send invitations and notifications
@@ -616,21 +612,19 @@ public class EventSelectionHelper {
         Log.d(TAG, "=== Moving remaining waitlisted entrants to NonSelectedEntrants ===");
         
         // First, get the list of selected entrants to exclude them
-        eventRef.collection("SelectedEntrants").get()
-                .addOnSuccessListener(selectedSnapshot -> {
+        entrantStatusStore.list(eventId, EntrantStatus.SELECTED)
+                .addOnSuccessListener(selectedDocs -> {
                     // Build a set of selected user IDs
                     java.util.Set<String> selectedUserIds = new java.util.HashSet<>();
-                    if (selectedSnapshot != null && !selectedSnapshot.isEmpty()) {
-                        for (DocumentSnapshot doc : selectedSnapshot.getDocuments()) {
-                            selectedUserIds.add(doc.getId());
-                        }
+                    for (DocumentSnapshot doc : selectedDocs) {
+                        selectedUserIds.add(doc.getId());
                     }
                     Log.d(TAG, "Found " + selectedUserIds.size() + " selected entrants to exclude");
                     
                     // Now get waitlisted entrants
-                    eventRef.collection("WaitlistedEntrants").get()
-                            .addOnSuccessListener(waitlistSnapshot -> {
-                                if (waitlistSnapshot == null || waitlistSnapshot.isEmpty()) {
+                    entrantStatusStore.list(eventId, EntrantStatus.WAITLISTED)
+                            .addOnSuccessListener(waitlistedDocs -> {
+                                if (waitlistedDocs.isEmpty()) {
                                     Log.d(TAG, "No remaining waitlisted entrants to move");
                                     if (callback != null) {
                                         callback.onComplete(0);
@@ -638,7 +632,6 @@ public class EventSelectionHelper {
                                     return;
                                 }
                                 
-                                List<DocumentSnapshot> waitlistedDocs = waitlistSnapshot.getDocuments();
                                 List<DocumentSnapshot> toMove = new ArrayList<>();
                                 
                                 // Filter out selected entrants
@@ -671,18 +664,10 @@ public class EventSelectionHelper {
                                         continue;
                                     }
                                     
-                                    DocumentReference nonSelectedRef = eventRef.collection("NonSelectedEntrants").document(userId);
-                                    DocumentReference waitlistRef = eventRef.collection("WaitlistedEntrants").document(userId);
-                                    DocumentReference selectedRef = eventRef.collection("SelectedEntrants").document(userId);
-                                    DocumentReference cancelledRef = eventRef.collection("CancelledEntrants").document(userId);
-                                    
-                                    // CRITICAL: Ensure mutual exclusivity - user can only exist in ONE collection
-                                    batch.set(nonSelectedRef, data);
-                                    // Remove from ALL other collections
-                                    batch.delete(waitlistRef);
-                                    batch.delete(selectedRef);
-                                    batch.delete(cancelledRef);
-                                    batchCount += 4; // Set + 3 deletes
+                                    // One status write; the projection updates the legacy subcollections
+                                    entrantStatusStore.set(batch, eventId, userId,
+                                            EntrantStatus.WAITLISTED, EntrantStatus.NON_SELECTED, data);
+                                    batchCount++;
                                     
                                     if (batchCount >= MAX_BATCH_SIZE) {
                                         final WriteBatch currentBatch = batch;
@@ -2,6 +2,8 @@ package com.example.eventease.ui.organizer;
 
 import android.util.Log;
 
+import com.example.eventease.data.firebase.EntrantStatusStore;
+import com.example.eventease.model.EntrantStatus;
 import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.firestore.DocumentReference;
@@ -10,8 +12,6 @@ import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
 import com.google.firebase.firestore.QuerySnapshot;
-import com.google.firebase.firestore.SetOptions;
-import com.google.firebase.firestore.WriteBatch;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -30,9 +30,11 @@ import java.util.Map;
 public class InvitationDeadlineProcessor {
     private static final String TAG = "InvitationDeadlineProcessor";
     private final FirebaseFirestore db;
+    private final EntrantStatusStore entrantStatusStore;
     
     public InvitationDeadlineProcessor() {
         this.db = FirebaseFirestore.getInstance();
+        this.entrantStatusStore = new EntrantStatusStore(db);
     }
     
     public interface DeadlineCallback {
@@ -190,19 +192,12 @@ public class InvitationDeadlineProcessor {
         
         Tasks.whenAllSuccess(userTasks)
                 .addOnSuccessListener(userDocs -> {
-                    WriteBatch batch = db.batch();
-                    int batchCount = 0;
-                    final int MAX_BATCH_SIZE = 499;
-                    List<Task<Void>> batchTasks = new ArrayList<>();
+                    List<Task<EntrantStatus>> moveTasks = new ArrayList<>();
                     
                     for (int i = 0; i < userIds.size(); i++) {
                         String userId = userIds.get(i);
                         DocumentSnapshot userDoc = i < userDocs.size() ? (DocumentSnapshot) userDocs.get(i) : null;
-                        
-                        DocumentReference selectedRef = eventRef.collection("SelectedEntrants").document(userId);
-                        DocumentReference nonSelectedRef = eventRef.collection("NonSelectedEntrants").document(userId);
-                        DocumentReference waitlistRef = eventRef.collection("WaitlistedEntrants").document(userId);
-                        DocumentReference cancelledRef = eventRef.collection("CancelledEntrants").document(userId);
+                        String invitationId = i < invitationIds.size() ? invitationIds.get(i) : null;
                         
                         Map<String, Object> cancelledData = buildCancelledEntry(userId, userDoc);
 
@@ -222,68 +217,63 @@ public class InvitationDeadlineProcessor {
                         if (displayName == null || displayName.trim().isEmpty()) {
                             displayName = "(unknown)";
                         }
-                        batch.set(cancelledRef, cancelledData, SetOptions.merge());
+                        final String finalDisplayName = displayName;
 
-                        Log.d(TAG,
-                                "ENTRANT_MOVE: eventId=" + eventId +
-                                        ", userId=" + userId +
-                                        ", name=" + displayName +
-                                        ", from=[SelectedEntrants,NonSelectedEntrants,WaitlistedEntrants]" +
-                                        ", to=CancelledEntrants" +
-                                        ", reason=deadline_non_responder");
-                        // CRITICAL: Remove from ALL other collections to ensure user exists in only ONE collection
-                        batch.delete(selectedRef);
-                        batch.delete(nonSelectedRef);
-                        batch.delete(waitlistRef);
-                        batchCount += 4;
-                        
-                        // Update invitation status to DECLINED
-                        if (i < invitationIds.size()) {
-                            String invitationId = invitationIds.get(i);
-                            DocumentReference invitationRef = db.collection("invitations").document(invitationId);
-                            Map<String, Object> invitationUpdates = new HashMap<>();
-                            invitationUpdates.put("status", "DECLINED");
-                            invitationUpdates.put("declinedAt", System.currentTimeMillis());
-                            batch.update(invitationRef, invitationUpdates);
-                            batchCount++;
-                        }
-                        
-                        if (batchCount >= MAX_BATCH_SIZE) {
-                            final WriteBatch currentBatch = batch;
-                            batchTasks.add(currentBatch.commit());
-                            batch = db.batch();
-                            batchCount = 0;
-                        }
-                    }
-                    
-                    if (batchCount > 0) {
-                        batchTasks.add(batch.commit());
+                        // One status write (plus the invitation) per entrant, in a transaction so an entrant
+                        // who accepted just before the deadline is not cancelled
+                        moveTasks.add(db.runTransaction(transaction -> {
+                            EntrantStatus from = entrantStatusStore.read(transaction, eventId, userId);
+                            if (from == null || from == EntrantStatus.ADMITTED || from == EntrantStatus.CANCELLED) {
+                                return from;
+                            }
+                            entrantStatusStore.write(transaction, eventId, userId, from, EntrantStatus.CANCELLED, cancelledData);
+                            
+                            // Update invitation status to DECLINED
+                            if (invitationId != null) {
+                                DocumentReference invitationRef = db.collection("invitations").document(invitationId);
+                                Map<String, Object> invitationUpdates = new HashMap<>();
+                                invitationUpdates.put("status", "DECLINED");
+                                invitationUpdates.put("declinedAt", System.currentTimeMillis());
+                                transaction.update(invitationRef, invitationUpdates);
+                            }
+                            Log.d(TAG,
+                                    "ENTRANT_MOVE: eventId=" + eventId +
+                                            ", userId=" + userId +
+                                            ", name=" + finalDisplayName +
+                                            ", from=" + from +
+                                            ", to=CANCELLED" +
+                                            ", reason=deadline_non_responder");
+                            return from;
+                        }));
                     }
                     
-                    if (!batchTasks.isEmpty()) {
-                        Tasks.whenAll(batchTasks)
-                                .addOnSuccessListener(aVoid -> {
-                                    Log.d(TAG, "Successfully moved " + userIds.size() + 
-                                        " non-responders to CancelledEntrants");
-                                    
-                                    // Send "sorry" notification to those who missed the deadline
-                                    sendDeadlineMissedNotification(eventId, userIds);
-                                    
-                                    if (callback != null) {
-                                        callback.onComplete(userIds.size());
+                    Tasks.whenAll(moveTasks)
+                            .addOnSuccessListener(aVoid -> {
+                                List<String> cancelledUserIds = new ArrayList<>();
+                                for (int i = 0; i < moveTasks.size(); i++) {
+                                    EntrantStatus from = moveTasks.get(i).getResult();
+                                    if (from != null && from != EntrantStatus.ADMITTED && from != EntrantStatus.CANCELLED) {
+                                        cancelledUserIds.add(userIds.get(i));
                                     }
-                                })
-                                .addOnFailureListener(e -> {
-                                    Log.e(TAG, "Failed to move non-responders to CancelledEntrants", e);
-                                    if (callback != null) {
-                                        callback.onError("Failed to move non-responders: " + e.getMessage());
-                                    }
-                                });
-                    } else {
-                        if (callback != null) {
-                            callback.onComplete(0);
-                        }
-                    }
+                                }
+                                Log.d(TAG, "Successfully moved " + cancelledUserIds.size() + 
+                                    " non-responders to CancelledEntrants");
+                                
+                                // Send "sorry" notification to those who missed the deadline
+                                if (!cancelledUserIds.isEmpty()) {
+                                    sendDeadlineMissedNotification(eventId, cancelledUserIds);
+                                }
+                                
+                                if (callback != null) {
+                                    callback.onComplete(cancelledUserIds.size());
+                                }
+                            })
+                            .addOnFailureListener(e -> {
+                                Log.e(TAG, "Failed to move non-responders to CancelledEntrants", e);
+                                if (callback != null) {
+                                    callback.onError("Failed to move non-responders: " + e.getMessage());
+                                }
+                            });
                 })
                 .addOnFailureListener(e -> {
                     Log.e(TAG, "Failed to fetch user data", e);
@@ -420,9 +410,9 @@ public class InvitationDeadlineProcessor {
             return;
         }
         
-        eventRef.collection("SelectedEntrants").get()
-                .addOnSuccessListener(selectedSnapshot -> {
-                    if (selectedSnapshot == null || selectedSnapshot.isEmpty()) {
+        entrantStatusStore.list(eventId, EntrantStatus.SELECTED)
+                .addOnSuccessListener(selectedDocs -> {
+                    if (selectedDocs.isEmpty()) {
                         Log.d(TAG, "No selected entrants to check");
                         if (callback != null) {
                             callback.onComplete(0);
@@ -461,7 +451,7 @@ public class InvitationDeadlineProcessor {
                                 List<String> nonResponderUserIds = new ArrayList<>();
                                 
                                 // Find selected entrants who haven't responded
-                                for (QueryDocumentSnapshot doc : selectedSnapshot) {
+                                for (DocumentSnapshot doc : selectedDocs) {
                                     String userId = doc.getId();
                                     if (!respondedUserIds.contains(userId)) {
                                         nonResponderUserIds.add(userId);
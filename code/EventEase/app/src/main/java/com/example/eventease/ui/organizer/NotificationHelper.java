@@ -2,13 +2,11 @@ package com.example.eventease.ui.organizer;
 
 import android.util.Log;
 
-import com.google.android.gms.tasks.Task;
-import com.google.android.gms.tasks.Tasks;
+import com.example.eventease.data.NotificationPreferenceResolver;
 import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.QuerySnapshot;
-import com.google.firebase.firestore.Source;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -448,6 +446,9 @@ public class NotificationHelper {
      * For "selected" notifications: checks notificationPreferenceInvited
      * For "nonSelected" notifications: checks notificationPreferenceNotInvited
      * 
+     * <p>Preferences are resolved by {@link NotificationPreferenceResolver}, which reads uncached
+     * users in chunks of 30 rather than one document per user.
+     * 
      * @param userIds List of user IDs to filter
      * @param groupType Type of notification (selected/invited or nonSelected/not invited)
      * @param callback Callback with filtered user IDs
@@ -462,79 +463,23 @@ public class NotificationHelper {
         // "selected" = invited notifications (notificationPreferenceInvited)
         // "nonSelected" = not invited notifications (notificationPreferenceNotInvited)
         boolean checkInvitedPreference = groupType.equals("selected") || groupType.equals("selection");
+        NotificationPreferenceResolver.Preference preference = checkInvitedPreference
+                ? NotificationPreferenceResolver.Preference.INVITED
+                : NotificationPreferenceResolver.Preference.NOT_INVITED;
         
-        List<String> filteredUserIds = new ArrayList<>();
-        List<Task<DocumentSnapshot>> tasks = new ArrayList<>();
-        
-        // Fetch all user documents from SERVER (not cache) to ensure we get the latest preference values
-        // This prevents race conditions where cached preference values might be stale
-        for (String userId : userIds) {
-            tasks.add(db.collection("users").document(userId).get(Source.SERVER));
-        }
-        
-        // Wait for all tasks to complete
-        Tasks.whenAllComplete(tasks).addOnSuccessListener(tasksList -> {
-            for (int i = 0; i < tasksList.size() && i < userIds.size(); i++) {
-                Task<?> task = tasksList.get(i);
-                String userId = userIds.get(i);
-                
-                if (task.isSuccessful()) {
-                    Object result = task.getResult();
-                    if (result instanceof DocumentSnapshot) {
-                        DocumentSnapshot userDoc = (DocumentSnapshot) result;
-                        
-                        if (userDoc != null && userDoc.exists()) {
-                            // Check the appropriate preference field
-                            Boolean preferenceValue = null;
-                            if (checkInvitedPreference) {
-                                Object invitedPref = userDoc.get("notificationPreferenceInvited");
-                                if (invitedPref instanceof Boolean) {
-                                    preferenceValue = (Boolean) invitedPref;
-                                } else if (invitedPref instanceof String) {
-                                    // Handle string values (shouldn't happen, but be defensive)
-                                    preferenceValue = Boolean.parseBoolean((String) invitedPref);
-                                }
-                            } else {
-                                Object notInvitedPref = userDoc.get("notificationPreferenceNotInvited");
-                                if (notInvitedPref instanceof Boolean) {
-                                    preferenceValue = (Boolean) notInvitedPref;
-                                } else if (notInvitedPref instanceof String) {
-                                    // Handle string values (shouldn't happen, but be defensive)
-                                    preferenceValue = Boolean.parseBoolean((String) notInvitedPref);
-                                }
-                            }
-                            
-                            // Default to true (enabled) if preference not set or invalid
-                            // This ensures users receive notifications by default unless they explicitly opt out
-                            boolean isEnabled = preferenceValue != null ? preferenceValue : true;
-                            
-                            if (isEnabled) {
-                                filteredUserIds.add(userId);
-                                Log.d(TAG, "User " + userId + " has " + 
-                                    (checkInvitedPreference ? "invited" : "not invited") + 
-                                    " notifications enabled - will receive notification");
-                            } else {
-                                Log.w(TAG, "User " + userId + " has " + 
-                                    (checkInvitedPreference ? "invited" : "not invited") + 
-                                    " notifications disabled - skipping (preference: " + preferenceValue + ")");
-                            }
-                        } else {
-                            // User document doesn't exist or no preference set - default to enabled
-                            filteredUserIds.add(userId);
-                            Log.d(TAG, "User " + userId + " has no preference set - defaulting to enabled");
-                        }
+        NotificationPreferenceResolver.getInstance().filterEnabled(userIds, preference)
+                .addOnCompleteListener(task -> {
+                    if (!task.isSuccessful() || task.getResult() == null) {
+                        // Don't block notifications if preferences can't be read
+                        Log.w(TAG, "Failed to resolve notification preferences - sending to all", task.getException());
+                        callback.accept(userIds);
+                        return;
                     }
-                } else {
-                    // Failed to fetch user doc - default to enabled (don't block notifications)
-                    filteredUserIds.add(userId);
-                    Log.w(TAG, "Failed to fetch preferences for user " + userId + " - defaulting to enabled");
-                }
-            }
-            
-            Log.d(TAG, "Filtered " + userIds.size() + " users to " + filteredUserIds.size() + 
-                " based on " + (checkInvitedPreference ? "invited" : "not invited") + " notification preferences");
-            callback.accept(filteredUserIds);
-        });
+                    List<String> filteredUserIds = task.getResult();
+                    Log.d(TAG, "Filtered " + userIds.size() + " users to " + filteredUserIds.size() + 
+                        " based on " + (checkInvitedPreference ? "invited" : "not invited") + " notification preferences");
+                    callback.accept(filteredUserIds);
+                });
     }
     
     /**
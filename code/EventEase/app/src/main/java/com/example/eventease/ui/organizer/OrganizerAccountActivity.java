@@ -3,16 +3,10 @@ package com.example.eventease.ui.organizer;
 import android.annotation.SuppressLint;
 import android.app.Dialog;
 import android.content.Intent;
-import android.graphics.Bitmap;
 import android.graphics.Color;
-import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.ColorDrawable;
 import android.net.Uri;
 import android.os.Bundle;
-import android.renderscript.Allocation;
-import android.renderscript.Element;
-import android.renderscript.RenderScript;
-import android.renderscript.ScriptIntrinsicBlur;
 import android.util.Log;
 import android.view.View;
 import android.view.WindowManager;
@@ -28,6 +22,8 @@ import androidx.appcompat.widget.AppCompatButton;
 
 import com.bumptech.glide.Glide;
 import com.example.eventease.R;
+import com.example.eventease.data.firebase.ProfilePropagator;
+import com.example.eventease.image.BlurEngine;
 import com.example.eventease.ui.entrant.profile.ProfileDeletionHelper;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.DocumentReference;
@@ -369,8 +365,8 @@ public class OrganizerAccountActivity extends AppCompatActivity {
                                     
                                     Toast.makeText(this, "Profile photo updated", Toast.LENGTH_SHORT).show();
                                     
-                                    // Update event subcollections to keep entrant data in sync
-                                    updateEventSubcollections(userId);
+                                    // Update the user's entrant records to keep entrant data in sync
+                                    ProfilePropagator.getInstance(this).propagate(userId, null);
                                 })
                                 .addOnFailureListener(e -> {
                                     Log.e(TAG, "Failed to save photoUrl to Firestore", e);
@@ -388,208 +384,6 @@ public class OrganizerAccountActivity extends AppCompatActivity {
             });
     }
     
-    /**
-     * Updates all event subcollections where this user appears as an entrant.
-     * This ensures that when a user updates their profile from organizer view,
-     * all event-specific entrant documents are also updated with the latest information.
-     * 
-     * @param uid the user ID
-     */
-    private void updateEventSubcollections(String uid) {
-        // Get the updated user document
-        FirebaseFirestore.getInstance().collection("users").document(uid).get()
-            .addOnSuccessListener(userDoc -> {
-                if (userDoc == null || !userDoc.exists()) {
-                    return;
-                }
-                
-                // Build the updated entrant data from the user document
-                Map<String, Object> updatedEntrantData = buildEntrantDataFromUser(userDoc);
-                
-                // List of subcollection names to check
-                String[] subcollections = {
-                    "WaitlistedEntrants",
-                    "SelectedEntrants",
-                    "NonSelectedEntrants",
-                    "CancelledEntrants"
-                };
-                
-                // Query all events once
-                FirebaseFirestore.getInstance().collection("events").get()
-                    .addOnSuccessListener(eventsSnapshot -> {
-                        if (eventsSnapshot == null || eventsSnapshot.isEmpty()) {
-                            return;
-                        }
-                        
-                        // Collect all entrant document references across all events and subcollections
-                        java.util.List<DocumentReference> allEntrantRefs = new java.util.ArrayList<>();
-                        
-                        for (DocumentSnapshot eventDoc : eventsSnapshot.getDocuments()) {
-                            String eventId = eventDoc.getId();
-                            DocumentReference eventRef = FirebaseFirestore.getInstance()
-                                    .collection("events").document(eventId);
-                            
-                            // Check each subcollection for this event
-                            for (String subcollectionName : subcollections) {
-                                DocumentReference entrantRef = eventRef
-                                    .collection(subcollectionName)
-                                    .document(uid);
-                                allEntrantRefs.add(entrantRef);
-                            }
-                        }
-                        
-                        // Check which documents exist and update them
-                        checkAndUpdateEntrantDocuments(allEntrantRefs, updatedEntrantData);
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Failed to query events for subcollection update", e);
-                    });
-            })
-            .addOnFailureListener(e -> {
-                Log.e(TAG, "Failed to get user document for subcollection update", e);
-            });
-    }
-    
-    /**
-     * Checks which entrant documents exist and updates them in batches.
-     * 
-     * @param entrantRefs list of document references to check and update
-     * @param updatedData the data to update with
-     */
-    private void checkAndUpdateEntrantDocuments(java.util.List<DocumentReference> entrantRefs, 
-                                                Map<String, Object> updatedData) {
-        if (entrantRefs.isEmpty()) {
-            return;
-        }
-        
-        // Check each document and collect those that exist
-        java.util.List<DocumentReference> existingRefs = new java.util.ArrayList<>();
-        final int[] checkedCount = {0};
-        final int totalCount = entrantRefs.size();
-        
-        for (DocumentReference ref : entrantRefs) {
-            ref.get()
-                .addOnSuccessListener(doc -> {
-                    if (doc != null && doc.exists()) {
-                        existingRefs.add(ref);
-                    }
-                    checkedCount[0]++;
-                    
-                    // Once all documents are checked, update them in batches
-                    if (checkedCount[0] >= totalCount) {
-                        updateDocumentsInBatches(existingRefs, updatedData);
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.w(TAG, "Failed to check entrant document", e);
-                    checkedCount[0]++;
-                    if (checkedCount[0] >= totalCount) {
-                        updateDocumentsInBatches(existingRefs, updatedData);
-                    }
-                });
-        }
-    }
-    
-    /**
-     * Updates documents in batches to avoid exceeding Firestore limits.
-     * 
-     * @param refs list of document references to update
-     * @param updatedData the data to update with
-     */
-    private void updateDocumentsInBatches(java.util.List<DocumentReference> refs,
-                                         Map<String, Object> updatedData) {
-        if (refs.isEmpty()) {
-            Log.d(TAG, "No entrant documents found to update");
-            return;
-        }
-        
-        final int MAX_BATCH_SIZE = 500; // Firestore batch limit
-        final int totalToUpdate = refs.size();
-        int batchCount = 0;
-        com.google.firebase.firestore.WriteBatch batch = FirebaseFirestore.getInstance().batch();
-        
-        for (DocumentReference ref : refs) {
-            // Use merge to preserve fields like joinedAt
-            batch.set(ref, updatedData, com.google.firebase.firestore.SetOptions.merge());
-            batchCount++;
-            
-            // Commit batch if it's getting large
-            if (batchCount >= MAX_BATCH_SIZE) {
-                final com.google.firebase.firestore.WriteBatch currentBatch = batch;
-                final int currentBatchCount = batchCount;
-                currentBatch.commit()
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d(TAG, "Updated batch of " + currentBatchCount + " entrant documents");
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Failed to update batch of entrant documents", e);
-                    });
-                batch = FirebaseFirestore.getInstance().batch();
-                batchCount = 0;
-            }
-        }
-        
-        // Commit any remaining updates
-        if (batchCount > 0) {
-            final int finalBatchCount = batchCount;
-            batch.commit()
-                .addOnSuccessListener(aVoid -> {
-                    Log.d(TAG, "Updated final batch of " + finalBatchCount + " entrant documents. " +
-                        "Total updated: " + totalToUpdate);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Failed to update final batch of entrant documents", e);
-                });
-        } else if (totalToUpdate > 0) {
-            Log.d(TAG, "Total entrant documents updated: " + totalToUpdate);
-        }
-    }
-    
-    /**
-     * Builds entrant data map from a user document snapshot.
-     * This replicates the structure used in buildWaitlistEntry.
-     * 
-     * @param userDoc the user document snapshot
-     * @return a map containing the entrant data
-     */
-    private Map<String, Object> buildEntrantDataFromUser(DocumentSnapshot userDoc) {
-        Map<String, Object> data = new HashMap<>();
-        String uid = userDoc.getId();
-        data.put("userId", uid);
-        
-        // Compute displayName from available name fields
-        String displayName = userDoc.getString("fullName");
-        if (displayName == null || displayName.trim().isEmpty()) {
-            displayName = userDoc.getString("name");
-        }
-        if (displayName == null || displayName.trim().isEmpty()) {
-            String first = userDoc.getString("firstName");
-            String last = userDoc.getString("lastName");
-            displayName = ((first != null ? first : "") + " " + (last != null ? last : "")).trim();
-        }
-        
-        // Add all relevant fields
-        putIfString(data, "displayName", displayName);
-        putIfString(data, "fullName", userDoc.getString("fullName"));
-        putIfString(data, "name", userDoc.getString("name"));
-        putIfString(data, "firstName", userDoc.getString("firstName"));
-        putIfString(data, "lastName", userDoc.getString("lastName"));
-        putIfString(data, "email", userDoc.getString("email"));
-        putIfString(data, "phoneNumber", userDoc.getString("phoneNumber"));
-        putIfString(data, "photoUrl", userDoc.getString("photoUrl"));
-        
-        return data;
-    }
-    
-    /**
-     * Helper method to add a string value to a map only if it's not null or empty.
-     */
-    private void putIfString(Map<String, Object> target, String key, String value) {
-        if (value != null && !value.trim().isEmpty()) {
-            target.put(key, value);
-        }
-    }
-
     private void showDeleteConfirmationDialog() {
         Dialog dialog = new Dialog(this, android.R.style.Theme_Black_NoTitleBar_Fullscreen);
         dialog.requestWindowFeature(android.view.Window.FEATURE_NO_TITLE);
@@ -606,17 +400,8 @@ public class OrganizerAccountActivity extends AppCompatActivity {
             dialog.getWindow().clearFlags(WindowManager.LayoutParams.FLAG_DIM_BEHIND);
         }
 
-        // Capture screenshot and blur it for the background
-        Bitmap screenshot = captureScreenshot();
-        if (screenshot != null) {
-            Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-            if (blurredBitmap != null) {
-                android.view.View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
-                if (blurBackground != null) {
-                    blurBackground.setBackground(new BitmapDrawable(getResources(), blurredBitmap));
-                }
-            }
-        }
+        // Blur the screen behind the dialog
+        BlurEngine.getInstance().blurBehind(this, dialog.findViewById(R.id.dialogBlurBackground));
 
         // Make the background clickable to dismiss
         android.view.View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
@@ -651,50 +436,6 @@ public class OrganizerAccountActivity extends AppCompatActivity {
         }
     }
 
-    private Bitmap captureScreenshot() {
-        try {
-            if (getWindow() == null) return null;
-            android.view.View rootView = getWindow().getDecorView().getRootView();
-            rootView.setDrawingCacheEnabled(true);
-            Bitmap bitmap = Bitmap.createBitmap(rootView.getDrawingCache());
-            rootView.setDrawingCacheEnabled(false);
-            return bitmap;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
-    }
-
-    private Bitmap blurBitmap(Bitmap bitmap, float radius) {
-        if (bitmap == null) return null;
-
-        try {
-            // Scale down for better performance
-            int width = Math.round(bitmap.getWidth() * 0.4f);
-            int height = Math.round(bitmap.getHeight() * 0.4f);
-            Bitmap inputBitmap = Bitmap.createScaledBitmap(bitmap, width, height, false);
-            Bitmap outputBitmap = Bitmap.createBitmap(inputBitmap);
-
-            RenderScript rs = RenderScript.create(this);
-            ScriptIntrinsicBlur blurScript = ScriptIntrinsicBlur.create(rs, Element.U8_4(rs));
-            Allocation tmpIn = Allocation.createFromBitmap(rs, inputBitmap);
-            Allocation tmpOut = Allocation.createFromBitmap(rs, outputBitmap);
-
-            blurScript.setRadius(radius);
-            blurScript.setInput(tmpIn);
-            blurScript.forEach(tmpOut);
-            tmpOut.copyTo(outputBitmap);
-
-            rs.destroy();
-
-            // Scale back up
-            return Bitmap.createScaledBitmap(outputBitmap, bitmap.getWidth(), bitmap.getHeight(), true);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return bitmap;
-        }
-    }
-
     private void deleteProfile() {
         String uid = com.example.eventease.auth.AuthHelper.getUid(this);
         if (uid == null || uid.isEmpty()) {
@@ -706,67 +447,19 @@ public class OrganizerAccountActivity extends AppCompatActivity {
 
         ProfileDeletionHelper deletionHelper = new ProfileDeletionHelper(this);
         
-        // Check if user is an organizer and delete their events first
+        // Check if user is an organizer so the cascade also deletes their events
         com.google.firebase.firestore.DocumentReference userRef = FirebaseFirestore.getInstance().collection("users").document(uid);
         userRef.get()
-                .addOnSuccessListener(userDoc -> {
-                    if (userDoc != null && userDoc.exists()) {
-                        java.util.List<String> roles = (java.util.List<String>) userDoc.get("roles");
-                        boolean isOrganizer = roles != null && roles.contains("organizer");
-                        
-                        com.google.android.gms.tasks.Task<Void> organizerEventsTask = com.google.android.gms.tasks.Tasks.forResult(null);
-                        if (isOrganizer) {
-                            Log.d(TAG, "User is an organizer, deleting their events first");
-                            organizerEventsTask = deletionHelper.deleteOrganizerEvents(uid);
-                        }
-                        
-                        // Wait for organizer events deletion (if applicable), then proceed with user references
-                        organizerEventsTask
-                                .continueWithTask(task -> {
-                                    com.google.android.gms.tasks.TaskCompletionSource<Void> completionSource = new com.google.android.gms.tasks.TaskCompletionSource<>();
-                                    deletionHelper.deleteAllUserReferences(uid, new ProfileDeletionHelper.DeletionCallback() {
-                                        @Override
-                                        public void onDeletionComplete() {
-                                            completionSource.setResult(null);
-                                        }
-
-                                        @Override
-                                        public void onDeletionFailure(String error) {
-                                            Log.e(TAG, "Failed to delete user references: " + error);
-                                            // Still proceed even if some references failed
-                                            completionSource.setResult(null);
-                                        }
-                                    });
-                                    return completionSource.getTask();
-                                })
-                                .addOnSuccessListener(aVoid -> {
-                                    deleteUserDocumentAndAuth(uid);
-                                })
-                                .addOnFailureListener(e -> {
-                                    Log.e(TAG, "Failed during profile deletion process", e);
-                                    // Still try to delete the user document
-                                    deleteUserDocumentAndAuth(uid);
-                                });
-                    } else {
-                        // User document not found, proceed with deletion anyway
-                        deletionHelper.deleteAllUserReferences(uid, new ProfileDeletionHelper.DeletionCallback() {
-                            @Override
-                            public void onDeletionComplete() {
-                                deleteUserDocumentAndAuth(uid);
-                            }
-
-                            @Override
-                            public void onDeletionFailure(String error) {
-                                Log.e(TAG, "Failed to delete user references: " + error);
-                                deleteUserDocumentAndAuth(uid);
-                            }
-                        });
+                .addOnCompleteListener(userTask -> {
+                    boolean isOrganizer = false;
+                    if (userTask.isSuccessful() && userTask.getResult() != null && userTask.getResult().exists()) {
+                        java.util.List<String> roles = (java.util.List<String>) userTask.getResult().get("roles");
+                        isOrganizer = roles != null && roles.contains("organizer");
+                    } else if (!userTask.isSuccessful()) {
+                        Log.e(TAG, "Failed to check user roles, proceeding with deletion", userTask.getException());
                     }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Failed to check user roles, proceeding with deletion", e);
-                    // If we can't check roles, proceed with deletion anyway
-                    deletionHelper.deleteAllUserReferences(uid, new ProfileDeletionHelper.DeletionCallback() {
+
+                    deletionHelper.deleteAllUserReferences(uid, isOrganizer, new ProfileDeletionHelper.DeletionCallback() {
                         @Override
                         public void onDeletionComplete() {
                             deleteUserDocumentAndAuth(uid);
@@ -775,7 +468,8 @@ public class OrganizerAccountActivity extends AppCompatActivity {
                         @Override
                         public void onDeletionFailure(String error) {
                             Log.e(TAG, "Failed to delete user references: " + error);
-                            deleteUserDocumentAndAuth(uid);
+                            // Keep the user document so deleting again resumes the cascade
+                            Toast.makeText(OrganizerAccountActivity.this, "Failed to delete profile, please try again", Toast.LENGTH_LONG).show();
                         }
                     });
                 });
@@ -9,12 +9,7 @@ import android.content.Intent;
 import android.graphics.Bitmap;
 import android.graphics.Color;
 import android.graphics.drawable.Drawable;
-import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.ColorDrawable;
-import android.renderscript.Allocation;
-import android.renderscript.Element;
-import android.renderscript.RenderScript;
-import android.renderscript.ScriptIntrinsicBlur;
 import android.net.Uri;
 import android.os.Bundle;
 import android.os.Build;
@@ -42,6 +37,11 @@ import androidx.core.content.FileProvider;
 
 import com.bumptech.glide.Glide;
 import com.example.eventease.R;
+import com.example.eventease.image.BlurEngine;
+import com.example.eventease.image.QrPreview;
+import com.example.eventease.image.RegionCropper;
+import com.example.eventease.data.firebase.PosterUploader;
+import com.example.eventease.logic.PosterVariants;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
@@ -53,18 +53,13 @@ import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.StorageMetadata;
 import com.google.firebase.storage.StorageReference;
 
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.WriterException;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
-
-
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -592,199 +587,127 @@ public class OrganizerCreateEventActivity extends AppCompatActivity {
         }
 
         final String id = UUID.randomUUID().toString();
-        final StorageReference ref = FirebaseStorage.getInstance()
-                .getReference("posters/" + id + ".jpg");
 
-        // Create metadata with device/organizer information for proper permissions
-        StorageMetadata.Builder metaBuilder = new StorageMetadata.Builder()
-                .setContentType("image/jpeg");
-        
-        // Add custom metadata with device ID (organizerId) to help with Storage rules
-        metaBuilder.setCustomMetadata("uploadedBy", organizerId);
-        metaBuilder.setCustomMetadata("organizerId", organizerId);
-        metaBuilder.setCustomMetadata("deviceId", organizerId);
+        // Custom metadata with device ID (organizerId) to help with Storage rules
+        Map<String, String> customMeta = new HashMap<>();
+        customMeta.put("uploadedBy", organizerId);
+        customMeta.put("organizerId", organizerId);
+        customMeta.put("deviceId", organizerId);
 
-        StorageMetadata meta = metaBuilder.build();
-
-        // Apply crop transformation if image was cropped
-        if (posterUri != null && imageMatrix != null && !imageMatrix.isIdentity()) {
-            // Load bitmap, apply crop, and upload
-            Glide.with(this)
-                    .asBitmap()
-                    .load(posterUri)
-                    .into(new com.bumptech.glide.request.target.CustomTarget<android.graphics.Bitmap>() {
-                        @Override
-                        public void onResourceReady(@NonNull android.graphics.Bitmap originalBitmap, 
-                                                    @Nullable com.bumptech.glide.request.transition.Transition<? super android.graphics.Bitmap> transition) {
-                            // Apply crop transformation
-                            android.graphics.Bitmap croppedBitmap = applyCropToBitmap(originalBitmap);
-                            if (croppedBitmap != null) {
-                                uploadCroppedBitmap(croppedBitmap, ref, meta, id, title, chosenCapacity, chosenSampleSize);
-                            } else {
-                                // Fallback to original upload
-                                ref.putFile(posterUri, meta)
-                                        .continueWithTask(task -> {
-                                            if (!task.isSuccessful()) throw task.getException();
-                                            return ref.getDownloadUrl();
-                                        })
-                                        .addOnSuccessListener(download -> {
-                                            Log.d(TAG, "Poster upload successful (fallback), URL: " + download.toString());
-                                            writeEventDoc(id, title, chosenCapacity, chosenSampleSize, download.toString());
-                                        })
-                                        .addOnFailureListener(e -> {
-                                            Log.e(TAG, "Poster upload failed (fallback)", e);
-                                            String errorMsg = e.getMessage();
-                                            if (errorMsg != null && errorMsg.contains("permission")) {
-                                                toast("Upload failed: Please check Firebase Storage permissions. Ensure you're signed in.");
-                                            } else {
-                                                toast("Upload failed: " + errorMsg);
-                                            }
-                                            btnSave.setEnabled(true);
-                                            btnSave.setText("SAVE CHANGES");
-                                        });
-                            }
-                        }
-                        
-                        @Override
-                        public void onLoadCleared(@Nullable android.graphics.drawable.Drawable placeholder) {}
-                    });
-        } else {
-            // No crop applied, upload original
-            ref.putFile(posterUri, meta)
-                    .continueWithTask(task -> {
-                        if (!task.isSuccessful()) throw task.getException();
-                        return ref.getDownloadUrl();
-                    })
-                    .addOnSuccessListener(download -> {
-                        Log.d(TAG, "Poster upload successful (no crop), URL: " + download.toString());
-                        writeEventDoc(id, title, chosenCapacity, chosenSampleSize, download.toString());
-                    })
+        android.graphics.RectF cropRegion = imageMatrix != null && !imageMatrix.isIdentity() && posterPreview != null
+                ? RegionCropper.visibleRect(posterPreview, imageMatrix, previewArea())
+                : null;
+        if (cropRegion != null) {
+            // Decode only the part shown in the preview, instead of the whole photo
+            RegionCropper.crop(this, posterUri, cropRegion, PosterVariants.Variant.FULL.maxEdge)
+                    .addOnSuccessListener(poster ->
+                            uploadPosterVariants(poster, customMeta, id, title, chosenCapacity, chosenSampleSize))
                     .addOnFailureListener(e -> {
-                        Log.e(TAG, "Poster upload failed (no crop)", e);
-                        String errorMsg = e.getMessage();
-                        if (errorMsg != null && errorMsg.contains("permission")) {
-                            toast("Upload failed: Please check Firebase Storage permissions. Ensure you're signed in.");
-                        } else {
-                            toast("Upload failed: " + errorMsg);
-                        }
-                        btnSave.setEnabled(true);
-                        btnSave.setText("SAVE CHANGES");
+                        Log.w(TAG, "Could not crop poster, uploading original file", e);
+                        uploadOriginalPoster(customMeta, id, title, chosenCapacity, chosenSampleSize);
                     });
+            return;
         }
+
+        // Decode no larger than the full variant
+        int maxEdge = PosterVariants.Variant.FULL.maxEdge;
+        Glide.with(this)
+                .asBitmap()
+                .load(posterUri)
+                .downsample(com.bumptech.glide.load.resource.bitmap.DownsampleStrategy.AT_MOST)
+                .override(maxEdge, maxEdge)
+                .into(new com.bumptech.glide.request.target.CustomTarget<android.graphics.Bitmap>() {
+                    @Override
+                    public void onResourceReady(@NonNull android.graphics.Bitmap poster,
+                                                @Nullable com.bumptech.glide.request.transition.Transition<? super android.graphics.Bitmap> transition) {
+                        uploadPosterVariants(poster, customMeta, id, title, chosenCapacity, chosenSampleSize);
+                    }
+
+                    @Override
+                    public void onLoadFailed(@Nullable android.graphics.drawable.Drawable errorDrawable) {
+                        Log.w(TAG, "Could not decode poster, uploading original file");
+                        uploadOriginalPoster(customMeta, id, title, chosenCapacity, chosenSampleSize);
+                    }
+
+                    @Override
+                    public void onLoadCleared(@Nullable android.graphics.drawable.Drawable placeholder) {}
+                });
     }
     
     /**
-     * Applies the crop transformation to the bitmap based on the current matrix.
-     * Extracts the visible portion of the image as shown in the preview.
+     * The poster preview's bounds in its own coordinates, falling back to a 2:1 frame if it has
+     * not been laid out.
      */
-    private android.graphics.Bitmap applyCropToBitmap(android.graphics.Bitmap originalBitmap) {
-        if (originalBitmap == null || imageMatrix == null || posterPreview == null) {
-            return null;
-        }
-        
-        try {
-            int previewWidth = posterPreview.getWidth();
-            int previewHeight = posterPreview.getHeight();
-            
-            if (previewWidth == 0 || previewHeight == 0) {
-                // Use default dimensions if view not measured
-                previewWidth = 400;
-                previewHeight = 200;
-            }
-            
-            // Get the transformation matrix values
-            float[] values = new float[9];
-            imageMatrix.getValues(values);
-            float scale = values[android.graphics.Matrix.MSCALE_X];
-            float transX = values[android.graphics.Matrix.MTRANS_X];
-            float transY = values[android.graphics.Matrix.MTRANS_Y];
-            
-            // Calculate the source rectangle in the original bitmap
-            // The preview shows a portion of the original image based on scale and translation
-            float srcLeft = -transX / scale;
-            float srcTop = -transY / scale;
-            float srcWidth = previewWidth / scale;
-            float srcHeight = previewHeight / scale;
-            
-            // Ensure coordinates are within bitmap bounds
-            srcLeft = Math.max(0, Math.min(srcLeft, originalBitmap.getWidth()));
-            srcTop = Math.max(0, Math.min(srcTop, originalBitmap.getHeight()));
-            srcWidth = Math.min(srcWidth, originalBitmap.getWidth() - srcLeft);
-            srcHeight = Math.min(srcHeight, originalBitmap.getHeight() - srcTop);
-            
-            if (srcWidth <= 0 || srcHeight <= 0) {
-                // Invalid crop, return original
-                return originalBitmap;
-            }
-            
-            // Create cropped bitmap from the source rectangle
-            android.graphics.Bitmap croppedBitmap = android.graphics.Bitmap.createBitmap(
-                originalBitmap,
-                (int)srcLeft,
-                (int)srcTop,
-                (int)srcWidth,
-                (int)srcHeight
-            );
-            
-            // Scale to match preview aspect ratio if needed
-            if (croppedBitmap.getWidth() != previewWidth || croppedBitmap.getHeight() != previewHeight) {
-                android.graphics.Bitmap scaled = android.graphics.Bitmap.createScaledBitmap(
-                    croppedBitmap, previewWidth, previewHeight, true);
-                if (scaled != croppedBitmap) {
-                    croppedBitmap.recycle();
-                }
-                return scaled;
-            }
-            
-            return croppedBitmap;
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to apply crop", e);
-            return null;
-        }
+    private android.graphics.RectF previewArea() {
+        int previewWidth = posterPreview.getWidth();
+        int previewHeight = posterPreview.getHeight();
+        if (previewWidth == 0 || previewHeight == 0) {
+            previewWidth = 400;
+            previewHeight = 200;
+        }
+        return new android.graphics.RectF(0, 0, previewWidth, previewHeight);
     }
     
     /**
-     * Uploads a cropped bitmap to Firebase Storage
+     * Uploads the thumb, medium and full WebP variants of the poster, then saves the event
+     * with all three URLs.
      */
-    private void uploadCroppedBitmap(android.graphics.Bitmap bitmap, StorageReference ref, 
-                                     StorageMetadata meta, String id, String title, 
-                                     int chosenCapacity, int chosenSampleSize) {
-        try {
-            // Convert bitmap to byte array
-            java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
-            bitmap.compress(android.graphics.Bitmap.CompressFormat.JPEG, 90, baos);
-            byte[] imageData = baos.toByteArray();
-            
-            // Upload bytes
-            ref.putBytes(imageData, meta)
-                    .continueWithTask(task -> {
-                        if (!task.isSuccessful()) throw task.getException();
-                        return ref.getDownloadUrl();
-                    })
-                    .addOnSuccessListener(download -> {
-                        Log.d(TAG, "Cropped poster upload successful, URL: " + download.toString());
-                        writeEventDoc(id, title, chosenCapacity, chosenSampleSize, download.toString());
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Cropped poster upload failed", e);
-                        String errorMsg = e.getMessage();
-                        if (errorMsg != null && errorMsg.contains("permission")) {
-                            toast("Upload failed: Please check Firebase Storage permissions. Ensure you're signed in.");
-                        } else {
-                            toast("Failed to process image: " + errorMsg);
-                        }
-                        btnSave.setEnabled(true);
-                        btnSave.setText("SAVE CHANGES");
-                    });
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to upload cropped bitmap", e);
-            toast("Failed to process image: " + e.getMessage());
-            btnSave.setEnabled(true);
-            btnSave.setText("SAVE CHANGES");
+    private void uploadPosterVariants(android.graphics.Bitmap poster, Map<String, String> customMeta,
+                                      String id, String title, int chosenCapacity, int chosenSampleSize) {
+        new PosterUploader(FirebaseStorage.getInstance())
+                .upload(id, poster, customMeta)
+                .addOnSuccessListener(posterUrls -> {
+                    Log.d(TAG, "Poster variants uploaded: " + posterUrls.keySet());
+                    writeEventDoc(id, title, chosenCapacity, chosenSampleSize, posterUrls);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Poster upload failed", e);
+                    onPosterUploadFailed(e);
+                });
+    }
+
+    /**
+     * Uploads the picked file unchanged when it cannot be decoded into variants. List screens
+     * fall back to this full-size poster.
+     */
+    private void uploadOriginalPoster(Map<String, String> customMeta, String id, String title,
+                                      int chosenCapacity, int chosenSampleSize) {
+        final StorageReference ref = FirebaseStorage.getInstance()
+                .getReference("posters/" + id + ".jpg");
+        StorageMetadata.Builder metaBuilder = new StorageMetadata.Builder()
+                .setContentType("image/jpeg");
+        for (Map.Entry<String, String> entry : customMeta.entrySet()) {
+            metaBuilder.setCustomMetadata(entry.getKey(), entry.getValue());
+        }
+        ref.putFile(posterUri, metaBuilder.build())
+                .continueWithTask(task -> {
+                    if (!task.isSuccessful()) throw task.getException();
+                    return ref.getDownloadUrl();
+                })
+                .addOnSuccessListener(download -> {
+                    Log.d(TAG, "Poster upload successful (original), URL: " + download.toString());
+                    writeEventDoc(id, title, chosenCapacity, chosenSampleSize,
+                            Collections.singletonMap(PosterVariants.Variant.FULL.field, download.toString()));
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Poster upload failed (original)", e);
+                    onPosterUploadFailed(e);
+                });
+    }
+
+    private void onPosterUploadFailed(Exception e) {
+        String errorMsg = e.getMessage();
+        if (errorMsg != null && errorMsg.contains("permission")) {
+            toast("Upload failed: Please check Firebase Storage permissions. Ensure you're signed in.");
+        } else {
+            toast("Upload failed: " + errorMsg);
         }
+        btnSave.setEnabled(true);
+        btnSave.setText("SAVE CHANGES");
     }
     // Saves event to Firestore
-    private void writeEventDoc(String id, String title, int chosenCapacity, int chosenSampleSize, String posterUrl) {
+    private void writeEventDoc(String id, String title, int chosenCapacity, int chosenSampleSize,
+                               Map<String, String> posterUrls) {
         if (organizerId == null || organizerId.trim().isEmpty()) {
             toast("Organizer profile not configured.");
             btnSave.setEnabled(true);
@@ -815,7 +738,7 @@ public class OrganizerCreateEventActivity extends AppCompatActivity {
         doc.put("sampleSize", chosenSampleSize);
         doc.put("geolocation", useGeo);
         doc.put("qrEnabled", generateQr);
-        doc.put("posterUrl", posterUrl);
+        doc.putAll(posterUrls); // posterUrl, plus posterThumbUrl/posterMediumUrl when variants were made
         doc.put("organizerId", organizerId);
         doc.put("createdAt", System.currentTimeMillis());
         doc.put("createdAtEpochMs", System.currentTimeMillis());
@@ -841,10 +764,6 @@ public class OrganizerCreateEventActivity extends AppCompatActivity {
     }
 
     private void showQrPreparationDialog(String title, String qrPayload, String eventId) {
-        // Capture screenshot and blur it for the background
-        Bitmap screenshot = captureScreenshot();
-        Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-        
         Dialog preparingDialog = createCardDialog(R.layout.dialog_event_created);
         TextView subtitle = preparingDialog.findViewById(R.id.tvSubtitle);
         TextView header = preparingDialog.findViewById(R.id.tvTitle);
@@ -857,9 +776,7 @@ public class OrganizerCreateEventActivity extends AppCompatActivity {
         
         // Apply blurred background
         android.view.View blurBackground = preparingDialog.findViewById(R.id.dialogBlurBackground);
-        if (blurredBitmap != null && blurBackground != null) {
-            blurBackground.setBackground(new BitmapDrawable(getResources(), blurredBitmap));
-        }
+        BlurEngine.getInstance().blurBehind(this, blurBackground);
         
         preparingDialog.show();
         
@@ -882,12 +799,7 @@ public class OrganizerCreateEventActivity extends AppCompatActivity {
         }, 1200);
     }
 
-
     private void showQrDialog(String title, String qrPayload, String eventId) {
-        // Capture screenshot and blur it for the background
-        Bitmap screenshot = captureScreenshot();
-        Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-        
         Dialog dialog = createCardDialog(R.layout.dialog_qr_preview);
         TextView titleView = dialog.findViewById(R.id.tvEventTitle);
         ImageView imgQr = dialog.findViewById(R.id.imgQr);
@@ -900,14 +812,7 @@ public class OrganizerCreateEventActivity extends AppCompatActivity {
             titleView.setText(title);
         }
 
-        Bitmap qrBitmap = generateQrBitmap(qrPayload);
-        if (imgQr != null) {
-            if (qrBitmap != null) {
-                imgQr.setImageBitmap(qrBitmap);
-            } else {
-                imgQr.setImageResource(R.drawable.ic_event_poster_placeholder);
-            }
-        }
+        QrPreview qr = QrPreview.show(this, qrPayload, imgQr);
 
         // Flag to prevent double navigation
         final boolean[] hasNavigated = {false};
@@ -922,8 +827,8 @@ public class OrganizerCreateEventActivity extends AppCompatActivity {
 
         if (btnShare != null) {
             btnShare.setOnClickListener(v -> {
-                if (qrBitmap != null) {
-                    shareQrBitmap(qrBitmap, qrPayload);
+                if (qr.bitmap() != null) {
+                    shareQrBitmap(qr.bitmap(), qrPayload);
                 } else {
                     shareQrText(qrPayload);
                 }
@@ -932,8 +837,8 @@ public class OrganizerCreateEventActivity extends AppCompatActivity {
 
         if (btnSave != null) {
             btnSave.setOnClickListener(v -> {
-                if (qrBitmap != null) {
-                    boolean saved = saveQrToGallery(qrBitmap, title);
+                if (qr.bitmap() != null) {
+                    boolean saved = saveQrToGallery(qr.bitmap(), title);
                     if (saved) {
                         toast("Saved to gallery");
                     }
@@ -966,9 +871,7 @@ public class OrganizerCreateEventActivity extends AppCompatActivity {
 
         // Apply blurred background
         android.view.View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
-        if (blurredBitmap != null && blurBackground != null) {
-            blurBackground.setBackground(new BitmapDrawable(getResources(), blurredBitmap));
-        }
+        BlurEngine.getInstance().blurBehind(this, blurBackground);
 
         dialog.show();
         
@@ -1013,25 +916,6 @@ public class OrganizerCreateEventActivity extends AppCompatActivity {
         return dialog;
     }
 
-    private Bitmap generateQrBitmap(String payload) {
-        try {
-            QRCodeWriter writer = new QRCodeWriter();
-            BitMatrix matrix = writer.encode(payload, BarcodeFormat.QR_CODE, 512, 512);
-            int width = matrix.getWidth();
-            int height = matrix.getHeight();
-            Bitmap bmp = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
-            for (int x = 0; x < width; x++) {
-                for (int y = 0; y < height; y++) {
-                    bmp.setPixel(x, y, matrix.get(x, y) ? Color.BLACK : Color.WHITE);
-                }
-            }
-            return bmp;
-        } catch (WriterException e) {
-            Log.e(TAG, "QR code generation failed", e);
-            return null;
-        }
-    }
-
     private void shareQrBitmap(Bitmap bitmap, String payload) {
         try {
             File cacheDir = new File(getCacheDir(), "qr");
@@ -1148,9 +1032,7 @@ public class OrganizerCreateEventActivity extends AppCompatActivity {
     private void loadImageIntoPreview(Uri uri) {
         if (posterPreview == null || uri == null) return;
         
-        Glide.with(this)
-                .asBitmap()
-                .load(uri)
+        RegionCropper.preview(Glide.with(this), uri)
                 .into(new com.bumptech.glide.request.target.CustomTarget<android.graphics.Bitmap>() {
                     @Override
                     public void onResourceReady(@NonNull android.graphics.Bitmap resource, 
@@ -1218,10 +1100,6 @@ public class OrganizerCreateEventActivity extends AppCompatActivity {
             return;
         }
         
-        // Capture screenshot and blur it
-        Bitmap screenshot = captureScreenshot();
-        Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-        
         // Create custom dialog with full screen to show blur background
         android.app.Dialog cropDialog = new android.app.Dialog(this, android.R.style.Theme_Black_NoTitleBar_Fullscreen);
         cropDialog.setContentView(R.layout.dialog_crop_poster);
@@ -1244,9 +1122,7 @@ public class OrganizerCreateEventActivity extends AppCompatActivity {
         
         // Apply blurred background
         android.view.View blurBackground = cropDialog.findViewById(R.id.dialogBlurBackground);
-        if (blurredBitmap != null && blurBackground != null) {
-            blurBackground.setBackground(new BitmapDrawable(getResources(), blurredBitmap));
-        }
+        BlurEngine.getInstance().blurBehind(this, blurBackground);
         
         // Make the background clickable to dismiss
         if (blurBackground != null) {
@@ -1262,9 +1138,7 @@ public class OrganizerCreateEventActivity extends AppCompatActivity {
         
         // Load image into crop view
         if (cropImageView != null) {
-            Glide.with(this)
-                    .asBitmap()
-                    .load(posterUri)
+            RegionCropper.preview(Glide.with(this), posterUri)
                     .into(new com.bumptech.glide.request.target.CustomTarget<Bitmap>() {
                         @Override
                         public void onResourceReady(@NonNull Bitmap resource, 
@@ -1282,26 +1156,30 @@ public class OrganizerCreateEventActivity extends AppCompatActivity {
             btnDone.setOnClickListener(v -> {
                 // Extract cropped bitmap from crop view
                 android.graphics.Matrix cropMatrix = (android.graphics.Matrix) cropImageView.getTag();
-                if (cropMatrix != null && posterUri != null) {
-                    Glide.with(this)
-                            .asBitmap()
-                            .load(posterUri)
-                            .into(new com.bumptech.glide.request.target.CustomTarget<Bitmap>() {
-                                @Override
-                                public void onResourceReady(@NonNull Bitmap originalBitmap,
-                                                            @Nullable com.bumptech.glide.request.transition.Transition<? super Bitmap> transition) {
-                                    // Extract the visible region from the crop view
+                android.graphics.RectF region = cropMatrix != null && posterUri != null
+                        ? RegionCropper.visibleRect(cropImageView, cropMatrix,
+                                new android.graphics.RectF(0, 0, cropImageView.getWidth(), cropImageView.getHeight()))
+                        : null;
+                if (region != null) {
+                    v.setEnabled(false);
+                    // Decode only the visible region of the original, no larger than a full poster
+                    RegionCropper.crop(this, posterUri, region, PosterVariants.Variant.FULL.maxEdge)
+                            .addOnSuccessListener(croppedBitmap -> {
+                                saveCroppedBitmapAndUpdatePreview(croppedBitmap);
+                                cropDialog.dismiss();
+                            })
+                            .addOnFailureListener(e -> {
+                                Log.e(TAG, "Failed to crop from original, using preview", e);
+                                android.graphics.drawable.Drawable shown = cropImageView.getDrawable();
+                                if (shown instanceof android.graphics.drawable.BitmapDrawable) {
                                     android.graphics.Bitmap croppedBitmap = extractCroppedBitmap(
-                                            originalBitmap, cropMatrix, cropImageView.getWidth(), cropImageView.getHeight());
+                                            ((android.graphics.drawable.BitmapDrawable) shown).getBitmap(), cropMatrix,
+                                            cropImageView.getWidth(), cropImageView.getHeight());
                                     if (croppedBitmap != null) {
-                                        // Save cropped bitmap and update preview
                                         saveCroppedBitmapAndUpdatePreview(croppedBitmap);
                                     }
-                                    cropDialog.dismiss();
                                 }
-                                
-                                @Override
-                                public void onLoadCleared(@Nullable android.graphics.drawable.Drawable placeholder) {}
+                                cropDialog.dismiss();
                             });
                 } else {
                     cropDialog.dismiss();
@@ -1661,50 +1539,7 @@ public class OrganizerCreateEventActivity extends AppCompatActivity {
             }
         });
     }
-
-    /**
-     * Captures a screenshot of the current activity
-     */
-    private Bitmap captureScreenshot() {
-        android.view.View rootView = getWindow().getDecorView().getRootView();
-        rootView.setDrawingCacheEnabled(true);
-        Bitmap bitmap = Bitmap.createBitmap(rootView.getDrawingCache());
-        rootView.setDrawingCacheEnabled(false);
-        return bitmap;
-    }
     
-    /**
-     * Blurs a bitmap using RenderScript
-     */
-    private Bitmap blurBitmap(Bitmap bitmap, float radius) {
-        if (bitmap == null) return null;
-        
-        try {
-            // Scale down for better performance
-            int width = Math.round(bitmap.getWidth() * 0.4f);
-            int height = Math.round(bitmap.getHeight() * 0.4f);
-            Bitmap inputBitmap = Bitmap.createScaledBitmap(bitmap, width, height, false);
-            Bitmap outputBitmap = Bitmap.createBitmap(inputBitmap);
-            
-            RenderScript rs = RenderScript.create(this);
-            ScriptIntrinsicBlur blurScript = ScriptIntrinsicBlur.create(rs, Element.U8_4(rs));
-            Allocation tmpIn = Allocation.createFromBitmap(rs, inputBitmap);
-            Allocation tmpOut = Allocation.createFromBitmap(rs, outputBitmap);
-            
-            blurScript.setRadius(radius);
-            blurScript.setInput(tmpIn);
-            blurScript.forEach(tmpOut);
-            tmpOut.copyTo(outputBitmap);
-            
-            rs.destroy();
-            
-            // Scale back up
-            return Bitmap.createScaledBitmap(outputBitmap, bitmap.getWidth(), bitmap.getHeight(), true);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return bitmap;
-        }
-    }
 
     private static String safe(CharSequence cs) { return cs == null ? "" : cs.toString().trim(); }
     private void toast(String m) { Toast.makeText(this, m, Toast.LENGTH_SHORT).show(); }
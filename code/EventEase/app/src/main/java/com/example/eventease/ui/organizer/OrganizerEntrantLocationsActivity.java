@@ -1,6 +1,8 @@
 package com.example.eventease.ui.organizer;
 
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 import android.widget.ImageView;
 import android.widget.TextView;
@@ -10,14 +12,21 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.view.WindowCompat;
 
 import com.example.eventease.R;
+import com.example.eventease.logic.EntrantLocation;
+import com.example.eventease.logic.GeoClusterer;
 import com.google.android.gms.maps.CameraUpdateFactory;
 import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.OnMapReadyCallback;
 import com.google.android.gms.maps.SupportMapFragment;
+import com.google.android.gms.maps.model.BitmapDescriptorFactory;
 import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
 import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.MarkerOptions;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.QuerySnapshot;
 
@@ -25,10 +34,13 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Activity that displays a Google Map showing the locations of waitlisted entrants for an event.
- * Each entrant's location is displayed as a marker on the map with their name.
+ * Nearby entrants are grouped into cluster markers for the current viewport and zoom level;
+ * an entrant on their own is shown as a marker with their name.
  */
 public class OrganizerEntrantLocationsActivity extends AppCompatActivity implements OnMapReadyCallback {
     private static final String TAG = "EntrantLocations";
@@ -39,25 +51,18 @@ public class OrganizerEntrantLocationsActivity extends AppCompatActivity impleme
     private TextView titleTextView;
     private ImageView backButton;
     
-    // Store entrant data for marker info windows
-    private Map<String, EntrantInfo> entrantInfoMap = new HashMap<>();
+    /** Firestore caps {@code whereIn} at 30 values. */
+    private static final int MAX_IN_CLAUSE = 30;
+    /** Edge of a clustering cell in screen pixels. */
+    private static final int CLUSTER_CELL_PX = 80;
     
-    /**
-     * Data class to hold entrant information
-     */
-    private static class EntrantInfo {
-        String name;
-        String userId;
-        double latitude;
-        double longitude;
-        
-        EntrantInfo(String name, String userId, double latitude, double longitude) {
-            this.name = name;
-            this.userId = userId;
-            this.latitude = latitude;
-            this.longitude = longitude;
-        }
-    }
+    private final ExecutorService clusterExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private GeoClusterer clusterer;
+    /** Bumped per render so results for an older camera position are dropped. */
+    private int renderGeneration;
+    /** Markers on the map, by {@link GeoClusterer.Cluster#key}. */
+    private final Map<String, Marker> clusterMarkers = new HashMap<>();
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -132,6 +137,10 @@ public class OrganizerEntrantLocationsActivity extends AppCompatActivity impleme
             // Set a default location first to ensure map is visible
             mMap.moveCamera(CameraUpdateFactory.newLatLngZoom(new LatLng(0, 0), 2f));
             
+            // Re-cluster for the new viewport whenever the camera stops moving
+            mMap.setOnCameraIdleListener(this::renderClusters);
+            mMap.setOnMarkerClickListener(this::onMarkerClick);
+            
             Log.d(TAG, "Map configured successfully, loading waitlisted entrants");
         
         // Load and display entrant locations
@@ -142,6 +151,12 @@ public class OrganizerEntrantLocationsActivity extends AppCompatActivity impleme
         }
     }
     
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        clusterExecutor.shutdownNow();
+    }
+    
     private void loadEventData() {
         // Title is already set to "Entrants Locations" in XML, no need to change it
         // This method is kept for potential future use if needed
@@ -160,11 +175,12 @@ public class OrganizerEntrantLocationsActivity extends AppCompatActivity impleme
         
         // Clear existing markers
         mMap.clear();
-        entrantInfoMap.clear();
+        clusterMarkers.clear();
+        clusterer = null;
         
         Log.d(TAG, "Loading waitlisted entrants for event: " + eventId);
         
-        // Get all waitlisted entrants from the subcollection
+        // Entries store the location captured at join time, so one query loads every coordinate
         db.collection("events").document(eventId).collection("WaitlistedEntrants")
                 .get()
                 .addOnSuccessListener(querySnapshot -> {
@@ -178,16 +194,26 @@ public class OrganizerEntrantLocationsActivity extends AppCompatActivity impleme
                         return;
                     }
                     
-                    List<String> userIds = new ArrayList<>();
+                    List<GeoClusterer.Item> items = new ArrayList<>();
+                    List<String> missing = new ArrayList<>();
                     for (DocumentSnapshot doc : querySnapshot.getDocuments()) {
-                        String userId = doc.getId();
-                        userIds.add(userId);
+                        EntrantLocation location = EntrantLocation.fromMap(doc.get(EntrantLocation.FIELD));
+                        if (location != null) {
+                            items.add(toItem(doc.getId(), doc, location));
+                        } else {
+                            missing.add(doc.getId());
+                        }
                     }
                     
-                    Log.d(TAG, "Found " + userIds.size() + " waitlisted entrants");
+                    Log.d(TAG, "Found " + querySnapshot.size() + " waitlisted entrants, "
+                            + missing.size() + " without a join location");
                     
-                    // Load user locations for all waitlisted entrants
-                    loadUserLocations(userIds);
+                    if (missing.isEmpty()) {
+                        showEntrants(items);
+                    } else {
+                        // Entries created before locations were stored on them
+                        loadUserLocations(missing, items);
+                    }
                 })
                 .addOnFailureListener(e -> {
                     Log.e(TAG, "Failed to load waitlisted entrants", e);
@@ -199,93 +225,132 @@ public class OrganizerEntrantLocationsActivity extends AppCompatActivity impleme
                 });
     }
     
-    private void loadUserLocations(List<String> userIds) {
-        if (userIds.isEmpty() || mMap == null) return;
+    /**
+     * Reads the profile location of entrants whose waitlist entry has none, 30 users per query.
+     */
+    private void loadUserLocations(List<String> userIds, List<GeoClusterer.Item> items) {
+        List<Task<QuerySnapshot>> chunks = new ArrayList<>();
+        for (int i = 0; i < userIds.size(); i += MAX_IN_CLAUSE) {
+            List<String> chunk = userIds.subList(i, Math.min(i + MAX_IN_CLAUSE, userIds.size()));
+            chunks.add(db.collection("users")
+                    .whereIn(FieldPath.documentId(), new ArrayList<>(chunk))
+                    .get());
+        }
         
-        final List<LatLng> allLocations = new ArrayList<>();
-        final int[] loadedCount = {0}; // Use array to allow modification in lambda
-        final int totalCount = userIds.size();
+        Tasks.whenAllComplete(chunks).addOnCompleteListener(all -> {
+            for (Task<QuerySnapshot> chunk : chunks) {
+                if (!chunk.isSuccessful() || chunk.getResult() == null) {
+                    Log.w(TAG, "Failed to load user locations", chunk.getException());
+                    continue;
+                }
+                for (DocumentSnapshot userDoc : chunk.getResult().getDocuments()) {
+                    EntrantLocation location = EntrantLocation.fromMap(userDoc.get(EntrantLocation.FIELD));
+                    if (location != null) {
+                        items.add(toItem(userDoc.getId(), userDoc, location));
+                    } else {
+                        Log.w(TAG, "No location data found for user " + userDoc.getId());
+                    }
+                }
+            }
+            showEntrants(items);
+        });
+    }
+    
+    private GeoClusterer.Item toItem(String userId, DocumentSnapshot doc, EntrantLocation location) {
+        String name = extractNameFromUserDoc(doc);
+        if (name == null || name.isEmpty()) {
+            name = "Entrant (" + userId.substring(0, Math.min(6, userId.length())) + ")";
+        }
+        return new GeoClusterer.Item(userId, name, location.latitude, location.longitude);
+    }
+    
+    private void showEntrants(List<GeoClusterer.Item> items) {
+        if (mMap == null || isFinishing()) return;
+        if (items.isEmpty()) {
+            Toast.makeText(this, "No entrant locations available", Toast.LENGTH_SHORT).show();
+            return;
+        }
         
-        // Load each user's location data
-        for (String userId : userIds) {
-            db.collection("users").document(userId)
-                    .get()
-                    .addOnSuccessListener(userDoc -> {
-                        if (userDoc.exists()) {
-                            // Extract name
-                            String name = extractNameFromUserDoc(userDoc);
-                            if (name == null || name.isEmpty()) {
-                                name = "Entrant (" + userId.substring(0, Math.min(6, userId.length())) + ")";
-                            }
-                            
-                            // Extract location
-                            Map<String, Object> locationData = (Map<String, Object>) userDoc.get("location");
-                            if (locationData != null) {
-                                Object latObj = locationData.get("latitude");
-                                Object lngObj = locationData.get("longitude");
-                                
-                                if (latObj instanceof Number && lngObj instanceof Number) {
-                                    double latitude = ((Number) latObj).doubleValue();
-                                    double longitude = ((Number) lngObj).doubleValue();
-                                    
-                                    // Validate coordinates are reasonable (not 0,0 unless that's a valid location)
-                                    if (latitude != 0.0 || longitude != 0.0) {
-                                        // Validate latitude is between -90 and 90
-                                        if (latitude >= -90.0 && latitude <= 90.0 && 
-                                            longitude >= -180.0 && longitude <= 180.0) {
-                                    
-                                    // Create marker
-                                    LatLng location = new LatLng(latitude, longitude);
-                                    MarkerOptions markerOptions = new MarkerOptions()
-                                            .position(location)
-                                            .title(name)
-                                            .snippet("Waitlisted Entrant");
-                                    
-                                    Marker marker = mMap.addMarker(markerOptions);
-                                    
-                                    // Store entrant info
-                                    entrantInfoMap.put(marker.getId(), new EntrantInfo(name, userId, latitude, longitude));
-                                    allLocations.add(location);
-                                            Log.d(TAG, "Added marker for " + name + " at (" + latitude + ", " + longitude + ")");
-                                        } else {
-                                            Log.w(TAG, "Invalid coordinates for user " + userId + ": (" + latitude + ", " + longitude + ")");
-                                        }
-                                    } else {
-                                        Log.w(TAG, "Location is (0,0) for user " + userId + " - skipping");
-                                    }
-                                } else {
-                                    Log.w(TAG, "Location data type mismatch for user " + userId + ": lat=" + latObj + ", lng=" + lngObj);
-                                }
-                            } else {
-                                Log.w(TAG, "No location data found for user " + userId);
-                            }
-                        }
-                        
-                        // Increment counter and check if all are loaded
-                        loadedCount[0]++;
-                        if (loadedCount[0] >= totalCount) {
-                            // All users processed, fit map to markers
-                            if (!allLocations.isEmpty()) {
-                                fitMapToMarkers(allLocations);
-                            } else {
-                                Toast.makeText(this, "No entrant locations available", Toast.LENGTH_SHORT).show();
-                            }
-                        }
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.w(TAG, "Failed to load user location for " + userId, e);
-                        // Increment counter even on failure
-                        loadedCount[0]++;
-                        if (loadedCount[0] >= totalCount) {
-                            // All users processed, fit map to markers
-                            if (!allLocations.isEmpty()) {
-                                fitMapToMarkers(allLocations);
-                            } else {
-                                Toast.makeText(this, "No entrant locations available", Toast.LENGTH_SHORT).show();
-                            }
-                        }
-                    });
+        clusterer = new GeoClusterer(items);
+        List<LatLng> locations = new ArrayList<>(items.size());
+        for (GeoClusterer.Item item : items) {
+            locations.add(new LatLng(item.latitude, item.longitude));
+        }
+        // The camera idle listener renders the clusters once the camera settles
+        fitMapToMarkers(locations);
+        renderClusters();
+    }
+    
+    /**
+     * Clusters the entrants in the visible region on the background thread, then swaps the
+     * markers on the main thread. Results for an older camera position are dropped.
+     */
+    private void renderClusters() {
+        if (mMap == null || clusterer == null) return;
+        
+        final GeoClusterer current = clusterer;
+        final LatLngBounds bounds = mMap.getProjection().getVisibleRegion().latLngBounds;
+        final float zoom = mMap.getCameraPosition().zoom;
+        final int generation = ++renderGeneration;
+        
+        clusterExecutor.execute(() -> {
+            List<GeoClusterer.Cluster> clusters = current.cluster(
+                    bounds.southwest.latitude, bounds.southwest.longitude,
+                    bounds.northeast.latitude, bounds.northeast.longitude,
+                    zoom, CLUSTER_CELL_PX);
+            mainHandler.post(() -> {
+                if (generation == renderGeneration && mMap != null && !isFinishing()) {
+                    applyClusters(clusters);
+                }
+            });
+        });
+    }
+    
+    /**
+     * Keeps markers whose cluster is unchanged, adds new ones and removes the rest.
+     */
+    private void applyClusters(List<GeoClusterer.Cluster> clusters) {
+        Map<String, Marker> next = new HashMap<>();
+        for (GeoClusterer.Cluster cluster : clusters) {
+            Marker marker = clusterMarkers.remove(cluster.key);
+            if (marker == null) {
+                marker = mMap.addMarker(markerOptions(cluster));
+                if (marker == null) continue;
+                marker.setTag(cluster);
+            }
+            next.put(cluster.key, marker);
+        }
+        for (Marker stale : clusterMarkers.values()) {
+            stale.remove();
+        }
+        clusterMarkers.clear();
+        clusterMarkers.putAll(next);
+    }
+    
+    private static MarkerOptions markerOptions(GeoClusterer.Cluster cluster) {
+        LatLng position = new LatLng(cluster.latitude, cluster.longitude);
+        if (cluster.item != null) {
+            return new MarkerOptions()
+                    .position(position)
+                    .title(cluster.item.label)
+                    .snippet("Waitlisted Entrant");
+        }
+        return new MarkerOptions()
+                .position(position)
+                .title(cluster.count + " entrants")
+                .snippet("Tap to zoom in")
+                .icon(BitmapDescriptorFactory.defaultMarker(BitmapDescriptorFactory.HUE_AZURE));
+    }
+    
+    private boolean onMarkerClick(Marker marker) {
+        Object tag = marker.getTag();
+        if (tag instanceof GeoClusterer.Cluster && ((GeoClusterer.Cluster) tag).count > 1) {
+            float zoom = mMap.getCameraPosition().zoom;
+            mMap.animateCamera(CameraUpdateFactory.newLatLngZoom(marker.getPosition(), zoom + 2f));
+            return true;
         }
+        // Single entrant: show the default info window
+        return false;
     }
     
     private void fitMapToMarkers(List<LatLng> locations) {
@@ -296,12 +361,11 @@ public class OrganizerEntrantLocationsActivity extends AppCompatActivity impleme
             mMap.moveCamera(CameraUpdateFactory.newLatLngZoom(locations.get(0), 12f));
         } else {
             // Multiple markers - calculate bounds
-            com.google.android.gms.maps.model.LatLngBounds.Builder builder = 
-                    new com.google.android.gms.maps.model.LatLngBounds.Builder();
+            LatLngBounds.Builder builder = new LatLngBounds.Builder();
             for (LatLng location : locations) {
                 builder.include(location);
             }
-            com.google.android.gms.maps.model.LatLngBounds bounds = builder.build();
+            LatLngBounds bounds = builder.build();
             
             // Add padding and animate camera
             int padding = 100; // padding in pixels
@@ -2,9 +2,7 @@ package com.example.eventease.ui.organizer;
 
 import android.app.DatePickerDialog;
 import android.content.Intent;
-import android.graphics.Bitmap;
 import android.graphics.Color;
-import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.ColorDrawable;
 import android.os.Bundle;
 import android.text.Editable;
@@ -21,18 +19,20 @@ import android.widget.LinearLayout;
 import android.widget.RadioButton;
 import android.widget.TextView;
 import android.widget.Toast;
-import android.renderscript.Allocation;
-import android.renderscript.Element;
-import android.renderscript.RenderScript;
-import android.renderscript.ScriptIntrinsicBlur;
 import android.app.Dialog;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.bumptech.glide.Glide;
 import com.example.eventease.R;
+import com.example.eventease.image.BlurEngine;
+import com.example.eventease.data.firebase.EventStreamHub;
+import com.example.eventease.image.PosterPreloader;
+import com.example.eventease.logic.PosterVariants;
 import com.google.firebase.firestore.DocumentChange;
 import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
@@ -138,6 +138,9 @@ public class OrganizerMyEventActivity extends AppCompatActivity {
         });
 
         rvMyEvents.setAdapter(adapter);
+        PosterPreloader posterPreloader = new PosterPreloader(Glide.with(this), adapter::posterUrlAt);
+        adapter.setPosterPreloader(posterPreloader);
+        posterPreloader.attachTo(rvMyEvents);
 
         db = FirebaseFirestore.getInstance();
         try {
@@ -340,15 +343,21 @@ public class OrganizerMyEventActivity extends AppCompatActivity {
             legacyRegistration.remove();
             legacyRegistration = null;
         }
-        registration = organizerIdQuery().addSnapshotListener(
-                MetadataChanges.INCLUDE,
-                (snapshots, e) -> {
-                    if (e != null) {
-                        Toast.makeText(this, "Listen failed: " + e.getMessage(), Toast.LENGTH_LONG).show();
-                        return;
+        // Keyed by organizer so other screens watching the same organizer's events share the listener
+        registration = EventStreamHub.getInstance().subscribe(
+                "events?organizerId=" + organizerId,
+                organizerIdQuery(),
+                new EventStreamHub.Subscriber() {
+                    @Override
+                    public void onChanges(@NonNull List<EventStreamHub.Change> changes,
+                                          @NonNull List<DocumentSnapshot> documents) {
+                        mergeChangesAndDisplay(changes, null);
+                    }
+
+                    @Override
+                    public void onError(@NonNull Exception e) {
+                        Toast.makeText(OrganizerMyEventActivity.this, "Listen failed: " + e.getMessage(), Toast.LENGTH_LONG).show();
                     }
-                    if (snapshots != null) mergeSnapshotsAndDisplayFromQuery(snapshots, null);
-                    else loadAllEventsFallback();
                 }
         );
 
@@ -369,11 +378,21 @@ public class OrganizerMyEventActivity extends AppCompatActivity {
 
     /**
      * Handles QuerySnapshot objects and processes DocumentChange events to properly handle deletions.
-     * This method processes ADDED, MODIFIED, and REMOVED changes from Firestore snapshots.
+     * Snapshots without changes (e.g., from a .get() call) are treated as all ADDED.
      * For initial loads, items should be cleared before calling this method.
      */
     private void mergeSnapshotsAndDisplayFromQuery(@Nullable QuerySnapshot primary,
                                                     @Nullable QuerySnapshot legacy) {
+        mergeChangesAndDisplay(primary != null ? EventStreamHub.Change.fromSnapshot(primary) : null,
+                legacy != null ? EventStreamHub.Change.fromSnapshot(legacy) : null);
+    }
+
+    /**
+     * Applies ADDED, MODIFIED, and REMOVED changes from the primary and legacy queries
+     * to the current items and refreshes the list.
+     */
+    private void mergeChangesAndDisplay(@Nullable List<EventStreamHub.Change> primary,
+                                        @Nullable List<EventStreamHub.Change> legacy) {
         // Start with current items to preserve state (for incremental updates)
         // If items is empty (initial load), this will start empty
         Map<String, Map<String, Object>> merged = new LinkedHashMap<>();
@@ -384,74 +403,11 @@ public class OrganizerMyEventActivity extends AppCompatActivity {
             }
         }
 
-        // Process primary snapshot changes
         if (primary != null) {
-            List<DocumentChange> changes = primary.getDocumentChanges();
-            if (!changes.isEmpty()) {
-                // Process changes from snapshot listener
-                for (DocumentChange change : changes) {
-                    String docId = change.getDocument().getId();
-                    DocumentChange.Type changeType = change.getType();
-                    
-                    if (changeType == DocumentChange.Type.REMOVED) {
-                        // Remove deleted event from the map
-                        merged.remove(docId);
-                        Log.d("OrganizerMyEventActivity", "Removed event: " + docId);
-                    } else if (changeType == DocumentChange.Type.ADDED || changeType == DocumentChange.Type.MODIFIED) {
-                        // Add or update event
-                        Map<String, Object> m = toAdapterMap(change.getDocument());
-                        if (m != null) {
-                            merged.put(docId, m);
-                            Log.d("OrganizerMyEventActivity", "Added/Modified event: " + docId);
-                        }
-                    }
-                }
-            } else {
-                // Fallback: if no changes (e.g., from .get() call), process all documents as ADDED
-                for (DocumentSnapshot doc : primary) {
-                    String docId = doc.getId();
-                    Map<String, Object> m = toAdapterMap(doc);
-                    if (m != null) {
-                        merged.put(docId, m);
-                        Log.d("OrganizerMyEventActivity", "Added event (fallback): " + docId);
-                    }
-                }
-            }
+            applyChanges(merged, primary, "event");
         }
-
-        // Process legacy snapshot changes
         if (legacy != null) {
-            List<DocumentChange> changes = legacy.getDocumentChanges();
-            if (!changes.isEmpty()) {
-                // Process changes from snapshot listener
-                for (DocumentChange change : changes) {
-                    String docId = change.getDocument().getId();
-                    DocumentChange.Type changeType = change.getType();
-                    
-                    if (changeType == DocumentChange.Type.REMOVED) {
-                        // Remove deleted event from the map
-                        merged.remove(docId);
-                        Log.d("OrganizerMyEventActivity", "Removed legacy event: " + docId);
-                    } else if (changeType == DocumentChange.Type.ADDED || changeType == DocumentChange.Type.MODIFIED) {
-                        // Add or update event
-                        Map<String, Object> m = toAdapterMap(change.getDocument());
-                        if (m != null) {
-                            merged.put(docId, m);
-                            Log.d("OrganizerMyEventActivity", "Added/Modified legacy event: " + docId);
-                        }
-                    }
-                }
-            } else {
-                // Fallback: if no changes (e.g., from .get() call), process all documents as ADDED
-                for (DocumentSnapshot doc : legacy) {
-                    String docId = doc.getId();
-                    Map<String, Object> m = toAdapterMap(doc);
-                    if (m != null) {
-                        merged.put(docId, m);
-                        Log.d("OrganizerMyEventActivity", "Added legacy event (fallback): " + docId);
-                    }
-                }
-            }
+            applyChanges(merged, legacy, "legacy event");
         }
 
         // Update the UI with the merged results
@@ -462,6 +418,27 @@ public class OrganizerMyEventActivity extends AppCompatActivity {
         applyFiltersAndUpdateUI();
     }
 
+    private void applyChanges(Map<String, Map<String, Object>> merged,
+                              List<EventStreamHub.Change> changes, String label) {
+        for (EventStreamHub.Change change : changes) {
+            String docId = change.getDocument().getId();
+            DocumentChange.Type changeType = change.getType();
+
+            if (changeType == DocumentChange.Type.REMOVED) {
+                // Remove deleted event from the map
+                merged.remove(docId);
+                Log.d("OrganizerMyEventActivity", "Removed " + label + ": " + docId);
+            } else if (changeType == DocumentChange.Type.ADDED || changeType == DocumentChange.Type.MODIFIED) {
+                // Add or update event
+                Map<String, Object> m = toAdapterMap(change.getDocument());
+                if (m != null) {
+                    merged.put(docId, m);
+                    Log.d("OrganizerMyEventActivity", "Added/Modified " + label + ": " + docId);
+                }
+            }
+        }
+    }
+
     private void mergeSnapshotsAndDisplay(@Nullable Iterable<? extends DocumentSnapshot> primary,
                                           @Nullable Iterable<? extends DocumentSnapshot> legacy) {
         Map<String, Map<String, Object>> merged = new LinkedHashMap<>();
@@ -658,16 +635,7 @@ public class OrganizerMyEventActivity extends AppCompatActivity {
             dialog.getWindow().clearFlags(WindowManager.LayoutParams.FLAG_DIM_BEHIND);
         }
 
-        Bitmap screenshot = captureScreenshot();
-        if (screenshot != null) {
-            Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-            if (blurredBitmap != null) {
-                View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
-                if (blurBackground != null) {
-                    blurBackground.setBackground(new BitmapDrawable(getResources(), blurredBitmap));
-                }
-            }
-        }
+        BlurEngine.getInstance().blurBehind(this, dialog.findViewById(R.id.dialogBlurBackground));
 
         View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
         ImageButton closeButton = dialog.findViewById(R.id.btnFilterClose);
@@ -809,48 +777,6 @@ public class OrganizerMyEventActivity extends AppCompatActivity {
         picker.show();
     }
 
-    private Bitmap captureScreenshot() {
-        try {
-            if (getWindow() == null) return null;
-            View rootView = getWindow().getDecorView().getRootView();
-            rootView.setDrawingCacheEnabled(true);
-            Bitmap bitmap = Bitmap.createBitmap(rootView.getDrawingCache());
-            rootView.setDrawingCacheEnabled(false);
-            return bitmap;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
-    }
-
-    private Bitmap blurBitmap(Bitmap bitmap, float radius) {
-        if (bitmap == null) return null;
-
-        try {
-            int width = Math.round(bitmap.getWidth() * 0.4f);
-            int height = Math.round(bitmap.getHeight() * 0.4f);
-            Bitmap inputBitmap = Bitmap.createScaledBitmap(bitmap, width, height, false);
-            Bitmap outputBitmap = Bitmap.createBitmap(inputBitmap);
-
-            RenderScript rs = RenderScript.create(this);
-            ScriptIntrinsicBlur blurScript = ScriptIntrinsicBlur.create(rs, Element.U8_4(rs));
-            Allocation tmpIn = Allocation.createFromBitmap(rs, inputBitmap);
-            Allocation tmpOut = Allocation.createFromBitmap(rs, outputBitmap);
-
-            blurScript.setRadius(radius);
-            blurScript.setInput(tmpIn);
-            blurScript.forEach(tmpOut);
-            tmpOut.copyTo(outputBitmap);
-
-            rs.destroy();
-
-            return Bitmap.createScaledBitmap(outputBitmap, bitmap.getWidth(), bitmap.getHeight(), true);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return bitmap;
-        }
-    }
-
     private static String asString(Object o) {
         return o instanceof String ? (String) o : null;
     }
@@ -909,7 +835,8 @@ public class OrganizerMyEventActivity extends AppCompatActivity {
 
         String id = getStringOr(d.getString("id"), d.getId());
         String title = getStringOr(d.getString("title"), "Untitled");
-        String posterUrl = d.getString("posterUrl");
+        String posterUrl = PosterVariants.listUrl(d.getString(PosterVariants.Variant.THUMB.field),
+                d.getString(PosterVariants.Variant.MEDIUM.field), d.getString(PosterVariants.Variant.FULL.field));
         String location = d.getString("location");
         @SuppressWarnings("unchecked")
         List<String> interests = (List<String>) d.get("interests");
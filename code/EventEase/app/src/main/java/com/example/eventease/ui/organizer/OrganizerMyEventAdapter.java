@@ -9,10 +9,12 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.example.eventease.R;
+import com.example.eventease.image.PosterPreloader;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -28,6 +30,7 @@ public class OrganizerMyEventAdapter extends RecyclerView.Adapter<RecyclerView.V
     private final List<EventListItem> items = new ArrayList<>();
     private final OnClick onClick;
     private final Context ctx;
+    @Nullable private PosterPreloader posterPreloader;
 
     public OrganizerMyEventAdapter(Context ctx, OnClick onClick) {
         this.ctx = ctx;
@@ -44,6 +47,22 @@ public class OrganizerMyEventAdapter extends RecyclerView.Adapter<RecyclerView.V
         notifyDataSetChanged();
     }
 
+    public void setPosterPreloader(@Nullable PosterPreloader posterPreloader) {
+        this.posterPreloader = posterPreloader;
+    }
+
+    /**
+     * The poster URL of the event at {@code position}, or null for headers.
+     */
+    @Nullable
+    public String posterUrlAt(int position) {
+        if (position < 0 || position >= items.size() || items.get(position).isHeader) {
+            return null;
+        }
+        Object url = items.get(position).event.get("posterUrl");
+        return url instanceof String ? (String) url : null;
+    }
+
     public void setSectionedData(List<EventListItem> sectionedList) {
         items.clear();
         if (sectionedList != null) {
@@ -67,7 +86,11 @@ public class OrganizerMyEventAdapter extends RecyclerView.Adapter<RecyclerView.V
         } else {
             View v = LayoutInflater.from(parent.getContext())
                     .inflate(R.layout.organizer_my_events_item, parent, false);
-            return new EventVH(v);
+            EventVH holder = new EventVH(v);
+            if (posterPreloader != null) {
+                posterPreloader.trackView(holder.imgPoster);
+            }
+            return holder;
         }
     }
 
@@ -142,11 +165,9 @@ public class OrganizerMyEventAdapter extends RecyclerView.Adapter<RecyclerView.V
             
             tvMeta.setText(meta.trim());
 
-            Glide.with(ctx)
-                    .load(posterUrl)
+            PosterPreloader.request(Glide.with(ctx), posterUrl)
                     .placeholder(android.R.color.darker_gray)
                     .error(android.R.color.darker_gray)
-                    .centerCrop()
                     .into(imgPoster);
 
             itemView.setOnClickListener(v -> {
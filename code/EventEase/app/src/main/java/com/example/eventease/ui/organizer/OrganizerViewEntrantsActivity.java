@@ -22,17 +22,11 @@
 package com.example.eventease.ui.organizer;
 
 import android.content.ContentValues;
-import android.graphics.Bitmap;
-import android.graphics.drawable.BitmapDrawable;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Bundle;
 import android.os.Environment;
 import android.provider.MediaStore;
-import android.renderscript.Allocation;
-import android.renderscript.Element;
-import android.renderscript.RenderScript;
-import android.renderscript.ScriptIntrinsicBlur;
 import android.util.Log;
 import android.view.View;
 import android.widget.ArrayAdapter;
@@ -46,12 +40,21 @@ import android.widget.Toast;
 import android.app.DatePickerDialog;
 import android.app.TimePickerDialog;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.cardview.widget.CardView;
 import androidx.core.content.ContextCompat;
 
 import com.example.eventease.R;
+import com.example.eventease.image.BlurEngine;
+import com.example.eventease.data.CountService;
+import com.example.eventease.data.firebase.EntrantGroupsLoader;
+import com.example.eventease.data.firebase.EntrantStatusStore;
+import com.example.eventease.logic.EntrantGroups.Group;
+import com.example.eventease.model.EntrantStatus;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
@@ -66,12 +69,10 @@ import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Random;
-import java.util.Set;
 import java.util.UUID;
 
 
@@ -80,6 +81,7 @@ public class OrganizerViewEntrantsActivity extends AppCompatActivity {
 
     private ListView listSelected, listNotSelected, listCancelled;
     private FirebaseFirestore db;
+    private EntrantStatusStore entrantStatusStore;
     private String eventId;
     private String eventTitle;
 
@@ -91,6 +93,8 @@ public class OrganizerViewEntrantsActivity extends AppCompatActivity {
     private ArrayAdapter<String> notSelectedAdapter;
     private ArrayAdapter<String> cancelledAdapter;
 
+    private EntrantGroupsLoader entrantGroupsLoader;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -109,6 +113,7 @@ public class OrganizerViewEntrantsActivity extends AppCompatActivity {
         listCancelled = findViewById(R.id.recyclerCancelled);
 
         db = FirebaseFirestore.getInstance();
+        entrantStatusStore = new EntrantStatusStore(db);
 
         selectedAdapter = new ArrayAdapter<>(this, R.layout.item_waitlist_name, android.R.id.text1, selectedList);
         notSelectedAdapter = new ArrayAdapter<>(this, R.layout.item_waitlist_name, android.R.id.text1, notSelectedList);
@@ -169,6 +174,14 @@ public class OrganizerViewEntrantsActivity extends AppCompatActivity {
         }
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (entrantGroupsLoader != null) {
+            entrantGroupsLoader.stop();
+        }
+    }
+
     private void loadEventTitle() {
         if (eventId == null || eventId.isEmpty()) {
             return;
@@ -388,63 +401,40 @@ public class OrganizerViewEntrantsActivity extends AppCompatActivity {
             return;
         }
 
-        selectedList.clear();
-        notSelectedList.clear();
-        cancelledList.clear();
+        // All groups load concurrently and are merged so a user appears in only ONE list
+        if (entrantGroupsLoader != null) {
+            entrantGroupsLoader.stop();
+        }
+        entrantGroupsLoader = new EntrantGroupsLoader(db, eventId);
+        entrantGroupsLoader.start(new EntrantGroupsLoader.Listener() {
+            @Override
+            public void onGroups(@NonNull Map<Group, List<DocumentSnapshot>> groups, boolean complete) {
+                showGroup(groups.get(Group.SELECTED), selectedList, selectedAdapter);
+                showGroup(groups.get(Group.NON_SELECTED), notSelectedList, notSelectedAdapter);
+                showGroup(groups.get(Group.CANCELLED), cancelledList, cancelledAdapter);
+            }
 
-        // Load all three collections simultaneously and filter duplicates
-        // A user should only appear in ONE collection (Selected, NonSelected, or Cancelled)
-        db.collection("events").document(eventId).collection("SelectedEntrants").get()
-                .addOnSuccessListener(selectedSnap -> {
-                    // Store userIds to filter duplicates
-                    Set<String> selectedUserIds = new HashSet<>();
-                    for (DocumentSnapshot doc : selectedSnap.getDocuments()) {
-                        selectedUserIds.add(doc.getId());
-                        selectedList.add(safeName(doc));
-                    }
-                    selectedAdapter.notifyDataSetChanged();
-                    
-                    // Now load NonSelectedEntrants and filter out duplicates
-                    db.collection("events").document(eventId).collection("NonSelectedEntrants").get()
-                            .addOnSuccessListener(nonSelectedSnap -> {
-                                Set<String> nonSelectedUserIds = new HashSet<>();
-                                for (DocumentSnapshot doc : nonSelectedSnap.getDocuments()) {
-                                    String userId = doc.getId();
-                                    // Only add if NOT already in SelectedEntrants
-                                    if (!selectedUserIds.contains(userId)) {
-                                        nonSelectedUserIds.add(userId);
-                                        notSelectedList.add(safeName(doc));
-                                    } else {
-                                        Log.w(TAG, "Filtered duplicate: " + userId + " appears in both SelectedEntrants and NonSelectedEntrants");
-                                    }
-                                }
-                                notSelectedAdapter.notifyDataSetChanged();
-                                
-                                // Now load CancelledEntrants and filter out duplicates
-                                db.collection("events").document(eventId).collection("CancelledEntrants").get()
-                                        .addOnSuccessListener(cancelledSnap -> {
-                                            for (DocumentSnapshot doc : cancelledSnap.getDocuments()) {
-                                                String userId = doc.getId();
-                                                // Only add if NOT already in SelectedEntrants or NonSelectedEntrants
-                                                if (!selectedUserIds.contains(userId) && !nonSelectedUserIds.contains(userId)) {
-                                                    cancelledList.add(safeName(doc));
-                                                } else {
-                                                    Log.w(TAG, "Filtered duplicate: " + userId + " appears in multiple collections");
-                                                }
-                                            }
-                                            cancelledAdapter.notifyDataSetChanged();
-                                        })
-                                        .addOnFailureListener(e -> {
-                                            Log.e(TAG, "Failed to load CancelledEntrants", e);
-                                        });
-                            })
-                            .addOnFailureListener(e -> {
-                                Log.e(TAG, "Failed to load NonSelectedEntrants", e);
-                            });
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Failed to load SelectedEntrants", e);
-                });
+            @Override
+            public void onError(@NonNull Exception e) {
+                Log.e(TAG, "Failed to load entrants", e);
+            }
+        });
+    }
+
+    /**
+     * Updates a list only when its names changed, so untouched lists keep their scroll position.
+     */
+    private void showGroup(List<DocumentSnapshot> docs, List<String> names, ArrayAdapter<String> adapter) {
+        List<String> next = new ArrayList<>(docs.size());
+        for (DocumentSnapshot doc : docs) {
+            next.add(safeName(doc));
+        }
+        if (next.equals(names)) {
+            return;
+        }
+        names.clear();
+        names.addAll(next);
+        adapter.notifyDataSetChanged();
     }
 
     private String safeName(DocumentSnapshot doc) {
@@ -520,8 +510,6 @@ public class OrganizerViewEntrantsActivity extends AppCompatActivity {
                 ", from=SelectedEntrants" +
                 ", to=CancelledEntrants" +
                 ", reason=organizer_selected_to_cancelled");
-        db.collection("events").document(eventId)
-                .collection("AdmittedEntrants").document(userId).delete();
         Map<String, Object> payload = data != null ? new HashMap<>(data) : new HashMap<>();
         payload.put("cancelledAt", System.currentTimeMillis());
         moveEntrantBetweenCollections(userId, payload, "SelectedEntrants", "CancelledEntrants");
@@ -539,8 +527,6 @@ public class OrganizerViewEntrantsActivity extends AppCompatActivity {
                 ", from=SelectedEntrants" +
                 ", to=NonSelectedEntrants" +
                 ", reason=organizer_selected_to_not_selected");
-        db.collection("events").document(eventId)
-                .collection("AdmittedEntrants").document(userId).delete();
         Map<String, Object> payload = data != null ? new HashMap<>(data) : new HashMap<>();
         moveEntrantBetweenCollections(userId, payload, "SelectedEntrants", "NonSelectedEntrants");
     }
@@ -551,10 +537,6 @@ public class OrganizerViewEntrantsActivity extends AppCompatActivity {
             return;
         }
 
-        // Capture screenshot and blur it
-        Bitmap screenshot = captureScreenshot();
-        Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-
         // Create custom dialog with full screen to show blur background
         android.app.Dialog dialog = new android.app.Dialog(this, android.R.style.Theme_Black_NoTitleBar_Fullscreen);
         dialog.setContentView(R.layout.organizer_dialog_final_entrants);
@@ -577,9 +559,7 @@ public class OrganizerViewEntrantsActivity extends AppCompatActivity {
 
         // Apply blurred background
         View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
-        if (blurredBitmap != null && blurBackground != null) {
-            blurBackground.setBackground(new BitmapDrawable(getResources(), blurredBitmap));
-        }
+        BlurEngine.getInstance().blurBehind(this, blurBackground);
 
         // Make the background clickable to dismiss
         if (blurBackground != null) {
@@ -814,54 +794,7 @@ public class OrganizerViewEntrantsActivity extends AppCompatActivity {
         return false;
     }
 
-    private Bitmap captureScreenshot() {
-        try {
-            android.view.View rootView = getWindow().getDecorView().getRootView();
-            rootView.setDrawingCacheEnabled(true);
-            Bitmap bitmap = Bitmap.createBitmap(rootView.getDrawingCache());
-            rootView.setDrawingCacheEnabled(false);
-            return bitmap;
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to capture screenshot", e);
-            return null;
-        }
-    }
-
-    private Bitmap blurBitmap(Bitmap bitmap, float radius) {
-        if (bitmap == null) return null;
-
-        try {
-            // Scale down for better performance
-            int width = Math.round(bitmap.getWidth() * 0.4f);
-            int height = Math.round(bitmap.getHeight() * 0.4f);
-            Bitmap inputBitmap = Bitmap.createScaledBitmap(bitmap, width, height, false);
-            Bitmap outputBitmap = Bitmap.createBitmap(inputBitmap);
-
-            RenderScript rs = RenderScript.create(this);
-            ScriptIntrinsicBlur blurScript = ScriptIntrinsicBlur.create(rs, Element.U8_4(rs));
-            Allocation tmpIn = Allocation.createFromBitmap(rs, inputBitmap);
-            Allocation tmpOut = Allocation.createFromBitmap(rs, outputBitmap);
-
-            blurScript.setRadius(radius);
-            blurScript.setInput(tmpIn);
-            blurScript.forEach(tmpOut);
-            tmpOut.copyTo(outputBitmap);
-
-            rs.destroy();
-
-            // Scale back up
-            return Bitmap.createScaledBitmap(outputBitmap, bitmap.getWidth(), bitmap.getHeight(), true);
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to blur bitmap", e);
-            return bitmap;
-        }
-    }
-
     private void showNotificationConfirmationDialog(String title, String message, Runnable onConfirm) {
-        // Capture screenshot and blur it
-        Bitmap screenshot = captureScreenshot();
-        Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-        
         // Create custom dialog with full screen to show blur background
         android.app.Dialog dialog = new android.app.Dialog(this, android.R.style.Theme_Black_NoTitleBar_Fullscreen);
         dialog.setContentView(R.layout.organizer_dialog_notification_confirmation);
@@ -884,9 +817,7 @@ public class OrganizerViewEntrantsActivity extends AppCompatActivity {
         
         // Apply blurred background
         android.view.View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
-        if (blurredBitmap != null) {
-            blurBackground.setBackground(new BitmapDrawable(getResources(), blurredBitmap));
-        }
+        BlurEngine.getInstance().blurBehind(this, blurBackground);
         
         // Make the background clickable to dismiss
         blurBackground.setOnClickListener(v -> dialog.dismiss());
@@ -940,15 +871,17 @@ public class OrganizerViewEntrantsActivity extends AppCompatActivity {
             return;
         }
 
-        // Check event deadline first
-        db.collection("events").document(eventId).get()
-                .addOnSuccessListener(eventDoc -> {
+        // Read the event and every entrant group at once
+        Task<DocumentSnapshot> eventTask = db.collection("events").document(eventId).get();
+        Task<Map<Group, List<DocumentSnapshot>>> groupsTask = new EntrantGroupsLoader(db, eventId).loadAll();
+        Tasks.whenAllSuccess(eventTask, groupsTask)
+                .addOnSuccessListener(results -> {
+                    DocumentSnapshot eventDoc = eventTask.getResult();
                     if (eventDoc == null || !eventDoc.exists()) {
                         Toast.makeText(this, "Event not found", Toast.LENGTH_SHORT).show();
                         return;
                     }
 
-                    Long eventDeadline = eventDoc.getLong("eventDeadline");
                     Long startsAtEpochMs = eventDoc.getLong("startsAtEpochMs");
                     long currentTime = System.currentTimeMillis();
 
@@ -958,81 +891,48 @@ public class OrganizerViewEntrantsActivity extends AppCompatActivity {
                         return;
                     }
 
-                    // Count cancelled and non-selected entrants
-                    db.collection("events").document(eventId).collection("CancelledEntrants").get()
-                            .addOnSuccessListener(cancelledSnapshot -> {
-                                int cancelledCount = cancelledSnapshot != null ? cancelledSnapshot.size() : 0;
-
-                                // Check how many spots are available (sampleSize - current selected count)
-                                db.collection("events").document(eventId).collection("SelectedEntrants").get()
-                                        .addOnSuccessListener(selectedSnapshot -> {
-                                            int selectedCount = selectedSnapshot != null ? selectedSnapshot.size() : 0;
-                                            Long sampleSizeObj = eventDoc.getLong("sampleSize");
-                                            int sampleSize = sampleSizeObj != null ? sampleSizeObj.intValue() : 0;
-                                            
-                                            // CRITICAL: Replacement should ONLY happen if selectedCount < sampleSize
-                                            if (selectedCount >= sampleSize) {
-                                                Toast.makeText(this, 
-                                                    String.format("Cannot replace: Selected entrants (%d) already equals or exceeds sample size (%d). Sample size limit reached.", 
-                                                        selectedCount, sampleSize), 
-                                                    Toast.LENGTH_LONG).show();
-                                                return;
-                                            }
-                                            
-                                            int availableSpots = sampleSize - selectedCount;
-
-                                            db.collection("events").document(eventId).collection("NonSelectedEntrants").get()
-                                                    .addOnSuccessListener(nonSelectedSnapshot -> {
-                                                        int nonSelectedCount = nonSelectedSnapshot != null ? nonSelectedSnapshot.size() : 0;
-
-                                                        if (nonSelectedCount == 0) {
-                                                            Toast.makeText(this, "No non-selected entrants available for replacement", Toast.LENGTH_SHORT).show();
-                                                            return;
-                                                        }
-
-                                                        // Calculate how many can be replaced - NEVER exceed sampleSize
-                                                        int toReplace = Math.min(availableSpots, nonSelectedCount);
-                                                        
-                                                        if (toReplace <= 0) {
-                                                            Toast.makeText(this, "No available spots for replacement (sample size limit reached)", Toast.LENGTH_SHORT).show();
-                                                            return;
-                                                        }
-                                                        
-                                                        Log.d(TAG, "Replacement check: selectedCount=" + selectedCount + ", sampleSize=" + sampleSize + ", availableSpots=" + availableSpots + ", toReplace=" + toReplace);
-
-                                                        String message = String.format(
-                                                                "Select %d entrant%s from Non-Selected to replace cancelled/available spots?\n\nYou will need to set a deadline for them to accept/decline.",
-                                                                toReplace, toReplace == 1 ? "" : "s"
-                                                        );
-
-                                                        showReplacementRequestDialog(message, () -> showDeadlinePickerAndPerformReplacement(toReplace, eventDoc));
-                                                    })
-                                                    .addOnFailureListener(e -> {
-                                                        Log.e(TAG, "Failed to load non-selected entrants", e);
-                                                        Toast.makeText(this, "Failed to load non-selected entrants", Toast.LENGTH_SHORT).show();
-                                                    });
-                                        })
-                                        .addOnFailureListener(e -> {
-                                            Log.e(TAG, "Failed to load selected entrants", e);
-                                            Toast.makeText(this, "Failed to load selected entrants", Toast.LENGTH_SHORT).show();
-                                        });
-                            })
-                            .addOnFailureListener(e -> {
-                                Log.e(TAG, "Failed to load cancelled entrants", e);
-                                Toast.makeText(this, "Failed to load cancelled entrants", Toast.LENGTH_SHORT).show();
-                            });
+                    // Check how many spots are available (sampleSize - current selected count)
+                    Map<Group, List<DocumentSnapshot>> groups = groupsTask.getResult();
+                    int selectedCount = groups.get(Group.SELECTED).size();
+                    Long sampleSizeObj = eventDoc.getLong("sampleSize");
+                    int sampleSize = sampleSizeObj != null ? sampleSizeObj.intValue() : 0;
+
+                    // CRITICAL: Replacement should ONLY happen if selectedCount < sampleSize
+                    if (selectedCount >= sampleSize) {
+                        Toast.makeText(this, 
+                            String.format("Cannot replace: Selected entrants (%d) already equals or exceeds sample size (%d). Sample size limit reached.", 
+                                selectedCount, sampleSize), 
+                            Toast.LENGTH_LONG).show();
+                        return;
+                    }
+                    
+                    int availableSpots = sampleSize - selectedCount;
+                    int nonSelectedCount = groups.get(Group.NON_SELECTED).size();
+
+                    if (nonSelectedCount == 0) {
+                        Toast.makeText(this, "No non-selected entrants available for replacement", Toast.LENGTH_SHORT).show();
+                        return;
+                    }
+
+                    // Calculate how many can be replaced - NEVER exceed sampleSize
+                    int toReplace = Math.min(availableSpots, nonSelectedCount);
+                    
+                    Log.d(TAG, "Replacement check: selectedCount=" + selectedCount + ", sampleSize=" + sampleSize + ", availableSpots=" + availableSpots + ", toReplace=" + toReplace);
+
+                    String message = String.format(
+                            "Select %d entrant%s from Non-Selected to replace cancelled/available spots?\n\nYou will need to set a deadline for them to accept/decline.",
+                            toReplace, toReplace == 1 ? "" : "s"
+                    );
+
+                    showReplacementRequestDialog(message, () -> showDeadlinePickerAndPerformReplacement(toReplace, eventDoc));
                 })
                 .addOnFailureListener(e -> {
-                    Log.e(TAG, "Failed to load event", e);
+                    Log.e(TAG, "Failed to load event or entrants", e);
                     Toast.makeText(this, "Failed to load event details", Toast.LENGTH_SHORT).show();
                 });
     }
 
     private void showReplacementRequestDialog(String message, Runnable onConfirm) {
-        // Capture screenshot and blur it
-        Bitmap screenshot = captureScreenshot();
-        Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-        
         // Create custom dialog with full screen to show blur background
         android.app.Dialog dialog = new android.app.Dialog(this, android.R.style.Theme_Black_NoTitleBar_Fullscreen);
         dialog.setContentView(R.layout.dialog_replacement_request);
@@ -1055,9 +955,7 @@ public class OrganizerViewEntrantsActivity extends AppCompatActivity {
         
         // Apply blurred background
         android.view.View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
-        if (blurredBitmap != null && blurBackground != null) {
-            blurBackground.setBackground(new android.graphics.drawable.BitmapDrawable(getResources(), blurredBitmap));
-        }
+        BlurEngine.getInstance().blurBehind(this, blurBackground);
         
         // Make the background clickable to dismiss
         if (blurBackground != null) {
@@ -1175,9 +1073,12 @@ public class OrganizerViewEntrantsActivity extends AppCompatActivity {
 
         Toast.makeText(this, "Processing replacement selection...", Toast.LENGTH_SHORT).show();
 
-        // First, fetch event document to get sampleSize
+        // Fetch the event (for sampleSize) and every entrant group at once
         DocumentReference eventRef = db.collection("events").document(eventId);
-        eventRef.get().addOnSuccessListener(eventDoc -> {
+        Task<DocumentSnapshot> eventTask = eventRef.get();
+        Task<Map<Group, List<DocumentSnapshot>>> groupsTask = new EntrantGroupsLoader(db, eventId).loadAll();
+        Tasks.whenAllSuccess(eventTask, groupsTask).addOnSuccessListener(results -> {
+            DocumentSnapshot eventDoc = eventTask.getResult();
             if (eventDoc == null || !eventDoc.exists()) {
                 Toast.makeText(this, "Event not found", Toast.LENGTH_SHORT).show();
                 return;
@@ -1186,189 +1087,111 @@ public class OrganizerViewEntrantsActivity extends AppCompatActivity {
             Long sampleSizeObj = eventDoc.getLong("sampleSize");
             int sampleSize = sampleSizeObj != null ? sampleSizeObj.intValue() : 0;
             String eventTitle = eventDoc.getString("title");
+            Map<Group, List<DocumentSnapshot>> groups = groupsTask.getResult();
             
-            // CRITICAL: Fetch ONLY non-selected entrants (NEVER cancelled or already selected)
-            eventRef.collection("NonSelectedEntrants").get()
-                .addOnSuccessListener(nonSelectedSnapshot -> {
-                    if (nonSelectedSnapshot == null || nonSelectedSnapshot.isEmpty()) {
-                        Toast.makeText(this, "No non-selected entrants available", Toast.LENGTH_SHORT).show();
-                        return;
-                    }
+            // CRITICAL: Draw ONLY from non-selected entrants. The merge never places a user who is
+            // also cancelled or already selected in NON_SELECTED.
+            List<DocumentSnapshot> validNonSelectedDocs = groups.get(Group.NON_SELECTED);
+            if (validNonSelectedDocs.isEmpty()) {
+                Toast.makeText(this, "No non-selected entrants available", Toast.LENGTH_SHORT).show();
+                return;
+            }
+            
+            if (validNonSelectedDocs.size() < count) {
+                Toast.makeText(this, "Not enough valid non-selected entrants available", Toast.LENGTH_SHORT).show();
+                return;
+            }
 
-                    List<DocumentSnapshot> nonSelectedDocs = nonSelectedSnapshot.getDocuments();
+            // Show dialog to let organizer manually select which entrants
+            // For now, randomly select (organizer can manually move later if needed)
+            List<DocumentSnapshot> selectedForReplacement = randomlySelect(validNonSelectedDocs, count);
+            
+            // CRITICAL: Check sample size against the selected group read with the rest
+            int currentSelectedCount = groups.get(Group.SELECTED).size();
+            
+            // Calculate how many we can actually add
+            int canAdd = sampleSize - currentSelectedCount;
+            
+            if (canAdd <= 0) {
+                Toast.makeText(this, 
+                    String.format("Cannot replace: Selected entrants (%d) already equals sample size (%d).", 
+                        currentSelectedCount, sampleSize), 
+                    Toast.LENGTH_LONG).show();
+                return;
+            }
+            
+            // Limit replacement to what we can actually add
+            List<DocumentSnapshot> finalSelectedForReplacement = selectedForReplacement;
+            List<String> finalUserIds = new ArrayList<>();
+            if (selectedForReplacement.size() > canAdd) {
+                Log.w(TAG, "Limiting replacement from " + selectedForReplacement.size() + " to " + canAdd + " to respect sample size");
+                finalSelectedForReplacement = selectedForReplacement.subList(0, canAdd);
+            }
+            
+            WriteBatch finalBatch = db.batch();
+            
+            // Move selected entrants from NON_SELECTED to SELECTED
+            for (DocumentSnapshot doc : finalSelectedForReplacement) {
+                String userId = doc.getId();
+                Map<String, Object> data = doc.getData();
+                finalUserIds.add(userId);
+                
+                if (data != null) {
+                    int index = finalUserIds.size();
+                    int willBeTotal = currentSelectedCount + index;
+                    Log.d(TAG, "Replacement: Moving user " + userId + " from NonSelected to Selected (will make " + willBeTotal + "/" + sampleSize + " selected)");
                     
-                    // SAFETY CHECK: Filter out anyone who might be in CancelledEntrants or SelectedEntrants
-                    // (This should never happen, but extra safety)
-                    eventRef.collection("CancelledEntrants").get()
-                            .addOnSuccessListener(cancelledSnapshot -> {
-                                eventRef.collection("SelectedEntrants").get()
-                                        .addOnSuccessListener(selectedSnapshot -> {
-                                            // Create sets of IDs to exclude
-                                            Set<String> cancelledIds = new HashSet<>();
-                                            if (cancelledSnapshot != null) {
-                                                for (DocumentSnapshot doc : cancelledSnapshot.getDocuments()) {
-                                                    cancelledIds.add(doc.getId());
-                                                }
-                                            }
-                                            Set<String> alreadySelectedIds = new HashSet<>();
-                                            if (selectedSnapshot != null) {
-                                                for (DocumentSnapshot doc : selectedSnapshot.getDocuments()) {
-                                                    alreadySelectedIds.add(doc.getId());
-                                                }
-                                            }
-                                            
-                                            // Filter nonSelectedDocs to ONLY include truly non-selected users
-                                            List<DocumentSnapshot> validNonSelectedDocs = new ArrayList<>();
-                                            for (DocumentSnapshot doc : nonSelectedDocs) {
-                                                String userId = doc.getId();
-                                                if (!cancelledIds.contains(userId) && !alreadySelectedIds.contains(userId)) {
-                                                    validNonSelectedDocs.add(doc);
-                                                } else {
-                                                    Log.w(TAG, "SAFETY: Filtered out user " + userId + " from replacement (in cancelled or selected)");
-                                                }
-                                            }
-                                            
-                                            if (validNonSelectedDocs.size() < count) {
-                                                Toast.makeText(this, "Not enough valid non-selected entrants available", Toast.LENGTH_SHORT).show();
-                                                return;
-                                            }
-
-                                            // Show dialog to let organizer manually select which entrants
-                                            // For now, randomly select (organizer can manually move later if needed)
-                                            List<DocumentSnapshot> selectedForReplacement = randomlySelect(validNonSelectedDocs, count);
-                                            
-                                            List<String> userIds = new ArrayList<>();
-
-                                            // CRITICAL: Double-check sample size before committing batch
-                                            // Re-check selectedCount right before batch commit to ensure we don't exceed sampleSize
-                                            eventRef.collection("SelectedEntrants").get()
-                                                    .addOnSuccessListener(finalSelectedCheck -> {
-                                                        int currentSelectedCount = finalSelectedCheck != null ? finalSelectedCheck.size() : 0;
-                                                        int finalSampleSize = sampleSize; // sampleSize is now in scope from outer lambda
-                                                        
-                                                        // Calculate how many we can actually add
-                                                        int canAdd = finalSampleSize - currentSelectedCount;
-                                                        
-                                                        if (canAdd <= 0) {
-                                                            Toast.makeText(this, 
-                                                                String.format("Cannot replace: Selected entrants (%d) already equals sample size (%d).", 
-                                                                    currentSelectedCount, finalSampleSize), 
-                                                                Toast.LENGTH_LONG).show();
-                                                            return;
-                                                        }
-                                                        
-                                                        // Limit replacement to what we can actually add
-                                                        List<DocumentSnapshot> finalSelectedForReplacement = selectedForReplacement;
-                                                        List<String> finalUserIds = new ArrayList<>();
-                                                        if (selectedForReplacement.size() > canAdd) {
-                                                            Log.w(TAG, "Limiting replacement from " + selectedForReplacement.size() + " to " + canAdd + " to respect sample size");
-                                                            finalSelectedForReplacement = selectedForReplacement.subList(0, canAdd);
-                                                        }
-                                                        
-                                                        // CRITICAL: Final verification before batch commit
-                                                        int finalTotalCount = currentSelectedCount + finalSelectedForReplacement.size();
-                                                        if (finalTotalCount > finalSampleSize) {
-                                                            Log.e(TAG, "CRITICAL: Final count (" + finalTotalCount + ") would exceed sampleSize (" + finalSampleSize + ")! Adjusting.");
-                                                            int maxToAdd = finalSampleSize - currentSelectedCount;
-                                                            if (maxToAdd > 0) {
-                                                                finalSelectedForReplacement = finalSelectedForReplacement.subList(0, maxToAdd);
-                                                                Log.w(TAG, "Adjusted replacement count to " + maxToAdd + " to respect sample size");
-                                                            } else {
-                                                                Toast.makeText(this, 
-                                                                    "Cannot add any more - already at sample size limit",
-                                                                    Toast.LENGTH_LONG).show();
-                                                                return;
-                                                            }
-                                                        }
-                                                        
-                                                        WriteBatch finalBatch = db.batch();
-                                                        
-                                                        // Move selected entrants from NonSelectedEntrants to SelectedEntrants
-                                                        for (DocumentSnapshot doc : finalSelectedForReplacement) {
-                                                            String userId = doc.getId();
-                                                            Map<String, Object> data = doc.getData();
-                                                            finalUserIds.add(userId);
-                                                            
-                                                            if (data != null) {
-                                                                int index = finalUserIds.size();
-                                                                int willBeTotal = currentSelectedCount + index;
-                                                                Log.d(TAG, "Replacement: Moving user " + userId + " from NonSelected to Selected (will make " + willBeTotal + "/" + finalSampleSize + " selected)");
-                                                                
-                                                                // CRITICAL: Final check per user - ensure we don't exceed
-                                                                if (willBeTotal > finalSampleSize) {
-                                                                    Log.e(TAG, "CRITICAL: Stopping replacement - would exceed sample size at user " + userId);
-                                                                    break; // Stop adding more users
-                                                                }
-                                                                
-                                                                // CRITICAL: Ensure mutual exclusivity - user can only exist in ONE collection
-                                                                // Move to SelectedEntrants
-                                                                finalBatch.set(eventRef.collection("SelectedEntrants").document(userId), data);
-                                                                // Remove from ALL other collections
-                                                                finalBatch.delete(eventRef.collection("NonSelectedEntrants").document(userId));
-                                                                finalBatch.delete(eventRef.collection("WaitlistedEntrants").document(userId));
-                                                                finalBatch.delete(eventRef.collection("CancelledEntrants").document(userId));
-                                                                
-                                                                // Create invitation for replacement
-                                                                Map<String, Object> invitation = new HashMap<>();
-                                                                invitation.put("eventId", eventId);
-                                                                invitation.put("uid", userId);
-                                                                invitation.put("entrantId", userId);
-                                                                invitation.put("status", "PENDING");
-                                                                invitation.put("issuedAt", System.currentTimeMillis());
-                                                                invitation.put("expiresAt", deadlineToAccept);
-                                                                invitation.put("isReplacement", true);
-                                                                
-                                                                finalBatch.set(db.collection("invitations").document(UUID.randomUUID().toString()), invitation);
-                                                            }
-                                                        }
-                                                        
-                                                        // CRITICAL: Create final copy of user IDs for lambda (must be final or effectively final)
-                                                        final List<String> finalUserIdsForLambda = new ArrayList<>(finalUserIds);
-                                                        
-                                                        // Commit final batch
-                                                        finalBatch.commit()
-                                                                .addOnSuccessListener(v -> {
-                                                                    Toast.makeText(this, 
-                                                                            "Successfully selected " + finalUserIdsForLambda.size() + " entrant" + (finalUserIdsForLambda.size() == 1 ? "" : "s") + " for replacement",
-                                                                            Toast.LENGTH_LONG).show();
-                                                                    
-                                                                    // Send notifications with deadline
-                                                                    String eventTitleStr = eventTitle != null ? eventTitle : "the event";
-                                                                    sendReplacementNotifications(finalUserIdsForLambda, eventTitleStr, deadlineToAccept);
-                                                                    
-                                                                    // Reload entrants
-                                                                    loadEntrantsFromFirestore();
-                                                                })
-                                                                .addOnFailureListener(e -> {
-                                                                    Log.e(TAG, "Failed to perform replacement swap", e);
-                                                                    Toast.makeText(this, "Failed to perform replacement swap: " + e.getMessage(), 
-                                                                            Toast.LENGTH_LONG).show();
-                                                                });
-                                        })
-                                        .addOnFailureListener(e -> {
-                                            Log.e(TAG, "Failed to load selected entrants for safety check", e);
-                                            Toast.makeText(this, "Failed to perform safety check", Toast.LENGTH_SHORT).show();
-                                        });
-                            })
-                            .addOnFailureListener(e -> {
-                                Log.e(TAG, "Failed to load selected entrants for safety check", e);
-                                Toast.makeText(this, "Failed to perform safety check", Toast.LENGTH_SHORT).show();
-                            });
+                    // CRITICAL: Final check per user - ensure we don't exceed
+                    if (willBeTotal > sampleSize) {
+                        Log.e(TAG, "CRITICAL: Stopping replacement - would exceed sample size at user " + userId);
+                        break; // Stop adding more users
+                    }
+                    
+                    // One status write; the projection updates the legacy subcollections
+                    entrantStatusStore.set(finalBatch, eventId, userId,
+                            EntrantStatus.NON_SELECTED, EntrantStatus.SELECTED, data);
+                    
+                    // Create invitation for replacement
+                    Map<String, Object> invitation = new HashMap<>();
+                    invitation.put("eventId", eventId);
+                    invitation.put("uid", userId);
+                    invitation.put("entrantId", userId);
+                    invitation.put("status", "PENDING");
+                    invitation.put("issuedAt", System.currentTimeMillis());
+                    invitation.put("expiresAt", deadlineToAccept);
+                    invitation.put("isReplacement", true);
+                    
+                    finalBatch.set(db.collection("invitations").document(UUID.randomUUID().toString()), invitation);
+                }
+            }
+            
+            // CRITICAL: Create final copy of user IDs for lambda (must be final or effectively final)
+            final List<String> finalUserIdsForLambda = new ArrayList<>(finalUserIds);
+            
+            // Commit final batch
+            finalBatch.commit()
+                    .addOnSuccessListener(v -> {
+                        Toast.makeText(this, 
+                                "Successfully selected " + finalUserIdsForLambda.size() + " entrant" + (finalUserIdsForLambda.size() == 1 ? "" : "s") + " for replacement",
+                                Toast.LENGTH_LONG).show();
+                        
+                        // Send notifications with deadline
+                        String eventTitleStr = eventTitle != null ? eventTitle : "the event";
+                        sendReplacementNotifications(finalUserIdsForLambda, eventTitleStr, deadlineToAccept);
+                        
+                        // Reload entrants
+                        loadEntrantsFromFirestore();
                     })
                     .addOnFailureListener(e -> {
-                        Log.e(TAG, "Failed to load cancelled entrants for safety check", e);
-                        Toast.makeText(this, "Failed to perform safety check", Toast.LENGTH_SHORT).show();
+                        Log.e(TAG, "Failed to perform replacement swap", e);
+                        Toast.makeText(this, "Failed to perform replacement swap: " + e.getMessage(), 
+                                Toast.LENGTH_LONG).show();
                     });
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Failed to load non-selected entrants for replacement", e);
-                    Toast.makeText(this, "Failed to load non-selected entrants", Toast.LENGTH_SHORT).show();
-                });
-            })
-            .addOnFailureListener(e -> {
-                Log.e(TAG, "Failed to load event document", e);
-                Toast.makeText(this, "Failed to load event details", Toast.LENGTH_SHORT).show();
-            });
+        })
+        .addOnFailureListener(e -> {
+            Log.e(TAG, "Failed to load event or entrants for replacement", e);
+            Toast.makeText(this, "Failed to load event details", Toast.LENGTH_SHORT).show();
+        });
     }
 
     private List<DocumentSnapshot> randomlySelect(List<DocumentSnapshot> allDocs, int count) {
@@ -1628,38 +1451,11 @@ public class OrganizerViewEntrantsActivity extends AppCompatActivity {
 
     private void performMoveBatch(DocumentReference eventRef, String userId, Map<String, Object> entrantData,
                                   String fromCollection, String toCollection) {
-        DocumentReference fromRef = eventRef.collection(fromCollection).document(userId);
-        DocumentReference toRef = eventRef.collection(toCollection).document(userId);
-
-        // CRITICAL: Get references to ALL collections to ensure mutual exclusivity
-        DocumentReference waitlistRef = eventRef.collection("WaitlistedEntrants").document(userId);
-        DocumentReference selectedRef = eventRef.collection("SelectedEntrants").document(userId);
-        DocumentReference nonSelectedRef = eventRef.collection("NonSelectedEntrants").document(userId);
-        DocumentReference cancelledRef = eventRef.collection("CancelledEntrants").document(userId);
-
-        WriteBatch batch = db.batch();
-        
-        // Add to target collection
-        batch.set(toRef, entrantData);
-
-        // CRITICAL: Ensure mutual exclusivity - delete from ALL other collections
-        // This ensures user exists in only ONE collection (Selected, NonSelected, or Cancelled)
-        if (!"WaitlistedEntrants".equals(toCollection)) {
-            batch.delete(waitlistRef);
-        }
-        if (!"SelectedEntrants".equals(toCollection)) {
-            batch.delete(selectedRef);
-        }
-        if (!"NonSelectedEntrants".equals(toCollection)) {
-            batch.delete(nonSelectedRef);
-        }
-        if (!"CancelledEntrants".equals(toCollection)) {
-            batch.delete(cancelledRef);
-        }
-
-        // Also delete from source collection if different from target
-        if (!fromCollection.equals(toCollection)) {
-            batch.delete(fromRef);
+        EntrantStatus toStatus = EntrantStatus.fromLegacyCollection(toCollection);
+        if (toStatus == null) {
+            Log.e(TAG, "Unknown entrant collection: " + toCollection);
+            Toast.makeText(this, "Failed to move entrant", Toast.LENGTH_SHORT).show();
+            return;
         }
 
         // Try to resolve a human-readable name
@@ -1681,10 +1477,13 @@ public class OrganizerViewEntrantsActivity extends AppCompatActivity {
                 ", to=" + toCollection +
                 ", reason=organizer_manual_move_or_system_call");
 
-        batch.commit()
-                .addOnSuccessListener(aVoid -> {
+        // A single status write; the state machine rejects illegal moves and the
+        // per-status subcollections are updated from it server-side
+        entrantStatusStore.transition(eventId, userId, toStatus, entrantData)
+                .addOnSuccessListener(previous -> {
                     Toast.makeText(this, "Entrant moved successfully", Toast.LENGTH_SHORT).show();
-                    Log.d(TAG, "Successfully moved entrant " + userId + " from " + fromCollection + " to " + toCollection);
+                    Log.d(TAG, "Successfully moved entrant " + userId + " from " + previous + " to " + toStatus);
+                    CountService.getInstance().invalidateEvent(eventId);
                     loadEntrantsFromFirestore();
                 })
                 .addOnFailureListener(e -> {
@@ -16,6 +16,10 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.bumptech.glide.Glide;
 import com.example.eventease.R;
+import com.example.eventease.image.BlurEngine;
+import com.example.eventease.image.QrPreview;
+import com.example.eventease.data.firebase.PosterUploader;
+import com.example.eventease.logic.PosterVariants;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.google.firebase.firestore.DocumentReference;
@@ -29,11 +33,6 @@ import com.google.firebase.storage.StorageReference;
 import androidx.annotation.LayoutRes;
 import androidx.core.content.FileProvider;
 
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.WriterException;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
-
 import java.util.ArrayList;
 import java.util.List;
 import java.util.HashMap;
@@ -51,14 +50,8 @@ import android.app.TimePickerDialog;
 import android.app.Dialog;
 import android.content.ContentValues;
 import android.content.Context;
-import android.graphics.Bitmap;
 import android.graphics.Color;
-import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.ColorDrawable;
-import android.renderscript.Allocation;
-import android.renderscript.Element;
-import android.renderscript.RenderScript;
-import android.renderscript.ScriptIntrinsicBlur;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.WindowManager;
@@ -73,6 +66,8 @@ import android.widget.TextView;
 
 public class OrganizerWaitlistActivity extends AppCompatActivity {
     private static final String TAG = "OrganizerWaitlist";
+    /** File name stem suffix of a poster replaced from this screen. */
+    private static final String UPDATED_POSTER_SUFFIX = "_updated";
 
     private TextView eventNameTextView;
     private ImageView eventPosterImageView;
@@ -550,47 +545,44 @@ public class OrganizerWaitlistActivity extends AppCompatActivity {
             new com.example.eventease.auth.DeviceAuthManager(this);
         String deviceId = authManager.getUid();
         
-        // Create storage reference with event ID
-        final StorageReference ref = storage.getReference("posters/" + currentEventId + "_updated.jpg");
-        
-        // Create metadata
-        com.google.firebase.storage.StorageMetadata.Builder metaBuilder = 
-            new com.google.firebase.storage.StorageMetadata.Builder()
-                .setContentType("image/jpeg");
-        
+        final Map<String, String> customMeta = new HashMap<>();
         if (deviceId != null && !deviceId.isEmpty()) {
-            metaBuilder.setCustomMetadata("deviceId", deviceId);
-            metaBuilder.setCustomMetadata("updatedAt", String.valueOf(System.currentTimeMillis()));
+            customMeta.put("deviceId", deviceId);
+            customMeta.put("updatedAt", String.valueOf(System.currentTimeMillis()));
         }
-        
-        final com.google.firebase.storage.StorageMetadata meta = metaBuilder.build();
-        
-        // Apply crop if user cropped the image
-        if (posterCropped && imageMatrix != null) {
-            Glide.with(this)
-                    .asBitmap()
-                    .load(uri)
-                    .into(new com.bumptech.glide.request.target.CustomTarget<android.graphics.Bitmap>() {
-                        @Override
-                        public void onResourceReady(@androidx.annotation.NonNull android.graphics.Bitmap originalBitmap,
-                                                    @androidx.annotation.Nullable com.bumptech.glide.request.transition.Transition<? super android.graphics.Bitmap> transition) {
-                            android.graphics.Bitmap croppedBitmap = applyCropToBitmap(originalBitmap);
-                            if (croppedBitmap != null) {
-                                uploadBitmapToStorage(croppedBitmap, ref, meta);
-                            } else {
-                                // Fallback to original
-                                uploadUriToStorage(uri, ref, meta);
-                            }
-                        }
-                        
-                        @Override
-                        public void onLoadCleared(@androidx.annotation.Nullable android.graphics.drawable.Drawable placeholder) {
-                        }
-                    });
-        } else {
-            // Upload original image without cropping
-            uploadUriToStorage(uri, ref, meta);
+
+        final boolean cropped = posterCropped && imageMatrix != null;
+        com.bumptech.glide.RequestBuilder<android.graphics.Bitmap> request = Glide.with(this)
+                .asBitmap()
+                .load(uri);
+        if (!cropped) {
+            // The crop matrix is relative to the original pixels, so only downsample without a crop
+            int maxEdge = PosterVariants.Variant.FULL.maxEdge;
+            request = request.downsample(com.bumptech.glide.load.resource.bitmap.DownsampleStrategy.AT_MOST)
+                    .override(maxEdge, maxEdge);
         }
+        request.into(new com.bumptech.glide.request.target.CustomTarget<android.graphics.Bitmap>() {
+            @Override
+            public void onResourceReady(@androidx.annotation.NonNull android.graphics.Bitmap originalBitmap,
+                                        @androidx.annotation.Nullable com.bumptech.glide.request.transition.Transition<? super android.graphics.Bitmap> transition) {
+                android.graphics.Bitmap poster = cropped ? applyCropToBitmap(originalBitmap) : originalBitmap;
+                if (poster != null) {
+                    uploadPosterVariants(poster, customMeta);
+                } else {
+                    // Fallback to original
+                    uploadUriToStorage(uri, customMeta);
+                }
+            }
+
+            @Override
+            public void onLoadFailed(@androidx.annotation.Nullable android.graphics.drawable.Drawable errorDrawable) {
+                uploadUriToStorage(uri, customMeta);
+            }
+
+            @Override
+            public void onLoadCleared(@androidx.annotation.Nullable android.graphics.drawable.Drawable placeholder) {
+            }
+        });
     }
     
     /**
@@ -654,49 +646,47 @@ public class OrganizerWaitlistActivity extends AppCompatActivity {
     }
     
     /**
-     * Uploads a bitmap to Firebase Storage
+     * Uploads the thumb, medium and full WebP variants of the new poster
      */
-    private void uploadBitmapToStorage(android.graphics.Bitmap bitmap, StorageReference ref, 
-                                      com.google.firebase.storage.StorageMetadata meta) {
-        try {
-            java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
-            bitmap.compress(android.graphics.Bitmap.CompressFormat.JPEG, 90, baos);
-            byte[] imageData = baos.toByteArray();
-            
-            ref.putBytes(imageData, meta)
-                    .continueWithTask(task -> {
-                        if (!task.isSuccessful()) throw task.getException();
-                        return ref.getDownloadUrl();
-                    })
-                    .addOnSuccessListener(downloadUri -> {
-                        Log.d(TAG, "Poster uploaded successfully: " + downloadUri.toString());
-                        updateEventPosterUrl(downloadUri.toString());
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Failed to upload poster", e);
-                        Toast.makeText(this, "Failed to upload poster: " + e.getMessage(), 
-                                      Toast.LENGTH_LONG).show();
-                    });
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to compress bitmap", e);
-            Toast.makeText(this, "Failed to process image: " + e.getMessage(), 
-                          Toast.LENGTH_LONG).show();
-        }
+    private void uploadPosterVariants(android.graphics.Bitmap poster, Map<String, String> customMeta) {
+        new PosterUploader(storage)
+                .upload(currentEventId + UPDATED_POSTER_SUFFIX, poster, customMeta)
+                .addOnSuccessListener(posterUrls -> {
+                    Log.d(TAG, "Poster variants uploaded: " + posterUrls.keySet());
+                    updateEventPosterUrls(posterUrls);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Failed to upload poster", e);
+                    Toast.makeText(this, "Failed to upload poster: " + e.getMessage(), 
+                                  Toast.LENGTH_LONG).show();
+                });
     }
     
     /**
-     * Uploads a URI to Firebase Storage (fallback for no crop)
+     * Uploads a URI to Firebase Storage unchanged (fallback when it cannot be decoded)
      */
-    private void uploadUriToStorage(Uri uri, StorageReference ref, 
-                                   com.google.firebase.storage.StorageMetadata meta) {
-        ref.putFile(uri, meta)
+    private void uploadUriToStorage(Uri uri, Map<String, String> customMeta) {
+        final StorageReference ref = storage.getReference("posters/" + currentEventId + UPDATED_POSTER_SUFFIX + ".jpg");
+        com.google.firebase.storage.StorageMetadata.Builder metaBuilder = 
+            new com.google.firebase.storage.StorageMetadata.Builder()
+                .setContentType("image/jpeg");
+        for (Map.Entry<String, String> entry : customMeta.entrySet()) {
+            metaBuilder.setCustomMetadata(entry.getKey(), entry.getValue());
+        }
+        ref.putFile(uri, metaBuilder.build())
                 .continueWithTask(task -> {
                     if (!task.isSuccessful()) throw task.getException();
                     return ref.getDownloadUrl();
                 })
                 .addOnSuccessListener(downloadUri -> {
                     Log.d(TAG, "Poster uploaded successfully: " + downloadUri.toString());
-                    updateEventPosterUrl(downloadUri.toString());
+                    // Clear the variants of the previous poster so lists show the new one
+                    Map<String, String> posterUrls = new HashMap<>();
+                    for (PosterVariants.Variant variant : PosterVariants.Variant.values()) {
+                        posterUrls.put(variant.field, null);
+                    }
+                    posterUrls.put(PosterVariants.Variant.FULL.field, downloadUri.toString());
+                    updateEventPosterUrls(posterUrls);
                 })
                 .addOnFailureListener(e -> {
                     Log.e(TAG, "Failed to upload poster", e);
@@ -706,11 +696,11 @@ public class OrganizerWaitlistActivity extends AppCompatActivity {
     }
     
     /**
-     * Updates the event document with the new poster URL
+     * Updates the event document with the new poster variant URLs
      */
-    private void updateEventPosterUrl(String posterUrl) {
-        Map<String, Object> updates = new HashMap<>();
-        updates.put("posterUrl", posterUrl);
+    private void updateEventPosterUrls(Map<String, String> posterUrls) {
+        final String posterUrl = posterUrls.get(PosterVariants.Variant.FULL.field);
+        Map<String, Object> updates = new HashMap<>(posterUrls);
         updates.put("posterUpdatedAt", System.currentTimeMillis());
         
         db.collection("events").document(currentEventId)
@@ -748,10 +738,6 @@ public class OrganizerWaitlistActivity extends AppCompatActivity {
 
         String eventTitle = eventNameTextView != null ? eventNameTextView.getText().toString() : "this event";
         
-        // Capture screenshot and blur it
-        Bitmap screenshot = captureScreenshot();
-        Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-        
         // Create custom dialog with full screen to show blur background
         Dialog deleteDialog = new Dialog(this, android.R.style.Theme_Black_NoTitleBar_Fullscreen);
         deleteDialog.setContentView(R.layout.dialog_delete_event);
@@ -774,9 +760,7 @@ public class OrganizerWaitlistActivity extends AppCompatActivity {
         
         // Apply blurred background
         View blurBackground = deleteDialog.findViewById(R.id.dialogBlurBackground);
-        if (blurredBitmap != null && blurBackground != null) {
-            blurBackground.setBackground(new BitmapDrawable(getResources(), blurredBitmap));
-        }
+        BlurEngine.getInstance().blurBehind(this, blurBackground);
         
         // Make the background clickable to dismiss
         if (blurBackground != null) {
@@ -822,60 +806,7 @@ public class OrganizerWaitlistActivity extends AppCompatActivity {
         }
     }
     
-    /**
-     * Captures a screenshot of the current activity
-     */
-    private Bitmap captureScreenshot() {
-        try {
-            View rootView = getWindow().getDecorView().getRootView();
-            rootView.setDrawingCacheEnabled(true);
-            Bitmap bitmap = Bitmap.createBitmap(rootView.getDrawingCache());
-            rootView.setDrawingCacheEnabled(false);
-            return bitmap;
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to capture screenshot", e);
-            return null;
-        }
-    }
-    
-    /**
-     * Blurs a bitmap using RenderScript
-     */
-    private Bitmap blurBitmap(Bitmap bitmap, float radius) {
-        if (bitmap == null) return null;
-        
-        try {
-            // Scale down for better performance
-            int width = Math.round(bitmap.getWidth() * 0.4f);
-            int height = Math.round(bitmap.getHeight() * 0.4f);
-            Bitmap inputBitmap = Bitmap.createScaledBitmap(bitmap, width, height, false);
-            Bitmap outputBitmap = Bitmap.createBitmap(inputBitmap);
-            
-            RenderScript rs = RenderScript.create(this);
-            ScriptIntrinsicBlur blurScript = ScriptIntrinsicBlur.create(rs, Element.U8_4(rs));
-            Allocation tmpIn = Allocation.createFromBitmap(rs, inputBitmap);
-            Allocation tmpOut = Allocation.createFromBitmap(rs, outputBitmap);
-            
-            blurScript.setRadius(radius);
-            blurScript.setInput(tmpIn);
-            blurScript.forEach(tmpOut);
-            tmpOut.copyTo(outputBitmap);
-            
-            rs.destroy();
-            
-            // Scale back up
-            return Bitmap.createScaledBitmap(outputBitmap, bitmap.getWidth(), bitmap.getHeight(), true);
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to blur bitmap", e);
-            return bitmap;
-        }
-    }
-
     private void showNotificationConfirmationDialog(String title, String message, Runnable onConfirm) {
-        // Capture screenshot and blur it
-        android.graphics.Bitmap screenshot = captureScreenshot();
-        android.graphics.Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-        
         // Create custom dialog with full screen to show blur background
         Dialog dialog = new Dialog(this, android.R.style.Theme_Black_NoTitleBar_Fullscreen);
         dialog.setContentView(R.layout.organizer_dialog_notification_confirmation);
@@ -898,9 +829,7 @@ public class OrganizerWaitlistActivity extends AppCompatActivity {
         
         // Apply blurred background
         android.view.View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
-        if (blurredBitmap != null) {
-            blurBackground.setBackground(new BitmapDrawable(getResources(), blurredBitmap));
-        }
+        BlurEngine.getInstance().blurBehind(this, blurBackground);
         
         // Make the background clickable to dismiss
         blurBackground.setOnClickListener(v -> dialog.dismiss());
@@ -1064,14 +993,16 @@ public class OrganizerWaitlistActivity extends AppCompatActivity {
             return;
         }
 
-        StorageReference storageRef = storage.getReference("posters/" + currentEventId + ".jpg");
-        storageRef.delete()
-                .addOnSuccessListener(aVoid -> {
-                    Log.d(TAG, "Poster image deleted successfully");
-                    onComplete.run();
-                })
-                .addOnFailureListener(e -> {
-                    Log.w(TAG, "Failed to delete poster image", e);
+        // Legacy JPEG posters plus the WebP variants of the original and any replaced poster
+        List<com.google.android.gms.tasks.Task<?>> deletes = new ArrayList<>();
+        deletes.add(storage.getReference("posters/" + currentEventId + ".jpg").delete());
+        deletes.add(storage.getReference("posters/" + currentEventId + UPDATED_POSTER_SUFFIX + ".jpg").delete());
+        PosterUploader uploader = new PosterUploader(storage);
+        deletes.add(uploader.delete(currentEventId));
+        deletes.add(uploader.delete(currentEventId + UPDATED_POSTER_SUFFIX));
+        com.google.android.gms.tasks.Tasks.whenAllComplete(deletes)
+                .addOnCompleteListener(task -> {
+                    Log.d(TAG, "Poster images deleted");
                     onComplete.run();
                 });
     }
@@ -1454,10 +1385,6 @@ public class OrganizerWaitlistActivity extends AppCompatActivity {
     }
 
     private void showQrDialog(String title, String qrPayload) {
-        // Capture screenshot and blur it
-        android.graphics.Bitmap screenshot = captureScreenshot();
-        android.graphics.Bitmap blurredBitmap = blurBitmap(screenshot, 25f);
-        
         // Create custom dialog with full screen to show blur background
         android.app.Dialog dialog = new android.app.Dialog(this, android.R.style.Theme_Black_NoTitleBar_Fullscreen);
         dialog.setContentView(R.layout.dialog_qr_preview);
@@ -1480,9 +1407,7 @@ public class OrganizerWaitlistActivity extends AppCompatActivity {
         
         // Apply blurred background
         View blurBackground = dialog.findViewById(R.id.dialogBlurBackground);
-        if (blurredBitmap != null && blurBackground != null) {
-            blurBackground.setBackground(new BitmapDrawable(getResources(), blurredBitmap));
-        }
+        BlurEngine.getInstance().blurBehind(this, blurBackground);
         
         // Make the background clickable to dismiss
         if (blurBackground != null) {
@@ -1503,19 +1428,12 @@ public class OrganizerWaitlistActivity extends AppCompatActivity {
             titleView.setText(title);
         }
 
-        final android.graphics.Bitmap qrBitmap = generateQrBitmap(qrPayload);
-        if (imgQr != null) {
-            if (qrBitmap != null) {
-                imgQr.setImageBitmap(qrBitmap);
-            } else {
-                imgQr.setImageResource(R.drawable.ic_event_poster_placeholder);
-            }
-        }
+        QrPreview qr = QrPreview.show(this, qrPayload, imgQr);
 
         if (btnShare != null) {
             btnShare.setOnClickListener(v -> {
-                if (qrBitmap != null) {
-                    shareQrBitmap(qrBitmap, qrPayload);
+                if (qr.bitmap() != null) {
+                    shareQrBitmap(qr.bitmap(), qrPayload);
                 } else {
                     shareQrText(qrPayload);
                 }
@@ -1524,8 +1442,8 @@ public class OrganizerWaitlistActivity extends AppCompatActivity {
 
         if (btnSave != null) {
             btnSave.setOnClickListener(v -> {
-                if (qrBitmap != null) {
-                    boolean saved = saveQrToGallery(qrBitmap, title);
+                if (qr.bitmap() != null) {
+                    boolean saved = saveQrToGallery(qr.bitmap(), title);
                     if (saved) {
                         Toast.makeText(this, "Saved to gallery", Toast.LENGTH_SHORT).show();
                     }
@@ -1577,25 +1495,6 @@ public class OrganizerWaitlistActivity extends AppCompatActivity {
         return dialog;
     }
 
-    private android.graphics.Bitmap generateQrBitmap(String payload) {
-        try {
-            com.google.zxing.qrcode.QRCodeWriter writer = new com.google.zxing.qrcode.QRCodeWriter();
-            com.google.zxing.common.BitMatrix matrix = writer.encode(payload, com.google.zxing.BarcodeFormat.QR_CODE, 512, 512);
-            int width = matrix.getWidth();
-            int height = matrix.getHeight();
-            android.graphics.Bitmap bmp = android.graphics.Bitmap.createBitmap(width, height, android.graphics.Bitmap.Config.ARGB_8888);
-            for (int x = 0; x < width; x++) {
-                for (int y = 0; y < height; y++) {
-                    bmp.setPixel(x, y, matrix.get(x, y) ? android.graphics.Color.BLACK : android.graphics.Color.WHITE);
-                }
-            }
-            return bmp;
-        } catch (com.google.zxing.WriterException e) {
-            Log.e(TAG, "QR code generation failed", e);
-            return null;
-        }
-    }
-
     private void shareQrBitmap(android.graphics.Bitmap bitmap, String payload) {
         try {
             java.io.File cacheDir = new java.io.File(getCacheDir(), "qr");
@@ -2,6 +2,9 @@ package com.example.eventease.ui.organizer;
 
 import android.util.Log;
 
+import com.example.eventease.data.CountService;
+import com.example.eventease.data.firebase.EntrantStatusStore;
+import com.example.eventease.model.EntrantStatus;
 import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
@@ -21,9 +24,11 @@ import java.util.UUID;
 public class ReplacementHelper {
     private static final String TAG = "ReplacementHelper";
     private final FirebaseFirestore db;
+    private final EntrantStatusStore entrantStatusStore;
 
     public ReplacementHelper() {
         this.db = FirebaseFirestore.getInstance();
+        this.entrantStatusStore = new EntrantStatusStore(db);
     }
 
     /**
@@ -80,9 +85,8 @@ public class ReplacementHelper {
                     final long deadlineToAccept = calculatedDeadline;
 
                     // CRITICAL: Check current selected count before proceeding
-                    eventRef.collection("SelectedEntrants").get()
-                                .addOnSuccessListener(selectedSnapshot -> {
-                                    int currentSelectedCount = selectedSnapshot != null ? selectedSnapshot.size() : 0;
+                    CountService.getInstance().countEntrantsFresh(eventId, "SelectedEntrants")
+                                .addOnSuccessListener(currentSelectedCount -> {
                                     int availableSpots = finalSampleSize > 0 ? (finalSampleSize - currentSelectedCount) : count;
                                     
                                     Log.d(TAG, "Replacement check: currentSelected=" + currentSelectedCount + ", sampleSize=" + finalSampleSize + ", availableSpots=" + availableSpots + ", requested=" + count);
@@ -95,14 +99,13 @@ public class ReplacementHelper {
                                     int actualCount = finalSampleSize > 0 ? Math.min(availableSpots, count) : count;
 
                     // Fetch waitlisted entrants
-                                    eventRef.collection("WaitlistedEntrants").get()
-                            .addOnSuccessListener(waitlistSnapshot -> {
-                                if (waitlistSnapshot == null || waitlistSnapshot.isEmpty()) {
+                                    entrantStatusStore.list(eventId, EntrantStatus.WAITLISTED)
+                            .addOnSuccessListener(waitlistDocs -> {
+                                if (waitlistDocs.isEmpty()) {
                                     Log.d(TAG, "No waitlisted entrants available");
                                     return;
                                 }
 
-                                List<DocumentSnapshot> waitlistDocs = waitlistSnapshot.getDocuments();
                                                 if (waitlistDocs.size() < actualCount) {
                                                     Log.d(TAG, "Not enough waitlisted entrants available (need " + actualCount + ", have " + waitlistDocs.size() + ")");
                                     return;
@@ -114,17 +117,15 @@ public class ReplacementHelper {
                                 WriteBatch batch = db.batch();
                                 List<String> userIds = new ArrayList<>();
 
-                                // Move selected entrants from WaitlistedEntrants to SelectedEntrants
+                                // Move selected entrants from WAITLISTED to SELECTED (one status write each)
                                 for (DocumentSnapshot doc : selectedForReplacement) {
                                     String userId = doc.getId();
                                     Map<String, Object> data = doc.getData();
                                     userIds.add(userId);
 
                                     if (data != null) {
-                                        // Move to SelectedEntrants
-                                        batch.set(eventRef.collection("SelectedEntrants").document(userId), data);
-                                        // Remove from WaitlistedEntrants
-                                        batch.delete(eventRef.collection("WaitlistedEntrants").document(userId));
+                                        entrantStatusStore.set(batch, eventId, userId,
+                                                EntrantStatus.WAITLISTED, EntrantStatus.SELECTED, data);
                                         
                                         // Create invitation for replacement
                                         // Use same field names as InvitationHelper for consistency
@@ -165,6 +166,7 @@ public class ReplacementHelper {
                                 batch.commit()
                                         .addOnSuccessListener(v -> {
                                                             Log.d(TAG, "Successfully auto-replaced " + userIds.size() + " entrant(s) (sampleSize: " + finalSampleSize + ", total selected: " + (currentSelectedCount + userIds.size()) + ")");
+                                                            CountService.getInstance().invalidateEvent(eventId);
                                             
                                             // Send notifications
                                             String eventTitleStr = eventTitle != null ? eventTitle : "the event";
@@ -1,6 +1,7 @@
 package com.example.eventease.ui.organizer;
 
 import android.util.Log;
+import com.example.eventease.data.firebase.EventStreamHub;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.ListenerRegistration;
@@ -21,7 +22,7 @@ import java.util.Locale;
 public class SorryNotificationService {
     private static final String TAG = "SorryNotificationService";
     // Send notification 1 minute before event start (in milliseconds)
-    private static final long NOTIFICATION_BEFORE_START_MS = 1L * 60 * 1000;
+    static final long NOTIFICATION_BEFORE_START_MS = 1L * 60 * 1000;
     private static ListenerRegistration listenerRegistration;
     private static final FirebaseFirestore db = FirebaseFirestore.getInstance();
     
@@ -38,22 +39,13 @@ public class SorryNotificationService {
         Log.d(TAG, "Setting up automatic 'sorry' notification listener");
         
         // Listen to events - only process document changes to avoid processing all events
-        listenerRegistration = db.collection("events")
-                .addSnapshotListener((snapshot, error) -> {
-                    if (error != null) {
-                        Log.e(TAG, "Error in sorry notification listener", error);
-                        return;
-                    }
-                    
-                    if (snapshot == null) {
-                        return;
-                    }
-                    
+        listenerRegistration = EventStreamHub.getInstance()
+                .subscribeAllEvents((changes, documents) -> {
                     long currentTime = System.currentTimeMillis();
                     
                     // Only process document changes (ADDED or MODIFIED), not all documents
                     // This prevents processing all events on every snapshot
-                    for (com.google.firebase.firestore.DocumentChange change : snapshot.getDocumentChanges()) {
+                    for (EventStreamHub.Change change : changes) {
                         // Only process if document was added or modified
                         if (change.getType() != com.google.firebase.firestore.DocumentChange.Type.ADDED && 
                             change.getType() != com.google.firebase.firestore.DocumentChange.Type.MODIFIED) {
@@ -80,7 +72,7 @@ public class SorryNotificationService {
     /**
      * Checks if an event is about to start and sends sorry notifications if needed.
      */
-    private static void checkAndSendSorryNotifications(DocumentSnapshot eventDoc, long currentTime) {
+    static void checkAndSendSorryNotifications(DocumentSnapshot eventDoc, long currentTime) {
         Long startsAtEpochMs = eventDoc.getLong("startsAtEpochMs");
         Boolean sorryNotificationSent = eventDoc.getBoolean("sorryNotificationSent");
         String eventId = eventDoc.getId();
@@ -0,0 +1,88 @@
+package com.example.eventease.admin.image.data;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+
+/**
+ * Unit tests for StorageUrlCache persistence and LRU trimming.
+ */
+public class StorageUrlCacheTest {
+
+    private File dir;
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("url-cache").toFile();
+        file = new File(dir, "urls.tsv");
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void testFlush_persistsAcrossInstances() {
+        StorageUrlCache cache = new StorageUrlCache(file, 10);
+        cache.put("/posters/a.jpg", "https://example.com/a?token=1");
+        cache.put("/profile_pictures/b.jpg", "https://example.com/b?token=2");
+        cache.flush();
+
+        StorageUrlCache reloaded = new StorageUrlCache(file, 10);
+        assertEquals(2, reloaded.size());
+        assertEquals("https://example.com/a?token=1", reloaded.get("/posters/a.jpg"));
+        assertNull(reloaded.get("/posters/missing.jpg"));
+    }
+
+    @Test
+    public void testRemove_isPersisted() {
+        StorageUrlCache cache = new StorageUrlCache(file, 10);
+        cache.put("/posters/a.jpg", "url-a");
+        cache.flush();
+        cache.remove("/posters/a.jpg");
+        cache.flush();
+
+        assertNull(new StorageUrlCache(file, 10).get("/posters/a.jpg"));
+    }
+
+    @Test
+    public void testPut_dropsLeastRecentlyUsed() {
+        StorageUrlCache cache = new StorageUrlCache(file, 2);
+        cache.put("a", "url-a");
+        cache.put("b", "url-b");
+        cache.get("a");
+        cache.put("c", "url-c");
+
+        assertEquals("url-a", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("url-c", cache.get("c"));
+
+        // Reloading keeps the recency order, so the next eviction still drops the oldest
+        cache.flush();
+        StorageUrlCache reloaded = new StorageUrlCache(file, 2);
+        reloaded.put("d", "url-d");
+        assertNull(reloaded.get("a"));
+        assertEquals("url-c", reloaded.get("c"));
+    }
+
+    @Test
+    public void testPut_ignoresValuesThatCannotBeStored() {
+        StorageUrlCache cache = new StorageUrlCache(file, 10);
+        cache.put("bad\tpath", "url");
+        cache.put("path", "bad\nurl");
+
+        assertEquals(0, cache.size());
+    }
+}
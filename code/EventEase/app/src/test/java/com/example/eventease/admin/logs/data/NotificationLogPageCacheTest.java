@@ -0,0 +1,107 @@
+package com.example.eventease.admin.logs.data;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Unit tests for NotificationLogPageCache round trips, keys, expiry and trimming.
+ * Uses a hand-driven clock so expiry can be tested without sleeping.
+ */
+public class NotificationLogPageCacheTest {
+
+    private static final long TTL_MS = 60_000L;
+
+    private long now;
+    private File root;
+    private File dir;
+    private NotificationLogPageCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        now = 1_700_000_000_000L;
+        root = Files.createTempDirectory("log-pages").toFile();
+        dir = new File(root, "pages");
+        cache = new NotificationLogPageCache(dir, 3, TTL_MS, () -> now);
+    }
+
+    @After
+    public void tearDown() {
+        cache.clear();
+        dir.delete();
+        root.delete();
+    }
+
+    private static NotificationLogPage page(String lastId, long lastCreatedAt, boolean hasMore) {
+        return new NotificationLogPage(Arrays.asList(
+                new Notification(lastCreatedAt + 1, "Title é", "Message\nwith lines", "Event", "org1"),
+                new Notification(lastCreatedAt, "Second", "", "", "")),
+                lastCreatedAt, lastId, hasMore);
+    }
+
+    @Test
+    public void testPutAndGet_roundTripsPage() {
+        cache.put(500L, "req0", page("req2", 400L, true));
+
+        NotificationLogPage cached = cache.get(500L, "req0");
+        assertNotNull(cached);
+        assertEquals(2, cached.notifications.size());
+        assertEquals("Title é", cached.notifications.get(0).getNotificationTitle());
+        assertEquals("Message\nwith lines", cached.notifications.get(0).getNotificationMessage());
+        assertEquals("org1", cached.notifications.get(0).getOrganizerID());
+        assertEquals(401L, cached.notifications.get(0).getCreatedAtMillis());
+        assertEquals(Long.valueOf(400L), cached.lastCreatedAt);
+        assertEquals("req2", cached.lastId);
+        assertTrue(cached.hasMore);
+    }
+
+    @Test
+    public void testGet_keyIncludesCursor() {
+        cache.put(null, null, page("a", 10L, false));
+
+        assertNull(cache.get(10L, "a"));
+        assertNull(cache.get(10L, "b"));
+        assertNotNull(cache.get(null, null));
+    }
+
+    @Test
+    public void testGet_expiredPageIsDropped() {
+        cache.put(null, null, page("a", 10L, false));
+        now += TTL_MS + 1;
+
+        assertNull(cache.get(null, null));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testPut_trimsOldestPages() {
+        for (int i = 0; i < 5; i++) {
+            now += 1_000;
+            cache.put((long) i, "c" + i, page("p" + i, i, true));
+        }
+
+        assertEquals(3, cache.size());
+        assertNull(cache.get(0L, "c0"));
+        assertNull(cache.get(1L, "c1"));
+        assertNotNull(cache.get(4L, "c4"));
+    }
+
+    @Test
+    public void testGet_corruptFileIsDiscarded() throws Exception {
+        cache.put(null, null, page("a", 10L, false));
+        File[] files = dir.listFiles();
+        assertEquals(1, files.length);
+        try (FileOutputStream out = new FileOutputStream(files[0])) {
+            out.write(new byte[] {0, 0, 0, 1, 0x7f, 0x7f, 0x7f, 0x7f});
+        }
+
+        assertNull(cache.get(null, null));
+        assertEquals(0, cache.size());
+    }
+}
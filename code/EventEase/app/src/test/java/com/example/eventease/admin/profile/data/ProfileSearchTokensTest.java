@@ -0,0 +1,67 @@
+package com.example.eventease.admin.profile.data;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Set;
+
+/**
+ * Unit tests for the admin profile search keys in ProfileSearchTokens.
+ * The same keys are produced by the indexUserSearchFields Cloud Function.
+ */
+public class ProfileSearchTokensTest {
+
+    @Test
+    public void testPrefixes_coverFullNameEmailAndWords() {
+        Set<String> keys = ProfileSearchTokens.prefixes("José  Núñez", "jose.nunez@Example.com");
+
+        assertTrue(keys.contains("j"));
+        assertTrue(keys.contains("jose n"));
+        assertTrue(keys.contains("nunez"));
+        assertTrue(keys.contains("jose.nunez@exa"));
+        assertTrue(keys.contains("example"));
+        assertTrue(keys.contains("com"));
+        assertFalse(keys.contains("nunez jose"));
+        assertFalse(keys.contains(""));
+    }
+
+    @Test
+    public void testPrefixes_areCappedInLength() {
+        Set<String> keys = ProfileSearchTokens.prefixes("Maximiliana Bartholomew-Worthington", null);
+
+        for (String key : keys) {
+            assertTrue(key, key.length() <= ProfileSearchTokens.MAX_PREFIX_LENGTH);
+        }
+        assertTrue(keys.contains("bartholomew"));
+        assertTrue(keys.contains("worthington"));
+    }
+
+    @Test
+    public void testQueryKey_matchesStoredKeys() {
+        Set<String> keys = ProfileSearchTokens.prefixes("Ana María López", "ana@example.com");
+
+        assertTrue(keys.contains(ProfileSearchTokens.queryKey("  ANA   mar ")));
+        assertTrue(keys.contains(ProfileSearchTokens.queryKey("Lope")));
+        assertTrue(keys.contains(ProfileSearchTokens.queryKey("ana@ex")));
+        assertFalse(keys.contains(ProfileSearchTokens.queryKey("Ana María López and more")));
+    }
+
+    @Test
+    public void testQueryKey_longQueryIsTruncatedToStoredLength() {
+        Set<String> keys = ProfileSearchTokens.prefixes("Maximiliana Bartholomew", null);
+
+        assertTrue(keys.contains(ProfileSearchTokens.queryKey("Maximiliana Bartholomew")));
+    }
+
+    @Test
+    public void testQueryKey_blankMeansNoSearch() {
+        assertNull(ProfileSearchTokens.queryKey(null));
+        assertNull(ProfileSearchTokens.queryKey("   "));
+    }
+
+    @Test
+    public void testNormalize_handlesNullAndUnicodeSpaces() {
+        assertEquals("", ProfileSearchTokens.normalize(null));
+        assertEquals("ana maria", ProfileSearchTokens.normalize("Ana \tMaría"));
+    }
+}
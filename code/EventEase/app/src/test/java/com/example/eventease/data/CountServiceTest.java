@@ -0,0 +1,47 @@
+package com.example.eventease.data;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the cache keys of CountService.
+ * Covers that invalidating one event's prefix never reaches another event's counts.
+ */
+public class CountServiceTest {
+
+    @Test
+    public void testEntrantsKey_startsWithEventPrefix() {
+        assertEquals("events/event1/SelectedEntrants", CountService.entrantsKey("event1", "SelectedEntrants"));
+        assertTrue(CountService.entrantsKey("event1", "SelectedEntrants")
+                .startsWith(CountService.eventPrefix("event1")));
+    }
+
+    @Test
+    public void testPendingInvitationsKey_belongsToEvent() {
+        assertTrue(CountService.pendingInvitationsKey("event1").startsWith(CountService.eventPrefix("event1")));
+        assertNotEquals(CountService.pendingInvitationsKey("event1"),
+                CountService.entrantsKey("event1", "invitations"));
+    }
+
+    @Test
+    public void testEventPrefix_doesNotMatchOtherEvents() {
+        String prefix = CountService.eventPrefix("event1");
+        assertFalse(CountService.entrantsKey("event10", "SelectedEntrants").startsWith(prefix));
+        assertFalse(CountService.pendingInvitationsKey("event10").startsWith(prefix));
+    }
+
+    @Test
+    public void testInvalidateEvent_onlyAffectsThatEvent() {
+        TtlLruCache<String, Integer> cache = new TtlLruCache<>(10, 10, 5_000L, count -> 1, () -> 0L);
+        cache.put(CountService.entrantsKey("event1", "SelectedEntrants"), 3);
+        cache.put(CountService.pendingInvitationsKey("event1"), 4);
+        cache.put(CountService.entrantsKey("event10", "SelectedEntrants"), 5);
+
+        String prefix = CountService.eventPrefix("event1");
+        cache.invalidateIf(key -> key.startsWith(prefix));
+
+        assertNull(cache.get(CountService.entrantsKey("event1", "SelectedEntrants")));
+        assertNull(cache.get(CountService.pendingInvitationsKey("event1")));
+        assertEquals(Integer.valueOf(5), cache.get(CountService.entrantsKey("event10", "SelectedEntrants")));
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.eventease.data;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Unit tests for DiskCacheFiles least-recently-used trimming.
+ * Covers the oldest files going first, the size limit and files with another suffix.
+ */
+public class DiskCacheFilesTest {
+
+    private File dir;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("disk-cache").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    private File file(String name, long lastModified) throws IOException {
+        File file = new File(dir, name);
+        assertTrue(file.createNewFile());
+        assertTrue(file.setLastModified(lastModified));
+        return file;
+    }
+
+    @Test
+    public void testTrimOldest_dropsOldestFiles() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            file("code" + i + ".png", 1_000_000L + i * 1000L);
+        }
+
+        assertEquals(2, DiskCacheFiles.trimOldest(dir, ".png", 3));
+
+        assertFalse(new File(dir, "code0.png").exists());
+        assertFalse(new File(dir, "code1.png").exists());
+        assertTrue(new File(dir, "code2.png").exists());
+        assertTrue(new File(dir, "code4.png").exists());
+    }
+
+    @Test
+    public void testTrimOldest_underLimitKeepsEverything() throws IOException {
+        file("a.png", 1_000_000L);
+        assertEquals(0, DiskCacheFiles.trimOldest(dir, ".png", 3));
+        assertTrue(new File(dir, "a.png").exists());
+    }
+
+    @Test
+    public void testTrimOldest_ignoresOtherSuffixes() throws IOException {
+        file("a.page.tmp", 1_000L);
+        file("b.page", 2_000L);
+        file("c.page", 3_000L);
+
+        assertEquals(1, DiskCacheFiles.trimOldest(dir, ".page", 1));
+
+        assertTrue(new File(dir, "a.page.tmp").exists());
+        assertFalse(new File(dir, "b.page").exists());
+        assertTrue(new File(dir, "c.page").exists());
+    }
+
+    @Test
+    public void testTrimOldest_missingDirectory() {
+        assertEquals(0, DiskCacheFiles.trimOldest(new File(dir, "missing"), ".png", 0));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.eventease.data;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for the chunking and preference defaults of NotificationPreferenceResolver.
+ */
+public class NotificationPreferenceResolverTest {
+
+    private static List<String> ids(int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add("user" + i);
+        }
+        return ids;
+    }
+
+    @Test
+    public void testChunk_respectsWhereInLimit() {
+        List<List<String>> chunks = NotificationPreferenceResolver.chunk(ids(5_000),
+                NotificationPreferenceResolver.MAX_IN_VALUES);
+
+        assertEquals(167, chunks.size());
+        int total = 0;
+        for (List<String> chunk : chunks) {
+            assertTrue(chunk.size() <= NotificationPreferenceResolver.MAX_IN_VALUES);
+            total += chunk.size();
+        }
+        assertEquals(5_000, total);
+        assertEquals("user0", chunks.get(0).get(0));
+        assertEquals("user4999", chunks.get(166).get(19));
+    }
+
+    @Test
+    public void testChunk_exactMultipleAndEmpty() {
+        assertEquals(2, NotificationPreferenceResolver.chunk(ids(60), 30).size());
+        assertTrue(NotificationPreferenceResolver.chunk(ids(0), 30).isEmpty());
+    }
+
+    @Test
+    public void testReadFlag() {
+        assertEquals(Boolean.FALSE, NotificationPreferenceResolver.readFlag(false));
+        assertEquals(Boolean.TRUE, NotificationPreferenceResolver.readFlag("true"));
+        assertEquals(Boolean.FALSE, NotificationPreferenceResolver.readFlag("no"));
+        assertNull(NotificationPreferenceResolver.readFlag(null));
+        assertNull(NotificationPreferenceResolver.readFlag(1L));
+    }
+
+    @Test
+    public void testPreferences_unsetDefaultsToEnabled() {
+        NotificationPreferenceResolver.Preferences unset = new NotificationPreferenceResolver.Preferences(null, null);
+        assertTrue(unset.isEnabled(NotificationPreferenceResolver.Preference.INVITED));
+        assertTrue(unset.isEnabled(NotificationPreferenceResolver.Preference.NOT_INVITED));
+    }
+
+    @Test
+    public void testPreferences_preferencesAreIndependent() {
+        NotificationPreferenceResolver.Preferences prefs = new NotificationPreferenceResolver.Preferences(true, false);
+        assertTrue(prefs.isEnabled(NotificationPreferenceResolver.Preference.INVITED));
+        assertFalse(prefs.isEnabled(NotificationPreferenceResolver.Preference.NOT_INVITED));
+    }
+}
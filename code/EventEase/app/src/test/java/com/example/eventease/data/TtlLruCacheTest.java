@@ -0,0 +1,132 @@
+package com.example.eventease.data;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+/**
+ * Unit tests for TtlLruCache eviction, expiry and metrics.
+ * Uses a hand-driven clock so expiry can be tested without sleeping.
+ */
+public class TtlLruCacheTest {
+
+    private static final long TTL_MS = 1_000L;
+
+    private long now;
+    private TtlLruCache<String, String> cache;
+
+    @Before
+    public void setUp() {
+        now = 10_000L;
+        // Weight is the string length; at most 3 entries or 10 characters
+        cache = new TtlLruCache<>(3, 10, TTL_MS, String::length, () -> now);
+    }
+
+    @Test
+    public void testGet_hitAndMissAreCounted() {
+        cache.put("a", "1");
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+
+        TtlLruCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits);
+        assertEquals(1, stats.misses);
+        assertEquals(0.5, stats.hitRate(), 0.0001);
+    }
+
+    @Test
+    public void testPut_evictsLeastRecentlyUsedBeyondMaxEntries() {
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+        cache.get("a"); // "b" is now the least recently used
+        cache.put("d", "4");
+
+        assertNull(cache.get("b"));
+        assertEquals("1", cache.get("a"));
+        assertEquals("3", cache.get("c"));
+        assertEquals("4", cache.get("d"));
+        assertEquals(1, cache.stats().evictions);
+    }
+
+    @Test
+    public void testPut_evictsToStayWithinWeight() {
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbb");
+        cache.put("c", "cccc"); // 12 > 10, so "a" goes
+
+        assertFalse(cache.contains("a"));
+        assertTrue(cache.contains("b"));
+        assertEquals(8, cache.stats().weight);
+    }
+
+    @Test
+    public void testPut_valueHeavierThanBudgetIsNotCached() {
+        cache.put("a", "1");
+        cache.put("big", "01234567890");
+
+        assertNull(cache.get("big"));
+        assertEquals("1", cache.get("a"));
+    }
+
+    @Test
+    public void testPut_replacingKeepsWeightAccurate() {
+        cache.put("a", "aaaa");
+        cache.put("a", "aa");
+        assertEquals(2, cache.stats().weight);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testGet_expiresAfterTtl() {
+        cache.put("a", "1");
+        now += TTL_MS - 1;
+        assertEquals("1", cache.get("a"));
+
+        now += 1;
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.stats().expirations);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testPut_refreshesTtl() {
+        cache.put("a", "1");
+        now += TTL_MS - 1;
+        cache.put("a", "2");
+        now += TTL_MS - 1;
+        assertEquals("2", cache.get("a"));
+    }
+
+    @Test
+    public void testInvalidate() {
+        cache.put("a", "aaa");
+        assertTrue(cache.invalidate("a"));
+        assertFalse(cache.invalidate("a"));
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.stats().weight);
+    }
+
+    @Test
+    public void testInvalidateIf_dropsMatchingKeysOnly() {
+        cache.put("e1/a", "1");
+        cache.put("e1/b", "22");
+        cache.put("e10/a", "3");
+
+        assertEquals(2, cache.invalidateIf(key -> key.startsWith("e1/")));
+
+        assertNull(cache.get("e1/a"));
+        assertEquals("3", cache.get("e10/a"));
+        assertEquals(1, cache.stats().weight);
+    }
+
+    @Test
+    public void testValues_skipsExpiredEntries() {
+        cache.put("a", "1");
+        now += TTL_MS;
+        cache.put("b", "2");
+        assertEquals(Arrays.asList("2"), cache.values());
+    }
+}
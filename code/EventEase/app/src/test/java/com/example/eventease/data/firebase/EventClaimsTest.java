@@ -0,0 +1,36 @@
+package com.example.eventease.data.firebase;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for when EventClaims lets a device claim an event's work.
+ * Covers finished work, unclaimed work and claims before and after the lease expires.
+ */
+public class EventClaimsTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    public void testIsClaimable_unclaimedWork() {
+        assertTrue(EventClaims.isClaimable(null, null, NOW));
+        assertTrue(EventClaims.isClaimable(false, null, NOW));
+    }
+
+    @Test
+    public void testIsClaimable_doneWorkIsNeverClaimed() {
+        assertFalse(EventClaims.isClaimable(true, null, NOW));
+        assertFalse(EventClaims.isClaimable(true, NOW - 2 * EventClaims.LEASE_MS, NOW));
+    }
+
+    @Test
+    public void testIsClaimable_heldClaimBlocksOtherDevices() {
+        assertFalse(EventClaims.isClaimable(null, NOW, NOW));
+        assertFalse(EventClaims.isClaimable(null, NOW - EventClaims.LEASE_MS + 1, NOW));
+    }
+
+    @Test
+    public void testIsClaimable_expiredClaimIsTakenOver() {
+        assertTrue(EventClaims.isClaimable(null, NOW - EventClaims.LEASE_MS, NOW));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.eventease.data.firebase;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the status derivation and sort keys used by the per-user membership index.
+ */
+public class MembershipIndexTest {
+
+    @Test
+    public void testDeriveStatus_notAMember() {
+        assertNull(MembershipIndex.deriveStatus(false, false, false, false, false));
+    }
+
+    @Test
+    public void testDeriveStatus_singleCollection() {
+        assertEquals(MembershipIndex.STATUS_WAITLISTED,
+                MembershipIndex.deriveStatus(true, false, false, false, false));
+        assertEquals(MembershipIndex.STATUS_SELECTED,
+                MembershipIndex.deriveStatus(false, true, false, false, false));
+        assertEquals(MembershipIndex.STATUS_NON_SELECTED,
+                MembershipIndex.deriveStatus(false, false, true, false, false));
+        assertEquals(MembershipIndex.STATUS_CANCELLED,
+                MembershipIndex.deriveStatus(false, false, false, true, false));
+    }
+
+    @Test
+    public void testDeriveStatus_admittedKeepsSelectedRecord() {
+        // Accepted entrants stay in SelectedEntrants with status=ACCEPTED
+        assertEquals(MembershipIndex.STATUS_ADMITTED,
+                MembershipIndex.deriveStatus(false, true, false, false, true));
+    }
+
+    @Test
+    public void testDeriveStatus_cancelledWinsOverStaleWaitlistEntry() {
+        assertEquals(MembershipIndex.STATUS_CANCELLED,
+                MembershipIndex.deriveStatus(true, false, false, true, false));
+    }
+
+    @Test
+    public void testSortKey_scheduledEvent() {
+        long startsAt = 1_700_000_000_000L;
+        assertEquals(startsAt, MembershipIndex.sortKey(startsAt));
+    }
+
+    @Test
+    public void testSortKey_unscheduledEventSortsLast() {
+        assertEquals(MembershipIndex.UNSCHEDULED_STARTS_AT, MembershipIndex.sortKey(0));
+        assertTrue(MembershipIndex.sortKey(0) > System.currentTimeMillis());
+    }
+}
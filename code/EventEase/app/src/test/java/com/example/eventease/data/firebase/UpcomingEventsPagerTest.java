@@ -0,0 +1,82 @@
+package com.example.eventease.data.firebase;
+
+import com.example.eventease.logic.LivePages;
+import com.example.eventease.model.Event;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for how the Discover pager merges its live first page with later pages.
+ * Covers duplicates across pages and events pushed off the live first page.
+ */
+public class UpcomingEventsPagerTest {
+
+    private static Event event(String id, long startsAt) {
+        Event event = new Event();
+        event.setId(id);
+        event.setStartsAtEpochMs(startsAt);
+        return event;
+    }
+
+    private static List<String> ids(List<Event> events) {
+        List<String> ids = new ArrayList<>();
+        for (Event event : events) {
+            ids.add(event.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    public void testMergePages_appendsLaterPagesInOrder() {
+        List<Event> first = Arrays.asList(event("a", 1), event("b", 2));
+        List<Event> later = Arrays.asList(event("c", 3), event("d", 4));
+
+        assertEquals(Arrays.asList("a", "b", "c", "d"), ids(UpcomingEventsPager.mergePages(first, later)));
+    }
+
+    @Test
+    public void testMergePages_firstPageWinsForDuplicates() {
+        // A new event pushed "b" off the live first page after the second page was read
+        Event updated = event("b", 2);
+        updated.setTitle("updated");
+        List<Event> first = Arrays.asList(event("a", 1), updated);
+        List<Event> later = Arrays.asList(event("b", 2), event("c", 3));
+
+        List<Event> merged = UpcomingEventsPager.mergePages(first, later);
+
+        assertEquals(Arrays.asList("a", "b", "c"), ids(merged));
+        assertEquals("updated", merged.get(1).getTitle());
+    }
+
+    @Test
+    public void testMergePages_emptyPages() {
+        assertTrue(UpcomingEventsPager.mergePages(Collections.emptyList(), Collections.emptyList()).isEmpty());
+        assertEquals(Collections.singletonList("c"),
+                ids(UpcomingEventsPager.mergePages(Collections.emptyList(), Collections.singletonList(event("c", 3)))));
+    }
+
+    @Test
+    public void testInsertAtHeadAfterPage2Loaded_keepsPushedOffEvent() {
+        LivePages<Event> pages = new LivePages<>(UpcomingEventsPager.ORDER, Event::getId);
+        pages.setLive(Arrays.asList(event("a", 10), event("b", 20)));
+        assertEquals("b", pages.cursor().getId());
+        pages.addLater(Arrays.asList(event("c", 30), event("d", 40)));
+
+        // An event starting sooner than all of them pushes "b" off the live page of two
+        pages.setLive(Arrays.asList(event("new", 5), event("a", 10)));
+
+        assertEquals(Arrays.asList("new", "a", "b", "c", "d"), ids(pages.merged()));
+    }
+
+    @Test
+    public void testOrder_tiesBrokenByDocumentId() {
+        assertTrue(UpcomingEventsPager.ORDER.compare(event("a", 10), event("b", 10)) < 0);
+        assertTrue(UpcomingEventsPager.ORDER.compare(event("b", 5), event("a", 10)) < 0);
+    }
+}
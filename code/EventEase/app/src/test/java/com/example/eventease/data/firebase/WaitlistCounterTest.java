@@ -0,0 +1,53 @@
+package com.example.eventease.data.firebase;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for how the sharded waitlist counter splits event capacity into per-shard quotas.
+ */
+public class WaitlistCounterTest {
+
+    private static int totalQuota(int capacity, int numShards) {
+        int total = 0;
+        for (int shard = 0; shard < numShards; shard++) {
+            total += WaitlistCounter.quotaFor(shard, capacity, numShards);
+        }
+        return total;
+    }
+
+    @Test
+    public void testQuotaFor_unlimitedCapacity() {
+        assertEquals(Integer.MAX_VALUE, WaitlistCounter.quotaFor(0, 0, 10));
+        assertEquals(Integer.MAX_VALUE, WaitlistCounter.quotaFor(9, -1, 10));
+    }
+
+    @Test
+    public void testQuotaFor_evenSplit() {
+        for (int shard = 0; shard < 10; shard++) {
+            assertEquals(5, WaitlistCounter.quotaFor(shard, 50, 10));
+        }
+    }
+
+    @Test
+    public void testQuotaFor_remainderGoesToLowShards() {
+        assertEquals(3, WaitlistCounter.quotaFor(0, 23, 10));
+        assertEquals(3, WaitlistCounter.quotaFor(2, 23, 10));
+        assertEquals(2, WaitlistCounter.quotaFor(3, 23, 10));
+        assertEquals(2, WaitlistCounter.quotaFor(9, 23, 10));
+    }
+
+    @Test
+    public void testQuotaFor_capacitySmallerThanShardCount() {
+        assertEquals(1, WaitlistCounter.quotaFor(0, 3, 10));
+        assertEquals(1, WaitlistCounter.quotaFor(2, 3, 10));
+        assertEquals(0, WaitlistCounter.quotaFor(3, 3, 10));
+    }
+
+    @Test
+    public void testQuotaFor_quotasAddUpToCapacity() {
+        for (int capacity = 1; capacity <= 250; capacity++) {
+            assertEquals(capacity, totalQuota(capacity, WaitlistCounter.NUM_SHARDS));
+        }
+    }
+}
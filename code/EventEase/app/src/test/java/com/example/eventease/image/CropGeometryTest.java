@@ -0,0 +1,85 @@
+package com.example.eventease.image;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for CropGeometry.
+ * Covers sample size selection, bounds normalization and mapping crops through EXIF orientations.
+ */
+public class CropGeometryTest {
+
+    private static final float[] TOP_LEFT_QUARTER = {0f, 0f, 0.5f, 0.5f};
+
+    @Test
+    public void testSampleSizeKeepsLongEdgeAtLeastMax() {
+        assertEquals(1, CropGeometry.sampleSize(1000, 800, 1600));
+        assertEquals(1, CropGeometry.sampleSize(3199, 2000, 1600));
+        assertEquals(2, CropGeometry.sampleSize(3200, 2000, 1600));
+        // 48MP camera frame down to a 1600px poster
+        assertEquals(4, CropGeometry.sampleSize(8000, 6000, 1600));
+        assertEquals(8, CropGeometry.sampleSize(6000, 8000, 600));
+    }
+
+    @Test
+    public void testNormalizedBoundsClampsToImage() {
+        float[] bounds = CropGeometry.normalizedBounds(new float[] {-50, 20, 150, 20, 150, 80, -50, 80}, 100, 100);
+        assertArrayEquals(new float[] {0f, 0.2f, 1f, 0.8f}, bounds, 1e-6f);
+    }
+
+    @Test
+    public void testNormalizedBoundsOutsideImageIsNull() {
+        assertNull(CropGeometry.normalizedBounds(new float[] {120, 10, 200, 90}, 100, 100));
+        assertNull(CropGeometry.normalizedBounds(new float[] {10, 10, 20, 20}, 0, 100));
+    }
+
+    @Test
+    public void testToRawRectNormalOrientation() {
+        assertArrayEquals(new int[] {0, 0, 400, 300},
+                CropGeometry.toRawRect(TOP_LEFT_QUARTER, 800, 600, CropGeometry.ORIENTATION_NORMAL));
+    }
+
+    @Test
+    public void testToRawRectRotate90() {
+        // Stored 800x600, shown as 600x800: the shown top-left is the stored bottom-left
+        assertArrayEquals(new int[] {0, 300, 400, 600},
+                CropGeometry.toRawRect(TOP_LEFT_QUARTER, 800, 600, CropGeometry.ORIENTATION_ROTATE_90));
+    }
+
+    @Test
+    public void testToRawRectRotate180And270() {
+        assertArrayEquals(new int[] {400, 300, 800, 600},
+                CropGeometry.toRawRect(TOP_LEFT_QUARTER, 800, 600, CropGeometry.ORIENTATION_ROTATE_180));
+        assertArrayEquals(new int[] {400, 0, 800, 300},
+                CropGeometry.toRawRect(TOP_LEFT_QUARTER, 800, 600, CropGeometry.ORIENTATION_ROTATE_270));
+    }
+
+    @Test
+    public void testToRawRectFlipsAndTranspose() {
+        assertArrayEquals(new int[] {400, 0, 800, 300},
+                CropGeometry.toRawRect(TOP_LEFT_QUARTER, 800, 600, CropGeometry.ORIENTATION_FLIP_HORIZONTAL));
+        assertArrayEquals(new int[] {0, 300, 400, 600},
+                CropGeometry.toRawRect(TOP_LEFT_QUARTER, 800, 600, CropGeometry.ORIENTATION_FLIP_VERTICAL));
+        assertArrayEquals(new int[] {0, 0, 400, 300},
+                CropGeometry.toRawRect(TOP_LEFT_QUARTER, 800, 600, CropGeometry.ORIENTATION_TRANSPOSE));
+        assertArrayEquals(new int[] {400, 300, 800, 600},
+                CropGeometry.toRawRect(TOP_LEFT_QUARTER, 800, 600, CropGeometry.ORIENTATION_TRANSVERSE));
+    }
+
+    @Test
+    public void testToRawRectNeverEmpty() {
+        int[] rect = CropGeometry.toRawRect(new float[] {1f, 1f, 1f, 1f}, 100, 50, CropGeometry.ORIENTATION_NORMAL);
+        assertEquals(99, rect[0]);
+        assertEquals(100, rect[2]);
+        assertEquals(49, rect[1]);
+        assertEquals(50, rect[3]);
+    }
+
+    @Test
+    public void testSwapsAxes() {
+        assertFalse(CropGeometry.swapsAxes(CropGeometry.ORIENTATION_NORMAL));
+        assertFalse(CropGeometry.swapsAxes(CropGeometry.ORIENTATION_ROTATE_180));
+        assertTrue(CropGeometry.swapsAxes(CropGeometry.ORIENTATION_ROTATE_90));
+        assertTrue(CropGeometry.swapsAxes(CropGeometry.ORIENTATION_TRANSVERSE));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.eventease.image;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ImageLoadStats.
+ * Covers hit rates of shown images and the separate preload counts.
+ */
+public class ImageLoadStatsTest {
+
+    @Test
+    public void testHitRates_emptyIsZero() {
+        ImageLoadStats stats = new ImageLoadStats();
+        assertEquals(0.0, stats.memoryHitRate(), 1e-9);
+        assertEquals(0.0, stats.cacheHitRate(), 1e-9);
+    }
+
+    @Test
+    public void testHitRates_countShownImagesOnly() {
+        ImageLoadStats stats = new ImageLoadStats();
+        stats.recordLoad(ImageLoadStats.Source.MEMORY, false);
+        stats.recordLoad(ImageLoadStats.Source.MEMORY, false);
+        stats.recordLoad(ImageLoadStats.Source.DISK, false);
+        stats.recordLoad(ImageLoadStats.Source.NETWORK, false);
+        stats.recordLoad(ImageLoadStats.Source.NETWORK, true);
+        stats.recordLoad(ImageLoadStats.Source.NETWORK, true);
+
+        assertEquals(0.5, stats.memoryHitRate(), 1e-9);
+        assertEquals(0.75, stats.cacheHitRate(), 1e-9);
+        assertEquals(1, stats.shownCount(ImageLoadStats.Source.NETWORK));
+        assertEquals(2, stats.preloadedCount(ImageLoadStats.Source.NETWORK));
+    }
+
+    @Test
+    public void testSummary_includesFailures() {
+        ImageLoadStats stats = new ImageLoadStats();
+        stats.recordLoad(ImageLoadStats.Source.MEMORY, false);
+        stats.recordFailure(false);
+        stats.recordFailure(true);
+        String summary = stats.summary();
+        assertTrue(summary, summary.contains("shown=1"));
+        assertTrue(summary, summary.contains("failed 1"));
+    }
+
+    @Test
+    public void testReset_clearsCounts() {
+        ImageLoadStats stats = new ImageLoadStats();
+        stats.recordLoad(ImageLoadStats.Source.DISK, false);
+        stats.reset();
+        assertEquals(0, stats.shownCount(ImageLoadStats.Source.DISK));
+        assertEquals(0.0, stats.cacheHitRate(), 1e-9);
+    }
+}
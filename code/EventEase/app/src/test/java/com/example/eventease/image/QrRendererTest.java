@@ -0,0 +1,36 @@
+package com.example.eventease.image;
+
+import com.google.zxing.common.BitMatrix;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for QrRenderer.
+ * Covers pixel conversion and cache keys.
+ */
+public class QrRendererTest {
+
+    private static final int BLACK = 0xFF000000;
+    private static final int WHITE = 0xFFFFFFFF;
+
+    @Test
+    public void testToPixelsIsRowMajor() {
+        BitMatrix matrix = new BitMatrix(3, 2);
+        matrix.set(2, 0);
+        matrix.set(0, 1);
+
+        int[] pixels = QrRenderer.toPixels(matrix);
+
+        assertArrayEquals(new int[] {WHITE, WHITE, BLACK, BLACK, WHITE, WHITE}, pixels);
+    }
+
+    @Test
+    public void testCacheKeyDependsOnPayloadAndSize() {
+        String key = QrRenderer.cacheKey("eventease://event/abc", 512);
+        assertEquals(key, QrRenderer.cacheKey("eventease://event/abc", 512));
+        assertNotEquals(key, QrRenderer.cacheKey("eventease://event/abd", 512));
+        assertNotEquals(key, QrRenderer.cacheKey("eventease://event/abc", 256));
+        assertTrue("safe as a file name", key.matches("[0-9a-f]{64}"));
+    }
+}
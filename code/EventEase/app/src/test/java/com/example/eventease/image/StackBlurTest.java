@@ -0,0 +1,91 @@
+package com.example.eventease.image;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+/**
+ * Unit tests for StackBlur.
+ * Covers flat images, spreading of a single pixel, edge handling and buffer reuse.
+ */
+public class StackBlurTest {
+
+    private static final int OPAQUE_BLACK = 0xFF000000;
+
+    @Test
+    public void testFlatImageUnchanged() {
+        int[] pixels = new int[20 * 10];
+        Arrays.fill(pixels, 0xFF336699);
+        new StackBlur().blur(pixels, 20, 10, 5);
+        for (int p : pixels) {
+            assertEquals(0xFF336699, p);
+        }
+    }
+
+    @Test
+    public void testRadiusZeroIsNoOp() {
+        int[] pixels = {OPAQUE_BLACK, 0xFFFFFFFF, OPAQUE_BLACK};
+        new StackBlur().blur(pixels, 3, 1, 0);
+        assertArrayEquals(new int[] {OPAQUE_BLACK, 0xFFFFFFFF, OPAQUE_BLACK}, pixels);
+    }
+
+    @Test
+    public void testBrightPixelSpreadsSymmetrically() {
+        int size = 21;
+        int[] pixels = new int[size * size];
+        Arrays.fill(pixels, OPAQUE_BLACK);
+        pixels[10 * size + 10] = 0xFFFFFFFF;
+
+        new StackBlur().blur(pixels, size, size, 3);
+
+        int center = red(pixels[10 * size + 10]);
+        assertTrue("centre should dim", center < 255);
+        assertTrue("neighbours should brighten", red(pixels[10 * size + 11]) > 0);
+        assertEquals(red(pixels[10 * size + 9]), red(pixels[10 * size + 11]));
+        assertEquals(red(pixels[9 * size + 10]), red(pixels[11 * size + 10]));
+        assertTrue("falls off with distance", red(pixels[10 * size + 12]) <= red(pixels[10 * size + 11]));
+        assertEquals("outside the radius stays black", 0, red(pixels[10 * size + 14]));
+        assertEquals(0xFF, pixels[10 * size + 10] >>> 24);
+    }
+
+    @Test
+    public void testReusedInstanceMatchesFreshOne() {
+        int[] first = gradient(16, 12);
+        int[] second = gradient(16, 12);
+        StackBlur reused = new StackBlur();
+        reused.blur(gradient(40, 30), 40, 30, 7);
+        reused.blur(first, 16, 12, 4);
+        new StackBlur().blur(second, 16, 12, 4);
+        assertArrayEquals(second, first);
+    }
+
+    @Test
+    public void testRadiusLargerThanImage() {
+        int[] pixels = gradient(3, 2);
+        new StackBlur().blur(pixels, 3, 2, 10);
+        for (int p : pixels) {
+            assertEquals(0xFF, p >>> 24);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsShortBuffer() {
+        new StackBlur().blur(new int[5], 3, 2, 1);
+    }
+
+    private static int[] gradient(int width, int height) {
+        int[] pixels = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int v = (x * 255 / Math.max(1, width - 1));
+                pixels[y * width + x] = 0xFF000000 | (v << 16) | ((255 - v) << 8) | (y * 10 & 0xff);
+            }
+        }
+        return pixels;
+    }
+
+    private static int red(int p) {
+        return (p >> 16) & 0xff;
+    }
+}
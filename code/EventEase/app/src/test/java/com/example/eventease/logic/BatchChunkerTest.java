@@ -0,0 +1,89 @@
+package com.example.eventease.logic;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for BatchChunker.
+ * Covers chunk slicing, halving oversized batches, exponential backoff and giving up.
+ */
+public class BatchChunkerTest {
+
+    private static List<Integer> items(int count) {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Test
+    public void testNextChunkIsCappedBySizeAndRemaining() {
+        BatchChunker chunker = new BatchChunker(500, 3, 1000, 30_000);
+        assertEquals(500, chunker.nextChunk(items(1200)).size());
+        assertEquals(7, chunker.nextChunk(items(7)).size());
+        assertEquals(Integer.valueOf(0), chunker.nextChunk(items(7)).get(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsChunksAboveFirestoreLimit() {
+        new BatchChunker(BatchChunker.MAX_BATCH_WRITES + 1, 3, 1000, 30_000);
+    }
+
+    @Test
+    public void testTooLargeHalvesAndRetriesImmediately() {
+        BatchChunker chunker = new BatchChunker(500, 3, 1000, 30_000);
+        assertEquals(0L, chunker.onFailure(BatchChunker.Failure.TOO_LARGE));
+        assertEquals(250, chunker.chunkSize());
+        assertEquals(0L, chunker.onFailure(BatchChunker.Failure.TOO_LARGE));
+        assertEquals(125, chunker.chunkSize());
+    }
+
+    @Test
+    public void testTooLargeSingleWriteGivesUp() {
+        BatchChunker chunker = new BatchChunker(1, 3, 1000, 30_000);
+        assertEquals(BatchChunker.GIVE_UP, chunker.onFailure(BatchChunker.Failure.TOO_LARGE));
+    }
+
+    @Test
+    public void testSuccessGrowsChunkBackToMax() {
+        BatchChunker chunker = new BatchChunker(400, 3, 1000, 30_000);
+        chunker.onFailure(BatchChunker.Failure.TOO_LARGE);
+        chunker.onFailure(BatchChunker.Failure.TOO_LARGE);
+        assertEquals(100, chunker.chunkSize());
+        chunker.onSuccess();
+        assertEquals(200, chunker.chunkSize());
+        chunker.onSuccess();
+        chunker.onSuccess();
+        assertEquals(400, chunker.chunkSize());
+    }
+
+    @Test
+    public void testTransientBacksOffExponentiallyThenGivesUp() {
+        BatchChunker chunker = new BatchChunker(500, 4, 1000, 5000);
+        assertEquals(1000L, chunker.onFailure(BatchChunker.Failure.TRANSIENT));
+        assertEquals(2000L, chunker.onFailure(BatchChunker.Failure.TRANSIENT));
+        assertEquals(4000L, chunker.onFailure(BatchChunker.Failure.TRANSIENT));
+        assertEquals("capped", 5000L, chunker.onFailure(BatchChunker.Failure.TRANSIENT));
+        assertEquals(BatchChunker.GIVE_UP, chunker.onFailure(BatchChunker.Failure.TRANSIENT));
+        assertEquals("chunk size untouched", 500, chunker.chunkSize());
+    }
+
+    @Test
+    public void testSuccessResetsAttempts() {
+        BatchChunker chunker = new BatchChunker(500, 1, 1000, 5000);
+        assertEquals(1000L, chunker.onFailure(BatchChunker.Failure.TRANSIENT));
+        chunker.onSuccess();
+        assertEquals(1000L, chunker.onFailure(BatchChunker.Failure.TRANSIENT));
+        assertEquals(BatchChunker.GIVE_UP, chunker.onFailure(BatchChunker.Failure.TRANSIENT));
+    }
+
+    @Test
+    public void testPermanentNeverRetries() {
+        BatchChunker chunker = new BatchChunker(500, 5, 1000, 5000);
+        assertEquals(BatchChunker.GIVE_UP, chunker.onFailure(BatchChunker.Failure.PERMANENT));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.eventease.logic;
+
+import com.example.eventease.logic.CascadeDeletePlan.Phase;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for CascadeDeletePlan.
+ * Covers phase order for new and resumed jobs and throughput calculation.
+ */
+public class CascadeDeletePlanTest {
+
+    @Test
+    public void testNewJobRunsEveryPhaseInOrder() {
+        assertEquals(Arrays.asList(Phase.values()), CascadeDeletePlan.remaining(null, true));
+    }
+
+    @Test
+    public void testNonOrganizerSkipsOrganizerEvents() {
+        List<Phase> phases = CascadeDeletePlan.remaining(null, false);
+        assertFalse(phases.contains(Phase.ORGANIZER_EVENTS));
+        assertEquals(Phase.ENTRANT_RECORDS, phases.get(0));
+        assertEquals(Phase.values().length - 1, phases.size());
+    }
+
+    @Test
+    public void testResumeStartsAtCheckpointedPhase() {
+        assertEquals(Arrays.asList(Phase.INVITATIONS, Phase.USER_SUBCOLLECTIONS),
+                CascadeDeletePlan.remaining("INVITATIONS", true));
+        assertEquals(Arrays.asList(Phase.USER_SUBCOLLECTIONS),
+                CascadeDeletePlan.remaining(Phase.USER_SUBCOLLECTIONS.name(), false));
+    }
+
+    @Test
+    public void testUnknownCheckpointStartsOver() {
+        assertEquals(Arrays.asList(Phase.values()), CascadeDeletePlan.remaining("SOMETHING_ELSE", true));
+    }
+
+    @Test
+    public void testPerSecond() {
+        assertEquals(250.0, CascadeDeletePlan.perSecond(500, 2000), 1e-9);
+        assertEquals(0.0, CascadeDeletePlan.perSecond(500, 0), 1e-9);
+    }
+}
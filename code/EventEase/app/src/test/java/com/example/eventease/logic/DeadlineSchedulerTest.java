@@ -0,0 +1,176 @@
+package com.example.eventease.logic;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for TimingWheel and DeadlineScheduler.
+ * Uses a virtual clock so days of deadlines can be run without sleeping.
+ */
+public class DeadlineSchedulerTest {
+
+    private static final long START_MS = 1_700_000_000_000L;
+    private static final long TICK_MS = DeadlineScheduler.DEFAULT_TICK_MS;
+    private static final long HOUR_MS = 60 * 60 * 1000L;
+
+    private long now;
+    private List<String> fired;
+    private List<Long> firedAt;
+    private DeadlineScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        now = START_MS;
+        fired = new ArrayList<>();
+        firedAt = new ArrayList<>();
+        scheduler = new DeadlineScheduler(() -> now, (eventId, kind, dueAtMs) -> {
+            fired.add(eventId + ":" + kind);
+            firedAt.add(now);
+        });
+    }
+
+    /** Moves the virtual clock to {@code timeMs} the way the main-thread handler would. */
+    private void runUntil(long timeMs) {
+        while (scheduler.nextWakeupMs() <= timeMs) {
+            now = Math.max(now, scheduler.nextWakeupMs());
+            scheduler.advance();
+        }
+        now = timeMs;
+        scheduler.advance();
+    }
+
+    @Test
+    public void testFiresWhenDueAndNotBefore() {
+        scheduler.schedule("e1", DeadlineScheduler.Kind.INVITATION_DEADLINE, START_MS + 5_500);
+
+        runUntil(START_MS + 5_499);
+        assertTrue(fired.isEmpty());
+
+        runUntil(START_MS + 6_000);
+        assertEquals(1, fired.size());
+        assertEquals("e1:INVITATION_DEADLINE", fired.get(0));
+        long lateness = firedAt.get(0) - (START_MS + 5_500);
+        assertTrue(lateness >= 0 && lateness < TICK_MS);
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    public void testFarDeadlinesCascadeAndFireOnTime() {
+        long[] offsets = {90 * 1000L, 2 * HOUR_MS + 17, 3 * 24 * HOUR_MS + 999, 200 * 24 * HOUR_MS};
+        for (int i = 0; i < offsets.length; i++) {
+            scheduler.schedule("e" + i, DeadlineScheduler.Kind.SORRY_NOTIFICATION, START_MS + offsets[i]);
+        }
+
+        runUntil(START_MS + 365 * 24 * HOUR_MS);
+
+        assertEquals(offsets.length, fired.size());
+        for (int i = 0; i < offsets.length; i++) {
+            assertEquals("e" + i + ":SORRY_NOTIFICATION", fired.get(i));
+            long lateness = firedAt.get(i) - (START_MS + offsets[i]);
+            assertTrue("event " + i + " late by " + lateness, lateness >= 0 && lateness < TICK_MS);
+        }
+    }
+
+    @Test
+    public void testRescheduleReplacesEarlierTime() {
+        scheduler.schedule("e1", DeadlineScheduler.Kind.REGISTRATION_END, START_MS + 10_000);
+        scheduler.schedule("e1", DeadlineScheduler.Kind.REGISTRATION_END, START_MS + 20_000);
+        assertEquals(1, scheduler.size());
+        assertEquals(Long.valueOf(START_MS + 20_000), scheduler.dueAt("e1", DeadlineScheduler.Kind.REGISTRATION_END));
+
+        runUntil(START_MS + 15_000);
+        assertTrue(fired.isEmpty());
+        runUntil(START_MS + 20_000);
+        assertEquals(1, fired.size());
+    }
+
+    @Test
+    public void testCancelAndRemove() {
+        scheduler.schedule("e1", DeadlineScheduler.Kind.INVITATION_DEADLINE, START_MS + 10_000);
+        scheduler.schedule("e1", DeadlineScheduler.Kind.SORRY_NOTIFICATION, START_MS + 10_000);
+        scheduler.schedule("e2", DeadlineScheduler.Kind.INVITATION_DEADLINE, START_MS + 10_000);
+
+        scheduler.cancel("e2", DeadlineScheduler.Kind.INVITATION_DEADLINE);
+        scheduler.remove("e1");
+        assertEquals(0, scheduler.size());
+        assertNull(scheduler.dueAt("e1", DeadlineScheduler.Kind.SORRY_NOTIFICATION));
+
+        runUntil(START_MS + HOUR_MS);
+        assertTrue(fired.isEmpty());
+        assertEquals(Long.MAX_VALUE, scheduler.nextWakeupMs());
+    }
+
+    @Test
+    public void testPastOrMissingTimesAreNotScheduled() {
+        assertFalse(scheduler.schedule("e1", DeadlineScheduler.Kind.INVITATION_DEADLINE, START_MS - 1));
+        assertFalse(scheduler.schedule("e1", DeadlineScheduler.Kind.INVITATION_DEADLINE, START_MS));
+        assertFalse(scheduler.schedule("e1", DeadlineScheduler.Kind.INVITATION_DEADLINE, null));
+        assertFalse(scheduler.schedule("e1", DeadlineScheduler.Kind.INVITATION_DEADLINE, 0L));
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    public void testCallbackMayCancelLaterItemInSameBatch() {
+        scheduler = new DeadlineScheduler(() -> now, (eventId, kind, dueAtMs) -> {
+            fired.add(eventId);
+            scheduler.remove("e2");
+        });
+        scheduler.schedule("e1", DeadlineScheduler.Kind.INVITATION_DEADLINE, START_MS + 1_000);
+        scheduler.schedule("e2", DeadlineScheduler.Kind.INVITATION_DEADLINE, START_MS + 1_000);
+
+        now = START_MS + 1_000;
+        assertEquals(1, scheduler.advance());
+        assertEquals(1, fired.size());
+    }
+
+    @Test
+    public void testWakeupIsExactForNearDeadlines() {
+        scheduler.schedule("e1", DeadlineScheduler.Kind.INVITATION_DEADLINE, START_MS + 30_000);
+        assertEquals(START_MS + 30_000, scheduler.nextWakeupMs());
+    }
+
+    @Test
+    public void testTimingWheel_randomScheduleMatchesSortedOrder() {
+        Random random = new Random(42);
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK_MS, 8, START_MS);
+        List<Long> due = new ArrayList<>();
+        List<TimingWheel<Long>.Timeout> cancelled = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long dueAt = START_MS + (long) (random.nextDouble() * 30 * 24 * HOUR_MS);
+            TimingWheel<Long>.Timeout timeout = wheel.schedule(dueAt, dueAt);
+            if (i % 5 == 0) {
+                cancelled.add(timeout);
+            } else {
+                due.add(dueAt);
+            }
+        }
+        for (TimingWheel<Long>.Timeout timeout : cancelled) {
+            assertTrue(timeout.cancel());
+            assertFalse(timeout.cancel());
+        }
+        assertEquals(due.size(), wheel.size());
+
+        List<Long> out = new ArrayList<>();
+        long clock = START_MS;
+        while (wheel.nextWakeupMs() != Long.MAX_VALUE) {
+            clock = Math.max(clock, wheel.nextWakeupMs());
+            for (Long item : wheel.advanceTo(clock)) {
+                assertTrue("early " + item + " " + clock, item <= clock);
+                assertTrue("late " + (clock - item), clock - item < TICK_MS);
+                out.add(item);
+            }
+        }
+        assertEquals(due.size(), out.size());
+        assertEquals(0, wheel.size());
+        for (int i = 1; i < out.size(); i++) {
+            // Order is exact across ticks; within one tick it may differ
+            assertTrue("order at " + i, out.get(i) / TICK_MS >= out.get(i - 1) / TICK_MS);
+        }
+        assertTrue(wheel.levelCount() > 2);
+    }
+}
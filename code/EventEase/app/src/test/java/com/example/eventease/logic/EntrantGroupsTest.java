@@ -0,0 +1,92 @@
+package com.example.eventease.logic;
+
+import com.example.eventease.logic.EntrantGroups.Group;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for EntrantGroups.
+ * Covers group precedence, ordering within a group, duplicates and missing groups.
+ */
+public class EntrantGroupsTest {
+
+    /** Entries are "userId:name". */
+    private static final EntrantGroups.Ids<String> IDS = entry -> entry.split(":")[0];
+
+    private static Map<Group, List<String>> fetched(List<String> selected, List<String> cancelled,
+                                                    List<String> nonSelected) {
+        Map<Group, List<String>> fetched = new EnumMap<>(Group.class);
+        fetched.put(Group.SELECTED, selected);
+        fetched.put(Group.CANCELLED, cancelled);
+        fetched.put(Group.NON_SELECTED, nonSelected);
+        return fetched;
+    }
+
+    @Test
+    public void testDisjointGroupsAreKeptAsIs() {
+        Map<Group, List<String>> merged = EntrantGroups.merge(fetched(
+                Arrays.asList("a:Ann", "b:Bob"),
+                Arrays.asList("c:Cat"),
+                Arrays.asList("d:Dan", "e:Eve")), IDS);
+        assertEquals(Arrays.asList("a:Ann", "b:Bob"), merged.get(Group.SELECTED));
+        assertEquals(Arrays.asList("c:Cat"), merged.get(Group.CANCELLED));
+        assertEquals(Arrays.asList("d:Dan", "e:Eve"), merged.get(Group.NON_SELECTED));
+    }
+
+    @Test
+    public void testSelectedWinsOverOtherGroups() {
+        Map<Group, List<String>> merged = EntrantGroups.merge(fetched(
+                Arrays.asList("a:Ann"),
+                Arrays.asList("a:Ann"),
+                Arrays.asList("a:Ann", "b:Bob")), IDS);
+        assertEquals(Arrays.asList("a:Ann"), merged.get(Group.SELECTED));
+        assertTrue(merged.get(Group.CANCELLED).isEmpty());
+        assertEquals(Arrays.asList("b:Bob"), merged.get(Group.NON_SELECTED));
+    }
+
+    @Test
+    public void testCancelledWinsOverNonSelected() {
+        Map<Group, List<String>> merged = EntrantGroups.merge(fetched(
+                Collections.emptyList(),
+                Arrays.asList("c:Cat"),
+                Arrays.asList("c:Cat", "d:Dan")), IDS);
+        assertEquals(Arrays.asList("c:Cat"), merged.get(Group.CANCELLED));
+        assertEquals(Arrays.asList("d:Dan"), merged.get(Group.NON_SELECTED));
+    }
+
+    @Test
+    public void testDuplicatesWithinAGroupKeepFirst() {
+        Map<Group, List<String>> fetched = fetched(
+                Arrays.asList("a:Ann", "b:Bob", "a:Ann again"),
+                Collections.emptyList(),
+                Arrays.asList("b:Bob"));
+        Map<Group, List<String>> merged = EntrantGroups.merge(fetched, IDS);
+        assertEquals(Arrays.asList("a:Ann", "b:Bob"), merged.get(Group.SELECTED));
+        assertEquals(2, EntrantGroups.duplicates(fetched, merged));
+    }
+
+    @Test
+    public void testMissingGroupsComeBackEmpty() {
+        Map<Group, List<String>> fetched = new EnumMap<>(Group.class);
+        fetched.put(Group.NON_SELECTED, Arrays.asList("d:Dan"));
+        Map<Group, List<String>> merged = EntrantGroups.merge(fetched, IDS);
+        assertEquals(Group.values().length, merged.size());
+        assertTrue(merged.get(Group.SELECTED).isEmpty());
+        assertTrue(merged.get(Group.CANCELLED).isEmpty());
+        assertEquals(0, EntrantGroups.duplicates(fetched, merged));
+    }
+
+    @Test
+    public void testCollectionNames() {
+        assertEquals("SelectedEntrants", Group.SELECTED.collection);
+        assertEquals("CancelledEntrants", Group.CANCELLED.collection);
+        assertEquals("NonSelectedEntrants", Group.NON_SELECTED.collection);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.eventease.logic;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit tests for EntrantLocation.
+ * Covers parsing stored location maps, rejecting invalid coordinates and the stored format,
+ * including the geohash.
+ */
+public class EntrantLocationTest {
+
+    private static Map<String, Object> location(Object latitude, Object longitude) {
+        Map<String, Object> map = new HashMap<>();
+        map.put(EntrantLocation.FIELD_LATITUDE, latitude);
+        map.put(EntrantLocation.FIELD_LONGITUDE, longitude);
+        return map;
+    }
+
+    @Test
+    public void testFromMapReadsCoordinates() {
+        EntrantLocation location = EntrantLocation.fromMap(location(53.5461, -113.4938));
+        assertNotNull(location);
+        assertEquals(53.5461, location.latitude, 1e-9);
+        assertEquals(-113.4938, location.longitude, 1e-9);
+    }
+
+    @Test
+    public void testFromMapAcceptsWholeNumbers() {
+        EntrantLocation location = EntrantLocation.fromMap(location(45L, 90L));
+        assertNotNull(location);
+        assertEquals(45.0, location.latitude, 1e-9);
+    }
+
+    @Test
+    public void testFromMapRejectsMissingOrMalformed() {
+        assertNull(EntrantLocation.fromMap(null));
+        assertNull(EntrantLocation.fromMap("53.5,-113.4"));
+        assertNull(EntrantLocation.fromMap(location(53.5, null)));
+        assertNull(EntrantLocation.fromMap(location("53.5", -113.4)));
+    }
+
+    @Test
+    public void testFromMapRejectsFailedFixAndOutOfRange() {
+        assertNull(EntrantLocation.fromMap(location(0.0, 0.0)));
+        assertNull(EntrantLocation.fromMap(location(91.0, 10.0)));
+        assertNull(EntrantLocation.fromMap(location(10.0, -180.5)));
+        assertNotNull(EntrantLocation.fromMap(location(0.0, 10.0)));
+    }
+
+    @Test
+    public void testToMapRoundTrips() {
+        Map<String, Object> map = new EntrantLocation(-33.8688, 151.2093).toMap(1234L);
+        assertEquals(1234L, map.get(EntrantLocation.FIELD_CAPTURED_AT));
+        assertEquals(Geohash.encode(-33.8688, 151.2093, Geohash.STORED_PRECISION),
+                map.get(EntrantLocation.FIELD_GEOHASH));
+        EntrantLocation parsed = EntrantLocation.fromMap(map);
+        assertNotNull(parsed);
+        assertEquals(-33.8688, parsed.latitude, 1e-9);
+        assertEquals(151.2093, parsed.longitude, 1e-9);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.eventease.logic;
+
+import com.example.eventease.model.Event;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Latency benchmark for EventSearchIndex over 10,000 generated events.
+ * Measures per-keystroke query time after warm-up and prints the median, p95 and max. The median
+ * is asserted against a loose bound, so slow build machines pass but a large regression fails.
+ */
+public class EventSearchIndexBenchmarkTest {
+
+    private static final int EVENT_COUNT = 10_000;
+    /** Generous bound on the median query time, over ten times the local median of about 0.4 ms. */
+    private static final long MAX_MEDIAN_NANOS = 5_000_000L;
+
+    private static final String[] WORDS = {
+            "swimming", "lessons", "jazz", "night", "chess", "club", "yoga", "sunrise", "music", "festival",
+            "coding", "workshop", "robotics", "painting", "pottery", "hockey", "soccer", "camp", "kids",
+            "seniors", "market", "farmers", "dance", "salsa", "theatre", "improv", "book", "reading",
+            "science", "fair", "photography", "walk", "hiking", "trail", "cooking", "baking", "bread"
+    };
+    private static final String[] PLACES = {
+            "Kinsmen Sports Centre", "Winspear Centre", "Central Library", "River Valley", "City Hall",
+            "Old Strathcona", "Whyte Avenue", "Community League Hall", "University Campus", "Downtown Arena"
+    };
+    /** Simulates typing, including one- and two-letter prefixes that match most events. */
+    private static final List<String> QUERIES = Arrays.asList(
+            "s", "sw", "swi", "swim", "swimm", "swimming", "swimming l", "swimming lessons",
+            "j", "ja", "jaz", "jazz", "jazz n", "jazz night", "centre", "library", "kids camp",
+            "pho", "photography walk", "baking bread", "zzz", "improv theatre", "farmers market");
+
+    private EventSearchIndex index;
+
+    @Before
+    public void setUp() {
+        Random random = new Random(42);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            Event event = new Event();
+            event.setId("event" + i);
+            event.setTitle(word(random) + " " + word(random) + " " + i);
+            event.setLocation(PLACES[random.nextInt(PLACES.length)]);
+            event.setDescription(word(random) + " " + word(random) + " " + word(random) + " for everyone");
+            event.setInterests(Arrays.asList(word(random), word(random)));
+            events.add(event);
+        }
+        index = new EventSearchIndex();
+        index.sync(events);
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    @Test
+    public void testQueryLatency_for10kEvents() {
+        assertEquals(EVENT_COUNT, index.size());
+
+        // Warm up the JIT
+        int sink = 0;
+        for (int round = 0; round < 50; round++) {
+            for (String query : QUERIES) {
+                sink += index.search(query).size();
+            }
+        }
+
+        int rounds = 20;
+        long[] nanos = new long[rounds * QUERIES.size()];
+        int n = 0;
+        for (int round = 0; round < rounds; round++) {
+            for (String query : QUERIES) {
+                long start = System.nanoTime();
+                sink += index.search(query).size();
+                nanos[n++] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(nanos);
+        long median = nanos[nanos.length / 2];
+        long p95 = nanos[(int) (nanos.length * 0.95)];
+        System.out.println("EventSearchIndex " + EVENT_COUNT + " events: median=" + median / 1000 + "us, p95="
+                + p95 / 1000 + "us, max=" + nanos[nanos.length - 1] / 1000 + "us (" + sink + " hits)");
+        assertTrue("median query took " + median / 1000 + "us", median < MAX_MEDIAN_NANOS);
+    }
+
+    @Test
+    public void testIncrementalUpdate_onlyChangedEventsReindexed() {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            Event event = new Event();
+            event.setId("event" + i);
+            events.add(event);
+        }
+        EventSearchIndex fresh = new EventSearchIndex();
+        assertEquals(EVENT_COUNT, fresh.sync(events));
+
+        events.get(7).setTitle("Renamed Event");
+        long start = System.nanoTime();
+        assertEquals(1, fresh.sync(events));
+        System.out.println("EventSearchIndex resync of " + EVENT_COUNT + " events with 1 change: "
+                + (System.nanoTime() - start) / 1000 + "us");
+        assertEquals(1, fresh.search("renamed").size());
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.eventease.logic;
+
+import com.example.eventease.model.Event;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Unit tests for EventSearchIndex matching, ranking and incremental updates.
+ */
+public class EventSearchIndexTest {
+
+    private EventSearchIndex index;
+
+    private static Event event(String id, String title, String location, String description, String... interests) {
+        Event event = new Event();
+        event.setId(id);
+        event.setTitle(title);
+        event.setLocation(location);
+        event.setDescription(description);
+        event.setInterests(Arrays.asList(interests));
+        return event;
+    }
+
+    @Before
+    public void setUp() {
+        index = new EventSearchIndex();
+        index.put(event("swim", "Swimming Lessons", "Kinsmen Sports Centre", "Learn to swim", "Sports", "Kids"));
+        index.put(event("jazz", "Jazz Night", "Winspear Centre", "Live music downtown", "Music"));
+        index.put(event("chess", "Chess Club", "Central Library", "Casual games for all levels", "Games"));
+    }
+
+    @Test
+    public void testSearch_substringOfTitle() {
+        assertEquals(Collections.singletonList("swim"), index.search("wimm"));
+    }
+
+    @Test
+    public void testSearch_isCaseInsensitive() {
+        assertTrue(index.search("JAZZ").contains("jazz"));
+        assertTrue(index.search("jAzZ nIgHt").contains("jazz"));
+    }
+
+    @Test
+    public void testSearch_shortQueriesUseUnigramsAndBigrams() {
+        assertEquals(Collections.singletonList("jazz"), index.search("zz"));
+        assertTrue(index.search("j").contains("jazz"));
+    }
+
+    @Test
+    public void testSearch_matchesInterestsLocationAndDescription() {
+        assertEquals(Collections.singletonList("swim"), index.search("kids"));
+        assertEquals(Collections.singletonList("chess"), index.search("library"));
+        assertEquals(Collections.singletonList("jazz"), index.search("downtown"));
+    }
+
+    @Test
+    public void testSearch_multiWordQueryMatchesAsPhrase() {
+        assertEquals(Collections.singletonList("jazz"), index.search("jazz night"));
+        assertEquals(Collections.singletonList("jazz"), index.search("azz nig"));
+        assertEquals(Collections.singletonList("swim"), index.search("sports centre"));
+        assertTrue(index.search("jazz chess").isEmpty());
+    }
+
+    @Test
+    public void testSearch_wordsOutOfOrderOrInDifferentFieldsDoNotMatch() {
+        assertTrue(index.search("night jazz").isEmpty());
+        assertTrue(index.search("music centre").isEmpty());
+        assertTrue(index.search("lessons learn").isEmpty());
+    }
+
+    @Test
+    public void testSearch_noFalsePositivesFromTrigramsAcrossWords() {
+        // "night" and "jazz" share no word, so "zzni" must not match "Jazz Night"
+        assertTrue(index.search("zzni").isEmpty());
+    }
+
+    @Test
+    public void testSearch_blankQueryMatchesNothing() {
+        assertTrue(index.search("").isEmpty());
+        assertTrue(index.search("  ,. ").isEmpty());
+        assertTrue(index.search(null).isEmpty());
+    }
+
+    @Test
+    public void testSearch_restrictedToFields() {
+        // "centre" appears in two locations but in no title
+        assertTrue(index.search("centre", EnumSet.of(EventSearchIndex.Field.TITLE)).isEmpty());
+        assertEquals(2, index.search("centre", EnumSet.of(EventSearchIndex.Field.LOCATION)).size());
+    }
+
+    @Test
+    public void testSearch_ranksTitleAboveDescriptionAndWholeWordAboveInfix() {
+        index.put(event("music", "Music Festival", "Park", "Outdoor", "Festival"));
+        List<String> ranked = index.search("music");
+        assertEquals(Arrays.asList("music", "jazz"), ranked);
+
+        index.put(event("swimmeet", "Swim Meet", "Pool", "", "Sports"));
+        ranked = index.search("swim");
+        assertEquals("swimmeet", ranked.get(0));
+    }
+
+    @Test
+    public void testPut_reindexesChangedEvent() {
+        assertFalse(index.put(event("jazz", "Jazz Night", "Winspear Centre", "Live music downtown", "Music")));
+        assertTrue(index.put(event("jazz", "Blues Night", "Winspear Centre", "Live music downtown", "Music")));
+
+        assertTrue(index.search("jazz").isEmpty());
+        assertTrue(index.search("blues").contains("jazz"));
+    }
+
+    @Test
+    public void testSync_addsAndRemovesIncrementally() {
+        List<Event> next = Arrays.asList(
+                event("jazz", "Jazz Night", "Winspear Centre", "Live music downtown", "Music"),
+                event("yoga", "Sunrise Yoga", "River Valley", "Bring a mat", "Fitness"));
+
+        // chess and swim removed, yoga added, jazz unchanged
+        assertEquals(3, index.sync(next));
+        assertEquals(2, index.size());
+        assertTrue(index.search("chess").isEmpty());
+        assertTrue(index.search("yoga").contains("yoga"));
+        assertEquals(0, index.sync(next));
+    }
+
+    @Test
+    public void testRemove() {
+        assertTrue(index.remove("chess"));
+        assertFalse(index.remove("chess"));
+        assertTrue(index.search("club").isEmpty());
+    }
+}
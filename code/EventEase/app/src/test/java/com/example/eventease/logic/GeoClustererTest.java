@@ -0,0 +1,123 @@
+package com.example.eventease.logic;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for GeoClusterer.
+ * Covers grouping by zoom level, viewport filtering, the antimeridian and cluster positions.
+ */
+public class GeoClustererTest {
+
+    private static final int CELL_PX = 80;
+
+    private static GeoClusterer.Item item(String id, double latitude, double longitude) {
+        return new GeoClusterer.Item(id, "Entrant " + id, latitude, longitude);
+    }
+
+    private static List<GeoClusterer.Cluster> world(GeoClusterer clusterer, float zoom) {
+        return clusterer.cluster(-85, -180, 85, 180, zoom, CELL_PX);
+    }
+
+    private static int total(List<GeoClusterer.Cluster> clusters) {
+        int count = 0;
+        for (GeoClusterer.Cluster cluster : clusters) {
+            count += cluster.count;
+        }
+        return count;
+    }
+
+    @Test
+    public void testNearbyPointsClusterAtLowZoomAndSplitAtHighZoom() {
+        GeoClusterer clusterer = new GeoClusterer(Arrays.asList(
+                item("a", 53.5461, -113.4938),
+                item("b", 53.5232, -113.5263),
+                item("c", 53.5444, -113.4909)));
+
+        List<GeoClusterer.Cluster> low = world(clusterer, 3f);
+        assertEquals(1, low.size());
+        assertEquals(3, low.get(0).count);
+        assertNull(low.get(0).item);
+
+        List<GeoClusterer.Cluster> high = world(clusterer, 18f);
+        assertEquals(3, high.size());
+        assertEquals(3, total(high));
+    }
+
+    @Test
+    public void testDistantPointsStaySeparate() {
+        GeoClusterer clusterer = new GeoClusterer(Arrays.asList(
+                item("edmonton", 53.5461, -113.4938),
+                item("sydney", -33.8688, 151.2093)));
+        assertEquals(2, world(clusterer, 2f).size());
+    }
+
+    @Test
+    public void testSingleItemKeepsItsItem() {
+        GeoClusterer clusterer = new GeoClusterer(Arrays.asList(item("a", 10.0, 20.0)));
+        List<GeoClusterer.Cluster> clusters = world(clusterer, 5f);
+        assertEquals(1, clusters.size());
+        GeoClusterer.Cluster cluster = clusters.get(0);
+        assertEquals(1, cluster.count);
+        assertNotNull(cluster.item);
+        assertEquals("a", cluster.item.id);
+        assertEquals(10.0, cluster.latitude, 1e-9);
+        assertEquals(20.0, cluster.longitude, 1e-9);
+    }
+
+    @Test
+    public void testClusterIsPlacedAtCentroid() {
+        GeoClusterer clusterer = new GeoClusterer(Arrays.asList(
+                item("a", 0.01, 10.0),
+                item("b", 0.01, 10.2)));
+        List<GeoClusterer.Cluster> clusters = world(clusterer, 2f);
+        assertEquals(1, clusters.size());
+        assertEquals(10.1, clusters.get(0).longitude, 1e-6);
+        assertEquals(0.01, clusters.get(0).latitude, 1e-6);
+    }
+
+    @Test
+    public void testOnlyPointsNearTheViewportAreClustered() {
+        GeoClusterer clusterer = new GeoClusterer(Arrays.asList(
+                item("inside", 53.54, -113.49),
+                item("outside", 40.71, -74.00)));
+        List<GeoClusterer.Cluster> clusters = clusterer.cluster(53.4, -113.7, 53.7, -113.3, 12f, CELL_PX);
+        assertEquals(1, clusters.size());
+        assertEquals("inside", clusters.get(0).item.id);
+    }
+
+    @Test
+    public void testViewportAcrossAntimeridian() {
+        GeoClusterer clusterer = new GeoClusterer(Arrays.asList(
+                item("fiji", -17.7, 178.0),
+                item("samoa", -13.8, -172.0),
+                item("greenwich", 51.48, 0.0)));
+        List<GeoClusterer.Cluster> clusters = clusterer.cluster(-30, 170, 0, -165, 6f, CELL_PX);
+        List<String> ids = new ArrayList<>();
+        for (GeoClusterer.Cluster cluster : clusters) {
+            ids.add(cluster.item.id);
+        }
+        assertEquals(2, ids.size());
+        assertTrue(ids.contains("fiji"));
+        assertTrue(ids.contains("samoa"));
+    }
+
+    @Test
+    public void testKeysAreStableWithinAZoomLevel() {
+        GeoClusterer clusterer = new GeoClusterer(Arrays.asList(
+                item("a", 53.5461, -113.4938),
+                item("b", 53.5232, -113.5263)));
+        assertEquals(world(clusterer, 4.1f).get(0).key, world(clusterer, 4.9f).get(0).key);
+    }
+
+    @Test
+    public void testEmpty() {
+        GeoClusterer clusterer = new GeoClusterer(new ArrayList<>());
+        assertEquals(0, clusterer.size());
+        assertTrue(world(clusterer, 3f).isEmpty());
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.eventease.logic;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for Geohash.
+ * Covers known encodings, prefix stability across precisions and precision bounds.
+ */
+public class GeohashTest {
+
+    @Test
+    public void testEncodeKnownValues() {
+        assertEquals("u4pruydqqvj", Geohash.encode(57.64911, 10.40744, 11));
+        assertEquals("ezs42", Geohash.encode(42.605, -5.603, 5));
+    }
+
+    @Test
+    public void testEncodeIsPrefixStable() {
+        String full = Geohash.encode(53.5461, -113.4938, Geohash.STORED_PRECISION);
+        assertEquals(Geohash.STORED_PRECISION, full.length());
+        assertTrue(full.startsWith(Geohash.encode(53.5461, -113.4938, Geohash.CELL_PRECISION)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEncodeRejectsBadPrecision() {
+        Geohash.encode(0, 0, 0);
+    }
+}
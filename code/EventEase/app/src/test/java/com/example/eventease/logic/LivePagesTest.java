@@ -0,0 +1,107 @@
+package com.example.eventease.logic;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Unit tests for LivePages.
+ * Covers inserts above a page that was already read past, deletes, and duplicates across pages.
+ */
+public class LivePagesTest {
+
+    /** An inbox entry: newest first, like the notification inbox query. */
+    private static final class Item {
+        final String id;
+        final long createdAt;
+
+        Item(String id, long createdAt) {
+            this.id = id;
+            this.createdAt = createdAt;
+        }
+    }
+
+    private static final Comparator<Item> NEWEST_FIRST = Comparator
+            .comparingLong((Item item) -> item.createdAt)
+            .thenComparing(item -> item.id)
+            .reversed();
+
+    private LivePages<Item> pages;
+
+    @Before
+    public void setUp() {
+        pages = new LivePages<>(NEWEST_FIRST, item -> item.id);
+    }
+
+    private static Item item(String id, long createdAt) {
+        return new Item(id, createdAt);
+    }
+
+    private static List<String> ids(List<Item> items) {
+        List<String> ids = new ArrayList<>();
+        for (Item item : items) {
+            ids.add(item.id);
+        }
+        return ids;
+    }
+
+    @Test
+    public void testInsertAtHeadAfterPage2Loaded_keepsPushedOffItem() {
+        pages.setLive(Arrays.asList(item("e", 50), item("d", 40), item("c", 30)));
+        assertEquals("c", pages.cursor().id);
+        pages.addLater(Arrays.asList(item("b", 20), item("a", 10)));
+
+        // A new notification pushes "c" off the live page of three
+        pages.setLive(Arrays.asList(item("f", 60), item("e", 50), item("d", 40)));
+
+        assertEquals(Arrays.asList("f", "e", "d", "c", "b", "a"), ids(pages.merged()));
+        assertEquals("a", pages.cursor().id);
+    }
+
+    @Test
+    public void testInsertAtHeadWhilePage2InFlight_keepsPushedOffItemBeforePage2() {
+        pages.setLive(Arrays.asList(item("e", 50), item("d", 40), item("c", 30)));
+        assertEquals("c", pages.cursor().id);
+
+        pages.setLive(Arrays.asList(item("f", 60), item("e", 50), item("d", 40)));
+        pages.addLater(Arrays.asList(item("b", 20), item("a", 10)));
+
+        assertEquals(Arrays.asList("f", "e", "d", "c", "b", "a"), ids(pages.merged()));
+    }
+
+    @Test
+    public void testInsertBeforeAnyLaterPage_nothingCarried() {
+        pages.setLive(Arrays.asList(item("e", 50), item("d", 40), item("c", 30)));
+        pages.setLive(Arrays.asList(item("f", 60), item("e", 50), item("d", 40)));
+
+        assertEquals(Arrays.asList("f", "e", "d"), ids(pages.merged()));
+        // The next page is read from the current live page, so "c" is not skipped
+        assertEquals("d", pages.cursor().id);
+    }
+
+    @Test
+    public void testDeleteFromLivePage_isDropped() {
+        pages.setLive(Arrays.asList(item("e", 50), item("d", 40), item("c", 30)));
+        pages.cursor();
+        pages.addLater(Arrays.asList(item("b", 20), item("a", 10)));
+
+        // "d" was deleted, so "b" moves up onto the live page
+        pages.setLive(Arrays.asList(item("e", 50), item("c", 30), item("b", 20)));
+
+        assertEquals(Arrays.asList("e", "c", "b", "a"), ids(pages.merged()));
+    }
+
+    @Test
+    public void testMerge_firstPageWinsForDuplicates() {
+        List<Item> merged = LivePages.merge(Arrays.asList(item("b", 2)),
+                Arrays.asList(item("b", 1), item("a", 1)), item -> item.id);
+
+        assertEquals(Arrays.asList("b", "a"), ids(merged));
+        assertEquals(2, merged.get(0).createdAt);
+    }
+}
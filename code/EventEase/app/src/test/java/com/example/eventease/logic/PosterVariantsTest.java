@@ -0,0 +1,53 @@
+package com.example.eventease.logic;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for PosterVariants.
+ * Covers variant sizing, storage paths and the list-card URL fallback.
+ */
+public class PosterVariantsTest {
+
+    @Test
+    public void testScaledSize_landscapeDownscaled() {
+        assertArrayEquals(new int[] {320, 160}, PosterVariants.scaledSize(1600, 800, 320));
+    }
+
+    @Test
+    public void testScaledSize_portraitDownscaled() {
+        assertArrayEquals(new int[] {600, 800}, PosterVariants.scaledSize(1500, 2000, 800));
+    }
+
+    @Test
+    public void testScaledSize_smallImageNotUpscaled() {
+        assertArrayEquals(new int[] {200, 100}, PosterVariants.scaledSize(200, 100, 320));
+    }
+
+    @Test
+    public void testScaledSize_extremeAspectKeepsOnePixel() {
+        assertArrayEquals(new int[] {320, 1}, PosterVariants.scaledSize(10000, 2, 320));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testScaledSize_rejectsEmptyImage() {
+        PosterVariants.scaledSize(0, 100, 320);
+    }
+
+    @Test
+    public void testStoragePath_fullStaysInPosters() {
+        assertEquals("posters/abc.webp", PosterVariants.storagePath("abc", PosterVariants.Variant.FULL));
+        assertEquals("posters/variants/abc_thumb.webp",
+                PosterVariants.storagePath("abc", PosterVariants.Variant.THUMB));
+        assertEquals("posters/variants/abc_medium.webp",
+                PosterVariants.storagePath("abc", PosterVariants.Variant.MEDIUM));
+    }
+
+    @Test
+    public void testListUrl_prefersSmallestAvailable() {
+        assertEquals("t", PosterVariants.listUrl("t", "m", "f"));
+        assertEquals("m", PosterVariants.listUrl(null, "m", "f"));
+        assertEquals("f", PosterVariants.listUrl(" ", null, "f"));
+        assertNull(PosterVariants.listUrl(null, "", null));
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.eventease.model;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the EntrantStatus state machine and its mapping from the legacy subcollections.
+ */
+public class EntrantStatusTest {
+
+    @Test
+    public void testCanTransition_newEntrantMayOnlyJoinWaitlist() {
+        assertTrue(EntrantStatus.canTransition(null, EntrantStatus.WAITLISTED));
+        assertFalse(EntrantStatus.canTransition(null, EntrantStatus.SELECTED));
+        assertFalse(EntrantStatus.canTransition(null, EntrantStatus.ADMITTED));
+    }
+
+    @Test
+    public void testCanTransition_lotteryAndInvitationFlow() {
+        assertTrue(EntrantStatus.canTransition(EntrantStatus.WAITLISTED, EntrantStatus.SELECTED));
+        assertTrue(EntrantStatus.canTransition(EntrantStatus.WAITLISTED, EntrantStatus.NON_SELECTED));
+        assertTrue(EntrantStatus.canTransition(EntrantStatus.SELECTED, EntrantStatus.ADMITTED));
+        assertTrue(EntrantStatus.canTransition(EntrantStatus.SELECTED, EntrantStatus.CANCELLED));
+        assertTrue(EntrantStatus.canTransition(EntrantStatus.NON_SELECTED, EntrantStatus.SELECTED));
+    }
+
+    @Test
+    public void testCanTransition_rejectsSkippingSelection() {
+        assertFalse(EntrantStatus.canTransition(EntrantStatus.WAITLISTED, EntrantStatus.ADMITTED));
+        assertFalse(EntrantStatus.canTransition(EntrantStatus.NON_SELECTED, EntrantStatus.ADMITTED));
+        assertFalse(EntrantStatus.canTransition(EntrantStatus.CANCELLED, EntrantStatus.ADMITTED));
+    }
+
+    @Test
+    public void testCanTransition_rejectsRejoiningWaitlistOnceInvited() {
+        assertFalse(EntrantStatus.canTransition(EntrantStatus.SELECTED, EntrantStatus.WAITLISTED));
+        assertFalse(EntrantStatus.canTransition(EntrantStatus.ADMITTED, EntrantStatus.WAITLISTED));
+    }
+
+    @Test
+    public void testCanTransition_cancelledAndNotSelectedMayRejoinWaitlist() {
+        assertTrue(EntrantStatus.canTransition(EntrantStatus.CANCELLED, EntrantStatus.WAITLISTED));
+        assertTrue(EntrantStatus.canTransition(EntrantStatus.NON_SELECTED, EntrantStatus.WAITLISTED));
+    }
+
+    @Test
+    public void testCanTransition_sameStateIsIdempotent() {
+        for (EntrantStatus status : EntrantStatus.values()) {
+            assertTrue(EntrantStatus.canTransition(status, status));
+            assertFalse(status.nextStates().contains(status));
+        }
+    }
+
+    @Test
+    public void testCanTransition_nullTargetRejected() {
+        assertFalse(EntrantStatus.canTransition(EntrantStatus.WAITLISTED, null));
+        assertFalse(EntrantStatus.canTransition(null, null));
+    }
+
+    @Test
+    public void testFromString() {
+        assertEquals(EntrantStatus.NON_SELECTED, EntrantStatus.fromString("NON_SELECTED"));
+        assertEquals(EntrantStatus.ADMITTED, EntrantStatus.fromString(" admitted "));
+        assertNull(EntrantStatus.fromString("ACCEPTED"));
+        assertNull(EntrantStatus.fromString(null));
+    }
+
+    @Test
+    public void testFromLegacyCollection_roundTrips() {
+        for (EntrantStatus status : EntrantStatus.values()) {
+            assertEquals(status, EntrantStatus.fromLegacyCollection(status.legacyCollection()));
+        }
+        assertNull(EntrantStatus.fromLegacyCollection("waitlistShards"));
+    }
+
+    @Test
+    public void testFromLegacyPresence_admittedWinsOverAcceptedSelection() {
+        assertEquals(EntrantStatus.ADMITTED,
+                EntrantStatus.fromLegacyPresence(false, true, false, false, true));
+    }
+
+    @Test
+    public void testFromLegacyPresence_cancelledWinsOverStaleWaitlistEntry() {
+        assertEquals(EntrantStatus.CANCELLED,
+                EntrantStatus.fromLegacyPresence(true, false, false, true, false));
+    }
+
+    @Test
+    public void testFromLegacyPresence_noneReturnsNull() {
+        assertNull(EntrantStatus.fromLegacyPresence(false, false, false, false, false));
+        assertEquals(EntrantStatus.WAITLISTED,
+                EntrantStatus.fromLegacyPresence(true, false, false, false, false));
+    }
+}
@@ -1231,3 +1231,935 @@ exports.retryFailedNotifications = functions.pubsub
         }
     });
 
+
+// ---------------------------------------------------------------------------
+// Per-user membership index: users/{uid}/memberships/{eventId}
+// Mirrors MembershipIndex.java on the client. Keeps one small document per
+// (user, event) pair so "which events am I in" is a single range query.
+// ---------------------------------------------------------------------------
+
+const ENTRANT_SUBCOLLECTIONS = [
+    'WaitlistedEntrants',
+    'SelectedEntrants',
+    'NonSelectedEntrants',
+    'CancelledEntrants',
+    'AdmittedEntrants'
+];
+
+// Largest ECMAScript time value; stored for events without a start time so
+// they sort after every scheduled event (same constant as the Java client).
+const UNSCHEDULED_STARTS_AT = 8640000000000000;
+const MEMBERSHIP_INDEX_VERSION = 1;
+
+function membershipSortKey(startsAtEpochMs) {
+    return startsAtEpochMs && startsAtEpochMs > 0 ? startsAtEpochMs : UNSCHEDULED_STARTS_AT;
+}
+
+function deriveMembershipStatus(present) {
+    if (present.AdmittedEntrants) return 'ADMITTED';
+    if (present.SelectedEntrants) return 'SELECTED';
+    if (present.CancelledEntrants) return 'CANCELLED';
+    if (present.NonSelectedEntrants) return 'NON_SELECTED';
+    if (present.WaitlistedEntrants) return 'WAITLISTED';
+    return null;
+}
+
+/**
+ * Re-derives the membership index entry for one user and event from the entrant
+ * subcollections. Recomputing (rather than applying the single change) keeps the
+ * index correct when a batch moves a user between several subcollections at once.
+ */
+async function syncMembership(eventId, userId) {
+    const db = admin.firestore();
+    const eventRef = db.collection('events').doc(eventId);
+    const [eventSnap, ...entrantSnaps] = await Promise.all([
+        eventRef.get(),
+        ...ENTRANT_SUBCOLLECTIONS.map(name => eventRef.collection(name).doc(userId).get())
+    ]);
+
+    const present = {};
+    ENTRANT_SUBCOLLECTIONS.forEach((name, i) => {
+        present[name] = entrantSnaps[i].exists;
+    });
+
+    const membershipRef = db.collection('users').doc(userId).collection('memberships').doc(eventId);
+    const status = deriveMembershipStatus(present);
+    if (!status || !eventSnap.exists) {
+        await membershipRef.delete();
+        return null;
+    }
+
+    await membershipRef.set({
+        eventId: eventId,
+        status: status,
+        startsAtEpochMs: membershipSortKey(eventSnap.data().startsAtEpochMs),
+        updatedAt: Date.now()
+    }, { merge: true });
+    return status;
+}
+
+/**
+ * Keeps users/{uid}/memberships in sync with every entrant state transition,
+ * whether it was written by the app or by another Cloud Function.
+ */
+exports.syncEntrantMembership = functions.firestore
+    .document('events/{eventId}/{subcollection}/{userId}')
+    .onWrite(async (change, context) => {
+        const { eventId, subcollection, userId } = context.params;
+        if (!ENTRANT_SUBCOLLECTIONS.includes(subcollection)) {
+            return null;
+        }
+
+        try {
+            const status = await syncMembership(eventId, userId);
+            console.log(`MEMBERSHIP_SYNC: eventId=${eventId}, userId=${userId}, trigger=${subcollection}, status=${status || 'none'}`);
+        } catch (error) {
+            console.error(`Error syncing membership for event ${eventId}, user ${userId}:`, error);
+            throw error;
+        }
+        return null;
+    });
+
+/**
+ * Propagates event start-time changes and deletions to the membership index.
+ */
+exports.syncMembershipEventChanges = functions.firestore
+    .document('events/{eventId}')
+    .onWrite(async (change, context) => {
+        const eventId = context.params.eventId;
+        const before = change.before.exists ? change.before.data() : null;
+        const after = change.after.exists ? change.after.data() : null;
+
+        if (before && after && before.startsAtEpochMs === after.startsAtEpochMs) {
+            return null;
+        }
+        if (!before) {
+            // New events have no entrants yet
+            return null;
+        }
+
+        const memberships = await admin.firestore()
+            .collectionGroup('memberships')
+            .where('eventId', '==', eventId)
+            .get();
+        if (memberships.empty) {
+            return null;
+        }
+
+        const writer = admin.firestore().bulkWriter();
+        memberships.forEach(doc => {
+            if (after) {
+                writer.update(doc.ref, {
+                    startsAtEpochMs: membershipSortKey(after.startsAtEpochMs),
+                    updatedAt: Date.now()
+                });
+            } else {
+                writer.delete(doc.ref);
+            }
+        });
+        await writer.close();
+
+        console.log(`✓ ${after ? 'Updated start time on' : 'Deleted'} ${memberships.size} membership entries for event ${eventId}`);
+        return null;
+    });
+
+/**
+ * One-off backfill of the membership index for data written before it existed.
+ * Run with: gcloud pubsub topics publish backfill-membership-index --message=run
+ *
+ * Reads each event's entrant subcollections once (rather than probing per user),
+ * writes every derived membership and stamps all users with membershipIndexVersion
+ * so the app skips its per-user fallback scan.
+ */
+exports.backfillMembershipIndex = functions
+    .runWith({ timeoutSeconds: 540, memory: '1GB' })
+    .pubsub.topic('backfill-membership-index')
+    .onPublish(async () => {
+        const db = admin.firestore();
+        const writer = db.bulkWriter();
+        let indexed = 0;
+
+        const eventsSnapshot = await db.collection('events').get();
+        for (const eventDoc of eventsSnapshot.docs) {
+            const presentByUser = {};
+            const entrantSnapshots = await Promise.all(
+                ENTRANT_SUBCOLLECTIONS.map(name => eventDoc.ref.collection(name).get()));
+
+            ENTRANT_SUBCOLLECTIONS.forEach((name, i) => {
+                entrantSnapshots[i].forEach(doc => {
+                    presentByUser[doc.id] = presentByUser[doc.id] || {};
+                    presentByUser[doc.id][name] = true;
+                });
+            });
+
+            const startsAt = membershipSortKey(eventDoc.data().startsAtEpochMs);
+            for (const [userId, present] of Object.entries(presentByUser)) {
+                writer.set(db.collection('users').doc(userId).collection('memberships').doc(eventDoc.id), {
+                    eventId: eventDoc.id,
+                    status: deriveMembershipStatus(present),
+                    startsAtEpochMs: startsAt,
+                    updatedAt: Date.now()
+                }, { merge: true });
+                indexed++;
+            }
+        }
+
+        const usersSnapshot = await db.collection('users').select().get();
+        usersSnapshot.forEach(userDoc => {
+            writer.set(userDoc.ref, { membershipIndexVersion: MEMBERSHIP_INDEX_VERSION }, { merge: true });
+        });
+
+        await writer.close();
+        console.log(`✓ Backfilled ${indexed} memberships across ${eventsSnapshot.size} events and ${usersSnapshot.size} users`);
+        return null;
+    });
+
+
+// ---------------------------------------------------------------------------
+// Sharded waitlist counter: events/{eventId}/waitlistShards/{0..N-1}
+// Mirrors WaitlistCounter.java on the client. Joins increment a shard in the
+// same transaction that writes the WaitlistedEntrants doc and record it in
+// `counterShard`; every decrement happens here so that all removal paths
+// (leave, selection, organizer moves, server moves) stay consistent.
+// ---------------------------------------------------------------------------
+
+const WAITLIST_SHARD_COLLECTION = 'waitlistShards';
+
+/**
+ * Applies +1/-1 to the waitlist shards when a WaitlistedEntrants document is
+ * created by a writer that did not go through the counter, or is deleted.
+ * Events whose shards have not been seeded yet are skipped; the client seeds
+ * them from the subcollection on first join.
+ */
+exports.maintainWaitlistShards = functions.firestore
+    .document('events/{eventId}/WaitlistedEntrants/{userId}')
+    .onWrite(async (change, context) => {
+        const { eventId, userId } = context.params;
+        const before = change.before.exists ? change.before.data() : null;
+        const after = change.after.exists ? change.after.data() : null;
+
+        let delta = 0;
+        let preferredShard = null;
+        if (!before && after) {
+            if (typeof after.counterShard === 'number') {
+                return null; // Counted by the joining transaction
+            }
+            delta = 1;
+        } else if (before && !after) {
+            delta = -1;
+            preferredShard = typeof before.counterShard === 'number' ? before.counterShard : null;
+        } else {
+            return null;
+        }
+
+        const db = admin.firestore();
+        const shardsRef = db.collection('events').doc(eventId).collection(WAITLIST_SHARD_COLLECTION);
+
+        try {
+            const applied = await db.runTransaction(async (transaction) => {
+                const shardsSnapshot = await transaction.get(shardsRef);
+                if (shardsSnapshot.empty) {
+                    return null;
+                }
+
+                let target = null;
+                if (preferredShard !== null) {
+                    target = shardsSnapshot.docs.find(doc => doc.id === String(preferredShard)) || null;
+                }
+                if (delta < 0 && (!target || (target.data().count || 0) <= 0)) {
+                    target = shardsSnapshot.docs.find(doc => (doc.data().count || 0) > 0) || null;
+                }
+                if (delta > 0) {
+                    target = shardsSnapshot.docs[Math.floor(Math.random() * shardsSnapshot.size)];
+                }
+                if (!target) {
+                    return null;
+                }
+
+                transaction.update(target.ref, {
+                    count: admin.firestore.FieldValue.increment(delta)
+                });
+                return target.id;
+            });
+
+            if (applied !== null) {
+                console.log(`WAITLIST_SHARD: eventId=${eventId}, userId=${userId}, delta=${delta}, shard=${applied}`);
+            }
+        } catch (error) {
+            console.error(`Error updating waitlist shards for event ${eventId}, user ${userId}:`, error);
+            throw error;
+        }
+        return null;
+    });
+
+
+// ---------------------------------------------------------------------------
+// Entrant status documents: events/{eventId}/entrants/{userId}
+// Mirrors EntrantStatusStore.java on the client. The `status` field is the
+// source of truth; the per-status subcollections above are kept as a
+// projection of it for screens and functions that still read them. Writers
+// that have not migrated yet (and older app versions) still write the
+// subcollections directly, which is synced back into the entrant document.
+// ---------------------------------------------------------------------------
+
+const ENTRANT_STATUS_COLLECTION = 'entrants';
+const ENTRANT_STATUS_FIELDS = ['status', 'previousStatus', 'statusUpdatedAt'];
+/**
+ * Set on every projected legacy document to the statusUpdatedAt (ms) of the
+ * entrant document it was projected from, so the sync below can tell the
+ * projection's own writes apart from direct legacy writes.
+ */
+const PROJECTED_AT_FIELD = 'projectedAt';
+
+const ENTRANT_STATUS_TO_COLLECTION = {
+    WAITLISTED: 'WaitlistedEntrants',
+    SELECTED: 'SelectedEntrants',
+    NON_SELECTED: 'NonSelectedEntrants',
+    CANCELLED: 'CancelledEntrants',
+    ADMITTED: 'AdmittedEntrants'
+};
+
+function withoutStatusFields(data) {
+    const copy = Object.assign({}, data);
+    ENTRANT_STATUS_FIELDS.forEach(field => delete copy[field]);
+    delete copy[PROJECTED_AT_FIELD];
+    return copy;
+}
+
+function statusUpdatedMillis(entrant) {
+    const updatedAt = entrant && entrant.statusUpdatedAt;
+    return updatedAt && typeof updatedAt.toMillis === 'function' ? updatedAt.toMillis() : 0;
+}
+
+/**
+ * Legacy documents an entrant document is projected to, keyed by subcollection.
+ * Admitted entrants also keep an ACCEPTED record in SelectedEntrants, as the
+ * accept flow always did.
+ */
+function legacyProjection(entrant) {
+    const fields = Object.assign(withoutStatusFields(entrant), {
+        [PROJECTED_AT_FIELD]: statusUpdatedMillis(entrant)
+    });
+    const projection = {};
+    if (ENTRANT_STATUS_TO_COLLECTION[entrant.status]) {
+        projection[ENTRANT_STATUS_TO_COLLECTION[entrant.status]] = fields;
+    }
+    if (entrant.status === 'ADMITTED') {
+        projection.SelectedEntrants = Object.assign({}, fields, {
+            status: 'ACCEPTED',
+            acceptedAt: fields.acceptedAt || Date.now()
+        });
+    }
+    return projection;
+}
+
+/**
+ * Whether a legacy document was written by the projection of the entrant's
+ * current status.
+ */
+function isCurrentProjection(entrant, subcollection, data) {
+    return !!(entrant && data
+        && data[PROJECTED_AT_FIELD] === statusUpdatedMillis(entrant)
+        && legacyProjection(entrant)[subcollection]);
+}
+
+/**
+ * Projects an entrant document onto the legacy subcollections: creates the
+ * documents for the current status and deletes the others. The entrant
+ * document is re-read in the transaction rather than taken from the trigger,
+ * so a late trigger (a join delivered after the leave) projects the current
+ * state instead of resurrecting the old one. Only documents that actually
+ * change are written, so re-running is a no-op.
+ */
+exports.projectEntrantStatus = functions.firestore
+    .document(`events/{eventId}/${ENTRANT_STATUS_COLLECTION}/{userId}`)
+    .onWrite(async (change, context) => {
+        const { eventId, userId } = context.params;
+        const before = change.before.exists ? change.before.data() : null;
+        const after = change.after.exists ? change.after.data() : null;
+        if (before && after && before.status === after.status) {
+            return null;
+        }
+
+        const db = admin.firestore();
+        const eventRef = db.collection('events').doc(eventId);
+        const entrantRef = eventRef.collection(ENTRANT_STATUS_COLLECTION).doc(userId);
+
+        try {
+            const result = await db.runTransaction(async (transaction) => {
+                const [entrantSnap, ...legacySnaps] = await Promise.all([
+                    transaction.get(entrantRef),
+                    ...ENTRANT_SUBCOLLECTIONS.map(name => transaction.get(eventRef.collection(name).doc(userId)))
+                ]);
+                const entrant = entrantSnap.exists ? entrantSnap.data() : null;
+                const projection = entrant ? legacyProjection(entrant) : {};
+
+                let writes = 0;
+                ENTRANT_SUBCOLLECTIONS.forEach((name, i) => {
+                    const snap = legacySnaps[i];
+                    const wanted = projection[name];
+                    if (wanted && (!snap.exists || snap.data()[PROJECTED_AT_FIELD] !== wanted[PROJECTED_AT_FIELD]
+                            || (name === 'SelectedEntrants' && snap.data().status !== wanted.status))) {
+                        transaction.set(snap.ref, wanted);
+                        writes++;
+                    } else if (!wanted && snap.exists) {
+                        transaction.delete(snap.ref);
+                        writes++;
+                    }
+                });
+                return { status: entrant ? entrant.status : 'none', writes: writes };
+            });
+            console.log(`ENTRANT_PROJECTION: eventId=${eventId}, userId=${userId}, status=${result.status}, writes=${result.writes}`);
+        } catch (error) {
+            console.error(`Error projecting entrant status for event ${eventId}, user ${userId}:`, error);
+            throw error;
+        }
+        return null;
+    });
+
+/**
+ * Syncs direct writes to the legacy subcollections (older app versions and
+ * screens that still write them) back into the entrant document.
+ *
+ * Ignored, after reading only the entrant document:
+ * - the projection's own writes for the current status;
+ * - writes older than the entrant document's last status change;
+ * - projected documents left over after the entrant document was deleted,
+ *   which the projection is about to delete as well.
+ */
+exports.syncEntrantStatusFromLegacy = functions.firestore
+    .document('events/{eventId}/{subcollection}/{userId}')
+    .onWrite(async (change, context) => {
+        const { eventId, subcollection, userId } = context.params;
+        if (!ENTRANT_SUBCOLLECTIONS.includes(subcollection)) {
+            return null;
+        }
+
+        const db = admin.firestore();
+        const eventRef = db.collection('events').doc(eventId);
+        const entrantRef = eventRef.collection(ENTRANT_STATUS_COLLECTION).doc(userId);
+        const written = change.after.exists ? change.after.data() : null;
+        const removed = change.before.exists ? change.before.data() : null;
+
+        try {
+            const entrantSnap = await entrantRef.get();
+            const entrant = entrantSnap.exists ? entrantSnap.data() : null;
+            if (isCurrentProjection(entrant, subcollection, written)) {
+                return null;
+            }
+            if (entrant && entrant.statusUpdatedAt
+                && Date.parse(context.timestamp) <= statusUpdatedMillis(entrant)) {
+                return null;
+            }
+            if (!entrant && PROJECTED_AT_FIELD in (written || removed || {})) {
+                return null;
+            }
+
+            const legacySnaps = await Promise.all(
+                ENTRANT_SUBCOLLECTIONS.map(name => eventRef.collection(name).doc(userId).get()));
+            const present = {};
+            ENTRANT_SUBCOLLECTIONS.forEach((name, i) => {
+                const snap = legacySnaps[i];
+                // Without an entrant document, projected copies are stale and do not count
+                present[name] = snap.exists && (entrant !== null || !(PROJECTED_AT_FIELD in snap.data()));
+            });
+            const derived = deriveMembershipStatus(present);
+            const current = entrant ? entrant.status : null;
+            if (derived === current) {
+                return null;
+            }
+
+            if (!derived) {
+                await entrantRef.delete();
+            } else {
+                const source = legacySnaps[ENTRANT_SUBCOLLECTIONS.indexOf(ENTRANT_STATUS_TO_COLLECTION[derived])];
+                const fields = withoutStatusFields(source.data());
+                await entrantRef.set(Object.assign(fields, {
+                    userId: userId,
+                    status: derived,
+                    previousStatus: current,
+                    statusUpdatedAt: admin.firestore.FieldValue.serverTimestamp()
+                }), { merge: true });
+            }
+            console.log(`ENTRANT_LEGACY_SYNC: eventId=${eventId}, userId=${userId}, trigger=${subcollection}, from=${current || 'none'}, to=${derived || 'none'}`);
+        } catch (error) {
+            console.error(`Error syncing entrant status for event ${eventId}, user ${userId}:`, error);
+            throw error;
+        }
+        return null;
+    });
+
+/**
+ * One-off backfill of entrant documents for events created before they existed.
+ * Run with: gcloud pubsub topics publish backfill-entrant-status --message=run
+ *
+ * Existing entrant documents are left alone, so the backfill can be re-run safely.
+ */
+exports.backfillEntrantStatus = functions
+    .runWith({ timeoutSeconds: 540, memory: '1GB' })
+    .pubsub.topic('backfill-entrant-status')
+    .onPublish(async () => {
+        const db = admin.firestore();
+        const writer = db.bulkWriter();
+        let created = 0;
+
+        const eventsSnapshot = await db.collection('events').get();
+        for (const eventDoc of eventsSnapshot.docs) {
+            const [existing, ...entrantSnapshots] = await Promise.all([
+                eventDoc.ref.collection(ENTRANT_STATUS_COLLECTION).select().get(),
+                ...ENTRANT_SUBCOLLECTIONS.map(name => eventDoc.ref.collection(name).get())
+            ]);
+            const migrated = new Set(existing.docs.map(doc => doc.id));
+
+            const byUser = {};
+            ENTRANT_SUBCOLLECTIONS.forEach((name, i) => {
+                entrantSnapshots[i].forEach(doc => {
+                    byUser[doc.id] = byUser[doc.id] || { present: {}, docs: {} };
+                    byUser[doc.id].present[name] = true;
+                    byUser[doc.id].docs[name] = doc.data();
+                });
+            });
+
+            for (const [userId, entry] of Object.entries(byUser)) {
+                if (migrated.has(userId)) {
+                    continue;
+                }
+                const status = deriveMembershipStatus(entry.present);
+                const fields = withoutStatusFields(entry.docs[ENTRANT_STATUS_TO_COLLECTION[status]]);
+                writer.set(eventDoc.ref.collection(ENTRANT_STATUS_COLLECTION).doc(userId), Object.assign(fields, {
+                    userId: userId,
+                    status: status,
+                    previousStatus: null,
+                    statusUpdatedAt: admin.firestore.FieldValue.serverTimestamp()
+                }));
+                created++;
+            }
+        }
+
+        await writer.close();
+        console.log(`✓ Backfilled ${created} entrant status documents across ${eventsSnapshot.size} events`);
+        return null;
+    });
+
+const INBOX_COLLECTION = 'inbox';
+const INBOX_FIELDS = ['title', 'message', 'eventId', 'eventTitle', 'groupType', 'createdAt'];
+
+const COUNTERS_COLLECTION = 'counters';
+const UNREAD_COUNTER_DOC = 'notifications';
+
+/**
+ * users/{uid}/counters/notifications holds the number of notifications the user has not opened;
+ * the app resets it to zero when the notifications screen is shown.
+ */
+function unreadCounterRef(db, uid) {
+    return db.collection('users').doc(uid).collection(COUNTERS_COLLECTION).doc(UNREAD_COUNTER_DOC);
+}
+
+function unreadIncrement() {
+    return {
+        unread: admin.firestore.FieldValue.increment(1),
+        updatedAt: admin.firestore.FieldValue.serverTimestamp()
+    };
+}
+
+/**
+ * Copies a notification request into the inbox of every user it targets.
+ */
+function inboxEntry(requestId, requestData) {
+    const entry = { requestId: requestId };
+    INBOX_FIELDS.forEach(field => {
+        entry[field] = requestData[field] !== undefined ? requestData[field] : null;
+    });
+    if (typeof entry.createdAt !== 'number') {
+        entry.createdAt = Date.now();
+    }
+    return entry;
+}
+
+/**
+ * Fans each notification request out to users/{uid}/inbox/{requestId} so a device only
+ * reads the notifications addressed to its own user instead of the whole request collection.
+ */
+exports.fanOutNotificationInbox = functions.firestore
+    .document('notificationRequests/{requestId}')
+    .onCreate(async (snap, context) => {
+        const requestId = context.params.requestId;
+        const requestData = snap.data();
+        const userIds = Array.isArray(requestData.userIds) ? [...new Set(requestData.userIds)] : [];
+        if (userIds.length === 0) {
+            return null;
+        }
+
+        const db = admin.firestore();
+        const writer = db.bulkWriter();
+        const entry = inboxEntry(requestId, requestData);
+        userIds.forEach(uid => {
+            writer.set(db.collection('users').doc(uid).collection(INBOX_COLLECTION).doc(requestId), entry);
+            writer.set(unreadCounterRef(db, uid), unreadIncrement(), { merge: true });
+        });
+        await writer.close();
+        console.log(`INBOX_FANOUT: requestId=${requestId}, recipients=${userIds.length}`);
+        return null;
+    });
+
+/**
+ * Removes the inbox copies of a deleted notification request, e.g. when an invitation is
+ * accepted or declined and its requests are cleaned up. Unread counters are left alone; they
+ * are reset when the user opens their notifications.
+ */
+exports.removeNotificationInbox = functions.firestore
+    .document('notificationRequests/{requestId}')
+    .onDelete(async (snap, context) => {
+        const requestId = context.params.requestId;
+        const requestData = snap.data();
+        const userIds = Array.isArray(requestData.userIds) ? [...new Set(requestData.userIds)] : [];
+        if (userIds.length === 0) {
+            return null;
+        }
+
+        const db = admin.firestore();
+        const writer = db.bulkWriter();
+        userIds.forEach(uid => {
+            writer.delete(db.collection('users').doc(uid).collection(INBOX_COLLECTION).doc(requestId));
+        });
+        await writer.close();
+        console.log(`INBOX_REMOVE: requestId=${requestId}, recipients=${userIds.length}`);
+        return null;
+    });
+
+/**
+ * Counts a new pending invitation as unread. Not every invitation path also sends a
+ * notification request, so invitations are counted on their own; the badge only checks
+ * whether the count is above zero.
+ */
+exports.countInvitationUnread = functions.firestore
+    .document('invitations/{invitationId}')
+    .onCreate(async (snap) => {
+        const invitation = snap.data();
+        if (!invitation.uid || invitation.status !== 'PENDING') {
+            return null;
+        }
+        await unreadCounterRef(admin.firestore(), invitation.uid).set(unreadIncrement(), { merge: true });
+        return null;
+    });
+
+/**
+ * One-off backfill of user inboxes from the existing notification requests.
+ * Run with: gcloud pubsub topics publish backfill-notification-inbox --message=run
+ *
+ * Inbox documents are keyed by request id, so the backfill can be re-run safely. Unread
+ * counters are left alone: backfilled notifications are not new.
+ */
+exports.backfillNotificationInbox = functions
+    .runWith({ timeoutSeconds: 540, memory: '1GB' })
+    .pubsub.topic('backfill-notification-inbox')
+    .onPublish(async () => {
+        const db = admin.firestore();
+        const writer = db.bulkWriter();
+        let written = 0;
+
+        const requestsSnapshot = await db.collection('notificationRequests').get();
+        for (const requestDoc of requestsSnapshot.docs) {
+            const requestData = requestDoc.data();
+            if (!Array.isArray(requestData.userIds)) {
+                continue;
+            }
+            const entry = inboxEntry(requestDoc.id, requestData);
+            for (const uid of new Set(requestData.userIds)) {
+                writer.set(db.collection('users').doc(uid).collection(INBOX_COLLECTION).doc(requestDoc.id), entry);
+                written++;
+            }
+        }
+
+        await writer.close();
+        console.log(`✓ Backfilled ${written} inbox entries from ${requestsSnapshot.size} notification requests`);
+        return null;
+    });
+
+const SEARCH_PREFIXES_FIELD = 'searchPrefixes';
+const ROLE_INDEX_FIELD = 'roleIndex';
+const MAX_SEARCH_PREFIX_LENGTH = 20;
+
+// Same normalization as ProfileSearchTokens on the client
+function normalizeSearchText(text) {
+    if (typeof text !== 'string') {
+        return '';
+    }
+    return text.normalize('NFD').replace(/\p{M}+/gu, '').toLowerCase().trim().replace(/\s+/g, ' ');
+}
+
+function profileSearchPrefixes(name, email) {
+    const keys = new Set();
+    const addPrefixes = text => {
+        for (let n = 1; n <= Math.min(text.length, MAX_SEARCH_PREFIX_LENGTH); n++) {
+            keys.add(text.substring(0, n));
+        }
+    };
+    [normalizeSearchText(name), normalizeSearchText(email)].forEach(source => {
+        addPrefixes(source);
+        source.split(/[^\p{L}\p{N}]+/u).forEach(addPrefixes);
+    });
+    return [...keys];
+}
+
+function profileRoleIndex(roles) {
+    const index = {};
+    (Array.isArray(roles) ? roles : []).forEach(role => {
+        if (typeof role === 'string' && role) {
+            index[role] = true;
+        }
+    });
+    return index;
+}
+
+/**
+ * The search fields a user document should have, or null if they are already up to date.
+ */
+function profileSearchUpdate(data) {
+    const prefixes = profileSearchPrefixes(data.name, data.email);
+    const roleIndex = profileRoleIndex(data.roles);
+    const samePrefixes = Array.isArray(data[SEARCH_PREFIXES_FIELD])
+        && data[SEARCH_PREFIXES_FIELD].length === prefixes.length
+        && prefixes.every((key, i) => data[SEARCH_PREFIXES_FIELD][i] === key);
+    const currentRoles = data[ROLE_INDEX_FIELD] || {};
+    const sameRoles = Object.keys(currentRoles).length === Object.keys(roleIndex).length
+        && Object.keys(roleIndex).every(role => currentRoles[role] === true);
+    if (samePrefixes && sameRoles) {
+        return null;
+    }
+    return { [SEARCH_PREFIXES_FIELD]: prefixes, [ROLE_INDEX_FIELD]: roleIndex };
+}
+
+/**
+ * Keeps the admin profile search fields in step with a user's name, email and roles.
+ * Writing only when they changed stops the update from re-triggering itself.
+ */
+exports.indexUserSearchFields = functions.firestore
+    .document('users/{uid}')
+    .onWrite(async (change, context) => {
+        if (!change.after.exists) {
+            return null;
+        }
+        const update = profileSearchUpdate(change.after.data());
+        if (!update) {
+            return null;
+        }
+        await change.after.ref.update(update);
+        console.log(`PROFILE_SEARCH_INDEX: uid=${context.params.uid}, prefixes=${update[SEARCH_PREFIXES_FIELD].length}`);
+        return null;
+    });
+
+/**
+ * One-off backfill of the admin profile search fields for existing users.
+ * Run with: gcloud pubsub topics publish backfill-profile-search --message=run
+ *
+ * Users whose fields are already current are skipped, so the backfill can be re-run safely.
+ */
+exports.backfillProfileSearch = functions
+    .runWith({ timeoutSeconds: 540, memory: '1GB' })
+    .pubsub.topic('backfill-profile-search')
+    .onPublish(async () => {
+        const db = admin.firestore();
+        const writer = db.bulkWriter();
+        let updated = 0;
+
+        const usersSnapshot = await db.collection('users').get();
+        for (const userDoc of usersSnapshot.docs) {
+            const update = profileSearchUpdate(userDoc.data());
+            if (update) {
+                writer.update(userDoc.ref, update);
+                updated++;
+            }
+        }
+
+        await writer.close();
+        console.log(`✓ Backfilled profile search fields for ${updated} of ${usersSnapshot.size} users`);
+        return null;
+    });
+
+
+// ---------------------------------------------------------------------------
+// Entrant geography: events/{eventId}/geoCells/{cell}
+// Mirrors Geohash.java / EntrantGeoIndex.java on the client. Waitlist entries
+// store `location.geohash`; each cell document counts the waitlisted
+// entrants whose geohash starts with the cell id, so geographic summaries
+// read a handful of cell documents instead of every entrant.
+// ---------------------------------------------------------------------------
+
+const GEO_CELLS_COLLECTION = 'geoCells';
+const GEOHASH_BASE32 = '0123456789bcdefghjkmnpqrstuvwxyz';
+const GEOHASH_STORED_PRECISION = 10;
+const GEOHASH_CELL_PRECISION = 5;
+
+function encodeGeohash(latitude, longitude, precision) {
+    let minLat = -90, maxLat = 90;
+    let minLng = -180, maxLng = 180;
+    let hash = '';
+    let evenBit = true;
+    let bit = 0;
+    let ch = 0;
+    while (hash.length < precision) {
+        if (evenBit) {
+            const mid = (minLng + maxLng) / 2;
+            if (longitude >= mid) {
+                ch = (ch << 1) | 1;
+                minLng = mid;
+            } else {
+                ch = ch << 1;
+                maxLng = mid;
+            }
+        } else {
+            const mid = (minLat + maxLat) / 2;
+            if (latitude >= mid) {
+                ch = (ch << 1) | 1;
+                minLat = mid;
+            } else {
+                ch = ch << 1;
+                maxLat = mid;
+            }
+        }
+        evenBit = !evenBit;
+        if (++bit === 5) {
+            hash += GEOHASH_BASE32[ch];
+            bit = 0;
+            ch = 0;
+        }
+    }
+    return hash;
+}
+
+/**
+ * Geohash of an entry's location, from `location.geohash` or, for entries
+ * written before it was stored, from the coordinates. Mirrors
+ * EntrantLocation.fromMap: (0, 0) is a failed fix and has no geohash.
+ */
+function entryGeohash(data) {
+    const location = data && data.location;
+    if (!location || typeof location !== 'object') {
+        return null;
+    }
+    if (typeof location.geohash === 'string' && location.geohash.length >= GEOHASH_CELL_PRECISION) {
+        return location.geohash;
+    }
+    const { latitude, longitude } = location;
+    if (typeof latitude !== 'number' || typeof longitude !== 'number'
+            || (latitude === 0 && longitude === 0)
+            || Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+        return null;
+    }
+    return encodeGeohash(latitude, longitude, GEOHASH_STORED_PRECISION);
+}
+
+function entryCell(data) {
+    const hash = entryGeohash(data);
+    return hash ? hash.substring(0, GEOHASH_CELL_PRECISION) : null;
+}
+
+/**
+ * Moves a waitlisted entrant between cell counts when their entry is
+ * created, deleted or relocated. Cells that drop to zero are kept with a
+ * zero count; the client ignores them. Runs in a transaction that skips
+ * deleted events and missing cells, so a late trigger never recreates the
+ * cells of an event that has been deleted.
+ */
+exports.maintainEntrantGeoCells = functions.firestore
+    .document('events/{eventId}/WaitlistedEntrants/{userId}')
+    .onWrite(async (change, context) => {
+        const { eventId, userId } = context.params;
+        const beforeCell = change.before.exists ? entryCell(change.before.data()) : null;
+        const afterCell = change.after.exists ? entryCell(change.after.data()) : null;
+        if (beforeCell === afterCell) {
+            return null;
+        }
+
+        const db = admin.firestore();
+        const eventRef = db.collection('events').doc(eventId);
+        const cellsRef = eventRef.collection(GEO_CELLS_COLLECTION);
+
+        try {
+            await db.runTransaction(async (transaction) => {
+                const eventDoc = await transaction.get(eventRef);
+                if (!eventDoc.exists) {
+                    return; // Event deleted; never recreate its cells
+                }
+                const beforeDoc = beforeCell ? await transaction.get(cellsRef.doc(beforeCell)) : null;
+                const afterDoc = afterCell ? await transaction.get(cellsRef.doc(afterCell)) : null;
+
+                if (beforeDoc && beforeDoc.exists) {
+                    transaction.update(beforeDoc.ref, {
+                        count: admin.firestore.FieldValue.increment(-1)
+                    });
+                }
+                if (afterDoc) {
+                    if (afterDoc.exists) {
+                        transaction.update(afterDoc.ref, {
+                            count: admin.firestore.FieldValue.increment(1)
+                        });
+                    } else {
+                        transaction.set(afterDoc.ref, { cell: afterCell, count: 1 });
+                    }
+                }
+            });
+            console.log(`GEO_CELLS: eventId=${eventId}, userId=${userId}, from=${beforeCell}, to=${afterCell}`);
+        } catch (error) {
+            console.error(`Error updating geo cells for event ${eventId}, user ${userId}:`, error);
+            throw error;
+        }
+        return null;
+    });
+
+/**
+ * One-off backfill that stores `location.geohash` on existing waitlist
+ * entries and rebuilds every event's cell counts from them.
+ * Run with: gcloud pubsub topics publish backfill-entrant-geo-cells --message=run
+ *
+ * Counts are recomputed rather than incremented, so the backfill can be
+ * re-run safely.
+ */
+exports.backfillEntrantGeoCells = functions
+    .runWith({ timeoutSeconds: 540, memory: '1GB' })
+    .pubsub.topic('backfill-entrant-geo-cells')
+    .onPublish(async () => {
+        const db = admin.firestore();
+        const writer = db.bulkWriter();
+        let hashed = 0;
+        let cells = 0;
+
+        const eventsSnapshot = await db.collection('events').get();
+        for (const eventDoc of eventsSnapshot.docs) {
+            const [waitlistSnapshot, existingCells] = await Promise.all([
+                eventDoc.ref.collection('WaitlistedEntrants').get(),
+                eventDoc.ref.collection(GEO_CELLS_COLLECTION).select().get()
+            ]);
+
+            const counts = {};
+            waitlistSnapshot.forEach(doc => {
+                const data = doc.data();
+                const hash = entryGeohash(data);
+                if (!hash) {
+                    return;
+                }
+                if (data.location.geohash !== hash) {
+                    // Same cell as before, so maintainEntrantGeoCells leaves the counts alone
+                    writer.update(doc.ref, { 'location.geohash': hash });
+                    hashed++;
+                }
+                const cell = hash.substring(0, GEOHASH_CELL_PRECISION);
+                counts[cell] = (counts[cell] || 0) + 1;
+            });
+
+            existingCells.forEach(cellDoc => {
+                if (!counts[cellDoc.id]) {
+                    writer.delete(cellDoc.ref);
+                }
+            });
+            for (const [cell, count] of Object.entries(counts)) {
+                writer.set(eventDoc.ref.collection(GEO_CELLS_COLLECTION).doc(cell), { cell: cell, count: count });
+                cells++;
+            }
+        }
+
+        await writer.close();
+        console.log(`✓ Backfilled ${hashed} geohashes and ${cells} geo cells across ${eventsSnapshot.size} events`);
+        return null;
+    });